@@ -230,6 +230,25 @@ public class OzoneClientConfig {
       tags = ConfigTag.CLIENT)
   private int ecReconstructStripeWritePoolLimit = 10 * 3;
 
+  @Config(key = "ozone.client.ec.reconstruct.stripe.inflight.limit",
+      defaultValue = "2",
+      description = "The max number of stripes being reconstructed at the" +
+          " same time for a block group.  While the chunks of a stripe are" +
+          " written to the target datanodes, the next stripes are read and" +
+          " decoded.  The value 1 disables the pipelining.",
+      tags = ConfigTag.CLIENT)
+  private int ecReconstructStripeInFlightLimit = 2;
+
+  @Config(key = "ozone.client.ec.degraded.read.cache.size",
+      defaultValue = "32MB",
+      type = ConfigType.SIZE,
+      description = "The max total size of the EC stripes cached by the" +
+          " client after reconstructing them, when some data locations of" +
+          " a block group are unavailable.  Reads revisiting a cached stripe" +
+          " do not read and decode the stripe again.  Zero disables the cache.",
+      tags = ConfigTag.CLIENT)
+  private long ecDegradedReadCacheSize = 32 * 1024 * 1024;
+
   @Config(key = "ozone.client.checksum.combine.mode",
       defaultValue = "COMPOSITE_CRC",
       description = "The combined checksum type [MD5MD5CRC / COMPOSITE_CRC] "
@@ -319,6 +338,18 @@ public class OzoneClientConfig {
       description = "Timeout for receiving streaming read responses.")
   private Duration streamReadTimeout = Duration.ofSeconds(10);
 
+  @Config(key = "ozone.client.read.ahead.max.chunks",
+      defaultValue = "0",
+      type = ConfigType.INT,
+      tags = {ConfigTag.CLIENT},
+      description = "The maximum number of chunks to read ahead asynchronously "
+          + "when a block is read sequentially. The read-ahead window starts "
+          + "with one chunk, doubles for each chunk read sequentially up to "
+          + "this value, and is reset when the stream is seeked. "
+          + "Each chunk read ahead is buffered in memory until it is read. "
+          + "Set to 0 to disable read-ahead.")
+  private int readAheadMaxChunks = 0;
+
   @PostConstruct
   public void validate() {
     Preconditions.checkState(streamBufferSize > 0);
@@ -400,6 +431,13 @@ public void validate() {
           streamReadTimeout, defaultTimeout);
       streamReadTimeout = defaultTimeout;
     }
+
+    if (readAheadMaxChunks < 0) {
+      LOG.warn("Invalid ozone.client.read.ahead.max.chunks = {}. " +
+              "Disabling read-ahead.",
+          readAheadMaxChunks);
+      readAheadMaxChunks = 0;
+    }
   }
 
   public long getStreamBufferFlushSize() {
@@ -560,6 +598,22 @@ public int getEcReconstructStripeWritePoolLimit() {
     return ecReconstructStripeWritePoolLimit;
   }
 
+  public void setEcReconstructStripeInFlightLimit(int inFlightLimit) {
+    this.ecReconstructStripeInFlightLimit = inFlightLimit;
+  }
+
+  public int getEcReconstructStripeInFlightLimit() {
+    return ecReconstructStripeInFlightLimit;
+  }
+
+  public void setEcDegradedReadCacheSize(long cacheSize) {
+    this.ecDegradedReadCacheSize = cacheSize;
+  }
+
+  public long getEcDegradedReadCacheSize() {
+    return ecDegradedReadCacheSize;
+  }
+
   public void setFsDefaultBucketLayout(String bucketLayout) {
     if (!bucketLayout.isEmpty()) {
       this.fsDefaultBucketLayout = bucketLayout;
@@ -646,6 +700,14 @@ public void setStreamReadTimeout(Duration streamReadTimeout) {
     this.streamReadTimeout = streamReadTimeout;
   }
 
+  public int getReadAheadMaxChunks() {
+    return readAheadMaxChunks;
+  }
+
+  public void setReadAheadMaxChunks(int readAheadMaxChunks) {
+    this.readAheadMaxChunks = readAheadMaxChunks;
+  }
+
   /**
    * Enum for indicating what mode to use when combining chunk and block
    * checksums to define an aggregate FileChecksum. This should be considered
@@ -25,8 +25,10 @@
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
+import java.util.concurrent.ExecutorService;
 import java.util.concurrent.atomic.AtomicReference;
 import java.util.function.Function;
+import java.util.function.Supplier;
 import org.apache.hadoop.hdds.client.BlockID;
 import org.apache.hadoop.hdds.protocol.datanode.proto.ContainerProtos.BlockData;
 import org.apache.hadoop.hdds.protocol.datanode.proto.ContainerProtos.ChunkInfo;
@@ -108,6 +110,18 @@ public class BlockInputStream extends BlockExtendedInputStream {
 
   private BlockData blockData;
 
+  // The maximum number of chunks to read ahead; 0 means read-ahead is disabled.
+  private final int readAheadMaxChunks;
+  private final Supplier<ExecutorService> readAheadExecutor;
+  // The current number of chunks to read ahead, which grows when the chunks
+  // are read sequentially and is reset when the stream is seeked.
+  private int readAheadWindow;
+  // Index of the last chunkStream which has been read ahead, or -1 if none.
+  private int readAheadIndex = -1;
+  // The number of chunks read ahead and the number of read-aheads cancelled.
+  private long readAheadCount;
+  private long readAheadCancelCount;
+
   public BlockInputStream(
       BlockLocationInfo blockInfo,
       Pipeline pipeline,
@@ -115,6 +129,19 @@ public BlockInputStream(
       XceiverClientFactory xceiverClientFactory,
       Function<BlockID, BlockLocationInfo> refreshFunction,
       OzoneClientConfig config) throws IOException {
+    this(blockInfo, pipeline, token, xceiverClientFactory, refreshFunction,
+        config, null);
+  }
+
+  @SuppressWarnings("parameternumber")
+  public BlockInputStream(
+      BlockLocationInfo blockInfo,
+      Pipeline pipeline,
+      Token<OzoneBlockTokenIdentifier> token,
+      XceiverClientFactory xceiverClientFactory,
+      Function<BlockID, BlockLocationInfo> refreshFunction,
+      OzoneClientConfig config,
+      Supplier<ExecutorService> readAheadExecutor) throws IOException {
     this.blockInfo = blockInfo;
     this.blockID = blockInfo.getBlockID();
     this.length = blockInfo.getLength();
@@ -124,6 +151,8 @@ public BlockInputStream(
     this.xceiverClientFactory = xceiverClientFactory;
     this.refreshFunction = refreshFunction;
     this.retryPolicy = getReadRetryPolicy(config);
+    this.readAheadExecutor = readAheadExecutor;
+    this.readAheadMaxChunks = readAheadExecutor == null ? 0 : config.getReadAheadMaxChunks();
   }
 
   // only for unit tests
@@ -359,11 +388,46 @@ protected synchronized int readWithStrategy(ByteReaderStrategy strategy)
       if (current.getRemaining() <= 0 &&
           ((chunkIndex + 1) < chunkStreams.size())) {
         chunkIndex += 1;
+        readAhead();
       }
     }
     return totalReadLen;
   }
 
+  /**
+   * Read ahead the chunks after the current chunk asynchronously, which is
+   * called when the stream moves to the next chunk sequentially.
+   * The read-ahead window starts with one chunk and doubles for each chunk
+   * read sequentially, up to {@link OzoneClientConfig#getReadAheadMaxChunks()}.
+   */
+  private void readAhead() {
+    if (readAheadMaxChunks <= 0) {
+      return;
+    }
+    readAheadWindow = Math.min(readAheadWindow == 0 ? 1 : readAheadWindow * 2, readAheadMaxChunks);
+    final int last = Math.min(chunkIndex + readAheadWindow, chunkStreams.size() - 1);
+    for (int i = Math.max(readAheadIndex, chunkIndex) + 1; i <= last; i++) {
+      if (chunkStreams.get(i).readAhead(readAheadExecutor.get())) {
+        readAheadCount++;
+      }
+      readAheadIndex = i;
+    }
+  }
+
+  /**
+   * Cancel the read-ahead of all the chunks except the given chunk,
+   * and reset the read-ahead window.
+   */
+  private void cancelReadAhead(int keepIndex) {
+    for (int i = 0; i <= readAheadIndex; i++) {
+      if (i != keepIndex && chunkStreams.get(i).cancelReadAhead()) {
+        readAheadCancelCount++;
+      }
+    }
+    readAheadIndex = -1;
+    readAheadWindow = 0;
+  }
+
   /**
    * Seeks the BlockInputStream to the specified position. If the stream is
    * not initialized, save the seeked position via blockPosition. Otherwise,
@@ -399,6 +463,8 @@ public synchronized void seek(long pos) throws IOException {
       throw new EOFException(
           "EOF encountered at pos: " + pos + " for block: " + blockID);
     }
+    // The access is no longer sequential if the position is changed.
+    final boolean positionChanged = readAheadIndex >= 0 && pos != getPos();
 
     if (chunkIndex >= chunkStreams.size()) {
       chunkIndex = Arrays.binarySearch(chunkOffsets, pos);
@@ -417,6 +483,9 @@ public synchronized void seek(long pos) throws IOException {
       // accordingly so that chunkIndex = insertionPoint - 1
       chunkIndex = -chunkIndex - 2;
     }
+    if (positionChanged) {
+      cancelReadAhead(chunkIndex);
+    }
 
     // Reset the previous chunkStream's position
     chunkStreams.get(chunkIndexOfPrevPosition).resetPosition();
@@ -452,6 +521,10 @@ public boolean seekToNewSource(long targetPos) throws IOException {
 
   @Override
   public synchronized void close() {
+    if (readAheadCount > 0) {
+      LOG.debug("Closing block {}: read ahead {} chunks, cancelled {}",
+          blockID, readAheadCount, readAheadCancelCount);
+    }
     releaseClient();
     xceiverClientFactory = null;
 
@@ -495,6 +568,16 @@ public synchronized int getChunkIndex() {
     return chunkIndex;
   }
 
+  /** @return the number of chunks read ahead by this stream. */
+  public synchronized long getReadAheadCount() {
+    return readAheadCount;
+  }
+
+  /** @return the number of chunk read-aheads cancelled by seek or retry. */
+  public synchronized long getReadAheadCancelCount() {
+    return readAheadCancelCount;
+  }
+
   @VisibleForTesting
   synchronized long getBlockPosition() {
     return blockPosition;
@@ -504,6 +587,8 @@ synchronized long getBlockPosition() {
   public synchronized void unbuffer() {
     storePosition();
     releaseClient();
+    readAheadIndex = -1;
+    readAheadWindow = 0;
 
     final List<ChunkInputStream> inputStreams = this.chunkStreams;
     if (inputStreams != null) {
@@ -521,6 +606,8 @@ private void handleReadError(IOException cause) throws IOException {
     releaseClient();
     final List<ChunkInputStream> inputStreams = this.chunkStreams;
     if (inputStreams != null) {
+      // The read-aheads use the clients of the old pipeline.
+      cancelReadAhead(-1);
       for (ChunkInputStream is : inputStreams) {
         is.releaseClient();
       }
@@ -19,13 +19,22 @@
 
 import com.google.common.annotations.VisibleForTesting;
 import com.google.common.base.Preconditions;
+import com.google.common.util.concurrent.Uninterruptibles;
 import java.io.EOFException;
 import java.io.IOException;
 import java.io.InputStream;
+import java.io.InterruptedIOException;
 import java.nio.ByteBuffer;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.function.Supplier;
 import org.apache.commons.lang3.tuple.Pair;
 import org.apache.hadoop.fs.ByteBufferReadable;
@@ -48,6 +57,8 @@
 import org.apache.hadoop.ozone.common.utils.BufferUtils;
 import org.apache.hadoop.security.token.Token;
 import org.apache.ratis.thirdparty.com.google.protobuf.ByteString;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 
 /**
  * An {@link InputStream} called from BlockInputStream to read a chunk from the
@@ -57,6 +68,8 @@
 public class ChunkInputStream extends InputStream
     implements Seekable, CanUnbuffer, ByteBufferReadable {
 
+  private static final Logger LOG = LoggerFactory.getLogger(ChunkInputStream.class);
+
   private final ChunkInfo chunkInfo;
   private final long length;
   private final BlockID blockID;
@@ -98,6 +111,9 @@ public class ChunkInputStream extends InputStream
 
   private final Supplier<Token<?>> tokenSupplier;
 
+  // The read of the entire chunk ahead, see readAhead(Executor).
+  private ReadAheadTask readAheadTask;
+
   private static final int EOF = -1;
   private final List<Validator> validators;
 
@@ -280,10 +296,110 @@ public boolean seekToNewSource(long targetPos) {
 
   @Override
   public synchronized void close() {
+    cancelReadAhead();
     releaseBuffers();
     releaseClient();
   }
 
+  /**
+   * Read the entire chunk asynchronously using the given executor so that
+   * the following read of this chunk does not wait for the datanode.
+   * The chunk is read ahead only if it has not been read yet.
+   *
+   * @return true if the chunk is being read ahead.
+   */
+  synchronized boolean readAhead(Executor executor) {
+    if (readAheadTask != null || buffersAllocated() || getPos() != 0
+        || length <= 0 || length > Integer.MAX_VALUE) {
+      return false;
+    }
+    try {
+      acquireClient();
+    } catch (IOException e) {
+      LOG.debug("Failed to acquire client to read ahead chunk {}", chunkInfo.getChunkName(), e);
+      return false;
+    }
+    final ReadAheadTask task = new ReadAheadTask(() -> readChunk(chunkInfo));
+    try {
+      executor.execute(task.future);
+    } catch (RejectedExecutionException e) {
+      LOG.debug("Rejected to read ahead chunk {}", chunkInfo.getChunkName(), e);
+      return false;
+    }
+    readAheadTask = task;
+    return true;
+  }
+
+  /**
+   * Cancel the read-ahead of this chunk, if there is any.
+   * Since the read-ahead uses the client of this stream, this waits for a
+   * read-ahead which has already started, so that the client can be
+   * released afterwards.
+   *
+   * @return true if a read-ahead is cancelled.
+   */
+  synchronized boolean cancelReadAhead() {
+    final ReadAheadTask task = readAheadTask;
+    if (task == null) {
+      return false;
+    }
+    readAheadTask = null;
+    task.cancel();
+    return true;
+  }
+
+  /**
+   * @return the data of the entire chunk if it has been read ahead;
+   *         otherwise, return null.
+   */
+  private ByteBuffer[] takeReadAheadData() throws InterruptedIOException {
+    final ReadAheadTask task = readAheadTask;
+    if (task == null) {
+      return null;
+    }
+    readAheadTask = null;
+    try {
+      return task.future.get();
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw (InterruptedIOException) new InterruptedIOException(
+          "Interrupted while waiting for the read-ahead of chunk " + chunkInfo.getChunkName()).initCause(e);
+    } catch (ExecutionException e) {
+      // Fall back to read the chunk again, which handles the failure.
+      LOG.debug("Failed to read ahead chunk {}", chunkInfo.getChunkName(), e.getCause());
+      return null;
+    }
+  }
+
+  /** The read of the entire chunk ahead, which is either cancelled or run. */
+  private static final class ReadAheadTask {
+    /** Set by whichever of {@link #cancel()} and the read comes first. */
+    private final AtomicBoolean claimed = new AtomicBoolean();
+    private final FutureTask<ByteBuffer[]> future;
+
+    private ReadAheadTask(Callable<ByteBuffer[]> read) {
+      this.future = new FutureTask<>(() -> {
+        if (!claimed.compareAndSet(false, true)) {
+          throw new CancellationException("Read-ahead cancelled");
+        }
+        return read.call();
+      });
+    }
+
+    /** Cancel the read if it has not started; otherwise, wait for it. */
+    private void cancel() {
+      if (claimed.compareAndSet(false, true)) {
+        future.cancel(false);
+        return;
+      }
+      try {
+        Uninterruptibles.getUninterruptibly(future);
+      } catch (ExecutionException | CancellationException e) {
+        // the data is dropped anyway
+      }
+    }
+  }
+
   protected synchronized void releaseClient() {
     if (xceiverClientFactory != null && xceiverClient != null) {
       xceiverClientFactory.releaseClientForReadData(xceiverClient, false);
@@ -378,6 +494,14 @@ private synchronized void readChunkFromContainer(int len) throws IOException {
     // successful read in adjustBufferPosition()
     storePosition();
 
+    final ByteBuffer[] readAhead = takeReadAheadData();
+    if (readAhead != null) {
+      setBuffers(readAhead, length);
+      bufferOffsetWrtChunkData = 0;
+      adjustBufferPosition(startByteIndex);
+      return;
+    }
+
     long adjustedBuffersOffset, adjustedBuffersLen;
     if (verifyChecksum) {
       // Adjust the chunk offset and length to include required checksum
@@ -414,8 +538,12 @@ private synchronized void readChunkFromContainer(int len) throws IOException {
 
   private void readChunkDataIntoBuffers(ChunkInfo readChunkInfo)
       throws IOException {
-    buffers = readChunk(readChunkInfo);
-    buffersSize = readChunkInfo.getLen();
+    setBuffers(readChunk(readChunkInfo), readChunkInfo.getLen());
+  }
+
+  private void setBuffers(ByteBuffer[] newBuffers, long newBuffersSize) {
+    buffers = newBuffers;
+    buffersSize = newBuffersSize;
 
     bufferOffsets = new long[buffers.length];
     int tempOffset = 0;
@@ -734,6 +862,7 @@ protected long getChunkPosition() {
   @Override
   public synchronized void unbuffer() {
     storePosition();
+    cancelReadAhead();
     releaseBuffers();
     releaseClient();
   }
@@ -47,6 +47,7 @@
 public class BlockInputStreamFactoryImpl implements BlockInputStreamFactory {
 
   private ECBlockInputStreamFactory ecBlockStreamFactory;
+  private final Supplier<ExecutorService> readAheadExecutorSupplier;
 
   public static BlockInputStreamFactory getInstance(
       ByteBufferPool byteBufferPool,
@@ -55,12 +56,32 @@ public static BlockInputStreamFactory getInstance(
         ecReconstructExecutorSupplier);
   }
 
+  public static BlockInputStreamFactory getInstance(
+      ByteBufferPool byteBufferPool,
+      Supplier<ExecutorService> ecReconstructExecutorSupplier,
+      Supplier<ExecutorService> readAheadExecutorSupplier) {
+    return new BlockInputStreamFactoryImpl(byteBufferPool,
+        ecReconstructExecutorSupplier, readAheadExecutorSupplier);
+  }
+
   public BlockInputStreamFactoryImpl() {
     this(new ElasticByteBufferPool(), Executors::newSingleThreadExecutor);
   }
 
   public BlockInputStreamFactoryImpl(ByteBufferPool byteBufferPool,
       Supplier<ExecutorService> ecReconstructExecutorSupplier) {
+    this(byteBufferPool, ecReconstructExecutorSupplier, null);
+  }
+
+  /**
+   * @param readAheadExecutorSupplier to read ahead the chunks of
+   *                                  {@link BlockInputStream}, or null to
+   *                                  disable read-ahead.
+   */
+  public BlockInputStreamFactoryImpl(ByteBufferPool byteBufferPool,
+      Supplier<ExecutorService> ecReconstructExecutorSupplier,
+      Supplier<ExecutorService> readAheadExecutorSupplier) {
+    this.readAheadExecutorSupplier = readAheadExecutorSupplier;
     this.ecBlockStreamFactory =
         ECBlockInputStreamFactoryImpl.getInstance(this, byteBufferPool,
             ecReconstructExecutorSupplier);
@@ -95,7 +116,7 @@ public BlockExtendedInputStream create(ReplicationConfig repConfig,
     } else {
       return new BlockInputStream(blockInfo,
           pipeline, token, xceiverFactory, refreshFunction,
-          config);
+          config, readAheadExecutorSupplier);
     }
   }
 
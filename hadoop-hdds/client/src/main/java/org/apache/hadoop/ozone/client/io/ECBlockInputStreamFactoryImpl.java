@@ -40,6 +40,8 @@ public final class ECBlockInputStreamFactoryImpl implements
   private final BlockInputStreamFactory inputStreamFactory;
   private final ByteBufferPool byteBufferPool;
   private final Supplier<ExecutorService> ecReconstructExecutorSupplier;
+  /** The stripes cached for degraded reads, created on the first use. */
+  private ECStripeCache stripeCache;
 
   public static ECBlockInputStreamFactory getInstance(
       BlockInputStreamFactory streamFactory, ByteBufferPool byteBufferPool,
@@ -89,7 +91,8 @@ public BlockExtendedInputStream create(boolean missingLocations,
         sis.addFailedDatanodes(failedLocations);
       }
       return new ECBlockReconstructedInputStream(
-          (ECReplicationConfig) repConfig, byteBufferPool, sis);
+          (ECReplicationConfig) repConfig, byteBufferPool, sis,
+          getStripeCache(config));
     } else {
       // Otherwise create the more efficient non-reconstruction reader
       return new ECBlockInputStream((ECReplicationConfig)repConfig, blockInfo,
@@ -98,4 +101,10 @@ public BlockExtendedInputStream create(boolean missingLocations,
     }
   }
 
+  private synchronized ECStripeCache getStripeCache(OzoneClientConfig config) {
+    if (stripeCache == null && config.getEcDegradedReadCacheSize() > 0) {
+      stripeCache = new ECStripeCache(config.getEcDegradedReadCacheSize());
+    }
+    return stripeCache;
+  }
 }
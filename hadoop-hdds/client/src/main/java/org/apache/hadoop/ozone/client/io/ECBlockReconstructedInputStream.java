@@ -29,6 +29,10 @@
 /**
  * Input stream which wraps a ECBlockReconstructedStripeInputStream to allow
  * a EC Block to be read via the traditional InputStream read methods.
+ * <p>
+ * Since each stripe is read and decoded as a whole, a seek within the stripe
+ * currently buffered does not read it again, and the stripes are cached in
+ * the optional {@link ECStripeCache} for the seeks to other stripes.
  */
 public class ECBlockReconstructedInputStream extends BlockExtendedInputStream {
 
@@ -36,17 +40,31 @@ public class ECBlockReconstructedInputStream extends BlockExtendedInputStream {
   private ECBlockReconstructedStripeInputStream stripeReader;
   private ByteBuffer[] bufs;
   private final ByteBufferPool byteBufferPool;
+  private final ECStripeCache stripeCache;
   private boolean closed = false;
   private boolean unBuffered = false;
 
   private long position = 0;
+  /** The index of the stripe in the buffers; -1 if none. */
+  private long bufferedStripe = -1;
 
   public ECBlockReconstructedInputStream(ECReplicationConfig repConfig,
       ByteBufferPool byteBufferPool,
       ECBlockReconstructedStripeInputStream stripeReader) {
+    this(repConfig, byteBufferPool, stripeReader, null);
+  }
+
+  /**
+   * @param stripeCache the cache of the stripes, or null to disable caching.
+   */
+  public ECBlockReconstructedInputStream(ECReplicationConfig repConfig,
+      ByteBufferPool byteBufferPool,
+      ECBlockReconstructedStripeInputStream stripeReader,
+      ECStripeCache stripeCache) {
     this.repConfig = repConfig;
     this.byteBufferPool = byteBufferPool;
     this.stripeReader = stripeReader;
+    this.stripeCache = stripeCache;
   }
 
   @Override
@@ -160,6 +178,7 @@ public synchronized void close() throws IOException {
   }
 
   private void freeBuffers() {
+    bufferedStripe = -1;
     if (bufs != null) {
       for (int i = 0; i < bufs.length; i++) {
         byteBufferPool.putBuffer(bufs[i]);
@@ -181,20 +200,32 @@ public synchronized void seek(long pos) throws IOException {
       throw new EOFException(
           "EOF encountered at pos: " + pos + " for block: " + getBlockID());
     }
-    long stripeSize = (long)repConfig.getEcChunkSize() * repConfig.getData();
+    long stripeSize = getStripeSize();
     long stripeNum = pos / stripeSize;
     int partial = (int)(pos % stripeSize);
-    // Seek the stripe reader to the beginning of the new current stripe
-    stripeReader.seek(stripeNum * stripeSize);
-    // Now reload the data buffers and adjust their position to the partial
-    // stripe offset.
-    readAndSeekStripe(partial);
+    if (stripeNum == bufferedStripe && bufs != null) {
+      // The stripe is already in the buffers, only rewind them.
+      for (ByteBuffer b : bufs) {
+        b.position(0);
+      }
+      seekBuffers(partial);
+    } else {
+      // Seek the stripe reader to the beginning of the new current stripe
+      stripeReader.seek(stripeNum * stripeSize);
+      // Now reload the data buffers and adjust their position to the partial
+      // stripe offset.
+      readAndSeekStripe(partial);
+    }
     position = pos;
   }
 
   private void readAndSeekStripe(int offset) throws IOException {
     allocateBuffers();
     readStripe();
+    seekBuffers(offset);
+  }
+
+  private void seekBuffers(int offset) {
     if (offset == 0) {
       return;
     }
@@ -210,7 +241,32 @@ private void readAndSeekStripe(int offset) throws IOException {
 
   private long readStripe() throws IOException {
     clearBuffers();
-    return stripeReader.readStripe(bufs);
+    final long stripeStart = stripeReader.getPos();
+    final long stripe = stripeStart / getStripeSize();
+    bufferedStripe = -1;
+    long read = stripeCache == null ? -1
+        : stripeCache.get(getBlockID(), stripe, bufs);
+    if (read >= 0) {
+      // Move the reader to the next stripe as if it has read this one.
+      // The reader only seeks to stripe offsets, so it is left as it is after
+      // the last, partial stripe of the block, since nothing follows.
+      if (read == getStripeSize()) {
+        stripeReader.seek(stripeStart + read);
+      }
+    } else {
+      read = stripeReader.readStripe(bufs);
+      if (read != EOF && stripeCache != null) {
+        stripeCache.put(getBlockID(), stripe, bufs);
+      }
+    }
+    if (read != EOF) {
+      bufferedStripe = stripe;
+    }
+    return read;
+  }
+
+  private long getStripeSize() {
+    return (long) repConfig.getEcChunkSize() * repConfig.getData();
   }
 
   private void allocateBuffers() {
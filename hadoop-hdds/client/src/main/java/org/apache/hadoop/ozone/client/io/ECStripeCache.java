@@ -0,0 +1,155 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements. See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.hadoop.ozone.client.io;
+
+import java.nio.ByteBuffer;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Objects;
+import org.apache.hadoop.hdds.client.BlockID;
+import org.apache.hadoop.hdds.client.ContainerBlockID;
+
+/**
+ * A LRU cache of the stripes read by {@link ECBlockReconstructedInputStream},
+ * keyed by block group and stripe index, so that degraded reads revisiting a
+ * stripe, e.g. small random reads, do not read and decode it again.
+ * <p>
+ * The stripes are copied in and out of the cache,
+ * so the buffers of the streams can be reused.
+ * <p>
+ * This class is threadsafe.
+ */
+public class ECStripeCache {
+
+  private final long capacity;
+  private long size = 0;
+  private long hits = 0;
+  private long misses = 0;
+
+  /** The data cells of each stripe, in access order. */
+  private final Map<Key, byte[][]> stripes =
+      new LinkedHashMap<>(16, 0.75f, true);
+
+  /**
+   * @param capacity the max total size, in bytes, of the cached stripes.
+   */
+  public ECStripeCache(long capacity) {
+    this.capacity = capacity;
+  }
+
+  /**
+   * Copy the given stripe from the cache to the given buffers.
+   *
+   * @param bufs the buffers, one for each data cell, with position zero and
+   *             a full cell remaining.  If the stripe is cached, the buffers
+   *             are returned "ready to read", as by
+   *             {@link ECBlockReconstructedStripeInputStream#readStripe}.
+   * @return the number of bytes copied; -1 if the stripe is not cached.
+   */
+  public synchronized int get(BlockID blockID, long stripe, ByteBuffer[] bufs) {
+    final byte[][] cells = stripes.get(new Key(blockID, stripe));
+    if (cells == null || cells.length != bufs.length) {
+      misses++;
+      return -1;
+    }
+    hits++;
+    int read = 0;
+    for (int i = 0; i < cells.length; i++) {
+      bufs[i].put(cells[i]);
+      bufs[i].flip();
+      read += cells[i].length;
+    }
+    return read;
+  }
+
+  /**
+   * Copy the given stripe to the cache, evicting the least recently used
+   * stripes as needed.
+   *
+   * @param bufs the "ready to read" buffers of the stripe, which are not
+   *             modified.
+   */
+  public synchronized void put(BlockID blockID, long stripe, ByteBuffer[] bufs) {
+    final byte[][] cells = new byte[bufs.length][];
+    long stripeSize = 0;
+    for (int i = 0; i < bufs.length; i++) {
+      cells[i] = new byte[bufs[i].remaining()];
+      bufs[i].duplicate().get(cells[i]);
+      stripeSize += cells[i].length;
+    }
+    if (stripeSize > capacity) {
+      return;
+    }
+    final byte[][] previous = stripes.put(new Key(blockID, stripe), cells);
+    size += stripeSize - (previous == null ? 0 : sizeOf(previous));
+
+    for (Iterator<byte[][]> i = stripes.values().iterator(); size > capacity;) {
+      size -= sizeOf(i.next());
+      i.remove();
+    }
+  }
+
+  private static long sizeOf(byte[][] cells) {
+    long cellsSize = 0;
+    for (byte[] cell : cells) {
+      cellsSize += cell.length;
+    }
+    return cellsSize;
+  }
+
+  public synchronized long getSize() {
+    return size;
+  }
+
+  public synchronized long getHits() {
+    return hits;
+  }
+
+  public synchronized long getMisses() {
+    return misses;
+  }
+
+  /** The key of a stripe: its block group and its index in the group. */
+  private static final class Key {
+    private final ContainerBlockID blockGroup;
+    private final long stripe;
+
+    Key(BlockID blockID, long stripe) {
+      this.blockGroup = blockID.getContainerBlockID();
+      this.stripe = stripe;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+      if (this == o) {
+        return true;
+      }
+      if (!(o instanceof Key)) {
+        return false;
+      }
+      final Key that = (Key) o;
+      return stripe == that.stripe && blockGroup.equals(that.blockGroup);
+    }
+
+    @Override
+    public int hashCode() {
+      return Objects.hash(blockGroup, stripe);
+    }
+  }
+}
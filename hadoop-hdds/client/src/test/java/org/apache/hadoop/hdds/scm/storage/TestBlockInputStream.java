@@ -41,6 +41,8 @@
 import java.util.List;
 import java.util.Map;
 import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 import java.util.concurrent.ThreadLocalRandom;
 import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.function.Function;
@@ -265,6 +267,43 @@ public void testSeekAndRead() throws Exception {
     matchWithInputData(b2, 150, 100);
   }
 
+  @Test
+  public void testReadAhead() throws Exception {
+    OzoneClientConfig clientConfig = conf.getObject(OzoneClientConfig.class);
+    clientConfig.setChecksumVerify(false);
+    clientConfig.setReadAheadMaxChunks(2);
+    ExecutorService executor = Executors.newSingleThreadExecutor();
+    try (BlockInputStream stream = new DummyBlockInputStream(
+        new BlockID(new ContainerBlockID(1, 1)), blockSize,
+        MockPipeline.createSingleNodePipeline(), null, null, refreshFunction,
+        chunks, chunkDataMap, clientConfig, () -> executor)) {
+      // Read the block sequentially.  The window grows to read ahead chunk-2
+      // when moving to chunk-1, then chunk-3 and chunk-4 when moving to chunk-2.
+      byte[] b = new byte[blockSize];
+      for (int pos = 0; pos < blockSize; pos += CHUNK_SIZE / 2) {
+        assertEquals(CHUNK_SIZE / 2, stream.read(b, pos, CHUNK_SIZE / 2));
+      }
+      matchWithInputData(b, 0, blockSize);
+      assertEquals(3, stream.getReadAheadCount());
+      assertEquals(0, stream.getReadAheadCancelCount());
+
+      // Seek cancels the read-ahead of the chunks not being read.
+      stream.seek(0);
+      b = new byte[CHUNK_SIZE + 10];
+      assertEquals(b.length, stream.read(b, 0, b.length));
+      matchWithInputData(b, 0, b.length);
+      assertEquals(4, stream.getReadAheadCount());
+      stream.seek(20);
+      assertEquals(1, stream.getReadAheadCancelCount());
+
+      b = new byte[blockSize - 20];
+      assertEquals(b.length, stream.read(b, 0, b.length));
+      matchWithInputData(b, 20, b.length);
+    } finally {
+      executor.shutdownNow();
+    }
+  }
+
   @Test
   public void testRefreshPipelineFunction() throws Exception {
     LogCapturer logCapturer = LogCapturer.captureLogs(BlockExtendedInputStream.class);
@@ -23,6 +23,7 @@
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.Mockito.any;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.verify;
@@ -30,8 +31,16 @@
 
 import java.io.EOFException;
 import java.nio.ByteBuffer;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Random;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.concurrent.atomic.AtomicLong;
 import java.util.concurrent.atomic.AtomicReference;
 import org.apache.hadoop.hdds.client.BlockID;
@@ -237,6 +246,61 @@ public void testUnbuffered() throws Exception {
     matchWithInputData(b2, 20, 20);
   }
 
+  @Test
+  public void testCloseWaitsForReadAhead() throws Exception {
+    final CountDownLatch started = new CountDownLatch(1);
+    final CountDownLatch proceed = new CountDownLatch(1);
+    final AtomicBoolean released = new AtomicBoolean();
+    final AtomicBoolean readAfterRelease = new AtomicBoolean();
+    final ChunkInputStream subject = new DummyChunkInputStream(chunkInfo,
+        blockID, null, true, chunkData, null) {
+      @Override
+      protected ByteBuffer[] readChunk(ChunkInfo readChunkInfo) {
+        started.countDown();
+        try {
+          proceed.await();
+        } catch (InterruptedException e) {
+          Thread.currentThread().interrupt();
+        }
+        readAfterRelease.compareAndSet(false, released.get());
+        return super.readChunk(readChunkInfo);
+      }
+
+      @Override
+      protected void releaseClient() {
+        released.set(true);
+      }
+    };
+    final ExecutorService executor = Executors.newFixedThreadPool(2);
+    try {
+      assertTrue(subject.readAhead(executor));
+      started.await();
+      final Future<?> closed = executor.submit(subject::close);
+      // close must not release the client while the read-ahead is running
+      assertThrows(TimeoutException.class,
+          () -> closed.get(100, TimeUnit.MILLISECONDS));
+      assertFalse(released.get());
+
+      proceed.countDown();
+      closed.get();
+      assertTrue(released.get());
+      assertFalse(readAfterRelease.get());
+    } finally {
+      executor.shutdownNow();
+    }
+  }
+
+  @Test
+  public void testCancelReadAheadBeforeStart() throws Exception {
+    final List<Runnable> queued = new ArrayList<>();
+    assertTrue(chunkStream.readAhead(queued::add));
+    assertTrue(chunkStream.cancelReadAhead());
+
+    // the cancelled read-ahead does not read the chunk when it is run
+    queued.forEach(Runnable::run);
+    assertThat(chunkStream.getReadByteBuffers()).isEmpty();
+  }
+
   @Test
   public void connectsToNewPipeline() throws Exception {
     // GIVEN
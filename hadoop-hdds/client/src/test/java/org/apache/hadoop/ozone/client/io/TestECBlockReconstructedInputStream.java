@@ -18,6 +18,7 @@
 package org.apache.hadoop.ozone.client.io;
 
 import static org.apache.hadoop.ozone.client.io.ECStreamTestUtil.generateParity;
+import static org.assertj.core.api.Assertions.assertThat;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 
@@ -342,6 +343,61 @@ public void testSeek() throws IOException {
     }
   }
 
+  @Test
+  public void testSeekWithStripeCache() throws IOException {
+    int readBufferSize = 1024;
+    // 3 stripes and a partial chunk
+    int blockLength = repConfig.getEcChunkSize() * repConfig.getData() * 3
+        + repConfig.getEcChunkSize() - 1;
+    ByteBuffer[] dataBufs = allocateBuffers(repConfig.getData(),
+        repConfig.getEcChunkSize() * 4);
+    ECStreamTestUtil.randomFill(dataBufs, repConfig.getEcChunkSize(),
+        dataGenerator, blockLength);
+    ByteBuffer[] parity = generateParity(dataBufs, repConfig);
+    addDataStreamsToFactory(dataBufs, parity);
+
+    // Large enough for all the stripes.
+    ECStripeCache cache = new ECStripeCache(blockLength);
+    Map<DatanodeDetails, Integer> dnMap
+        = ECStreamTestUtil.createIndexMap(1, 2, 4, 5);
+    // The second stream reads the stripes cached by the first one.
+    for (int s = 0; s < 2; s++) {
+      try (ECBlockReconstructedStripeInputStream stripeStream
+          = createStripeInputStream(dnMap, blockLength)) {
+        try (ECBlockReconstructedInputStream stream =
+            new ECBlockReconstructedInputStream(repConfig, bufferPool,
+                stripeStream, cache)) {
+          ByteBuffer b = ByteBuffer.allocate(readBufferSize);
+          for (int i = 0; i < 100; i++) {
+            int seekPosition = random.nextInt(blockLength);
+            stream.seek(seekPosition);
+            resetAndAdvanceDataGenerator(seekPosition);
+            long expectedRead = Math.min(stream.getRemaining(), readBufferSize);
+            b.clear();
+            long read = stream.read(b);
+            assertEquals(expectedRead, read);
+            ECStreamTestUtil.assertBufferMatches(b, dataGenerator);
+          }
+          // Then read the whole block sequentially.
+          stream.seek(0);
+          dataGenerator = new SplittableRandom(randomSeed);
+          long totalRead = 0;
+          while (totalRead < blockLength) {
+            b.clear();
+            long read = stream.read(b);
+            totalRead += read;
+            ECStreamTestUtil.assertBufferMatches(b, dataGenerator);
+          }
+          assertEquals(blockLength, totalRead);
+        }
+      }
+    }
+    assertEquals(blockLength, cache.getSize());
+    // Each of the 4 stripes is read and decoded only once.
+    assertEquals(4, cache.getMisses());
+    assertThat(cache.getHits()).isPositive();
+  }
+
   private void resetAndAdvanceDataGenerator(long position) {
     dataGenerator = new SplittableRandom(randomSeed);
     for (long i = 0; i < position; i++) {
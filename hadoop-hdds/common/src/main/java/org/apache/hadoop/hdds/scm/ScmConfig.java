@@ -62,6 +62,29 @@ public class ScmConfig extends ReconfigurableConfig {
   )
   private String action;
 
+  @Config(key = "hdds.scm.container.report.processing.threads",
+      type = ConfigType.INT,
+      defaultValue = "8",
+      tags = { ConfigTag.SCM, ConfigTag.PERFORMANCE },
+      description =
+          "The number of threads used by SCM to process the replicas of a "
+          + "single full container report in parallel. The replicas are "
+          + "sharded by container ID across the threads. Set it to 1 to "
+          + "process the reports sequentially."
+  )
+  private int containerReportProcessingThreads = 8;
+
+  @Config(key = "hdds.scm.container.report.processing.shard.min.size",
+      type = ConfigType.INT,
+      defaultValue = "1000",
+      tags = { ConfigTag.SCM, ConfigTag.PERFORMANCE },
+      description =
+          "The minimum number of replicas in a shard when a full container "
+          + "report is processed in parallel. A report with fewer than twice "
+          + "this number of replicas is processed sequentially."
+  )
+  private int containerReportShardMinSize = 1000;
+
   private static final String DESCRIPTION_COMMON_CHOICES_OF_PIPELINE_CHOOSE_POLICY_IMPL =
       "One of the following values can be used: "
       + "(1) org.apache.hadoop.hdds.scm.pipeline.choose.algorithms.RandomPipelineChoosePolicy"
@@ -72,7 +95,10 @@ public class ScmConfig extends ReconfigurableConfig {
       + " : chooses the pipeline with lower utilization from two random pipelines. Note that"
       + " random choose method will be executed twice in this policy."
       + "(4) org.apache.hadoop.hdds.scm.pipeline.choose.algorithms.RoundRobinPipelineChoosePolicy"
-      + " : chooses a pipeline in a round robin fashion. Intended for troubleshooting and testing purposes only.";
+      + " : chooses a pipeline in a round robin fashion. Intended for troubleshooting and testing purposes only. "
+      + "(5) org.apache.hadoop.hdds.scm.pipeline.choose.algorithms.LoadBasedPipelineChoosePolicy"
+      + " : chooses the less loaded pipeline from two random healthy pipelines, where the load counts the used,"
+      + " committed and recently allocated space of the datanodes.";
 
   // hdds.scm.pipeline.choose.policy.impl
   @Config(key = "hdds.scm.pipeline.choose.policy.impl",
@@ -162,6 +188,14 @@ public void setUnknownContainerAction(String unknownContainerAction) {
     this.action = unknownContainerAction;
   }
 
+  public void setContainerReportProcessingThreads(int threads) {
+    this.containerReportProcessingThreads = threads;
+  }
+
+  public void setContainerReportShardMinSize(int minSize) {
+    this.containerReportShardMinSize = minSize;
+  }
+
   public void setPipelineChoosePolicyName(String pipelineChoosePolicyName) {
     this.pipelineChoosePolicyName = pipelineChoosePolicyName;
   }
@@ -186,6 +220,14 @@ public String getUnknownContainerAction() {
     return this.action;
   }
 
+  public int getContainerReportProcessingThreads() {
+    return containerReportProcessingThreads;
+  }
+
+  public int getContainerReportShardMinSize() {
+    return containerReportShardMinSize;
+  }
+
   public String getPipelineChoosePolicyName() {
     return pipelineChoosePolicyName;
   }
@@ -483,6 +483,10 @@ public final class ScmConfigKeys {
       "ozone.scm.sequence.id.batch.size";
   public static final int OZONE_SCM_SEQUENCE_ID_BATCH_SIZE_DEFAULT = 1000;
 
+  public static final String OZONE_SCM_BLOCK_LOCAL_ID_RANGE_SIZE =
+      "ozone.scm.block.local.id.range.size";
+  public static final int OZONE_SCM_BLOCK_LOCAL_ID_RANGE_SIZE_DEFAULT = 100;
+
   // Network topology
   public static final String OZONE_SCM_NETWORK_TOPOLOGY_SCHEMA_FILE =
       "ozone.scm.network.topology.schema.file";
@@ -0,0 +1,85 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements. See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.hadoop.hdds.scm.container;
+
+/**
+ * An order independent checksum of a set of container IDs,
+ * used by datanodes and SCM to compare their views of the containers in a datanode
+ * without exchanging the full list.
+ * <p>
+ * The checksum is the sum of the hashes of the IDs, so that it can be updated incrementally.
+ * <p>
+ * This class is NOT threadsafe.
+ */
+public final class ContainerIdChecksum {
+  private long count;
+  private long checksum;
+
+  /** Mix the bits of the ID (the finalizer of MurmurHash3) so that nearby IDs do not cancel out. */
+  static long hash(long containerId) {
+    long h = containerId;
+    h ^= h >>> 33;
+    h *= 0xff51afd7ed558ccdL;
+    h ^= h >>> 33;
+    h *= 0xc4ceb9fe1a85ec53L;
+    h ^= h >>> 33;
+    return h;
+  }
+
+  public ContainerIdChecksum add(long containerId) {
+    count++;
+    checksum += hash(containerId);
+    return this;
+  }
+
+  public ContainerIdChecksum add(ContainerID containerId) {
+    return add(containerId.getProtobuf().getId());
+  }
+
+  public ContainerIdChecksum addAll(Iterable<ContainerID> containerIds) {
+    for (ContainerID id : containerIds) {
+      add(id);
+    }
+    return this;
+  }
+
+  /** Add all the container IDs of the other checksum to this. */
+  public ContainerIdChecksum add(ContainerIdChecksum other) {
+    count += other.count;
+    checksum += other.checksum;
+    return this;
+  }
+
+  public long getCount() {
+    return count;
+  }
+
+  public long getChecksum() {
+    return checksum;
+  }
+
+  /** @return true iff the given count and checksum match this. */
+  public boolean matches(long otherCount, long otherChecksum) {
+    return count == otherCount && checksum == otherChecksum;
+  }
+
+  @Override
+  public String toString() {
+    return "count=" + count + ", checksum=" + Long.toHexString(checksum);
+  }
+}
@@ -218,6 +218,29 @@ protected void setSample(String stat, List<ContainerID> sample) {
     containerSample.put(stat, sample);
   }
 
+  /**
+   * Add the stats and the samples of the other report to this report,
+   * keeping at most {@link #getSampleLimit()} samples for each stat.
+   * This is used to combine the reports of containers processed in parallel.
+   */
+  public void merge(ReplicationManagerReport other) {
+    for (Map.Entry<String, LongAdder> e : other.stats.entrySet()) {
+      getStatAndEnsurePresent(e.getKey()).add(e.getValue().longValue());
+    }
+    for (Map.Entry<String, List<ContainerID>> e : other.containerSample.entrySet()) {
+      final List<ContainerID> list = containerSample
+          .computeIfAbsent(e.getKey(), k -> new ArrayList<>());
+      synchronized (list) {
+        for (ContainerID container : other.getSample(e.getKey())) {
+          if (list.size() >= sampleLimit) {
+            break;
+          }
+          list.add(container);
+        }
+      }
+    }
+  }
+
   private void increment(String stat) {
     getStatAndEnsurePresent(stat).increment();
   }
@@ -335,12 +335,17 @@ public static ContainerCommandResponseProto getReadChunkResponse(
         .build();
   }
 
+  /**
+   * Create a ReadBlock response.
+   * The data is wrapped without copying;
+   * the caller must not change it until the response has been sent.
+   */
   public static ContainerCommandResponseProto getReadBlockResponse(
       ContainerCommandRequestProto request, ChecksumData checksumData, ByteBuffer data, long offset) {
 
     ContainerProtos.ReadBlockResponseProto response = ContainerProtos.ReadBlockResponseProto.newBuilder()
         .setChecksumData(checksumData.getProtoBufMessage())
-        .setData(ByteString.copyFrom(data))
+        .setData(UnsafeByteOperations.unsafeWrap(data))
         .setOffset(offset)
         .build();
 
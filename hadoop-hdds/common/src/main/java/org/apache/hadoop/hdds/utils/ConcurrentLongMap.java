@@ -0,0 +1,580 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements. See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.hadoop.hdds.utils;
+
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.locks.StampedLock;
+
+/**
+ * A concurrent map from primitive long keys to values.
+ * <p>
+ * The keys are stored in primitive arrays using open addressing with linear probing,
+ * so that there is no per-entry object, unlike {@link java.util.concurrent.ConcurrentSkipListMap}
+ * (a node, an index node and a boxed {@link Long} for each entry)
+ * or {@link java.util.concurrent.ConcurrentHashMap} (a node and a boxed {@link Long} for each entry).
+ * The map is divided into segments, each guarded by a {@link StampedLock}.
+ * The reads use optimistic locking and do not block unless there is a concurrent write in the same segment.
+ * <p>
+ * The iterations are in ascending key order.
+ * They are weakly consistent: an iteration takes a sorted snapshot of the keys
+ * and then returns the current values of the keys still in the map.
+ * For paged access, a limited iteration only selects the smallest keys of the page,
+ * which costs O(n log limit) instead of sorting all the keys.
+ * <p>
+ * Null values are not supported.
+ *
+ * @param <V> the value type.
+ */
+public final class ConcurrentLongMap<V> extends AbstractMap<Long, V> {
+  private static final int DEFAULT_CONCURRENCY_LEVEL = 16;
+  private static final int MIN_CAPACITY = 16;
+  private static final int MAX_SEGMENTS = 1 << 16;
+
+  private final Segment<V>[] segments;
+  private final int segmentMask;
+  private final EntrySet entrySet = new EntrySet();
+
+  public ConcurrentLongMap() {
+    this(DEFAULT_CONCURRENCY_LEVEL);
+  }
+
+  /** @param concurrencyLevel the number of segments, rounded up to a power of two. */
+  @SuppressWarnings("unchecked")
+  public ConcurrentLongMap(int concurrencyLevel) {
+    if (concurrencyLevel <= 0 || concurrencyLevel > MAX_SEGMENTS) {
+      throw new IllegalArgumentException("concurrencyLevel = " + concurrencyLevel
+          + " is out of the range [1, " + MAX_SEGMENTS + "]");
+    }
+    final int n = Integer.highestOneBit(concurrencyLevel - 1) << 1;
+    final int numSegments = concurrencyLevel == 1 ? 1 : n;
+    this.segments = new Segment[numSegments];
+    for (int i = 0; i < segments.length; i++) {
+      segments[i] = new Segment<>();
+    }
+    this.segmentMask = numSegments - 1;
+  }
+
+  /** Mix the bits of the key; the upper bits select the segment and the lower bits select the slot. */
+  static long hash(long key) {
+    final long h = key * 0x9E3779B97F4A7C15L;
+    return h ^ (h >>> 32);
+  }
+
+  private Segment<V> segmentFor(long h) {
+    return segments[(int) (h >>> 32) & segmentMask];
+  }
+
+  public V get(long key) {
+    final long h = hash(key);
+    return segmentFor(h).get(key, (int) h);
+  }
+
+  public boolean containsKey(long key) {
+    return get(key) != null;
+  }
+
+  /** @return the previous value, or null if there was none. */
+  public V put(long key, V value) {
+    Objects.requireNonNull(value, "value == null");
+    final long h = hash(key);
+    return segmentFor(h).put(key, (int) h, value, false);
+  }
+
+  /** @return the existing value, or null if the given value is put. */
+  public V putIfAbsent(long key, V value) {
+    Objects.requireNonNull(value, "value == null");
+    final long h = hash(key);
+    return segmentFor(h).put(key, (int) h, value, true);
+  }
+
+  /** @return the removed value, or null if there was none. */
+  public V remove(long key) {
+    final long h = hash(key);
+    return segmentFor(h).remove(key, (int) h, null);
+  }
+
+  /** Remove the entry only if the key is currently mapped to the given value. */
+  public boolean remove(long key, Object value) {
+    if (value == null) {
+      return false;
+    }
+    final long h = hash(key);
+    return segmentFor(h).remove(key, (int) h, value) != null;
+  }
+
+  @Override
+  public V get(Object key) {
+    return key instanceof Long ? get((long) (Long) key) : null;
+  }
+
+  @Override
+  public boolean containsKey(Object key) {
+    return get(key) != null;
+  }
+
+  @Override
+  public V put(Long key, V value) {
+    return put((long) key, value);
+  }
+
+  @Override
+  public V putIfAbsent(Long key, V value) {
+    return putIfAbsent((long) key, value);
+  }
+
+  @Override
+  public V remove(Object key) {
+    return key instanceof Long ? remove((long) (Long) key) : null;
+  }
+
+  @Override
+  public boolean remove(Object key, Object value) {
+    return key instanceof Long && remove((long) (Long) key, value);
+  }
+
+  @Override
+  public int size() {
+    long sum = 0;
+    for (Segment<V> s : segments) {
+      sum += s.size;
+    }
+    return (int) Math.min(sum, Integer.MAX_VALUE);
+  }
+
+  @Override
+  public boolean isEmpty() {
+    for (Segment<V> s : segments) {
+      if (s.size > 0) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  @Override
+  public void clear() {
+    for (Segment<V> s : segments) {
+      s.clear();
+    }
+  }
+
+  /**
+   * Estimate the memory used by this map itself, excluding the values,
+   * assuming compressed object references.
+   *
+   * @return the estimated size in bytes.
+   */
+  public long estimateMemoryBytes() {
+    long sum = 0;
+    for (Segment<V> s : segments) {
+      sum += s.estimateMemoryBytes();
+    }
+    return sum;
+  }
+
+  /** @return a snapshot of the keys greater than or equal to the given key in ascending order. */
+  public long[] sortedKeys(long fromKey) {
+    long[] keys = new long[size() + MIN_CAPACITY];
+    int n = 0;
+    for (Segment<V> s : segments) {
+      final long stamp = s.lock.readLock();
+      try {
+        final Table t = s.table;
+        if (keys.length - n < s.size) {
+          keys = Arrays.copyOf(keys, Math.max(keys.length << 1, n + s.size));
+        }
+        for (int i = 0; i < t.keys.length; i++) {
+          if (t.values[i] != null && t.keys[i] >= fromKey) {
+            keys[n++] = t.keys[i];
+          }
+        }
+      } finally {
+        s.lock.unlockRead(stamp);
+      }
+    }
+    final long[] sorted = Arrays.copyOf(keys, n);
+    Arrays.sort(sorted);
+    return sorted;
+  }
+
+  /**
+   * @return a snapshot of at most the given number of the smallest keys
+   *         greater than or equal to the given key in ascending order.
+   */
+  public long[] sortedKeys(long fromKey, int limit) {
+    if (limit < 0) {
+      throw new IllegalArgumentException("limit = " + limit + " < 0");
+    } else if (limit >= size()) {
+      final long[] keys = sortedKeys(fromKey);
+      return keys.length <= limit ? keys : Arrays.copyOf(keys, limit);
+    }
+
+    // A max-heap of the smallest keys seen so far.
+    final long[] heap = new long[limit];
+    int n = 0;
+    for (Segment<V> s : segments) {
+      final long stamp = s.lock.readLock();
+      try {
+        final Table t = s.table;
+        for (int i = 0; i < t.keys.length; i++) {
+          final long key = t.keys[i];
+          if (t.values[i] == null || key < fromKey) {
+            continue;
+          }
+          if (n < limit) {
+            heap[n] = key;
+            siftUp(heap, n++);
+          } else if (limit > 0 && key < heap[0]) {
+            heap[0] = key;
+            siftDown(heap, n);
+          }
+        }
+      } finally {
+        s.lock.unlockRead(stamp);
+      }
+    }
+    final long[] sorted = Arrays.copyOf(heap, n);
+    Arrays.sort(sorted);
+    return sorted;
+  }
+
+  private static void siftUp(long[] heap, int i) {
+    final long key = heap[i];
+    while (i > 0) {
+      final int parent = (i - 1) >>> 1;
+      if (heap[parent] >= key) {
+        break;
+      }
+      heap[i] = heap[parent];
+      i = parent;
+    }
+    heap[i] = key;
+  }
+
+  private static void siftDown(long[] heap, int n) {
+    final long key = heap[0];
+    int i = 0;
+    for (int child = 1; child < n; child = (i << 1) + 1) {
+      if (child + 1 < n && heap[child + 1] > heap[child]) {
+        child++;
+      }
+      if (key >= heap[child]) {
+        break;
+      }
+      heap[i] = heap[child];
+      i = child;
+    }
+    heap[i] = key;
+  }
+
+  /** @return an iterator over the entries with keys greater than or equal to the given key in ascending order. */
+  public Iterator<Map.Entry<Long, V>> entryIterator(long fromKey) {
+    return new EntryIterator(sortedKeys(fromKey));
+  }
+
+  /** @return an iterator over the values with keys greater than or equal to the given key in ascending key order. */
+  public Iterator<V> valueIterator(long fromKey) {
+    return valueIterator(entryIterator(fromKey));
+  }
+
+  /**
+   * @return an iterator over the values of at most the given number of the smallest keys
+   *         greater than or equal to the given key in ascending key order.
+   */
+  public Iterator<V> valueIterator(long fromKey, int limit) {
+    return valueIterator(new EntryIterator(sortedKeys(fromKey, limit)));
+  }
+
+  private static <T> Iterator<T> valueIterator(Iterator<Map.Entry<Long, T>> i) {
+    return new Iterator<T>() {
+      @Override
+      public boolean hasNext() {
+        return i.hasNext();
+      }
+
+      @Override
+      public T next() {
+        return i.next().getValue();
+      }
+
+      @Override
+      public void remove() {
+        i.remove();
+      }
+    };
+  }
+
+  @Override
+  public Set<Map.Entry<Long, V>> entrySet() {
+    return entrySet;
+  }
+
+  private final class EntrySet extends AbstractSet<Map.Entry<Long, V>> {
+    @Override
+    public Iterator<Map.Entry<Long, V>> iterator() {
+      return entryIterator(Long.MIN_VALUE);
+    }
+
+    @Override
+    public boolean contains(Object o) {
+      if (!(o instanceof Map.Entry)) {
+        return false;
+      }
+      final Map.Entry<?, ?> e = (Map.Entry<?, ?>) o;
+      final V v = get(e.getKey());
+      return v != null && v.equals(e.getValue());
+    }
+
+    @Override
+    public boolean remove(Object o) {
+      if (!(o instanceof Map.Entry)) {
+        return false;
+      }
+      final Map.Entry<?, ?> e = (Map.Entry<?, ?>) o;
+      return ConcurrentLongMap.this.remove(e.getKey(), e.getValue());
+    }
+
+    @Override
+    public int size() {
+      return ConcurrentLongMap.this.size();
+    }
+
+    @Override
+    public boolean isEmpty() {
+      return ConcurrentLongMap.this.isEmpty();
+    }
+
+    @Override
+    public void clear() {
+      ConcurrentLongMap.this.clear();
+    }
+  }
+
+  private final class EntryIterator implements Iterator<Map.Entry<Long, V>> {
+    private final long[] keys;
+    private int index = 0;
+    private Map.Entry<Long, V> next;
+    private Map.Entry<Long, V> last;
+
+    private EntryIterator(long[] keys) {
+      this.keys = keys;
+      advance();
+    }
+
+    private void advance() {
+      next = null;
+      while (next == null && index < keys.length) {
+        final long key = keys[index++];
+        final V value = get(key);
+        if (value != null) {
+          next = new SimpleImmutableEntry<>(key, value);
+        }
+      }
+    }
+
+    @Override
+    public boolean hasNext() {
+      return next != null;
+    }
+
+    @Override
+    public Map.Entry<Long, V> next() {
+      if (next == null) {
+        throw new NoSuchElementException();
+      }
+      last = next;
+      advance();
+      return last;
+    }
+
+    @Override
+    public void remove() {
+      if (last == null) {
+        throw new IllegalStateException();
+      }
+      ConcurrentLongMap.this.remove((long) last.getKey());
+      last = null;
+    }
+  }
+
+  /** An open addressing table; a null value means an empty slot. */
+  private static final class Table {
+    private final long[] keys;
+    private final Object[] values;
+    private final int mask;
+
+    private Table(int capacity) {
+      this.keys = new long[capacity];
+      this.values = new Object[capacity];
+      this.mask = capacity - 1;
+    }
+
+    /** @return the slot of the key if it is found; otherwise, return {@code ~slot} of an empty slot. */
+    private int indexOf(long key, int h) {
+      int i = h & mask;
+      for (int n = 0; n <= mask; n++) {
+        if (values[i] == null) {
+          return ~i;
+        } else if (keys[i] == key) {
+          return i;
+        }
+        i = (i + 1) & mask;
+      }
+      // Not reachable for a consistent table since the load factor is less than 1.
+      return ~i;
+    }
+
+    private Object find(long key, int h) {
+      final int i = indexOf(key, h);
+      return i >= 0 ? values[i] : null;
+    }
+
+    private void insert(int emptySlot, long key, Object value) {
+      keys[emptySlot] = key;
+      values[emptySlot] = value;
+    }
+
+    /** Delete the given slot by shifting the following entries backward. */
+    private void delete(int i) {
+      int j = i;
+      for (;;) {
+        j = (j + 1) & mask;
+        if (values[j] == null) {
+          break;
+        }
+        final int k = (int) hash(keys[j]) & mask;
+        // Move the entry at j to i unless its home slot k is cyclically in (i, j].
+        final boolean inRange = i <= j ? (i < k && k <= j) : (i < k || k <= j);
+        if (!inRange) {
+          keys[i] = keys[j];
+          values[i] = values[j];
+          i = j;
+        }
+      }
+      values[i] = null;
+    }
+
+    private Table resize(int capacity) {
+      final Table t = new Table(capacity);
+      for (int i = 0; i < keys.length; i++) {
+        if (values[i] != null) {
+          final long key = keys[i];
+          t.insert(~t.indexOf(key, (int) hash(key)), key, values[i]);
+        }
+      }
+      return t;
+    }
+  }
+
+  private static final class Segment<V> {
+    private final StampedLock lock = new StampedLock();
+    /** Guarded by the lock; the reads may be optimistic. */
+    private Table table = new Table(MIN_CAPACITY);
+    /** Updated under the write lock. */
+    private volatile int size;
+
+    @SuppressWarnings("unchecked")
+    V get(long key, int h) {
+      final long optimistic = lock.tryOptimisticRead();
+      if (optimistic != 0) {
+        final Object value = table.find(key, h);
+        if (lock.validate(optimistic)) {
+          return (V) value;
+        }
+      }
+      final long stamp = lock.readLock();
+      try {
+        return (V) table.find(key, h);
+      } finally {
+        lock.unlockRead(stamp);
+      }
+    }
+
+    @SuppressWarnings("unchecked")
+    V put(long key, int h, V value, boolean onlyIfAbsent) {
+      final long stamp = lock.writeLock();
+      try {
+        final int i = table.indexOf(key, h);
+        if (i >= 0) {
+          final V previous = (V) table.values[i];
+          if (!onlyIfAbsent) {
+            table.values[i] = value;
+          }
+          return previous;
+        }
+        // Keep the load factor at most 3/4.
+        if ((size + 1) << 2 > table.keys.length * 3) {
+          table = table.resize(table.keys.length << 1);
+          table.insert(~table.indexOf(key, h), key, value);
+        } else {
+          table.insert(~i, key, value);
+        }
+        size++;
+        return null;
+      } finally {
+        lock.unlockWrite(stamp);
+      }
+    }
+
+    @SuppressWarnings("unchecked")
+    V remove(long key, int h, Object expected) {
+      final long stamp = lock.writeLock();
+      try {
+        final int i = table.indexOf(key, h);
+        if (i < 0) {
+          return null;
+        }
+        final V previous = (V) table.values[i];
+        if (expected != null && !expected.equals(previous)) {
+          return null;
+        }
+        table.delete(i);
+        size--;
+        // Shrink when the load factor drops below 1/8.
+        if (table.keys.length > MIN_CAPACITY && size << 3 < table.keys.length) {
+          table = table.resize(table.keys.length >> 1);
+        }
+        return previous;
+      } finally {
+        lock.unlockWrite(stamp);
+      }
+    }
+
+    void clear() {
+      final long stamp = lock.writeLock();
+      try {
+        table = new Table(MIN_CAPACITY);
+        size = 0;
+      } finally {
+        lock.unlockWrite(stamp);
+      }
+    }
+
+    long estimateMemoryBytes() {
+      // The keys and the compressed references, plus the array headers and the segment objects.
+      return (long) table.keys.length * (Long.BYTES + Integer.BYTES) + 128;
+    }
+  }
+}
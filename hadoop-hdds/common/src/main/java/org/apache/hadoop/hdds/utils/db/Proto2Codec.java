@@ -17,17 +17,16 @@
 
 package org.apache.hadoop.hdds.utils.db;
 
+import com.google.protobuf.CodedOutputStream;
 import com.google.protobuf.InvalidProtocolBufferException;
 import com.google.protobuf.MessageLite;
 import com.google.protobuf.Parser;
 import jakarta.annotation.Nonnull;
 import java.io.IOException;
-import java.io.InputStream;
-import java.io.OutputStream;
+import java.nio.ByteBuffer;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ConcurrentMap;
-import org.apache.hadoop.hdds.utils.IOUtils;
-import org.apache.ratis.util.function.CheckedFunction;
+import java.util.function.ToIntFunction;
 
 /**
  * Codecs to serialize/deserialize Protobuf v2 messages.
@@ -65,37 +64,32 @@ public boolean supportCodecBuffer() {
 
   @Override
   public CodecBuffer toCodecBuffer(@Nonnull M message,
-      CodecBuffer.Allocator allocator) throws CodecException {
+      CodecBuffer.Allocator allocator) {
     final int size = message.getSerializedSize();
-    return allocator.apply(size).put(writeTo(message, size));
-  }
-
-  private CheckedFunction<OutputStream, Integer, IOException> writeTo(
-      M message, int size) {
-    return new CheckedFunction<OutputStream, Integer, IOException>() {
-      @Override
-      public Integer apply(OutputStream out) throws IOException {
-        message.writeTo(out);
-        return size;
-      }
-
-      @Override
-      public String toString() {
-        return "source: size=" + size + ", message=" + message;
+    final CodecBuffer codecBuffer = allocator.apply(size);
+    // Write directly to the buffer, without an intermediate OutputStream.
+    final ToIntFunction<ByteBuffer> writeTo = buffer -> {
+      try {
+        message.writeTo(CodedOutputStream.newInstance(buffer));
+      } catch (IOException e) {
+        // The buffer was allocated with the message size, it should never throw an IOException
+        throw new IllegalStateException(
+            "Failed to writeTo: message=" + message, e);
       }
+      return size;
     };
+    codecBuffer.put(writeTo);
+    return codecBuffer;
   }
 
   @Override
   public M fromCodecBuffer(@Nonnull CodecBuffer buffer)
       throws CodecException {
-    final InputStream in = buffer.getInputStream();
+    // Parse directly from the buffer, without an intermediate InputStream.
     try {
-      return parser.parseFrom(in);
+      return parser.parseFrom(buffer.asReadOnlyByteBuffer());
     } catch (InvalidProtocolBufferException e) {
       throw new CodecException("Failed to parse " + buffer + " for " + getTypeClass(), e);
-    } finally {
-      IOUtils.closeQuietly(in);
     }
   }
 
@@ -61,6 +61,9 @@ public enum OzoneManagerVersion implements ComponentVersion {
   S3_BUCKET_TAGGING_API(13,
       "OzoneManager version that supports S3 bucket tagging APIs, such as "
           + "PutBucketTagging, GetBucketTagging, and DeleteBucketTagging"),
+
+  BATCH_GET_FILE_STATUSES(14,
+      "OzoneManager version that supports getting the file statuses of many keys in one request"),
     
   FUTURE_VERSION(-1, "Used internally in the client when the server side is "
       + " newer and an unknown server version has arrived to the client.");
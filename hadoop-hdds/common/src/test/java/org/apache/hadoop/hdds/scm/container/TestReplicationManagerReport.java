@@ -231,6 +231,28 @@ void testStatCannotBeSetTwice() {
         .setStat(HddsProtos.LifeCycleState.CLOSED.toString(), 10));
   }
 
+  @Test
+  void testMerge() {
+    report = new ReplicationManagerReport(2);
+    final ReplicationManagerReport other = new ReplicationManagerReport(2);
+    for (int i = 1; i <= 3; i++) {
+      final ContainerInfo container = mock(ContainerInfo.class);
+      when(container.containerID()).thenReturn(ContainerID.valueOf(i));
+      (i == 1 ? report : other).incrementAndSample(
+          ContainerHealthState.UNDER_REPLICATED, container);
+    }
+    other.increment(HddsProtos.LifeCycleState.CLOSED);
+
+    report.merge(other);
+    assertEquals(3, report.getStat(ContainerHealthState.UNDER_REPLICATED));
+    assertEquals(1, report.getStat(HddsProtos.LifeCycleState.CLOSED));
+    assertEquals(0, report.getStat(ContainerHealthState.OVER_REPLICATED));
+    // The samples are limited.
+    assertEquals(2, report.getSample(ContainerHealthState.UNDER_REPLICATED).size());
+    assertEquals(ContainerID.valueOf(1),
+        report.getSample(ContainerHealthState.UNDER_REPLICATED).get(0));
+  }
+
   @Test
   void testSampleCannotBeSetTwice() {
     List<ContainerID> containers = new ArrayList<>();
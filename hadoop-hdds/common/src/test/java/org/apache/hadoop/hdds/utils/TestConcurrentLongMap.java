@@ -0,0 +1,196 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements. See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.hadoop.hdds.utils;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Test cases for {@link ConcurrentLongMap}.
+ */
+public class TestConcurrentLongMap {
+
+  @Test
+  void testBasicOperations() {
+    final ConcurrentLongMap<String> map = new ConcurrentLongMap<>();
+    assertTrue(map.isEmpty());
+    assertNull(map.put(1, "one"));
+    assertEquals("one", map.put(1, "uno"));
+    assertEquals("uno", map.putIfAbsent(1, "one"));
+    assertNull(map.putIfAbsent(0, "zero"));
+    assertNull(map.put(-1, "minus one"));
+    assertEquals(3, map.size());
+
+    assertEquals("uno", map.get(1));
+    assertEquals("uno", map.get((Object) 1L));
+    assertNull(map.get((Object) 1));
+    assertTrue(map.containsKey(0));
+    assertFalse(map.containsKey(2));
+
+    assertFalse(map.remove(1, "one"));
+    assertTrue(map.remove(1, "uno"));
+    assertEquals("zero", map.remove(0));
+    assertNull(map.remove(0));
+    assertEquals(1, map.size());
+
+    map.clear();
+    assertTrue(map.isEmpty());
+    assertNull(map.get(-1));
+  }
+
+  @Test
+  void testRandomOperations() {
+    final ThreadLocalRandom random = ThreadLocalRandom.current();
+    for (int concurrencyLevel : new int[] {1, 3, 16}) {
+      final ConcurrentLongMap<Long> map = new ConcurrentLongMap<>(concurrencyLevel);
+      final TreeMap<Long, Long> expected = new TreeMap<>();
+      for (int i = 0; i < 100_000; i++) {
+        // A small key range for many collisions and removals
+        final long key = random.nextLong(2_000);
+        final int op = random.nextInt(3);
+        if (op == 0) {
+          final Long value = (long) i;
+          assertEquals(expected.put(key, value), map.put(key, value));
+        } else if (op == 1) {
+          assertEquals(expected.remove(key), map.remove(key));
+        } else {
+          assertEquals(expected.get(key), map.get(key));
+        }
+      }
+      assertEquals(expected, map);
+      assertEquals(new ArrayList<>(expected.keySet()), new ArrayList<>(map.keySet()));
+      assertThat(map.estimateMemoryBytes()).isPositive();
+
+      // Remove all to shrink the tables.
+      for (Iterator<Map.Entry<Long, Long>> i = map.entrySet().iterator(); i.hasNext();) {
+        i.next();
+        i.remove();
+      }
+      assertTrue(map.isEmpty());
+    }
+  }
+
+  @Test
+  void testSortedIteration() {
+    final ConcurrentLongMap<Long> map = new ConcurrentLongMap<>();
+    for (long i = 1000; i > 0; i--) {
+      map.put(i * 7, Long.valueOf(i));
+    }
+
+    final long[] keys = map.sortedKeys(700);
+    assertEquals(901, keys.length);
+    for (int i = 0; i < keys.length; i++) {
+      assertEquals((i + 100) * 7L, keys[i]);
+    }
+
+    final List<Long> values = new ArrayList<>();
+    map.valueIterator(6993).forEachRemaining(values::add);
+    assertEquals(2, values.size());
+    assertEquals(Long.valueOf(1000), values.get(1));
+  }
+
+  @Test
+  void testLimitedSortedKeys() {
+    final ConcurrentLongMap<Long> map = new ConcurrentLongMap<>();
+    final List<Long> shuffled = new ArrayList<>();
+    for (long i = 1; i <= 1000; i++) {
+      shuffled.add(i * 7);
+    }
+    Collections.shuffle(shuffled);
+    shuffled.forEach(k -> map.put(k, k));
+
+    for (int limit : new int[] {0, 1, 2, 10, 100, 900, 901, 2000}) {
+      final long[] keys = map.sortedKeys(700, limit);
+      assertEquals(Math.min(limit, 901), keys.length);
+      for (int i = 0; i < keys.length; i++) {
+        assertEquals((i + 100) * 7L, keys[i]);
+      }
+    }
+
+    // page through the values as ContainerSet#listContainer
+    final List<Long> values = new ArrayList<>();
+    long start = 0;
+    for (;;) {
+      final Iterator<Long> page = map.valueIterator(start, 64);
+      if (!page.hasNext()) {
+        break;
+      }
+      page.forEachRemaining(values::add);
+      start = values.get(values.size() - 1) + 1;
+    }
+    assertEquals(1000, values.size());
+    for (int i = 0; i < values.size(); i++) {
+      assertEquals((i + 1) * 7L, values.get(i));
+    }
+  }
+
+  @Test
+  void testConcurrentReadWrite() throws Exception {
+    final ConcurrentLongMap<Long> map = new ConcurrentLongMap<>(4);
+    // The even keys are always present; the odd keys are added and removed concurrently.
+    for (long i = 0; i < 10_000; i += 2) {
+      map.put(i, Long.valueOf(i));
+    }
+    final AtomicBoolean running = new AtomicBoolean(true);
+    final List<CompletableFuture<Void>> writers = new ArrayList<>();
+    for (int w = 0; w < 2; w++) {
+      writers.add(CompletableFuture.runAsync(() -> {
+        final ThreadLocalRandom random = ThreadLocalRandom.current();
+        while (running.get()) {
+          final long key = random.nextLong(5_000) * 2 + 1;
+          if (random.nextBoolean()) {
+            map.put(key, Long.valueOf(key));
+          } else {
+            map.remove(key);
+          }
+        }
+      }));
+    }
+
+    try {
+      final long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(1);
+      while (System.nanoTime() < deadline) {
+        for (long i = 0; i < 10_000; i += 2) {
+          assertEquals(Long.valueOf(i), map.get(i));
+        }
+        final Long odd = map.get(ThreadLocalRandom.current().nextLong(5_000) * 2 + 1);
+        assertTrue(odd == null || odd % 2 == 1);
+      }
+    } finally {
+      running.set(false);
+      for (CompletableFuture<Void> f : writers) {
+        f.get(1, TimeUnit.MINUTES);
+      }
+    }
+  }
+}
@@ -35,9 +35,6 @@
 import java.util.Objects;
 import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
-import java.util.concurrent.ConcurrentNavigableMap;
-import java.util.concurrent.ConcurrentSkipListMap;
-import java.util.concurrent.ConcurrentSkipListSet;
 import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.concurrent.atomic.AtomicInteger;
 import java.util.function.ToLongFunction;
@@ -46,6 +43,7 @@
 import org.apache.hadoop.hdds.protocol.proto.StorageContainerDatanodeProtocolProtos.ContainerReportsProto;
 import org.apache.hadoop.hdds.scm.container.ContainerID;
 import org.apache.hadoop.hdds.scm.container.common.helpers.StorageContainerException;
+import org.apache.hadoop.hdds.utils.ConcurrentLongMap;
 import org.apache.hadoop.hdds.utils.db.Table;
 import org.apache.hadoop.ozone.container.common.interfaces.Container;
 import org.apache.hadoop.ozone.container.common.statemachine.StateContext;
@@ -70,10 +68,9 @@ public class ContainerSet implements Iterable<Container<?>> {
    */
   private static final int MAX_CONTAINER_MAP_SWAP_RETRIES = 5;
 
-  private final ConcurrentSkipListMap<Long, Container<?>> containerMap = new
-      ConcurrentSkipListMap<>();
-  private final ConcurrentSkipListSet<Long> missingContainerSet =
-      new ConcurrentSkipListSet<>();
+  private final ConcurrentLongMap<Container<?>> containerMap = new ConcurrentLongMap<>();
+  private final ConcurrentLongMap<Boolean> missingContainerMap = new ConcurrentLongMap<>();
+  private final Set<Long> missingContainerSet = Collections.newSetFromMap(missingContainerMap);
 
   private final ConcurrentHashMap<Long, Long> recoveringContainerMap = new ConcurrentHashMap<>();
   private final Clock clock;
@@ -139,7 +136,7 @@ public boolean addContainerByOverwriteMissingContainer(Container<?> container) t
   }
 
   public void ensureContainerNotMissing(long containerId, State state) throws StorageContainerException {
-    if (missingContainerSet.contains(containerId)) {
+    if (missingContainerMap.containsKey(containerId)) {
       throw new StorageContainerException(String.format("Container with container Id %d with state : %s is missing in" +
           " the DN.", containerId, state),
           ContainerProtos.Result.CONTAINER_MISSING);
@@ -207,7 +204,7 @@ private boolean addContainer(Container<?> container, boolean overwrite) throws
             containerId);
       }
       updateContainerIdTable(containerId, container.getContainerData());
-      missingContainerSet.remove(containerId);
+      missingContainerMap.remove(containerId);
       if (container.getContainerData().getState() == RECOVERING) {
         recoveringContainerMap.put(containerId, getCurrentTime() + recoveringTimeout);
       }
@@ -380,7 +377,7 @@ private boolean removeContainer(long containerId, boolean markMissing, boolean r
     // that could recreate the container in another volume if we remove it from the map before adding to missing
     // container.
     if (markMissing) {
-      missingContainerSet.add(containerId);
+      missingContainerMap.put(containerId, Boolean.TRUE);
     }
     Container<?> removed = containerMap.remove(containerId);
     if (removeFromDB) {
@@ -440,7 +437,6 @@ public Map<Long, Long> getRecoveringContainerMap() {
    * Return number of containers in container map.
    * @return container count
    */
-  @VisibleForTesting
   public int containerCount() {
     return containerMap.size();
   }
@@ -564,20 +560,11 @@ public void listContainer(long startContainerId, long count,
             "must be positive");
     LOG.debug("listContainer returns containerData starting from {} of count " +
         "{}", startContainerId, count);
-    ConcurrentNavigableMap<Long, Container<?>> map;
-    if (startContainerId == 0) {
-      map = containerMap;
-    } else {
-      map = containerMap.tailMap(startContainerId, true);
-    }
-    int currentCount = 0;
-    for (Container<?> entry : map.values()) {
-      if (currentCount < count) {
-        data.add(entry.getContainerData());
-        currentCount++;
-      } else {
-        return;
-      }
+    // Only select the keys of this page instead of sorting all the keys.
+    final Iterator<Container<?>> i = containerMap.valueIterator(startContainerId,
+        (int) Math.min(count, Integer.MAX_VALUE));
+    for (int currentCount = 0; currentCount < count && i.hasNext(); currentCount++) {
+      data.add(i.next().getContainerData());
     }
   }
 
@@ -591,7 +578,7 @@ public ContainerReportsProto getContainerReport() throws IOException {
 
     ContainerReportsProto.Builder crBuilder =
         ContainerReportsProto.newBuilder();
-    // No need for locking since containerMap is a ConcurrentSkipListMap
+    // No need for locking since containerMap is a ConcurrentLongMap
     // And we can never get the exact state since close might happen
     // after we iterate a point.
     List<Container<?>> containers = new ArrayList<>(containerMap.values());
@@ -615,6 +602,11 @@ public Set<Long> getMissingContainerSet() {
     return missingContainerSet;
   }
 
+  /** @return the estimated heap memory in bytes used by the container index, excluding the containers. */
+  public long getContainerIndexMemoryBytes() {
+    return containerMap.estimateMemoryBytes() + missingContainerMap.estimateMemoryBytes();
+  }
+
   /**
    * Builds the missing container set by taking a diff between total no
    * containers actually found and number of containers which actually
@@ -630,7 +622,7 @@ public <T> void buildMissingContainerSetAndValidate(Map<T, Long> container2BCSID
       final long id = getId.applyAsLong(mapEntry.getKey());
       if (!containerMap.containsKey(id)) {
         LOG.warn("Adding container {} to missing container set.", id);
-        missingContainerSet.add(id);
+        missingContainerMap.put(id, Boolean.TRUE);
       } else {
         Container<?> container = containerMap.get(id);
         long containerBCSID = container.getBlockCommitSequenceId();
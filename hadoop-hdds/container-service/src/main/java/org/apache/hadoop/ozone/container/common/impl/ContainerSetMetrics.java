@@ -0,0 +1,70 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements. See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.hadoop.ozone.container.common.impl;
+
+import org.apache.hadoop.hdds.annotation.InterfaceAudience;
+import org.apache.hadoop.metrics2.MetricsCollector;
+import org.apache.hadoop.metrics2.MetricsSource;
+import org.apache.hadoop.metrics2.MetricsSystem;
+import org.apache.hadoop.metrics2.annotation.Metrics;
+import org.apache.hadoop.metrics2.lib.DefaultMetricsSystem;
+import org.apache.hadoop.metrics2.lib.Interns;
+import org.apache.hadoop.ozone.OzoneConsts;
+
+/**
+ * Metrics source to report the size of the {@link ContainerSet}.
+ */
+@InterfaceAudience.Private
+@Metrics(about = "Datanode Container Set Metrics", context = OzoneConsts.OZONE)
+public final class ContainerSetMetrics implements MetricsSource {
+
+  public static final String SOURCE = ContainerSetMetrics.class.getSimpleName();
+  private final ContainerSet containerSet;
+
+  private ContainerSetMetrics(ContainerSet containerSet) {
+    this.containerSet = containerSet;
+  }
+
+  public static ContainerSetMetrics create(ContainerSet containerSet) {
+    MetricsSystem ms = DefaultMetricsSystem.instance();
+    return ms.register(SOURCE, "Datanode Container Set Metrics",
+        new ContainerSetMetrics(containerSet));
+  }
+
+  public void unRegister() {
+    MetricsSystem ms = DefaultMetricsSystem.instance();
+    ms.unregisterSource(SOURCE);
+  }
+
+  @Override
+  public void getMetrics(MetricsCollector collector, boolean all) {
+    collector.addRecord(SOURCE)
+        .addGauge(Interns.info("numContainers",
+            "Number of containers in the container set"),
+            containerSet.containerCount())
+        .addGauge(Interns.info("numMissingContainers",
+            "Number of containers marked as missing"),
+            containerSet.getMissingContainerSet().size())
+        .addGauge(Interns.info("numRecoveringContainers",
+            "Number of containers in recovering state"),
+            containerSet.getRecoveringContainerMap().size())
+        .addGauge(Interns.info("containerIndexMemoryBytes",
+            "Estimated heap memory used by the container index, excluding the containers"),
+            containerSet.getContainerIndexMemoryBytes());
+  }
+}
@@ -0,0 +1,104 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements. See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.hadoop.ozone.container.common.report;
+
+import com.google.common.base.Preconditions;
+import org.apache.hadoop.hdds.protocol.proto.StorageContainerDatanodeProtocolProtos.ContainerReplicaProto;
+import org.apache.hadoop.hdds.protocol.proto.StorageContainerDatanodeProtocolProtos.ContainerReportSummaryProto;
+import org.apache.hadoop.hdds.protocol.proto.StorageContainerDatanodeProtocolProtos.ContainerReportsProto;
+import org.apache.hadoop.hdds.scm.container.ContainerIdChecksum;
+import org.apache.hadoop.hdds.utils.ConcurrentLongMap;
+
+/**
+ * Encodes container reports as deltas.
+ * <p>
+ * A delta report only contains the replicas changed since the previous report,
+ * together with a {@link ContainerReportSummaryProto} of all the containers.
+ * Every {@code fullReportInterval}-th report is a full report.
+ * A full report can also be requested explicitly, e.g. when SCM finds that the summary does not match its view.
+ * <p>
+ * A replica is changed if any of the fields used by SCM is changed, see {@link #isChanged}.
+ * The I/O statistics, e.g. the read and write counts, are not compared.
+ */
+public class ContainerReportDeltaEncoder {
+  private final int fullReportInterval;
+
+  /** The sequence number of the last report. */
+  private long sequenceNumber = 0;
+  /** The number of delta reports since the last full report. */
+  private int deltaCount = 0;
+  /** The replicas in the last report, keyed by container ID. */
+  private ConcurrentLongMap<ContainerReplicaProto> lastReplicas = new ConcurrentLongMap<>(1);
+
+  public ContainerReportDeltaEncoder(int fullReportInterval) {
+    Preconditions.checkArgument(fullReportInterval > 0,
+        "fullReportInterval = %s <= 0", fullReportInterval);
+    this.fullReportInterval = fullReportInterval;
+  }
+
+  /**
+   * Encode the given full report.
+   *
+   * @param fullReport the report containing all the replicas.
+   * @param forceFull should the encoded report be a full report?
+   * @return the full report or a delta report, with the summary set.
+   */
+  public synchronized ContainerReportsProto encode(ContainerReportsProto fullReport, boolean forceFull) {
+    final boolean full = forceFull || sequenceNumber == 0 || deltaCount + 1 >= fullReportInterval;
+    final long baseSequenceNumber = sequenceNumber++;
+
+    final ContainerReportsProto.Builder builder = ContainerReportsProto.newBuilder();
+    final ContainerIdChecksum checksum = new ContainerIdChecksum();
+    final ConcurrentLongMap<ContainerReplicaProto> replicas = new ConcurrentLongMap<>(1);
+    for (ContainerReplicaProto replica : fullReport.getReportsList()) {
+      final long id = replica.getContainerID();
+      checksum.add(id);
+      replicas.put(id, replica);
+      if (full || isChanged(lastReplicas.get(id), replica)) {
+        builder.addReports(replica);
+      }
+    }
+    lastReplicas = replicas;
+
+    final ContainerReportSummaryProto.Builder summary = ContainerReportSummaryProto.newBuilder()
+        .setSequenceNumber(sequenceNumber)
+        .setContainerCount(checksum.getCount())
+        .setContainerIdChecksum(checksum.getChecksum());
+    if (full) {
+      deltaCount = 0;
+    } else {
+      deltaCount++;
+      summary.setBaseSequenceNumber(baseSequenceNumber);
+    }
+    return builder.setSummary(summary).build();
+  }
+
+  /** @return true iff the previous replica is null or any of the fields used by SCM is different. */
+  static boolean isChanged(ContainerReplicaProto previous, ContainerReplicaProto current) {
+    return previous == null
+        || previous.getState() != current.getState()
+        || previous.getBlockCommitSequenceId() != current.getBlockCommitSequenceId()
+        || previous.getUsed() != current.getUsed()
+        || previous.getKeyCount() != current.getKeyCount()
+        || previous.getReplicaIndex() != current.getReplicaIndex()
+        || previous.getDeleteTransactionId() != current.getDeleteTransactionId()
+        || previous.getIsEmpty() != current.getIsEmpty()
+        || previous.getDataChecksum() != current.getDataChecksum()
+        || !previous.getOriginNodeId().equals(current.getOriginNodeId());
+  }
+}
@@ -75,6 +75,6 @@ private long getRandomReportDelay() {
 
   @Override
   protected ContainerReportsProto getReport() throws IOException {
-    return getContext().getFullContainerReportDiscardPendingICR();
+    return getContext().getContainerReportDiscardPendingICR();
   }
 }
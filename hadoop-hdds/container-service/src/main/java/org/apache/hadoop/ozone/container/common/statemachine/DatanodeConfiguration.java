@@ -54,6 +54,7 @@ public class DatanodeConfiguration extends ReconfigurableConfig {
 
   static final String CONTAINER_DELETE_THREADS_MAX_KEY = "hdds.datanode.container.delete.threads.max";
   static final String CONTAINER_CLOSE_THREADS_MAX_KEY = "hdds.datanode.container.close.threads.max";
+  static final String CONTAINER_REPORT_DELTA_FULL_INTERVAL_KEY = "hdds.datanode.container.report.delta.full.interval";
   static final String PERIODIC_DISK_CHECK_INTERVAL_MINUTES_KEY = "hdds.datanode.periodic.disk.check.interval.minutes";
   public static final String DISK_CHECK_FILE_SIZE_KEY = "hdds.datanode.disk.check.io.file.size";
   public static final String DISK_CHECK_IO_TEST_COUNT_KEY = "hdds.datanode.disk.check.io.test.count";
@@ -142,6 +143,7 @@ public class DatanodeConfiguration extends ReconfigurableConfig {
 
   static final int CONTAINER_DELETE_THREADS_DEFAULT = 2;
   static final int CONTAINER_CLOSE_THREADS_DEFAULT = 3;
+  static final int CONTAINER_REPORT_DELTA_FULL_INTERVAL_DEFAULT = 10;
   static final int BLOCK_DELETE_THREADS_DEFAULT = 5;
 
   public static final String GRPC_SO_BACKLOG_KEY = "hdds.datanode.grpc.so.backlog";
@@ -354,6 +356,19 @@ public class DatanodeConfiguration extends ReconfigurableConfig {
   private float minFreeSpaceHardLimitRatio =
       HDDS_DATANODE_VOLUME_MIN_FREE_SPACE_HARD_LIMIT_PERCENT_DEFAULT;
 
+  @Config(key = "hdds.datanode.volume.io.bandwidth",
+      defaultValue = "0B",
+      type = ConfigType.SIZE,
+      tags = { DATANODE, STORAGE },
+      description = "The I/O bandwidth per second of each data volume shared by"
+          + " the client I/O and the background I/O, i.e. container replication,"
+          + " disk balancer and container data scanner. The client I/O is never"
+          + " delayed; the background I/O waits when the bandwidth is used up and"
+          + " shares the remaining bandwidth by the weights of the I/O classes."
+          + " 0 disables the scheduling; the I/O of each class is still counted."
+  )
+  private long volumeIOBandwidth = 0;
+
   @Config(key = "hdds.datanode.periodic.disk.check.interval.minutes",
       defaultValue = "60",
       type = ConfigType.LONG,
@@ -524,6 +539,19 @@ public class DatanodeConfiguration extends ReconfigurableConfig {
   private boolean isChunkDataValidationCheck =
       CHUNK_DATA_VALIDATION_CHECK_DEFAULT;
 
+  @Config(key = "hdds.datanode.chunk.write.drop.cache.behind",
+      defaultValue = "false",
+      type = ConfigType.BOOLEAN,
+      tags = { DATANODE, STORAGE },
+      description = "Drop the written block data from the OS page cache."
+          + " After each chunk write, the writeback of the new data is started"
+          + " with sync_file_range and the data written earlier is dropped with"
+          + " posix_fadvise(DONTNEED), so that write-once data neither pollutes"
+          + " the page cache nor causes large writeback bursts."
+          + " It requires the Hadoop native library; otherwise, it has no effect."
+  )
+  private boolean chunkWriteDropCacheBehind = false;
+
   @Config(key = "hdds.datanode.wait.on.all.followers",
       defaultValue = "false",
       type = ConfigType.BOOLEAN,
@@ -552,6 +580,49 @@ public class DatanodeConfiguration extends ReconfigurableConfig {
   )
   private String containerSchemaV3KeySeparator = "|";
 
+  @Config(key = "hdds.datanode.container.schema.v3.group.commit.enabled",
+      defaultValue = "false",
+      type = ConfigType.BOOLEAN,
+      tags = { DATANODE },
+      description = "Enable group commit of the block updates, e.g. PutBlock and"
+          + " FinalizeBlock, to the per-volume RocksDB of container schema v3."
+          + " The updates of concurrent requests from different containers are"
+          + " committed in a single write batch."
+  )
+  private boolean containerSchemaV3GroupCommitEnabled = false;
+
+  @Config(key = "hdds.datanode.container.schema.v3.group.commit.max.wait",
+      defaultValue = "0ms",
+      type = ConfigType.TIME,
+      tags = { DATANODE },
+      description = "The maximum time to wait for more block updates before"
+          + " committing a group, when group commit is enabled. With 0, a group"
+          + " consists of the updates already waiting, which adds no latency."
+  )
+  private Duration containerSchemaV3GroupCommitMaxWait = Duration.ZERO;
+
+  @Config(key = "hdds.datanode.container.report.delta.enabled",
+      defaultValue = "false",
+      type = ConfigType.BOOLEAN,
+      tags = { DATANODE, MANAGEMENT },
+      description = "Send delta container reports.  A delta report only contains"
+          + " the replicas changed since the previous report, together with the"
+          + " count and a checksum of all the container IDs.  SCM requests a"
+          + " full report when the checksum does not match its view."
+          + " The delta reports are only sent after the upgrade is finalized;"
+          + " Recon must be upgraded before that."
+  )
+  private boolean containerReportDeltaEnabled = false;
+
+  @Config(key = "hdds.datanode.container.report.delta.full.interval",
+      defaultValue = "10",
+      type = ConfigType.INT,
+      tags = { DATANODE, MANAGEMENT },
+      description = "When delta container reports are enabled, every n-th"
+          + " container report is a full report."
+  )
+  private int containerReportDeltaFullInterval = CONTAINER_REPORT_DELTA_FULL_INTERVAL_DEFAULT;
+
   @Config(key = "hdds.datanode.rocksdb.log.level",
       defaultValue = "INFO",
       type = ConfigType.STRING,
@@ -706,6 +777,13 @@ public void validate() {
       containerDeleteThreads = CONTAINER_DELETE_THREADS_DEFAULT;
     }
 
+    if (containerReportDeltaFullInterval < 1) {
+      LOG.warn(CONTAINER_REPORT_DELTA_FULL_INTERVAL_KEY + " must be greater than zero" +
+              " and was set to {}. Defaulting to {}",
+          containerReportDeltaFullInterval, CONTAINER_REPORT_DELTA_FULL_INTERVAL_DEFAULT);
+      containerReportDeltaFullInterval = CONTAINER_REPORT_DELTA_FULL_INTERVAL_DEFAULT;
+    }
+
     if (containerCloseThreads < 1) {
       LOG.warn(CONTAINER_CLOSE_THREADS_MAX_KEY + " must be greater than zero" +
               " and was set to {}. Defaulting to {}",
@@ -1204,6 +1282,54 @@ public void setContainerSchemaV3KeySeparator(String separator) {
     this.containerSchemaV3KeySeparator = separator;
   }
 
+  public long getVolumeIOBandwidth() {
+    return volumeIOBandwidth;
+  }
+
+  public void setVolumeIOBandwidth(long bytesPerSecond) {
+    this.volumeIOBandwidth = bytesPerSecond;
+  }
+
+  public boolean isChunkWriteDropCacheBehind() {
+    return chunkWriteDropCacheBehind;
+  }
+
+  public void setChunkWriteDropCacheBehind(boolean dropCacheBehind) {
+    this.chunkWriteDropCacheBehind = dropCacheBehind;
+  }
+
+  public boolean getContainerSchemaV3GroupCommitEnabled() {
+    return containerSchemaV3GroupCommitEnabled;
+  }
+
+  public void setContainerSchemaV3GroupCommitEnabled(boolean enabled) {
+    this.containerSchemaV3GroupCommitEnabled = enabled;
+  }
+
+  public Duration getContainerSchemaV3GroupCommitMaxWait() {
+    return containerSchemaV3GroupCommitMaxWait;
+  }
+
+  public void setContainerSchemaV3GroupCommitMaxWait(Duration maxWait) {
+    this.containerSchemaV3GroupCommitMaxWait = maxWait;
+  }
+
+  public boolean isContainerReportDeltaEnabled() {
+    return containerReportDeltaEnabled;
+  }
+
+  public void setContainerReportDeltaEnabled(boolean enabled) {
+    this.containerReportDeltaEnabled = enabled;
+  }
+
+  public int getContainerReportDeltaFullInterval() {
+    return containerReportDeltaFullInterval;
+  }
+
+  public void setContainerReportDeltaFullInterval(int interval) {
+    this.containerReportDeltaFullInterval = interval;
+  }
+
   public String getRocksdbLogLevel() {
     return rocksdbLogLevel;
   }
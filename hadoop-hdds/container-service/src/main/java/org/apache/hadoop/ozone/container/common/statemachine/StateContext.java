@@ -70,12 +70,15 @@
 import org.apache.hadoop.hdds.protocol.proto.StorageContainerDatanodeProtocolProtos.PipelineReportsProto;
 import org.apache.hadoop.hdds.protocol.proto.StorageContainerDatanodeProtocolProtos.SCMCommandProto;
 import org.apache.hadoop.hdds.scm.net.HostAndPort;
+import org.apache.hadoop.hdds.upgrade.HDDSLayoutFeature;
 import org.apache.hadoop.hdfs.util.EnumCounters;
+import org.apache.hadoop.ozone.container.common.report.ContainerReportDeltaEncoder;
 import org.apache.hadoop.ozone.container.common.statemachine.commandhandler.ClosePipelineCommandHandler;
 import org.apache.hadoop.ozone.container.common.states.DatanodeState;
 import org.apache.hadoop.ozone.container.common.states.datanode.InitDatanodeState;
 import org.apache.hadoop.ozone.container.common.states.datanode.RunningDatanodeState;
 import org.apache.hadoop.ozone.container.ozoneimpl.OzoneContainer;
+import org.apache.hadoop.ozone.container.upgrade.VersionedDatanodeFeatures;
 import org.apache.hadoop.ozone.protocol.commands.CommandStatus;
 import org.apache.hadoop.ozone.protocol.commands.DeleteBlockCommandStatus.DeleteBlockCommandStatusBuilder;
 import org.apache.hadoop.ozone.protocol.commands.SCMCommand;
@@ -115,6 +118,8 @@ public class StateContext {
   private final Set<HostAndPort> endpoints;
   // Only the latest full report of each type is kept
   private final AtomicReference<Message> containerReports;
+  /** Null if delta container reports are disabled. */
+  private final ContainerReportDeltaEncoder containerReportDeltaEncoder;
   private final AtomicReference<Message> nodeReport;
   private final AtomicReference<Message> pipelineReports;
   // Incremental reports are queued in the map below
@@ -176,6 +181,8 @@ public StateContext(ConfigurationSource conf,
     DatanodeConfiguration dnConf =
         conf.getObject(DatanodeConfiguration.class);
     maxCommandQueueLimit = dnConf.getCommandQueueLimit();
+    containerReportDeltaEncoder = dnConf.isContainerReportDeltaEnabled()
+        ? new ContainerReportDeltaEncoder(dnConf.getContainerReportDeltaFullInterval()) : null;
     this.state = state;
     this.parentDatanodeStateMachine = parent;
     commandQueue = new LinkedList<>();
@@ -393,6 +400,21 @@ public List<Message> getAllAvailableReports(
    */
   public ContainerReportsProto getFullContainerReportDiscardPendingICR()
       throws IOException {
+    return getContainerReportDiscardPendingICR(true);
+  }
+
+  /**
+   * Same as {@link #getFullContainerReportDiscardPendingICR()} except that
+   * the report is a delta report when delta container reports are enabled.
+   * @return Container Report
+   */
+  public ContainerReportsProto getContainerReportDiscardPendingICR()
+      throws IOException {
+    return getContainerReportDiscardPendingICR(false);
+  }
+
+  private ContainerReportsProto getContainerReportDiscardPendingICR(
+      boolean forceFull) throws IOException {
 
     // Block ICRs from being generated
     synchronized (parentDatanodeStateMachine
@@ -408,10 +430,16 @@ public ContainerReportsProto getFullContainerReportDiscardPendingICR()
           }
         }
       }
-      return parentDatanodeStateMachine
+      final ContainerReportsProto report = parentDatanodeStateMachine
           .getContainer()
           .getContainerSet()
           .getContainerReport();
+      // An SCM before the upgrade treats a delta report as a full report.
+      if (containerReportDeltaEncoder == null
+          || !VersionedDatanodeFeatures.isFinalized(HDDSLayoutFeature.DELTA_CONTAINER_REPORTS)) {
+        return report;
+      }
+      return containerReportDeltaEncoder.encode(report, forceFull);
     }
   }
 
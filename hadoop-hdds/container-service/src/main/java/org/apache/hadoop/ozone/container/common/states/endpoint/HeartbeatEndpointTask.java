@@ -60,6 +60,7 @@
 import org.apache.hadoop.ozone.protocol.commands.RefreshVolumeUsageCommand;
 import org.apache.hadoop.ozone.protocol.commands.ReplicateContainerCommand;
 import org.apache.hadoop.ozone.protocol.commands.SCMCommand;
+import org.apache.hadoop.ozone.protocol.commands.SendFullContainerReportCommand;
 import org.apache.hadoop.ozone.protocol.commands.SetNodeOperationalStateCommand;
 import org.apache.hadoop.util.Time;
 import org.slf4j.Logger;
@@ -391,6 +392,12 @@ private void processResponse(SCMHeartbeatResponseProto response,
             ReconcileContainerCommand.getFromProtobuf(commandResponseProto.getReconcileContainerCommandProto());
         processCommonCommand(commandResponseProto, reconcileContainerCommand);
         break;
+      case sendFullContainerReportCommand:
+        SendFullContainerReportCommand sendFullContainerReportCommand =
+            SendFullContainerReportCommand.getFromProtobuf(
+                commandResponseProto.getSendFullContainerReportCommandProto());
+        processCommonCommand(commandResponseProto, sendFullContainerReportCommand);
+        break;
       default:
         throw new IllegalArgumentException("Unknown response : "
             + commandResponseProto.getCommandType().name());
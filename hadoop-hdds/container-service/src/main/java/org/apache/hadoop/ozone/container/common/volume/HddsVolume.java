@@ -87,6 +87,7 @@ public class HddsVolume extends StorageVolume {
       "deleted-containers";
 
   private final VolumeIOStats volumeIOStats;
+  private final VolumeIOScheduler ioScheduler;
   private final VolumeInfoMetrics volumeInfoMetrics;
 
   private ContainerController controller;
@@ -138,6 +139,8 @@ private HddsVolume(Builder b) throws IOException {
       int[] intervals = conf.getInts(OZONE_DATANODE_IO_METRICS_PERCENTILES_INTERVALS_SECONDS_KEY);
       this.volumeIOStats = new VolumeIOStats(b.getVolumeRootStr(),
           this.getStorageDir().toString(), intervals);
+      this.ioScheduler = new VolumeIOScheduler(
+          getDatanodeConfig().getVolumeIOBandwidth(), volumeIOStats);
       this.volumeInfoMetrics =
           new VolumeInfoMetrics(b.getVolumeRootStr(), this);
 
@@ -147,6 +150,7 @@ private HddsVolume(Builder b) throws IOException {
       // HddsVolume Object.
       this.setState(VolumeState.FAILED);
       volumeIOStats = null;
+      ioScheduler = null;
       volumeInfoMetrics = new VolumeInfoMetrics(b.getVolumeRootStr(), this);
     }
 
@@ -185,6 +189,10 @@ public VolumeIOStats getVolumeIOStats() {
     return volumeIOStats;
   }
 
+  public VolumeIOScheduler getIOScheduler() {
+    return ioScheduler;
+  }
+
   public VolumeInfoMetrics getVolumeInfoStats() {
     return volumeInfoMetrics;
   }
@@ -0,0 +1,220 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements. See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.hadoop.ozone.container.common.volume;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
+import org.apache.hadoop.util.Time;
+
+/**
+ * Schedule the I/O of the datanode services on an {@link HddsVolume}
+ * using a bandwidth budget shared by all the services.
+ * <p>
+ * The budget is a token bucket refilled at the configured bytes per second,
+ * holding at most one second of tokens.  The I/O is classified in
+ * {@link IOClass}es:
+ * <ul>
+ *   <li>{@link IOClass#CLIENT} I/O is never delayed.
+ *       It only consumes the tokens, possibly making the balance negative,
+ *       so that it has priority over the background I/O.</li>
+ *   <li>The background I/O waits until the balance is positive and then
+ *       consumes the tokens, possibly making the balance negative.
+ *       Therefore, a large I/O, e.g. moving a container, does not need to
+ *       wait for the tokens to accumulate, but the following I/O waits for
+ *       it to be paid back.  When the I/O of multiple background classes is
+ *       waiting, the tokens are given in proportion to the class weights,
+ *       i.e. the class with the minimum bytes per weight consumed goes first.</li>
+ * </ul>
+ * When the bandwidth is zero, the I/O is only counted without scheduling.
+ */
+public class VolumeIOScheduler {
+
+  /** The classes of the I/O on a volume. */
+  public enum IOClass {
+    CLIENT(0),
+    REPLICATION(4),
+    DISK_BALANCER(2),
+    SCANNER(1);
+
+    private final int weight;
+
+    IOClass(int weight) {
+      this.weight = weight;
+    }
+
+    /** @return the weight to share the bandwidth with the other background classes. */
+    public int getWeight() {
+      return weight;
+    }
+
+    /** @return the name used in the metrics, e.g. diskBalancer. */
+    String getMetricsName() {
+      final StringBuilder b = new StringBuilder();
+      boolean upper = false;
+      for (char c : name().toCharArray()) {
+        if (c == '_') {
+          upper = true;
+        } else {
+          b.append(upper ? c : Character.toLowerCase(c));
+          upper = false;
+        }
+      }
+      return b.toString();
+    }
+  }
+
+  private final long bytesPerSecond;
+  private final VolumeIOStats stats;
+
+  private final Lock lock = new ReentrantLock();
+  private final Condition changed = lock.newCondition();
+  /** The token balance in bytes; guarded by the lock. */
+  private long tokens;
+  private long lastRefillNanos = System.nanoTime();
+  /** The number of threads waiting for each class; guarded by the lock. */
+  private final int[] waiting = new int[IOClass.values().length];
+  /** The bytes per weight consumed by each class; guarded by the lock. */
+  private final double[] virtualTimes = new double[IOClass.values().length];
+  /** The virtual time of the last grant; guarded by the lock. */
+  private double virtualTime;
+
+  public VolumeIOScheduler(long bytesPerSecond, VolumeIOStats stats) {
+    this.bytesPerSecond = Math.max(0, bytesPerSecond);
+    this.stats = stats;
+    this.tokens = this.bytesPerSecond;
+  }
+
+  /** Consume the tokens of the scheduler of the given volume, if there is any. */
+  public static void consume(HddsVolume volume, IOClass ioClass, long bytes) {
+    final VolumeIOScheduler scheduler = volume.getIOScheduler();
+    if (scheduler != null) {
+      scheduler.consume(ioClass, bytes);
+    }
+  }
+
+  /** Acquire the tokens from the scheduler of the given volume, if there is any. */
+  public static void acquire(HddsVolume volume, IOClass ioClass, long bytes) throws InterruptedException {
+    final VolumeIOScheduler scheduler = volume.getIOScheduler();
+    if (scheduler != null) {
+      scheduler.acquire(ioClass, bytes);
+    }
+  }
+
+  /** @return the bandwidth in bytes per second; 0 means unlimited. */
+  public long getBytesPerSecond() {
+    return bytesPerSecond;
+  }
+
+  /**
+   * Consume the tokens for the given bytes without waiting.
+   * It is used for {@link IOClass#CLIENT} I/O.
+   */
+  public void consume(IOClass ioClass, long bytes) {
+    if (bytesPerSecond > 0) {
+      lock.lock();
+      try {
+        refill();
+        // Limit the debt made by the client I/O to one second so that the background I/O can resume.
+        // The debt made by the background I/O is kept.
+        tokens = Math.max(tokens - bytes, Math.min(tokens, -bytesPerSecond));
+      } finally {
+        lock.unlock();
+      }
+    }
+    updateStats(ioClass, bytes, 0);
+  }
+
+  /**
+   * Wait until the background I/O of the given class is scheduled
+   * and then consume the tokens for the given bytes.
+   */
+  public void acquire(IOClass ioClass, long bytes) throws InterruptedException {
+    if (ioClass == IOClass.CLIENT || bytesPerSecond <= 0) {
+      consume(ioClass, bytes);
+      return;
+    }
+
+    final long startTime = Time.monotonicNow();
+    final int i = ioClass.ordinal();
+    lock.lock();
+    try {
+      if (waiting[i]++ == 0) {
+        // A newly active class starts from the current virtual time, without credit for its idle time.
+        virtualTimes[i] = Math.max(virtualTimes[i], virtualTime);
+      }
+      try {
+        for (;;) {
+          refill();
+          if (tokens > 0 && isNext(i)) {
+            break;
+          }
+          final long waitNanos = tokens > 0 ? TimeUnit.MILLISECONDS.toNanos(10)
+              : getRefillNanos(-tokens + 1, bytesPerSecond);
+          changed.awaitNanos(Math.max(waitNanos, 1));
+        }
+        tokens -= bytes;
+        virtualTime = virtualTimes[i];
+        virtualTimes[i] += (double) bytes / ioClass.getWeight();
+      } finally {
+        waiting[i]--;
+        changed.signalAll();
+      }
+    } finally {
+      lock.unlock();
+    }
+    updateStats(ioClass, bytes, Time.monotonicNow() - startTime);
+  }
+
+  /** @return true iff the given class has the minimum virtual time among the waiting classes. */
+  private boolean isNext(int i) {
+    for (int j = 0; j < waiting.length; j++) {
+      if (j != i && waiting[j] > 0 && virtualTimes[j] < virtualTimes[i]) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  /**
+   * @return the nanoseconds to refill the given number of tokens, computed in double
+   *         since the product of the debt and a second in nanos may overflow a long.
+   */
+  static long getRefillNanos(long tokens, long bytesPerSecond) {
+    return (long) Math.min(Long.MAX_VALUE, (double) tokens * TimeUnit.SECONDS.toNanos(1) / bytesPerSecond);
+  }
+
+  private void refill() {
+    final long now = System.nanoTime();
+    final double refill = (double) (now - lastRefillNanos) * bytesPerSecond / TimeUnit.SECONDS.toNanos(1);
+    if (refill >= 1) {
+      tokens = (long) Math.min(tokens + refill, bytesPerSecond);
+      lastRefillNanos = now;
+    }
+  }
+
+  private void updateStats(IOClass ioClass, long bytes, long waitTime) {
+    if (stats != null) {
+      stats.incIOClassBytes(ioClass, bytes);
+      if (ioClass != IOClass.CLIENT) {
+        stats.incIOClassWaitTime(ioClass, waitTime);
+      }
+    }
+  }
+}
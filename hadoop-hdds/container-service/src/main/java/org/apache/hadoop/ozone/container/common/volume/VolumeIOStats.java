@@ -24,6 +24,7 @@
 import org.apache.hadoop.metrics2.lib.MutableCounterLong;
 import org.apache.hadoop.metrics2.lib.MutableQuantiles;
 import org.apache.hadoop.metrics2.lib.MutableRate;
+import org.apache.hadoop.ozone.container.common.volume.VolumeIOScheduler.IOClass;
 
 /**
  * This class is used to track Volume IO stats for each HDDS Volume.
@@ -48,6 +49,12 @@ public class VolumeIOStats {
   private MutableRate writeTime;
   @Metric
   private MutableQuantiles[] writeLatencyQuantiles;
+  @Metric
+  private MutableRate writeCacheDropTime;
+  /** The bytes of each {@link VolumeIOScheduler.IOClass}. */
+  private final MutableCounterLong[] ioClassBytes = new MutableCounterLong[IOClass.values().length];
+  /** The time waiting for the {@link VolumeIOScheduler} of each background class. */
+  private final MutableRate[] ioClassWaitTime = new MutableRate[IOClass.values().length];
 
   @Deprecated
   public VolumeIOStats() {
@@ -79,6 +86,15 @@ public VolumeIOStats(String identifier, String storageDirectory, int[] intervals
   }
 
   public void init() {
+    for (IOClass c : IOClass.values()) {
+      final String name = c.getMetricsName();
+      ioClassBytes[c.ordinal()] = registry.newCounter(name + "IOBytes",
+          "Bytes of " + c + " I/O", 0L);
+      if (c != IOClass.CLIENT) {
+        ioClassWaitTime[c.ordinal()] = registry.newRate(name + "IOWaitTime",
+            "Time waiting for scheduling " + c + " I/O in ms");
+      }
+    }
     MetricsSystem ms = DefaultMetricsSystem.instance();
     ms.register(metricsSourceName, "Volume I/O Statistics", this);
   }
@@ -157,6 +173,30 @@ public void incWriteTime(long time) {
     }
   }
 
+  /**
+   * Increment the time taken to start the writeback and to drop the written
+   * data from the OS page cache, which is not included in the write time.
+   * @param time
+   */
+  public void incWriteCacheDropTime(long time) {
+    writeCacheDropTime.add(time);
+  }
+
+  /**
+   * Increment the bytes of the given I/O class.
+   */
+  public void incIOClassBytes(IOClass ioClass, long bytes) {
+    ioClassBytes[ioClass.ordinal()].incr(bytes);
+  }
+
+  /**
+   * Increment the time waiting for scheduling the given background I/O class.
+   * @param time in ms
+   */
+  public void incIOClassWaitTime(IOClass ioClass, long time) {
+    ioClassWaitTime[ioClass.ordinal()].add(time);
+  }
+
   /**
    * Returns total number of bytes read from the volume.
    * @return long
@@ -205,6 +245,22 @@ public long getWriteTime() {
     return (long) writeTime.lastStat().total();
   }
 
+  /**
+   * Returns total time to drop the written data from the OS page cache.
+   * @return long
+   */
+  public long getWriteCacheDropTime() {
+    return (long) writeCacheDropTime.lastStat().total();
+  }
+
+  /**
+   * Returns total number of bytes of the given I/O class.
+   * @return long
+   */
+  public long getIOClassBytes(IOClass ioClass) {
+    return ioClassBytes[ioClass.ordinal()].value();
+  }
+
   @Metric
   public String getStorageDirectory() {
     return storageDirectory;
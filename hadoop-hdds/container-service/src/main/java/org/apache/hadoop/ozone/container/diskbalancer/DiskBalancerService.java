@@ -71,6 +71,8 @@
 import org.apache.hadoop.ozone.container.common.utils.StorageVolumeUtil;
 import org.apache.hadoop.ozone.container.common.volume.HddsVolume;
 import org.apache.hadoop.ozone.container.common.volume.MutableVolumeSet;
+import org.apache.hadoop.ozone.container.common.volume.VolumeIOScheduler;
+import org.apache.hadoop.ozone.container.common.volume.VolumeIOScheduler.IOClass;
 import org.apache.hadoop.ozone.container.diskbalancer.DiskBalancerVolumeCalculation.VolumeFixedUsage;
 import org.apache.hadoop.ozone.container.diskbalancer.policy.ContainerCandidate;
 import org.apache.hadoop.ozone.container.diskbalancer.policy.ContainerChoosingPolicy;
@@ -528,6 +530,11 @@ public BackgroundTaskResult call() {
         return BackgroundTaskResult.EmptyTaskResult.newResult();
       }
 
+      if (!acquireVolumeIO(containerId, containerSize)) {
+        postCall(false, startTime);
+        return BackgroundTaskResult.EmptyTaskResult.newResult();
+      }
+
       // hold read lock on the container first, to avoid other threads to update the container state,
       // such as block deletion.
       container.readLock();
@@ -662,6 +669,22 @@ public int getPriority() {
       return BackgroundTask.super.getPriority();
     }
 
+    /**
+     * Share the bandwidth of both volumes with the other I/O before taking the container lock.
+     * @return false if it is interrupted.
+     */
+    private boolean acquireVolumeIO(long containerId, long containerSize) {
+      try {
+        VolumeIOScheduler.acquire(sourceVolume, IOClass.DISK_BALANCER, containerSize);
+        VolumeIOScheduler.acquire(destVolume, IOClass.DISK_BALANCER, containerSize);
+        return true;
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+        LOG.warn("Interrupted while scheduling the move of container {}", containerId);
+        return false;
+      }
+    }
+
     private void postCall(boolean success, long startTime) {
       inProgressContainers.remove(ContainerID.valueOf(containerData.getContainerID()));
       deltaSizes.merge(sourceVolume, containerData.getBytesUsed(), Long::sum);
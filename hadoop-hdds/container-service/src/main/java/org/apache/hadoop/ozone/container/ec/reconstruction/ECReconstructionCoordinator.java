@@ -42,6 +42,7 @@
 import java.util.concurrent.SynchronousQueue;
 import java.util.concurrent.ThreadPoolExecutor;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
 import java.util.stream.Collectors;
 import org.apache.hadoop.hdds.client.BlockID;
 import org.apache.hadoop.hdds.client.ECReplicationConfig;
@@ -64,6 +65,7 @@
 import org.apache.hadoop.hdds.utils.IOUtils;
 import org.apache.hadoop.io.ByteBufferPool;
 import org.apache.hadoop.io.ElasticByteBufferPool;
+import org.apache.hadoop.ozone.OzoneConfigKeys;
 import org.apache.hadoop.ozone.client.io.BlockInputStreamFactory;
 import org.apache.hadoop.ozone.client.io.BlockInputStreamFactoryImpl;
 import org.apache.hadoop.ozone.client.io.ECBlockInputStreamProxy;
@@ -72,6 +74,7 @@
 import org.apache.hadoop.ozone.container.common.helpers.TokenHelper;
 import org.apache.hadoop.ozone.container.common.statemachine.StateContext;
 import org.apache.hadoop.security.token.Token;
+import org.apache.hadoop.util.Time;
 import org.apache.ratis.util.MemoizedSupplier;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -90,6 +93,8 @@
  * -      for each stripe
  * -        use ECReconstructedStripedInputStream.recoverChunks to decode chunks
  * -        use ECBlockOutputStream.write to write decoded chunks to TargetDNs
+ * -        (asynchronously, up to ozone.client.ec.reconstruct.stripe.inflight.limit
+ * -        stripes are written while the next stripe is decoded)
  * -    PutBlock
  * - Close RECOVERING containers in TargetDNs
  */
@@ -114,6 +119,8 @@ public class ECReconstructionCoordinator implements Closeable {
   private final ECReconstructionMetrics metrics;
   private final StateContext context;
   private final OzoneClientConfig ozoneClientConfig;
+  /** The deadline of the chunk write requests, i.e. the gRPC client timeout. */
+  private final long writeTimeoutMs;
 
   public ECReconstructionCoordinator(
       ConfigurationSource conf, CertificateClient certificateClient,
@@ -125,6 +132,8 @@ public ECReconstructionCoordinator(
         certificateClient);
     this.byteBufferPool = new ElasticByteBufferPool();
     ozoneClientConfig = conf.getObject(OzoneClientConfig.class);
+    this.writeTimeoutMs = conf.getTimeDuration(OzoneConfigKeys.OZONE_CLIENT_READ_TIMEOUT,
+        OzoneConfigKeys.OZONE_CLIENT_READ_TIMEOUT_DEFAULT, TimeUnit.MILLISECONDS);
     this.ecReconstructReadExecutor = createThreadPoolExecutor(
         EC_RECONSTRUCT_STRIPE_READ_POOL_MIN_SIZE,
         ozoneClientConfig.getEcReconstructStripeReadPoolLimit(),
@@ -272,15 +281,27 @@ public void reconstructECBlockGroup(BlockLocationInfo blockLocationInfo,
           new ECBlockOutputStream[toReconstructIndexes.size()];
       ECBlockOutputStream[] emptyBlockStreams =
           new ECBlockOutputStream[notReconstructIndexes.size()];
-      ByteBuffer[] bufs = new ByteBuffer[toReconstructIndexes.size()];
+      // The buffers of the stripes in flight, i.e. being written to the targets.
+      int inFlightLimit = toReconstructIndexes.isEmpty() ? 0
+          : Math.max(1, clientConfig.getEcReconstructStripeInFlightLimit());
+      ByteBuffer[][] stripeBufs =
+          new ByteBuffer[inFlightLimit][toReconstructIndexes.size()];
+      List<List<CompletableFuture<ContainerProtos.ContainerCommandResponseProto>>>
+          stripeWrites = new ArrayList<>(inFlightLimit);
+      long startTime = Time.monotonicNow();
       try {
         // Create streams and buffers for all indexes that need reconstructed
         for (int i = 0; i < toReconstructIndexes.size(); i++) {
           int replicaIndex = toReconstructIndexes.get(i);
           DatanodeDetails datanodeDetails = targetMap.get(replicaIndex);
           targetBlockStreams[i] = getECBlockOutputStream(blockLocationInfo, datanodeDetails, repConfig, replicaIndex);
-          bufs[i] = byteBufferPool.getBuffer(false, repConfig.getEcChunkSize());
-          bufs[i].clear();
+        }
+        for (ByteBuffer[] bufs : stripeBufs) {
+          for (int i = 0; i < bufs.length; i++) {
+            bufs[i] = byteBufferPool.getBuffer(false, repConfig.getEcChunkSize());
+            bufs[i].clear();
+          }
+          stripeWrites.add(new ArrayList<>(bufs.length));
         }
         // Then create a stream for all indexes that don't need reconstructed, but still need a stream to
         // write the empty block data to.
@@ -294,7 +315,17 @@ public void reconstructECBlockGroup(BlockLocationInfo blockLocationInfo,
           sis.setRecoveryIndexes(toReconstructIndexes.stream().map(i -> (i - 1))
               .collect(Collectors.toSet()));
           long length = safeBlockGroupLength;
-          while (length > 0) {
+          for (int stripe = 0; length > 0; stripe++) {
+            // Wait for the writes of the stripe previously using the buffers.
+            final int slot = stripe % inFlightLimit;
+            final ByteBuffer[] bufs = stripeBufs[slot];
+            final List<CompletableFuture<ContainerProtos.ContainerCommandResponseProto>>
+                writes = stripeWrites.get(slot);
+            checkWriteFailures(targetBlockStreams, writes);
+            for (ByteBuffer buf : bufs) {
+              buf.clear();
+            }
+
             int readLen;
             try {
               readLen = sis.recoverChunks(bufs);
@@ -311,19 +342,23 @@ public void reconstructECBlockGroup(BlockLocationInfo blockLocationInfo,
                   blockDataGroup);
               throw e;
             }
-            // TODO: can be submitted in parallel
+            // Write the chunks to all the targets in parallel without waiting,
+            // so that the next stripe is decoded meanwhile.
+            long writeLen = 0;
             for (int i = 0; i < bufs.length; i++) {
-              if (bufs[i].remaining() != 0) {
-                // If the buffer is empty, we don't need to write it as it will cause
-                // an empty chunk to be added to the end of the block.
-                CompletableFuture<ContainerProtos.ContainerCommandResponseProto>
-                    future = targetBlockStreams[i].write(bufs[i]);
-                checkFailures(targetBlockStreams[i], future);
-              }
-              bufs[i].clear();
+              // If the buffer is empty, we don't need to write it as it will cause
+              // an empty chunk to be added to the end of the block.
+              final int remaining = bufs[i].remaining();
+              writes.add(remaining == 0 ? null : targetBlockStreams[i].write(bufs[i]));
+              writeLen += remaining;
             }
+            metrics.incReconstructedStripes(writeLen);
             length -= readLen;
           }
+          for (List<CompletableFuture<ContainerProtos.ContainerCommandResponseProto>>
+              writes : stripeWrites) {
+            checkWriteFailures(targetBlockStreams, writes);
+          }
         }
         List<ECBlockOutputStream> allStreams = new ArrayList<>(Arrays.asList(targetBlockStreams));
         allStreams.addAll(Arrays.asList(emptyBlockStreams));
@@ -331,9 +366,24 @@ public void reconstructECBlockGroup(BlockLocationInfo blockLocationInfo,
           targetStream.executePutBlock(true, true, blockLocationInfo.getLength(), blockDataGroup);
           checkFailures(targetStream, targetStream.getCurrentPutBlkResponseFuture());
         }
+        metrics.addBlockGroupReconstructionTime(Time.monotonicNow() - startTime);
       } finally {
-        for (ByteBuffer buf : bufs) {
-          byteBufferPool.putBuffer(buf);
+        // Wait for the writes still in flight, if any, before releasing their buffers.
+        final long deadline = Time.monotonicNow() + writeTimeoutMs;
+        for (int slot = 0; slot < stripeWrites.size(); slot++) {
+          if (!awaitWrites(stripeWrites.get(slot), deadline)) {
+            // The buffers may still be used by the writes, do not return them to the pool.
+            LOG.warn("Chunk writes of block {} are not completed in {}ms, dropping their buffers",
+                blockLocationInfo.getBlockID(), writeTimeoutMs);
+            Arrays.fill(stripeBufs[slot], null);
+          }
+        }
+        for (ByteBuffer[] bufs : stripeBufs) {
+          for (ByteBuffer buf : bufs) {
+            if (buf != null) {
+              byteBufferPool.putBuffer(buf);
+            }
+          }
         }
         IOUtils.cleanupWithLogger(LOG, targetBlockStreams);
         IOUtils.cleanupWithLogger(LOG, emptyBlockStreams);
@@ -378,6 +428,44 @@ private void logBlockGroupDetails(BlockLocationInfo blockLocationInfo,
     }
   }
 
+  /**
+   * Wait for the chunk writes of a stripe until the given deadline.
+   * @return true iff all the writes have completed, successfully or not.
+   */
+  private static boolean awaitWrites(
+      List<CompletableFuture<ContainerProtos.ContainerCommandResponseProto>> writes, long deadline) {
+    for (CompletableFuture<?> future : writes) {
+      if (future != null) {
+        try {
+          future.get(Math.max(0, deadline - Time.monotonicNow()), TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+          Thread.currentThread().interrupt();
+          return false;
+        } catch (TimeoutException e) {
+          return false;
+        } catch (ExecutionException ignored) {
+          // the failure has been or will be reported
+        }
+      }
+    }
+    return true;
+  }
+
+  /**
+   * Check the chunk writes of a stripe and clear them.
+   * @param writes the write of each target; null if there was nothing to write.
+   */
+  private void checkWriteFailures(ECBlockOutputStream[] targetBlockStreams,
+      List<CompletableFuture<ContainerProtos.ContainerCommandResponseProto>> writes)
+      throws IOException {
+    for (int i = 0; i < writes.size(); i++) {
+      if (writes.get(i) != null) {
+        checkFailures(targetBlockStreams[i], writes.get(i));
+      }
+    }
+    writes.clear();
+  }
+
   private void checkFailures(ECBlockOutputStream targetBlockStream,
       CompletableFuture<ContainerProtos.ContainerCommandResponseProto>
           currentPutBlkResponseFuture)
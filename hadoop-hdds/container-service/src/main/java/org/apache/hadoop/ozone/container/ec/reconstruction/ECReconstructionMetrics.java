@@ -23,6 +23,7 @@
 import org.apache.hadoop.metrics2.annotation.Metrics;
 import org.apache.hadoop.metrics2.lib.DefaultMetricsSystem;
 import org.apache.hadoop.metrics2.lib.MutableCounterLong;
+import org.apache.hadoop.metrics2.lib.MutableRate;
 import org.apache.hadoop.ozone.OzoneConsts;
 
 /**
@@ -39,6 +40,12 @@ public final class ECReconstructionMetrics {
   private @Metric MutableCounterLong blockGroupReconstructionFailsTotal;
   private @Metric MutableCounterLong reconstructionTotal;
   private @Metric MutableCounterLong reconstructionFailsTotal;
+  @Metric(about = "The number of bytes written to the targets.")
+  private MutableCounterLong reconstructedBytesTotal;
+  @Metric(about = "The number of stripes reconstructed.")
+  private MutableCounterLong reconstructedStripesTotal;
+  @Metric(about = "The time taken to reconstruct a block group in milliseconds.")
+  private MutableRate blockGroupReconstructionTime;
 
   private ECReconstructionMetrics() {
   }
@@ -70,6 +77,15 @@ public void incReconstructionFailsTotal() {
     reconstructionFailsTotal.incr();
   }
 
+  public void incReconstructedStripes(long bytes) {
+    reconstructedStripesTotal.incr();
+    reconstructedBytesTotal.incr(bytes);
+  }
+
+  public void addBlockGroupReconstructionTime(long timeMs) {
+    blockGroupReconstructionTime.add(timeMs);
+  }
+
   public long getReconstructionTotal() {
     return reconstructionTotal.value();
   }
@@ -77,4 +93,12 @@ public long getReconstructionTotal() {
   public long getBlockGroupReconstructionTotal() {
     return blockGroupReconstructionTotal.value();
   }
+
+  public long getReconstructedBytesTotal() {
+    return reconstructedBytesTotal.value();
+  }
+
+  public long getReconstructedStripesTotal() {
+    return reconstructedStripesTotal.value();
+  }
 }
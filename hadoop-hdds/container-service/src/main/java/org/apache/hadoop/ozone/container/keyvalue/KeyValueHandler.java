@@ -62,6 +62,7 @@
 import static org.apache.hadoop.ozone.container.checksum.DNContainerOperationClient.createSingleNodePipeline;
 import static org.apache.hadoop.ozone.container.common.impl.ContainerLayoutVersion.DEFAULT_LAYOUT;
 import static org.apache.hadoop.ozone.container.common.impl.ContainerLayoutVersion.FILE_PER_BLOCK;
+import static org.apache.hadoop.ozone.container.common.volume.VolumeIOScheduler.IOClass.CLIENT;
 import static org.apache.ratis.util.Preconditions.assertSame;
 import static org.apache.ratis.util.Preconditions.assertTrue;
 
@@ -124,6 +125,7 @@
 import org.apache.hadoop.hdds.upgrade.HDDSLayoutFeature;
 import org.apache.hadoop.hdds.utils.FaultInjector;
 import org.apache.hadoop.hdds.utils.HddsServerUtil;
+import org.apache.hadoop.hdds.utils.db.CodecBuffer;
 import org.apache.hadoop.hdds.utils.db.CodecException;
 import org.apache.hadoop.hdds.utils.io.RandomAccessFileChannel;
 import org.apache.hadoop.ozone.OzoneConfigKeys;
@@ -159,6 +161,7 @@
 import org.apache.hadoop.ozone.container.common.utils.StorageVolumeUtil;
 import org.apache.hadoop.ozone.container.common.volume.HddsVolume;
 import org.apache.hadoop.ozone.container.common.volume.VolumeChoosingPolicyFactory;
+import org.apache.hadoop.ozone.container.common.volume.VolumeIOScheduler;
 import org.apache.hadoop.ozone.container.common.volume.VolumeSet;
 import org.apache.hadoop.ozone.container.keyvalue.helpers.BlockUtils;
 import org.apache.hadoop.ozone.container.keyvalue.helpers.ChunkUtils;
@@ -2133,6 +2136,7 @@ public ContainerCommandResponseProto readBlock(
       HddsVolume volume = containerData.getVolume();
       if (volume != null) {
         volume.getVolumeIOStats().recordReadOperation(startTime, bytesRead);
+        VolumeIOScheduler.consume(volume, CLIENT, bytesRead);
       }
       metrics.incContainerBytesStats(Type.ReadBlock, bytesRead);
     } catch (StorageContainerException ex) {
@@ -2188,47 +2192,51 @@ private long readBlockImpl(ContainerCommandRequestProto request, RandomAccessFil
     final long offsetAlignment = readBlock.getOffset() % bytesPerChecksum;
     long adjustedOffset = readBlock.getOffset() - offsetAlignment;
 
-    final ByteBuffer buffer = ByteBuffer.allocate(responseDataSize);
-    blockFile.position(adjustedOffset);
-    long totalDataLength = 0;
-    int numResponses = 0;
-    final long rounded = roundUp(readBlock.getLength() + offsetAlignment, bytesPerChecksum);
-    final long requiredLength = Math.min(rounded, blockData.getSize() - adjustedOffset);
-    LOG.debug("adjustedOffset {}, requiredLength {}, blockSize {}",
-        adjustedOffset, requiredLength, blockData.getSize());
-    for (boolean shouldRead = true; totalDataLength < requiredLength && shouldRead;) {
-      shouldRead = blockFile.read(buffer);
-      buffer.flip();
-      final int readLength = buffer.remaining();
-      if (readLength == 0) {
-        assertTrue(!shouldRead);
-        break;
-      }
-      assertTrue(readLength > 0, () -> "readLength = " + readLength + " <= 0");
-
-      if (checksumType != ContainerProtos.ChecksumType.NONE) {
-        final List<ByteString> checksums = getChecksums(adjustedOffset, readLength,
-            bytesPerChunk, bytesPerChecksum, chunkInfos);
-        LOG.debug("Read {} at adjustedOffset {}, readLength {}, bytesPerChunk {}, bytesPerChecksum {}",
-            readBlock, adjustedOffset, readLength, bytesPerChunk, bytesPerChecksum);
-        checksumData = new ChecksumData(checksumType, bytesPerChecksum, checksums);
-        if (verifyChecksum) {
-          Checksum.verifyChecksum(buffer.duplicate(), checksumData, 0);
+    // Read into a pooled direct buffer, which is wrapped by the responses without copying.
+    // It can be reused once onNext returns since the response is serialized in onNext.
+    try (CodecBuffer codecBuffer = CodecBuffer.allocateDirect(responseDataSize)) {
+      final ByteBuffer buffer = codecBuffer.asWritableByteBuffer();
+      blockFile.position(adjustedOffset);
+      long totalDataLength = 0;
+      int numResponses = 0;
+      final long rounded = roundUp(readBlock.getLength() + offsetAlignment, bytesPerChecksum);
+      final long requiredLength = Math.min(rounded, blockData.getSize() - adjustedOffset);
+      LOG.debug("adjustedOffset {}, requiredLength {}, blockSize {}",
+          adjustedOffset, requiredLength, blockData.getSize());
+      for (boolean shouldRead = true; totalDataLength < requiredLength && shouldRead;) {
+        shouldRead = blockFile.read(buffer);
+        buffer.flip();
+        final int readLength = buffer.remaining();
+        if (readLength == 0) {
+          assertTrue(!shouldRead);
+          break;
         }
-      }
-      final ContainerCommandResponseProto response = getReadBlockResponse(
-          request, checksumData, buffer, adjustedOffset);
-      final int dataLength = response.getReadBlock().getData().size();
-      LOG.debug("server onNext response {}: dataLength={}, numChecksums={}",
-          numResponses, dataLength, response.getReadBlock().getChecksumData().getChecksumsList().size());
-      streamObserver.onNext(response);
-      buffer.clear();
+        assertTrue(readLength > 0, () -> "readLength = " + readLength + " <= 0");
+
+        if (checksumType != ContainerProtos.ChecksumType.NONE) {
+          final List<ByteString> checksums = getChecksums(adjustedOffset, readLength,
+              bytesPerChunk, bytesPerChecksum, chunkInfos);
+          LOG.debug("Read {} at adjustedOffset {}, readLength {}, bytesPerChunk {}, bytesPerChecksum {}",
+              readBlock, adjustedOffset, readLength, bytesPerChunk, bytesPerChecksum);
+          checksumData = new ChecksumData(checksumType, bytesPerChecksum, checksums);
+          if (verifyChecksum) {
+            Checksum.verifyChecksum(buffer.duplicate(), checksumData, 0);
+          }
+        }
+        final ContainerCommandResponseProto response = getReadBlockResponse(
+            request, checksumData, buffer, adjustedOffset);
+        final int dataLength = response.getReadBlock().getData().size();
+        LOG.debug("server onNext response {}: dataLength={}, numChecksums={}",
+            numResponses, dataLength, response.getReadBlock().getChecksumData().getChecksumsList().size());
+        streamObserver.onNext(response);
+        buffer.clear();
 
-      adjustedOffset += readLength;
-      totalDataLength += dataLength;
-      numResponses++;
+        adjustedOffset += readLength;
+        totalDataLength += dataLength;
+        numResponses++;
+      }
+      return totalDataLength;
     }
-    return totalDataLength;
   }
 
   static List<ByteString> getChecksums(long blockOffset, int readLength, int bytesPerChunk, int bytesPerChecksum,
@@ -27,6 +27,7 @@
 import static org.apache.hadoop.hdds.protocol.datanode.proto.ContainerProtos.Result.UNABLE_TO_FIND_CHUNK;
 import static org.apache.hadoop.hdds.protocol.datanode.proto.ContainerProtos.Result.UNSUPPORTED_REQUEST;
 import static org.apache.hadoop.ozone.container.common.utils.StorageVolumeUtil.onFailure;
+import static org.apache.hadoop.ozone.container.common.volume.VolumeIOScheduler.IOClass.CLIENT;
 
 import com.google.common.annotations.VisibleForTesting;
 import com.google.common.util.concurrent.Striped;
@@ -62,6 +63,7 @@
 import org.apache.hadoop.ozone.container.common.helpers.ChunkInfo;
 import org.apache.hadoop.ozone.container.common.transport.server.ratis.DispatcherContext;
 import org.apache.hadoop.ozone.container.common.volume.HddsVolume;
+import org.apache.hadoop.ozone.container.common.volume.VolumeIOScheduler;
 import org.apache.hadoop.ozone.container.keyvalue.impl.MappedBufferManager;
 import org.apache.hadoop.util.Time;
 import org.apache.ratis.thirdparty.io.netty.buffer.ByteBuf;
@@ -165,6 +167,7 @@ private static void writeData(ChunkBuffer data, String filename,
       volume.getVolumeIOStats().incWriteTime(elapsed);
       volume.getVolumeIOStats().incWriteOpCount();
       volume.getVolumeIOStats().incWriteBytes(bytesWritten);
+      VolumeIOScheduler.consume(volume, CLIENT, bytesWritten);
     }
 
     LOG.debug("Written {} bytes at offset {} to {} in {} ms",
@@ -235,6 +238,7 @@ private static void readData(File file, long offset, long len,
     // Increment volumeIO stats here.
     if (volume != null) {
       volume.getVolumeIOStats().recordReadOperation(startTime, bytesRead);
+      VolumeIOScheduler.consume(volume, CLIENT, bytesRead);
     }
 
     LOG.debug("Read {} bytes starting at offset {} from {}",
@@ -37,6 +37,7 @@
 import org.apache.hadoop.ozone.container.common.impl.ContainerData;
 import org.apache.hadoop.ozone.container.common.interfaces.Container;
 import org.apache.hadoop.ozone.container.common.interfaces.DBHandle;
+import org.apache.hadoop.ozone.container.common.statemachine.DatanodeConfiguration;
 import org.apache.hadoop.ozone.container.keyvalue.KeyValueContainer;
 import org.apache.hadoop.ozone.container.keyvalue.KeyValueContainerData;
 import org.apache.hadoop.ozone.container.keyvalue.helpers.BlockUtils;
@@ -63,6 +64,7 @@ public class BlockManagerImpl implements BlockManager {
   private final int readMappedBufferThreshold;
   private final int readMappedBufferMaxCount;
   private final boolean readNettyChunkedNioFile;
+  private final boolean writeDropCacheBehind;
 
   /**
    * Constructs a Block Manager.
@@ -84,6 +86,8 @@ public BlockManagerImpl(ConfigurationSource conf) {
     this.readNettyChunkedNioFile = config.getBoolean(
         ScmConfigKeys.OZONE_CHUNK_READ_NETTY_CHUNKED_NIO_FILE_KEY,
         ScmConfigKeys.OZONE_CHUNK_READ_NETTY_CHUNKED_NIO_FILE_DEFAULT);
+    this.writeDropCacheBehind = config.getObject(DatanodeConfiguration.class)
+        .isChunkWriteDropCacheBehind();
   }
 
   @Override
@@ -256,7 +260,7 @@ public long persistPutBlock(KeyValueContainer container,
           db.getStore().getMetadataTable().putWithBatch(batch, containerData.getBlockCountKey(), b.getCount() + 1);
         }
 
-        db.getStore().getBatchHandler().commitBatchOperation(batch);
+        db.getStore().commitBatchOperation(batch);
       }
 
       if (bcsId != 0) {
@@ -312,7 +316,7 @@ public void finalizeBlock(Container container, BlockID blockId)
           .initBatchOperation()) {
         db.getStore().getFinalizeBlocksTable().putWithBatch(batch,
             kvContainer.getContainerData().getBlockKey(localID), localID);
-        db.getStore().getBatchHandler().commitBatchOperation(batch);
+        db.getStore().commitBatchOperation(batch);
 
         mergeLastChunkForBlockFinalization(blockId, db, kvContainer, batch, localID);
       }
@@ -388,6 +392,11 @@ public boolean isReadNettyChunkedNioFile() {
     return readNettyChunkedNioFile;
   }
 
+  @Override
+  public boolean isWriteDropCacheBehind() {
+    return writeDropCacheBehind;
+  }
+
   /**
    * Deletes an existing block.
    * As Deletion is handled by BlockDeletingService,
@@ -31,6 +31,7 @@
 import com.google.common.cache.CacheBuilder;
 import com.google.common.cache.RemovalListener;
 import java.io.File;
+import java.io.FileDescriptor;
 import java.io.FileNotFoundException;
 import java.io.IOException;
 import java.io.RandomAccessFile;
@@ -44,6 +45,7 @@
 import org.apache.hadoop.hdds.client.BlockID;
 import org.apache.hadoop.hdds.protocol.datanode.proto.ContainerProtos;
 import org.apache.hadoop.hdds.scm.container.common.helpers.StorageContainerException;
+import org.apache.hadoop.io.nativeio.NativeIO;
 import org.apache.hadoop.ozone.common.ChunkBuffer;
 import org.apache.hadoop.ozone.common.ChunkBufferToByteString;
 import org.apache.hadoop.ozone.container.common.helpers.BlockData;
@@ -57,6 +59,7 @@
 import org.apache.hadoop.ozone.container.keyvalue.helpers.ChunkUtils;
 import org.apache.hadoop.ozone.container.keyvalue.interfaces.BlockManager;
 import org.apache.hadoop.ozone.container.keyvalue.interfaces.ChunkManager;
+import org.apache.hadoop.util.Time;
 import org.apache.ratis.statemachine.StateMachine;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -70,7 +73,8 @@ public class FilePerBlockStrategy implements ChunkManager {
       LoggerFactory.getLogger(FilePerBlockStrategy.class);
 
   private final boolean doSyncWrite;
-  private final OpenFiles files = new OpenFiles();
+  private final boolean dropCacheBehindWrites;
+  private final OpenFiles files;
   private final int defaultReadBufferCapacity;
   private final int readMappedBufferThreshold;
   private final int readMappedBufferMaxCount;
@@ -80,6 +84,8 @@ public class FilePerBlockStrategy implements ChunkManager {
 
   public FilePerBlockStrategy(boolean sync, BlockManager manager) {
     doSyncWrite = sync;
+    this.dropCacheBehindWrites = manager != null && manager.isWriteDropCacheBehind();
+    this.files = new OpenFiles(dropCacheBehindWrites);
     this.defaultReadBufferCapacity = manager == null ? 0 :
         manager.getDefaultReadBufferCapacity();
     this.readMappedBufferThreshold = manager == null ? 0
@@ -152,10 +158,12 @@ public void writeChunk(Container container, BlockID blockID, ChunkInfo info,
 
     HddsVolume volume = containerData.getVolume();
 
+    final OpenFile openFile;
     FileChannel channel = null;
     boolean overwrite;
     try {
-      channel = files.getChannel(chunkFile, doSyncWrite);
+      openFile = files.get(chunkFile, doSyncWrite);
+      channel = openFile.getChannel();
       overwrite = validateChunkForOverwrite(channel, info);
     } catch (IOException e) {
       onFailure(volume);
@@ -181,6 +189,9 @@ public void writeChunk(Container container, BlockID blockID, ChunkInfo info,
     }
 
     ChunkUtils.writeData(channel, chunkFile.getName(), data, offset, chunkLength, volume);
+    if (dropCacheBehindWrites) {
+      openFile.dropCacheBehindWrites(chunkFile.getName(), offset + chunkLength, volume);
+    }
 
     // Handle space accounting for overwrites that extend the file length.
     // For overwrites, we must distinguish between:
@@ -340,12 +351,17 @@ private static final class OpenFiles {
         .expireAfterAccess(Duration.ofMinutes(10))
         .removalListener(ON_REMOVE)
         .build();
+    private final boolean dropCacheBehind;
+
+    OpenFiles(boolean dropCacheBehind) {
+      this.dropCacheBehind = dropCacheBehind;
+    }
 
-    public FileChannel getChannel(File file, boolean sync)
+    public OpenFile get(File file, boolean sync)
         throws StorageContainerException {
       try {
         return files.get(file.getPath(),
-            () -> open(file, sync)).getChannel();
+            () -> open(file, sync, dropCacheBehind));
       } catch (ExecutionException e) {
         if (e.getCause() instanceof IOException) {
           throw new UncheckedIOException((IOException) e.getCause());
@@ -355,9 +371,9 @@ public FileChannel getChannel(File file, boolean sync)
       }
     }
 
-    private static OpenFile open(File file, boolean sync) {
+    private static OpenFile open(File file, boolean sync, boolean dropCacheBehind) {
       try {
-        return new OpenFile(file, sync);
+        return new OpenFile(file, sync, dropCacheBehind);
       } catch (FileNotFoundException e) {
         throw new UncheckedIOException(e);
       }
@@ -389,12 +405,23 @@ private static void close(String filename, OpenFile openFile) {
   }
 
   private static final class OpenFile {
+    /**
+     * Drop the data this many bytes behind the end of the last writeback
+     * started, so that the writeback of the dropped data is likely completed.
+     */
+    private static final long CACHE_DROP_LAG_BYTES = 8L << 20;
 
+    private final String name;
     private final RandomAccessFile file;
+    private boolean dropCacheBehind;
+    /** The end of the data whose writeback has been started. */
+    private long writebackOffset;
 
-    private OpenFile(File file, boolean sync) throws FileNotFoundException {
+    private OpenFile(File file, boolean sync, boolean dropCacheBehind) throws FileNotFoundException {
       String mode = sync ? "rws" : "rw";
+      this.name = file.getName();
       this.file = new RandomAccessFile(file, mode);
+      this.dropCacheBehind = dropCacheBehind;
       if (LOG.isDebugEnabled()) {
         LOG.debug("Opened file {}", file);
       }
@@ -404,7 +431,46 @@ public FileChannel getChannel() {
       return file.getChannel();
     }
 
+    /**
+     * Start the writeback of the data written since the last call and
+     * drop the data written before, which has likely been written back,
+     * from the OS page cache.
+     */
+    synchronized void dropCacheBehindWrites(String filename, long writeEnd, HddsVolume volume) {
+      if (!dropCacheBehind || writeEnd <= writebackOffset) {
+        return;
+      }
+      final long startTime = Time.monotonicNow();
+      try {
+        final FileDescriptor fd = file.getFD();
+        NativeIO.POSIX.syncFileRangeIfPossible(fd, writebackOffset, writeEnd - writebackOffset,
+            NativeIO.POSIX.SYNC_FILE_RANGE_WRITE);
+        final long dropEnd = writebackOffset - CACHE_DROP_LAG_BYTES;
+        if (dropEnd > 0) {
+          NativeIO.POSIX.getCacheManipulator().posixFadviseIfPossible(filename, fd, 0, dropEnd,
+              NativeIO.POSIX.POSIX_FADV_DONTNEED);
+        }
+        writebackOffset = writeEnd;
+      } catch (IOException | UnsupportedOperationException e) {
+        // It is only an optimization; stop it for this file.
+        LOG.warn("Failed to drop cache behind writes for {}", filename, e);
+        dropCacheBehind = false;
+      }
+      if (volume != null) {
+        volume.getVolumeIOStats().incWriteCacheDropTime(Time.monotonicNow() - startTime);
+      }
+    }
+
     public void close() {
+      try {
+        if (dropCacheBehind) {
+          // Drop the data already written back; the data not yet written back stays in the cache.
+          NativeIO.POSIX.getCacheManipulator().posixFadviseIfPossible(name, file.getFD(), 0, 0,
+              NativeIO.POSIX.POSIX_FADV_DONTNEED);
+        }
+      } catch (IOException e) {
+        LOG.warn("Failed to drop cache for {}", name, e);
+      }
       try {
         file.close();
       } catch (IOException e) {
@@ -128,6 +128,9 @@ void finalizeBlock(Container container, BlockID blockId)
   /** @return true iff Netty ChunkedNioFile read is enabled. */
   boolean isReadNettyChunkedNioFile();
 
+  /** @return true iff the written data should be dropped from the OS page cache. */
+  boolean isWriteDropCacheBehind();
+
   /**
    * Shutdown ContainerManager.
    */
@@ -0,0 +1,150 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements. See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.hadoop.ozone.container.metadata;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
+import org.apache.hadoop.hdds.utils.db.BatchOperation;
+import org.apache.hadoop.hdds.utils.db.BatchOperationHandler;
+
+/**
+ * Commit the {@link BatchOperation}s of concurrent callers to a DB in a single
+ * write, i.e. a group commit.
+ * <p>
+ * A caller adds its batch to the queue and then waits for the commit lock.
+ * The caller holding the lock, the leader, commits all the queued batches in
+ * a single write; the other callers, whose batches have been committed by
+ * the leader, return once they get the lock.  Therefore, while a write is in
+ * progress, the batches of the following callers are accumulated for the
+ * next write.  The leader may also wait for more batches up to the given
+ * maximum wait time.
+ * <p>
+ * When the write fails, all the callers in the group fail with the same
+ * exception.  None of their batches is committed since the write is atomic.
+ */
+public final class BatchGroupCommitter {
+  /** A batch to be committed. */
+  private static final class Request {
+    private final BatchOperation batch;
+    /** Guarded by {@link #commitLock}. */
+    private boolean committed;
+    private IOException exception;
+
+    Request(BatchOperation batch) {
+      this.batch = Objects.requireNonNull(batch, "batch == null");
+    }
+  }
+
+  private final BatchOperationHandler handler;
+  private final long maxWaitNanos;
+  private final BlockingQueue<Request> queue = new LinkedBlockingQueue<>();
+  private final Lock commitLock = new ReentrantLock();
+
+  private final AtomicLong groupCount = new AtomicLong();
+  private final AtomicLong batchCount = new AtomicLong();
+
+  public BatchGroupCommitter(BatchOperationHandler handler, Duration maxWait) {
+    this.handler = Objects.requireNonNull(handler, "handler == null");
+    this.maxWaitNanos = maxWait == null || maxWait.isNegative() ? 0 : maxWait.toNanos();
+  }
+
+  /**
+   * Commit the given batch, possibly together with the batches of the other
+   * callers.  This method returns after the batch is committed.
+   */
+  public void commit(BatchOperation batch) throws IOException {
+    final Request request = new Request(batch);
+    queue.add(request);
+
+    commitLock.lock();
+    try {
+      if (!request.committed) {
+        commitGroup();
+      }
+    } finally {
+      commitLock.unlock();
+    }
+
+    if (request.exception != null) {
+      throw request.exception;
+    }
+  }
+
+  /** Commit the queued batches in a single write.  Must hold the lock. */
+  private void commitGroup() {
+    final List<Request> group = new ArrayList<>();
+    queue.drainTo(group);
+    if (maxWaitNanos > 0) {
+      waitForMore(group);
+    }
+
+    final List<BatchOperation> batches = new ArrayList<>(group.size());
+    for (Request r : group) {
+      batches.add(r.batch);
+    }
+    IOException exception = null;
+    try {
+      handler.commitBatchOperations(batches);
+    } catch (IOException e) {
+      exception = e;
+    }
+    for (Request r : group) {
+      r.exception = exception;
+      r.committed = true;
+    }
+    groupCount.incrementAndGet();
+    batchCount.addAndGet(group.size());
+  }
+
+  private void waitForMore(List<Request> group) {
+    final long deadline = System.nanoTime() + maxWaitNanos;
+    for (long remaining = maxWaitNanos; remaining > 0; remaining = deadline - System.nanoTime()) {
+      final Request next;
+      try {
+        next = queue.poll(remaining, TimeUnit.NANOSECONDS);
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+        return;
+      }
+      if (next == null) {
+        return;
+      }
+      group.add(next);
+      queue.drainTo(group);
+    }
+  }
+
+  /** @return the number of writes, each of which commits a group of batches. */
+  public long getGroupCount() {
+    return groupCount.get();
+  }
+
+  /** @return the number of batches committed. */
+  public long getBatchCount() {
+    return batchCount.get();
+  }
+}
@@ -75,6 +75,15 @@ public interface DatanodeStore extends DBStoreManager {
   BlockIterator<BlockData> getBlockIterator(long containerID)
       throws IOException;
 
+  /**
+   * Commit the given batch of block updates, e.g. PutBlock.
+   *
+   * @param batch created by {@link #getBatchHandler()}.
+   */
+  default void commitBatchOperation(BatchOperation batch) throws IOException {
+    getBatchHandler().commitBatchOperation(batch);
+  }
+
   BlockIterator<BlockData> getBlockIterator(long containerID,
       KeyPrefixFilter filter) throws IOException;
 
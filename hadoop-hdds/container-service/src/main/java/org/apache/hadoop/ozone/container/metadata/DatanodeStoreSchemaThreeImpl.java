@@ -19,6 +19,7 @@
 
 import static org.apache.hadoop.ozone.container.metadata.DatanodeSchemaThreeDBDefinition.getContainerKeyPrefix;
 
+import com.google.common.annotations.VisibleForTesting;
 import java.io.File;
 import java.io.IOException;
 import java.util.HashMap;
@@ -67,6 +68,8 @@ public class DatanodeStoreSchemaThreeImpl extends DatanodeStoreWithIncrementalCh
   public static final String DUMP_DIR = "db";
 
   private final Table<String, DeletedBlocksTransaction> deleteTransactionTable;
+  /** Group commit the block updates of the containers in this DB; null if disabled. */
+  private final BatchGroupCommitter groupCommitter;
 
   public DatanodeStoreSchemaThreeImpl(ConfigurationSource config,
       String dbPath, boolean openReadOnly) throws IOException {
@@ -74,6 +77,24 @@ public DatanodeStoreSchemaThreeImpl(ConfigurationSource config,
         openReadOnly);
     this.deleteTransactionTable = ((DatanodeSchemaThreeDBDefinition) getDbDef())
         .getDeleteTransactionsColumnFamily().getTable(getStore());
+    final DatanodeConfiguration dc = config.getObject(DatanodeConfiguration.class);
+    this.groupCommitter = dc.getContainerSchemaV3GroupCommitEnabled() && !openReadOnly
+        ? new BatchGroupCommitter(getBatchHandler(), dc.getContainerSchemaV3GroupCommitMaxWait())
+        : null;
+  }
+
+  @Override
+  public void commitBatchOperation(BatchOperation batch) throws IOException {
+    if (groupCommitter != null) {
+      groupCommitter.commit(batch);
+    } else {
+      super.commitBatchOperation(batch);
+    }
+  }
+
+  @VisibleForTesting
+  BatchGroupCommitter getGroupCommitter() {
+    return groupCommitter;
   }
 
   @Override
@@ -100,6 +100,11 @@ public VALUE get(KEY key) throws RocksDatabaseException, CodecException {
     return table.get(key);
   }
 
+  @Override
+  public List<VALUE> multiGet(List<KEY> keys) throws RocksDatabaseException, CodecException {
+    return table.multiGet(keys);
+  }
+
   @Override
   public VALUE getIfExist(KEY key) throws RocksDatabaseException, CodecException {
     return table.getIfExist(key);
@@ -24,6 +24,7 @@
 import org.apache.hadoop.hdfs.util.DataTransferThrottler;
 import org.apache.hadoop.ozone.container.common.interfaces.Container;
 import org.apache.hadoop.ozone.container.common.volume.HddsVolume;
+import org.apache.hadoop.ozone.container.common.volume.VolumeIOScheduler;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -110,6 +111,7 @@ public synchronized void throttle(long numOfBytes) {
       BackgroundContainerDataScanner.this.metrics.incNumBytesScanned(
           numOfBytes);
       super.throttle(numOfBytes);
+      acquireVolumeIO(numOfBytes);
     }
 
     @Override
@@ -117,6 +119,16 @@ public synchronized void throttle(long numOfBytes, Canceler c) {
       BackgroundContainerDataScanner.this.metrics.incNumBytesScanned(
           numOfBytes);
       super.throttle(numOfBytes, c);
+      acquireVolumeIO(numOfBytes);
+    }
+
+    /** Share the volume bandwidth with the other I/O on the volume. */
+    private void acquireVolumeIO(long numOfBytes) {
+      try {
+        VolumeIOScheduler.acquire(volume, VolumeIOScheduler.IOClass.SCANNER, numOfBytes);
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+      }
     }
   }
 }
@@ -74,6 +74,7 @@
 import org.apache.hadoop.ozone.container.common.helpers.ContainerMetrics;
 import org.apache.hadoop.ozone.container.common.impl.BlockDeletingService;
 import org.apache.hadoop.ozone.container.common.impl.ContainerSet;
+import org.apache.hadoop.ozone.container.common.impl.ContainerSetMetrics;
 import org.apache.hadoop.ozone.container.common.impl.HddsDispatcher;
 import org.apache.hadoop.ozone.container.common.impl.StorageLocationReport;
 import org.apache.hadoop.ozone.container.common.interfaces.Container;
@@ -148,6 +149,7 @@ public class OzoneContainer {
   private ScheduledExecutorService dbCompactionExecutorService;
 
   private final ContainerMetrics metrics;
+  private final ContainerSetMetrics containerSetMetrics;
   private WitnessedContainerMetadataStore witnessedContainerMetadataStore;
 
   enum InitializingStatus {
@@ -210,6 +212,7 @@ public OzoneContainer(HddsDatanodeService hddsDatanodeService,
     metadataScanner = null;
 
     metrics = ContainerMetrics.create(conf);
+    containerSetMetrics = ContainerSetMetrics.create(containerSet);
     handlers = Maps.newHashMap();
 
     IncrementalReportSender<Container> icrSender = createIncrementalReportSender();
@@ -615,6 +618,7 @@ public void stop() {
     recoveringContainerScrubbingService.shutdown();
     IOUtils.closeQuietly(metrics);
     ContainerMetrics.remove();
+    containerSetMetrics.unRegister();
     checksumTreeManager.stop();
     if (this.witnessedContainerMetadataStore != null) {
       try {
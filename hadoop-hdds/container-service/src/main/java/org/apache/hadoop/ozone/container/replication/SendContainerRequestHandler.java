@@ -30,6 +30,8 @@
 import org.apache.hadoop.hdds.utils.IOUtils;
 import org.apache.hadoop.ozone.container.common.helpers.ContainerUtils;
 import org.apache.hadoop.ozone.container.common.volume.HddsVolume;
+import org.apache.hadoop.ozone.container.common.volume.VolumeIOScheduler;
+import org.apache.hadoop.ozone.container.common.volume.VolumeIOScheduler.IOClass;
 import org.apache.ratis.grpc.util.ZeroCopyMessageMarshaller;
 import org.apache.ratis.thirdparty.io.grpc.stub.StreamObserver;
 import org.slf4j.Logger;
@@ -103,6 +105,7 @@ public void onNext(SendContainerRequest req) {
 
       assertSame(containerId, req.getContainerID(), "containerID");
 
+      VolumeIOScheduler.acquire(volume, IOClass.REPLICATION, length);
       req.getData().writeTo(output);
 
       nextOffset += length;
@@ -23,6 +23,9 @@
 import io.netty.channel.ChannelFutureListener;
 import io.netty.channel.ChannelHandlerContext;
 import io.netty.channel.ChannelInboundHandlerAdapter;
+import io.netty.channel.DefaultFileRegion;
+import io.netty.channel.FileRegion;
+import io.netty.handler.ssl.SslHandler;
 import io.netty.handler.stream.ChunkedFile;
 import io.netty.util.ByteProcessor;
 import java.io.IOException;
@@ -100,7 +103,7 @@ public void writeOneElement(
     ChannelFuture lastFuture = ctx.writeAndFlush(identifierBuf);
     lastFuture.addListener(f -> {
       ChannelFuture nextFuture = ctx.writeAndFlush(
-          new ChunkedFile(file.toFile()));
+          newFileContent(ctx, file, fileSize));
       if (currentIndex == entriesToWrite.size() - 1) {
         nextFuture.addListener(a -> {
           if (!a.isSuccess()) {
@@ -122,6 +125,19 @@ public void writeOneElement(
 
   }
 
+  /**
+   * @return a {@link FileRegion} to transfer the file without copying it to
+   *         the user space (sendfile), or a {@link ChunkedFile} when the
+   *         content has to be encrypted by the {@link SslHandler}.
+   */
+  static Object newFileContent(ChannelHandlerContext ctx, Path file,
+      long fileSize) throws IOException {
+    if (ctx.pipeline().get(SslHandler.class) != null) {
+      return new ChunkedFile(file.toFile());
+    }
+    return new DefaultFileRegion(file.toFile(), 0, fileSize);
+  }
+
   @Override
   public void channelReadComplete(ChannelHandlerContext ctx) {
     ctx.flush();
@@ -188,6 +188,32 @@ public void testIteratorsAndCount(ContainerLayoutVersion layout)
 
   }
 
+  @ContainerLayoutTestInfo.ContainerTest
+  public void testSortedIterationAndMissingContainers(ContainerLayoutVersion layout)
+      throws StorageContainerException {
+    setLayoutVersion(layout);
+
+    ContainerSet containerSet = createContainerSet();
+    assertThat(containerSet.getContainerIndexMemoryBytes()).isPositive();
+
+    long previous = -1;
+    for (Container<?> kv : containerSet) {
+      long containerId = kv.getContainerData().getContainerID();
+      assertThat(containerId).isGreaterThan(previous);
+      previous = containerId;
+    }
+
+    assertTrue(containerSet.removeMissingContainer(3));
+    assertNull(containerSet.getContainer(3));
+    assertEquals(9, containerSet.containerCount());
+    assertThat(containerSet.getMissingContainerSet()).containsExactly(3L);
+    assertThrows(StorageContainerException.class, () -> containerSet.ensureContainerNotMissing(3,
+        ContainerProtos.ContainerDataProto.State.CLOSED));
+
+    assertTrue(containerSet.getMissingContainerSet().remove(3L));
+    containerSet.ensureContainerNotMissing(3, ContainerProtos.ContainerDataProto.State.CLOSED);
+  }
+
   @ContainerLayoutTestInfo.ContainerTest
   public void testIteratorPerVolume(ContainerLayoutVersion layout)
       throws StorageContainerException {
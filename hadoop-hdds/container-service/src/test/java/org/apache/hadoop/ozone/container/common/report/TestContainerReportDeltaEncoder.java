@@ -0,0 +1,109 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements. See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.hadoop.ozone.container.common.report;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.apache.hadoop.hdds.protocol.proto.StorageContainerDatanodeProtocolProtos.ContainerReplicaProto;
+import org.apache.hadoop.hdds.protocol.proto.StorageContainerDatanodeProtocolProtos.ContainerReportSummaryProto;
+import org.apache.hadoop.hdds.protocol.proto.StorageContainerDatanodeProtocolProtos.ContainerReportsProto;
+import org.apache.hadoop.hdds.scm.container.ContainerIdChecksum;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Test cases for {@link ContainerReportDeltaEncoder}.
+ */
+public class TestContainerReportDeltaEncoder {
+
+  private static ContainerReplicaProto replica(long id, long used) {
+    return ContainerReplicaProto.newBuilder()
+        .setContainerID(id)
+        .setState(ContainerReplicaProto.State.CLOSED)
+        .setUsed(used)
+        .build();
+  }
+
+  private static ContainerReportsProto report(long... usedBytes) {
+    final ContainerReportsProto.Builder builder = ContainerReportsProto.newBuilder();
+    for (int i = 0; i < usedBytes.length; i++) {
+      builder.addReports(replica(i + 1, usedBytes[i]));
+    }
+    return builder.build();
+  }
+
+  @Test
+  void testDeltaReports() {
+    final ContainerReportDeltaEncoder encoder = new ContainerReportDeltaEncoder(3);
+
+    final ContainerReportsProto first = encoder.encode(report(10, 20, 30), false);
+    assertEquals(3, first.getReportsCount());
+    assertFalse(first.getSummary().hasBaseSequenceNumber());
+    final ContainerIdChecksum checksum = new ContainerIdChecksum().add(1).add(2).add(3);
+    assertTrue(checksum.matches(first.getSummary().getContainerCount(),
+        first.getSummary().getContainerIdChecksum()));
+
+    // Only the changed replica is reported.
+    final ContainerReportsProto second = encoder.encode(report(10, 21, 30), false);
+    final ContainerReportSummaryProto summary = second.getSummary();
+    assertEquals(1, second.getReportsCount());
+    assertEquals(2, second.getReports(0).getContainerID());
+    assertEquals(first.getSummary().getSequenceNumber(), summary.getBaseSequenceNumber());
+    assertTrue(checksum.matches(summary.getContainerCount(), summary.getContainerIdChecksum()));
+
+    // A removed container only changes the summary.
+    final ContainerReportsProto third = encoder.encode(report(10, 21), false);
+    assertEquals(0, third.getReportsCount());
+    assertEquals(2, third.getSummary().getContainerCount());
+    assertNotEquals(summary.getContainerIdChecksum(), third.getSummary().getContainerIdChecksum());
+
+    // Every third report is full.
+    final ContainerReportsProto fourth = encoder.encode(report(10, 21), false);
+    assertEquals(2, fourth.getReportsCount());
+    assertFalse(fourth.getSummary().hasBaseSequenceNumber());
+
+    // A full report can be forced.
+    assertTrue(encoder.encode(report(10, 21), false).getSummary().hasBaseSequenceNumber());
+    final ContainerReportsProto forced = encoder.encode(report(10, 21), true);
+    assertEquals(2, forced.getReportsCount());
+    assertFalse(forced.getSummary().hasBaseSequenceNumber());
+  }
+
+  @Test
+  void testIsChanged() {
+    final ContainerReplicaProto replica = replica(1, 10);
+    assertTrue(ContainerReportDeltaEncoder.isChanged(null, replica));
+    assertFalse(ContainerReportDeltaEncoder.isChanged(replica, replica(1, 10)));
+
+    // The I/O statistics are not used by SCM.
+    assertFalse(ContainerReportDeltaEncoder.isChanged(replica,
+        replica.toBuilder().setReadCount(5).setWriteBytes(100).build()));
+
+    assertTrue(ContainerReportDeltaEncoder.isChanged(replica, replica(1, 11)));
+    assertTrue(ContainerReportDeltaEncoder.isChanged(replica,
+        replica.toBuilder().setState(ContainerReplicaProto.State.UNHEALTHY).build()));
+    assertTrue(ContainerReportDeltaEncoder.isChanged(replica,
+        replica.toBuilder().setBlockCommitSequenceId(1).build()));
+    assertTrue(ContainerReportDeltaEncoder.isChanged(replica,
+        replica.toBuilder().setKeyCount(1).build()));
+    assertTrue(ContainerReportDeltaEncoder.isChanged(replica,
+        replica.toBuilder().setReplicaIndex(2).build()));
+  }
+}
@@ -0,0 +1,150 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements. See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.hadoop.ozone.container.common.volume;
+
+import static org.apache.hadoop.hdds.HddsConfigKeys.OZONE_DATANODE_IO_METRICS_PERCENTILES_INTERVALS_SECONDS_KEY;
+import static org.apache.hadoop.ozone.container.common.volume.VolumeIOScheduler.IOClass.CLIENT;
+import static org.apache.hadoop.ozone.container.common.volume.VolumeIOScheduler.IOClass.REPLICATION;
+import static org.apache.hadoop.ozone.container.common.volume.VolumeIOScheduler.IOClass.SCANNER;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.apache.hadoop.hdds.conf.OzoneConfiguration;
+import org.apache.hadoop.util.Time;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Tests {@link VolumeIOScheduler}.
+ */
+public class TestVolumeIOScheduler {
+  private static final int MB = 1 << 20;
+
+  private VolumeIOStats stats;
+
+  @BeforeEach
+  public void setup() {
+    stats = new VolumeIOStats(UUID.randomUUID().toString(), "dir",
+        new OzoneConfiguration().getInts(OZONE_DATANODE_IO_METRICS_PERCENTILES_INTERVALS_SECONDS_KEY));
+  }
+
+  @AfterEach
+  public void cleanup() {
+    stats.unregister();
+  }
+
+  @Test
+  public void testUnlimited() throws Exception {
+    final VolumeIOScheduler scheduler = new VolumeIOScheduler(0, stats);
+    scheduler.consume(CLIENT, 10L * MB);
+    scheduler.acquire(SCANNER, 10L * MB);
+    scheduler.acquire(REPLICATION, 10L * MB);
+
+    assertEquals(10L * MB, stats.getIOClassBytes(CLIENT));
+    assertEquals(10L * MB, stats.getIOClassBytes(SCANNER));
+    assertEquals(10L * MB, stats.getIOClassBytes(REPLICATION));
+  }
+
+  @Test
+  public void testClientPriority() throws Exception {
+    final VolumeIOScheduler scheduler = new VolumeIOScheduler(MB, stats);
+    // The client I/O is never delayed, but it uses up the bandwidth.
+    final long start = Time.monotonicNow();
+    scheduler.consume(CLIENT, 2L * MB);
+    assertThat(Time.monotonicNow() - start).isLessThan(500);
+
+    // The background I/O waits until the debt, at most one second, is paid back.
+    scheduler.acquire(SCANNER, 1);
+    assertThat(Time.monotonicNow() - start).isGreaterThanOrEqualTo(500);
+    assertEquals(2L * MB, stats.getIOClassBytes(CLIENT));
+    assertEquals(1, stats.getIOClassBytes(SCANNER));
+  }
+
+  @Test
+  public void testClientDoesNotClearBackgroundDebt() throws Exception {
+    final VolumeIOScheduler scheduler = new VolumeIOScheduler(10 * MB, stats);
+    // A large background I/O makes a debt of two seconds.
+    final long start = Time.monotonicNow();
+    scheduler.acquire(REPLICATION, 30L * MB);
+    // The client I/O must not limit the existing debt to one second.
+    scheduler.consume(CLIENT, 1);
+
+    scheduler.acquire(SCANNER, 1);
+    assertThat(Time.monotonicNow() - start).isGreaterThanOrEqualTo(1500);
+  }
+
+  @Test
+  public void testRefillNanosOfLargeDebt() {
+    assertEquals(TimeUnit.SECONDS.toNanos(3), VolumeIOScheduler.getRefillNanos(30L * MB, 10 * MB));
+    // A debt of a large container, where the product of the debt and a second in nanos overflows.
+    final long debt = 20L << 30;
+    assertEquals(TimeUnit.SECONDS.toNanos(2048), VolumeIOScheduler.getRefillNanos(debt, 10 * MB));
+    assertEquals(Long.MAX_VALUE, VolumeIOScheduler.getRefillNanos(Long.MAX_VALUE, 1));
+  }
+
+  @Test
+  public void testWeightedSharing() throws Exception {
+    final VolumeIOScheduler scheduler = new VolumeIOScheduler(10 * MB, stats);
+    final AtomicBoolean running = new AtomicBoolean(true);
+    final AtomicInteger replications = new AtomicInteger();
+    final AtomicInteger scans = new AtomicInteger();
+    final ExecutorService executor = Executors.newFixedThreadPool(8);
+
+    // Drain the initial tokens and keep both classes backlogged with multiple threads.
+    scheduler.consume(CLIENT, 10L * MB);
+    final List<CompletableFuture<Void>> futures = new ArrayList<>();
+    for (int i = 0; i < 4; i++) {
+      futures.add(CompletableFuture.runAsync(
+          () -> acquireUntilStopped(scheduler, REPLICATION, running, replications), executor));
+      futures.add(CompletableFuture.runAsync(
+          () -> acquireUntilStopped(scheduler, SCANNER, running, scans), executor));
+    }
+    TimeUnit.SECONDS.sleep(2);
+    running.set(false);
+    for (CompletableFuture<Void> f : futures) {
+      f.get(1, TimeUnit.MINUTES);
+    }
+
+    // The bandwidth is shared by the weights, 4:1.
+    assertThat(scans.get()).isPositive();
+    assertThat(replications.get()).isGreaterThan(2 * scans.get());
+    executor.shutdown();
+  }
+
+  private static void acquireUntilStopped(VolumeIOScheduler scheduler, VolumeIOScheduler.IOClass ioClass,
+      AtomicBoolean running, AtomicInteger count) {
+    try {
+      while (running.get()) {
+        scheduler.acquire(ioClass, 100 << 10);
+        count.incrementAndGet();
+      }
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+    }
+  }
+}
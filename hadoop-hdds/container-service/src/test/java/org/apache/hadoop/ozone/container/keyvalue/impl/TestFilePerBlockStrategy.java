@@ -54,6 +54,7 @@
 import org.apache.hadoop.ozone.container.common.helpers.ChunkInfo;
 import org.apache.hadoop.ozone.container.common.impl.ContainerSet;
 import org.apache.hadoop.ozone.container.common.interfaces.DBHandle;
+import org.apache.hadoop.ozone.container.common.statemachine.DatanodeConfiguration;
 import org.apache.hadoop.ozone.container.common.volume.MutableVolumeSet;
 import org.apache.hadoop.ozone.container.common.volume.StorageVolume;
 import org.apache.hadoop.ozone.container.keyvalue.ContainerLayoutTestInfo;
@@ -135,6 +136,44 @@ public void testMultipleWriteSingleRead() throws Exception {
         Hex.encodeHexString(newSha.digest()));
   }
 
+  /**
+   * Write a block larger than the cache drop lag with drop cache behind
+   * writes enabled and read it back.
+   */
+  @Test
+  public void testWriteWithDropCacheBehind() throws Exception {
+    final int datalen = 1 << 20;
+    final int chunkCount = 12;
+
+    OzoneConfiguration conf = new OzoneConfiguration();
+    DatanodeConfiguration dnConf = conf.getObject(DatanodeConfiguration.class);
+    dnConf.setChunkWriteDropCacheBehind(true);
+    conf.setFromObject(dnConf);
+    ChunkManager subject = new FilePerBlockStrategy(false, new BlockManagerImpl(conf));
+
+    KeyValueContainer container = getKeyValueContainer();
+    BlockID blockID = getBlockID();
+    MessageDigest oldSha = MessageDigest.getInstance(OzoneConsts.FILE_HASH);
+    for (int x = 0; x < chunkCount; x++) {
+      ChunkInfo info = getChunk(blockID.getLocalID(), x, (long) x * datalen, datalen);
+      ChunkBuffer data = ContainerTestHelper.getData(datalen);
+      oldSha.update(data.toByteString().asReadOnlyByteBuffer());
+      data.rewind();
+      setDataChecksum(info, data);
+      subject.writeChunk(container, blockID, info, data, WRITE_STAGE);
+    }
+    subject.finishWriteChunks(container, new BlockData(blockID));
+
+    ChunkInfo wholeBlock = getChunk(blockID.getLocalID(), 0, 0, (long) datalen * chunkCount);
+    ByteBuffer newdata = subject.readChunk(container, blockID, wholeBlock, null)
+        .toByteString().asReadOnlyByteBuffer();
+    MessageDigest newSha = MessageDigest.getInstance(OzoneConsts.FILE_HASH);
+    newSha.update(newdata);
+    assertEquals(Hex.encodeHexString(oldSha.digest()),
+        Hex.encodeHexString(newSha.digest()));
+    checkWriteIOStats((long) datalen * chunkCount, chunkCount);
+  }
+
   /**
    * Test partial within a single chunk.
    */
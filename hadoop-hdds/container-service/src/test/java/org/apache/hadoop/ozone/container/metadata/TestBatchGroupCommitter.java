@@ -0,0 +1,155 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements. See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.hadoop.ozone.container.metadata;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.mock;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import org.apache.hadoop.hdds.utils.db.BatchOperation;
+import org.apache.hadoop.hdds.utils.db.BatchOperationHandler;
+import org.apache.hadoop.hdds.utils.db.RocksDatabaseException;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Tests {@link BatchGroupCommitter}.
+ */
+public class TestBatchGroupCommitter {
+  private static final int NUM_FOLLOWERS = 8;
+
+  private ExecutorService executor;
+
+  /** A handler recording the groups, where the first commit is blocked until released. */
+  private static final class BlockingHandler implements BatchOperationHandler {
+    private final List<List<BatchOperation>> groups = new CopyOnWriteArrayList<>();
+    private final CountDownLatch firstStarted = new CountDownLatch(1);
+    private final CountDownLatch release = new CountDownLatch(1);
+    private volatile RocksDatabaseException failure;
+
+    @Override
+    public BatchOperation initBatchOperation() {
+      throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public void commitBatchOperation(BatchOperation operation) {
+      throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public void commitBatchOperations(List<? extends BatchOperation> operations)
+        throws RocksDatabaseException {
+      groups.add(new ArrayList<>(operations));
+      if (groups.size() == 1) {
+        firstStarted.countDown();
+        try {
+          assertTrue(release.await(1, TimeUnit.MINUTES));
+        } catch (InterruptedException e) {
+          Thread.currentThread().interrupt();
+          throw new RocksDatabaseException("Interrupted", e);
+        }
+      } else if (failure != null) {
+        throw failure;
+      }
+    }
+  }
+
+  @BeforeEach
+  public void setup() {
+    executor = Executors.newFixedThreadPool(NUM_FOLLOWERS + 1);
+  }
+
+  @AfterEach
+  public void shutdown() {
+    executor.shutdownNow();
+  }
+
+  private CompletableFuture<Void> commitAsync(BatchGroupCommitter committer, BatchOperation batch) {
+    return CompletableFuture.runAsync(() -> {
+      try {
+        committer.commit(batch);
+      } catch (IOException e) {
+        throw new IllegalStateException(e);
+      }
+    }, executor);
+  }
+
+  /**
+   * Block the first commit, submit the other batches and then release the first commit.
+   * @return the futures of the other batches.
+   */
+  private List<CompletableFuture<Void>> commitWhileBlocked(BlockingHandler handler,
+      BatchGroupCommitter committer) throws Exception {
+    final CompletableFuture<Void> first = commitAsync(committer, mock(BatchOperation.class));
+    assertTrue(handler.firstStarted.await(1, TimeUnit.MINUTES));
+
+    final List<CompletableFuture<Void>> followers = new ArrayList<>();
+    for (int i = 0; i < NUM_FOLLOWERS; i++) {
+      followers.add(commitAsync(committer, mock(BatchOperation.class)));
+    }
+    // The following batches are queued while the first commit is in progress.
+    Thread.sleep(100);
+    handler.release.countDown();
+    first.get(1, TimeUnit.MINUTES);
+    return followers;
+  }
+
+  @Test
+  public void testGroupCommit() throws Exception {
+    final BlockingHandler handler = new BlockingHandler();
+    final BatchGroupCommitter committer = new BatchGroupCommitter(handler, Duration.ofMillis(100));
+
+    for (CompletableFuture<Void> f : commitWhileBlocked(handler, committer)) {
+      f.get(1, TimeUnit.MINUTES);
+    }
+
+    assertEquals(2, handler.groups.size());
+    assertEquals(1, handler.groups.get(0).size());
+    assertEquals(NUM_FOLLOWERS, handler.groups.get(1).size());
+    assertEquals(2, committer.getGroupCount());
+    assertEquals(NUM_FOLLOWERS + 1, committer.getBatchCount());
+  }
+
+  @Test
+  public void testGroupCommitFailure() throws Exception {
+    final BlockingHandler handler = new BlockingHandler();
+    handler.failure = new RocksDatabaseException("Failed to commit");
+    final BatchGroupCommitter committer = new BatchGroupCommitter(handler, Duration.ofMillis(100));
+
+    for (CompletableFuture<Void> f : commitWhileBlocked(handler, committer)) {
+      final ExecutionException e = assertThrows(ExecutionException.class, () -> f.get(1, TimeUnit.MINUTES));
+      assertSame(handler.failure, e.getCause().getCause());
+    }
+    assertEquals(2, committer.getGroupCount());
+  }
+}
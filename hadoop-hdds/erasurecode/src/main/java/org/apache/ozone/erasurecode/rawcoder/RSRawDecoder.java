@@ -80,7 +80,7 @@ protected void doDecode(ByteBufferDecodingState decodingState) {
     for (int i = 0; i < getNumDataUnits(); i++) {
       realInputs[i] = decodingState.inputs[validIndexes[i]];
     }
-    RSUtil.encodeData(gfTables, realInputs, decodingState.outputs);
+    encodeData(gfTables, realInputs, decodingState.outputs);
   }
 
   @Override
@@ -96,10 +96,28 @@ protected void doDecode(ByteArrayDecodingState decodingState) {
       realInputs[i] = decodingState.inputs[validIndexes[i]];
       realInputOffsets[i] = decodingState.inputOffsets[validIndexes[i]];
     }
-    RSUtil.encodeData(gfTables, dataLen, realInputs, realInputOffsets,
+    encodeData(gfTables, dataLen, realInputs, realInputOffsets,
         decodingState.outputs, decodingState.outputOffsets);
   }
 
+  /**
+   * Multiply the inputs by the coding matrix in the given tables
+   * and add the results to the outputs; see {@link RSUtil#encodeData}.
+   */
+  protected void encodeData(byte[] tables, ByteBuffer[] inputs,
+      ByteBuffer[] outputs) {
+    RSUtil.encodeData(tables, inputs, outputs);
+  }
+
+  /**
+   * See above.
+   */
+  protected void encodeData(byte[] tables, int dataLen, byte[][] inputs,
+      int[] inputOffsets, byte[][] outputs, int[] outputOffsets) {
+    RSUtil.encodeData(tables, dataLen, inputs, inputOffsets, outputs,
+        outputOffsets);
+  }
+
   private <T> void prepareDecoding(T[] inputs, int[] erasedIndexes) {
     int[] tmpValidIndexes = CoderUtil.getValidIndexes(inputs);
     if (Arrays.equals(this.cachedErasedIndexes, erasedIndexes) &&
@@ -17,6 +17,7 @@
 
 package org.apache.ozone.erasurecode.rawcoder;
 
+import java.nio.ByteBuffer;
 import org.apache.hadoop.hdds.client.ECReplicationConfig;
 import org.apache.ozone.erasurecode.rawcoder.util.DumpUtil;
 import org.apache.ozone.erasurecode.rawcoder.util.RSUtil;
@@ -62,7 +63,7 @@ public RSRawEncoder(ECReplicationConfig ecReplicationConfig) {
   protected void doEncode(ByteBufferEncodingState encodingState) {
     CoderUtil.resetOutputBuffers(encodingState.outputs,
         encodingState.encodeLength);
-    RSUtil.encodeData(gfTables, encodingState.inputs, encodingState.outputs);
+    encodeData(gfTables, encodingState.inputs, encodingState.outputs);
   }
 
   @Override
@@ -70,9 +71,27 @@ protected void doEncode(ByteArrayEncodingState encodingState) {
     CoderUtil.resetOutputBuffers(encodingState.outputs,
         encodingState.outputOffsets,
         encodingState.encodeLength);
-    RSUtil.encodeData(gfTables, encodingState.encodeLength,
+    encodeData(gfTables, encodingState.encodeLength,
         encodingState.inputs,
         encodingState.inputOffsets, encodingState.outputs,
         encodingState.outputOffsets);
   }
+
+  /**
+   * Multiply the inputs by the coding matrix in the given tables
+   * and add the results to the outputs; see {@link RSUtil#encodeData}.
+   */
+  protected void encodeData(byte[] tables, ByteBuffer[] inputs,
+      ByteBuffer[] outputs) {
+    RSUtil.encodeData(tables, inputs, outputs);
+  }
+
+  /**
+   * See above.
+   */
+  protected void encodeData(byte[] tables, int dataLen, byte[][] inputs,
+      int[] inputOffsets, byte[][] outputs, int[] outputOffsets) {
+    RSUtil.encodeData(tables, dataLen, inputs, inputOffsets, outputs,
+        outputOffsets);
+  }
 }
@@ -0,0 +1,48 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements. See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.ozone.erasurecode.rawcoder;
+
+import java.nio.ByteBuffer;
+import org.apache.hadoop.hdds.annotation.InterfaceAudience;
+import org.apache.hadoop.hdds.client.ECReplicationConfig;
+import org.apache.ozone.erasurecode.rawcoder.util.RSSwarUtil;
+
+/**
+ * A {@link RSRawEncoder} computing on 64-bit words, see {@link RSSwarUtil}.
+ * The encoded data is the same as the other RS coders.
+ */
+@InterfaceAudience.Private
+public class RSSwarRawEncoder extends RSRawEncoder {
+
+  public RSSwarRawEncoder(ECReplicationConfig ecReplicationConfig) {
+    super(ecReplicationConfig);
+  }
+
+  @Override
+  protected void encodeData(byte[] tables, ByteBuffer[] inputs,
+      ByteBuffer[] outputs) {
+    RSSwarUtil.encodeData(tables, inputs, outputs);
+  }
+
+  @Override
+  protected void encodeData(byte[] tables, int dataLen, byte[][] inputs,
+      int[] inputOffsets, byte[][] outputs, int[] outputOffsets) {
+    RSSwarUtil.encodeData(tables, dataLen, inputs, inputOffsets, outputs,
+        outputOffsets);
+  }
+}
@@ -0,0 +1,161 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements. See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.ozone.erasurecode.rawcoder.util;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import org.apache.hadoop.hdds.annotation.InterfaceAudience;
+
+/**
+ * Reed-Solomon coding kernels working on 64-bit words (SWAR, SIMD within a
+ * register), used by the SWAR RS coder.  They compute the same result as
+ * {@link RSUtil#encodeData}, but:
+ * <ul>
+ *   <li>the inputs and the outputs are read and written 8 bytes at a time,
+ *       instead of one byte per {@link ByteBuffer#get(int)} call;</li>
+ *   <li>each input word is loaded once and the products of all the inputs
+ *       are accumulated in a register before the output word is written,
+ *       instead of one pass over an output per input;</li>
+ *   <li>the multiplications by 0 are skipped and those by 1 are replaced by
+ *       a plain XOR; both are common in the decoding matrices.</li>
+ * </ul>
+ * The multiplication of a word by a coefficient uses the same
+ * {@link GF256#gfMulTab()} lookup table as {@link RSUtil}.
+ */
+@InterfaceAudience.Private
+public final class RSSwarUtil {
+
+  private RSSwarUtil() {
+  }
+
+  /**
+   * Encode a group of inputs data and add the results to the outputs.
+   * As {@link RSUtil#encodeData(byte[], ByteBuffer[], ByteBuffer[])},
+   * it is also used for decoding.
+   *
+   * @param gfTables the tables generated by {@link RSUtil#initTables}
+   * @param inputs the inputs, all with the same remaining length
+   * @param outputs the outputs, all with at least the same remaining length
+   */
+  public static void encodeData(byte[] gfTables, ByteBuffer[] inputs,
+      ByteBuffer[] outputs) {
+    final int numInputs = inputs.length;
+    final int numOutputs = outputs.length;
+    final int dataLen = inputs[0].remaining();
+
+    // Words are only combined lane by lane, so any byte order works as long as
+    // all the buffers use the same one.
+    final ByteBuffer[] in = new ByteBuffer[numInputs];
+    final int[] iPos = new int[numInputs];
+    for (int j = 0; j < numInputs; j++) {
+      in[j] = inputs[j].duplicate().order(ByteOrder.nativeOrder());
+      iPos[j] = inputs[j].position();
+    }
+    final ByteBuffer[] out = new ByteBuffer[numOutputs];
+    final int[] oPos = new int[numOutputs];
+    for (int l = 0; l < numOutputs; l++) {
+      out[l] = outputs[l].duplicate().order(ByteOrder.nativeOrder());
+      oPos[l] = outputs[l].position();
+    }
+
+    final int[] coefficients = getCoefficients(gfTables, numInputs, numOutputs);
+    final byte[][] tables = getTables(coefficients);
+    final long[] words = new long[numInputs];
+    final int extra = dataLen - dataLen % 8;
+
+    for (int i = 0; i < extra; i += 8) {
+      for (int j = 0; j < numInputs; j++) {
+        words[j] = in[j].getLong(iPos[j] + i);
+      }
+      for (int l = 0, t = 0; l < numOutputs; l++) {
+        long sum = 0;
+        for (int j = 0; j < numInputs; j++, t++) {
+          final int c = coefficients[t];
+          if (c == 1) {
+            sum ^= words[j];
+          } else if (c != 0) {
+            sum ^= mul(tables[t], words[j]);
+          }
+        }
+        final int p = oPos[l] + i;
+        out[l].putLong(p, out[l].getLong(p) ^ sum);
+      }
+    }
+
+    // For the left bytes, do it one by one.
+    for (int i = extra; i < dataLen; i++) {
+      for (int l = 0, t = 0; l < numOutputs; l++) {
+        int sum = 0;
+        for (int j = 0; j < numInputs; j++, t++) {
+          sum ^= tables[t][0xff & in[j].get(iPos[j] + i)];
+        }
+        final int p = oPos[l] + i;
+        out[l].put(p, (byte) (out[l].get(p) ^ sum));
+      }
+    }
+  }
+
+  /**
+   * See above.  The arrays are wrapped in heap buffers,
+   * so that they are also read and written 8 bytes at a time.
+   */
+  public static void encodeData(byte[] gfTables, int dataLen, byte[][] inputs,
+      int[] inputOffsets, byte[][] outputs, int[] outputOffsets) {
+    final ByteBuffer[] in = new ByteBuffer[inputs.length];
+    for (int j = 0; j < inputs.length; j++) {
+      in[j] = ByteBuffer.wrap(inputs[j], inputOffsets[j], dataLen);
+    }
+    final ByteBuffer[] out = new ByteBuffer[outputs.length];
+    for (int l = 0; l < outputs.length; l++) {
+      out[l] = ByteBuffer.wrap(outputs[l], outputOffsets[l], dataLen);
+    }
+    encodeData(gfTables, in, out);
+  }
+
+  /** Multiply each byte of the given word by the coefficient of the given table. */
+  static long mul(byte[] table, long word) {
+    return (table[(int) word & 0xff] & 0xffL)
+        | (table[(int) (word >>> 8) & 0xff] & 0xffL) << 8
+        | (table[(int) (word >>> 16) & 0xff] & 0xffL) << 16
+        | (table[(int) (word >>> 24) & 0xff] & 0xffL) << 24
+        | (table[(int) (word >>> 32) & 0xff] & 0xffL) << 32
+        | (table[(int) (word >>> 40) & 0xff] & 0xffL) << 40
+        | (table[(int) (word >>> 48) & 0xff] & 0xffL) << 48
+        | (table[(int) (word >>> 56) & 0xff] & 0xffL) << 56;
+  }
+
+  /** @return the coefficient of input j for output l at index l * numInputs + j. */
+  private static int[] getCoefficients(byte[] gfTables, int numInputs, int numOutputs) {
+    final int[] coefficients = new int[numInputs * numOutputs];
+    for (int l = 0, t = 0; l < numOutputs; l++) {
+      for (int j = 0; j < numInputs; j++, t++) {
+        // The second entry of the table of a coefficient c is c * 1 = c.
+        coefficients[t] = gfTables[j * 32 + l * numInputs * 32 + 1] & 0xff;
+      }
+    }
+    return coefficients;
+  }
+
+  private static byte[][] getTables(int[] coefficients) {
+    final byte[][] tables = new byte[coefficients.length][];
+    for (int t = 0; t < coefficients.length; t++) {
+      tables[t] = GF256.gfMulTab()[coefficients[t]];
+    }
+    return tables;
+  }
+}
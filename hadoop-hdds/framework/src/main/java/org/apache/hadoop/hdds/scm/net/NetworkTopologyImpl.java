@@ -63,6 +63,8 @@ public class NetworkTopologyImpl implements NetworkTopology {
   private final Consumer<List<? extends Node>> shuffleOperation;
   /** Lock to coordinate cluster tree access. */
   private final ReadWriteLock netlock = new ReentrantReadWriteLock(true);
+  /** Index of the leaves, updated along with the cluster tree. */
+  private final TopologyIndex index = new TopologyIndex();
 
   public NetworkTopologyImpl(ConfigurationSource conf) {
     schemaManager = NodeSchemaManager.getInstance();
@@ -82,6 +84,7 @@ public NetworkTopologyImpl(String schemaFile, InnerNode clusterTree) {
     shuffleOperation = Collections::shuffle;
     factory = InnerNodeImpl.FACTORY;
     this.clusterTree = clusterTree;
+    index.addAll(clusterTree);
   }
 
   @VisibleForTesting
@@ -125,6 +128,9 @@ public void add(Node node) {
     boolean add;
     try {
       add = clusterTree.add(node);
+      if (add) {
+        index.add(node, clusterTree);
+      }
     } finally {
       netlock.writeLock().unlock();
     }
@@ -176,9 +182,13 @@ public void update(Node oldNode, Node newNode) {
       }
       if (exist) {
         clusterTree.remove(oldNode);
+        index.remove(oldNode);
       }
 
       add = clusterTree.add(newNode);
+      if (add) {
+        index.add(newNode, clusterTree);
+      }
     } finally {
       netlock.writeLock().unlock();
     }
@@ -205,6 +215,7 @@ public void remove(Node node) {
     netlock.writeLock().lock();
     try {
       clusterTree.remove(node);
+      index.remove(node);
     } finally {
       netlock.writeLock().unlock();
     }
@@ -602,6 +613,21 @@ private Node chooseNodeInternal(String scope, int leafIndex,
           affinityNode == null ? "" : affinityNode, ancestorGen);
     }
 
+    if (leafIndex < 0) {
+      final TopologyIndex.Candidates candidates = index.getCandidates(scope,
+          excludedScopes, excludedNodes, affinityNode, ancestorGen);
+      if (candidates != null) {
+        final Node ret = candidates.chooseRandom();
+        if (ret == null) {
+          LOG.info("No available node in (scope=\"{}\" excludedScope=\"{}\" " +
+                  "excludedNodes=\"{}\"  ancestorGen=\"{}\").",
+              scope, excludedScopes, excludedNodes, ancestorGen);
+        }
+        LOG.debug("Chosen node = {}", ret);
+        return ret;
+      }
+    }
+
     String finalScope = scope;
     if (affinityNode != null && ancestorGen > 0) {
       Node affinityAncestor = affinityNode.getAncestor(ancestorGen);
@@ -733,6 +759,13 @@ public int getDistanceCost(Node node1, Node node2) {
       return Integer.MAX_VALUE;
     }
 
+    // Lookup the index without locking for the leaves in the cluster tree.
+    final TopologyIndex.Leaf leaf1 = index.getLeaf(node1);
+    final TopologyIndex.Leaf leaf2 = index.getLeaf(node2);
+    if (leaf1 != null && leaf2 != null) {
+      return TopologyIndex.getDistanceCost(leaf1, leaf2);
+    }
+
     int cost = 0;
     netlock.readLock().lock();
     try {
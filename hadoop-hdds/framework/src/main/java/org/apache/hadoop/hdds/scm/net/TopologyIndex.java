@@ -0,0 +1,390 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements. See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.hadoop.hdds.scm.net;
+
+import static org.apache.hadoop.hdds.scm.net.NetConstants.PATH_SEPARATOR;
+import static org.apache.hadoop.hdds.scm.net.NetConstants.PATH_SEPARATOR_STR;
+import static org.apache.hadoop.hdds.scm.net.NetConstants.ROOT;
+
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * An index of the leaves of a {@link NetworkTopologyImpl}, for computing the
+ * distance costs and choosing random leaves without walking the cluster tree.
+ * <p>
+ * Each leaf is indexed with its ancestors, from the root to its parent,
+ * where an ancestor is identified by an id assigned to its network full
+ * path, and with the distance costs from the leaf to each of its ancestors.
+ * The distance cost between two leaves is the sum of their costs to their
+ * deepest common ancestor, which is found by comparing the ids.
+ * Each leaf also has an ordinal, which is reused after the leaf is removed,
+ * so that a set of leaves is a compact {@link BitSet}.
+ * <p>
+ * The index is updated incrementally when a leaf is added or removed.
+ * The updates are synchronized; the lookups are not, since the indexed
+ * values are immutable.
+ */
+final class TopologyIndex {
+  /** The number of random picks before scanning the available leaves. */
+  private static final int MAX_RANDOM_PICKS = 8;
+
+  /** The ids of the inner nodes, by network full path. */
+  private final Map<String, Integer> innerNodeIds = new HashMap<>();
+  /** The leaves, by the nodes; see {@link Node#equals(Object)}. */
+  private final Map<Node, Leaf> leaves = new ConcurrentHashMap<>();
+  /** The leaves, by network full path. */
+  private final Map<String, Leaf> leavesByPath = new ConcurrentHashMap<>();
+  /** The leaves under each inner node, by the network full path. */
+  private final Map<String, Leaf[]> scopes = new ConcurrentHashMap<>();
+  /** The ordinals in use. */
+  private final BitSet ordinals = new BitSet();
+
+  /**
+   * Index all the leaves of the given cluster tree.
+   */
+  synchronized void addAll(InnerNode clusterTree) {
+    addAll(clusterTree, clusterTree);
+  }
+
+  private void addAll(InnerNode inner, InnerNode clusterTree) {
+    if (inner.getNumOfLeaves() <= 0) {
+      return;
+    }
+    for (Node child : inner.getNodes(2)) {
+      if (child instanceof InnerNode) {
+        addAll((InnerNode) child, clusterTree);
+      } else if (child != null) {
+        add(child, clusterTree);
+      }
+    }
+  }
+
+  /**
+   * Index the given leaf, which has been added to the given cluster tree.
+   * The leaf is not indexed if any of its ancestors is not found.
+   */
+  synchronized void add(Node node, InnerNode clusterTree) {
+    final String[] paths = getAncestorPaths(node.getNetworkLocation());
+    final int[] ids = new int[paths.length];
+    final int[] costs = new int[paths.length];
+    int cost = 0;
+    for (int i = paths.length - 1; i >= 0; i--) {
+      final Node ancestor = paths[i].equals(ROOT) ? clusterTree
+          : clusterTree.getNode(paths[i]);
+      if (!(ancestor instanceof InnerNode)) {
+        return;
+      }
+      cost += ancestor.getCost();
+      costs[i] = cost;
+      ids[i] = innerNodeIds.computeIfAbsent(paths[i],
+          k -> innerNodeIds.size());
+    }
+
+    remove(node);
+    final int ordinal = ordinals.nextClearBit(0);
+    ordinals.set(ordinal);
+    final Leaf leaf = new Leaf(node, ordinal, paths, ids, costs);
+    leaves.put(node, leaf);
+    leavesByPath.put(leaf.path, leaf);
+    for (String path : paths) {
+      scopes.merge(path, new Leaf[] {leaf}, TopologyIndex::concat);
+    }
+  }
+
+  /**
+   * Remove the given leaf from this index.
+   */
+  synchronized void remove(Node node) {
+    final Leaf leaf = leaves.remove(node);
+    if (leaf == null) {
+      return;
+    }
+    leavesByPath.remove(leaf.path, leaf);
+    ordinals.clear(leaf.ordinal);
+    for (String path : leaf.ancestorPaths) {
+      scopes.computeIfPresent(path, (k, v) -> remove(v, leaf));
+    }
+  }
+
+  /**
+   * Get the leaf of the given node, which is either the indexed node itself
+   * or an equal node at the same network full path, e.g. a copy of a
+   * datanode in the cluster tree built from a protobuf message.
+   *
+   * @return the leaf; or null if the node is not in the cluster tree.
+   */
+  Leaf getLeaf(Node node) {
+    final Leaf leaf = node == null ? null
+        : leavesByPath.get(node.getNetworkFullPath());
+    return leaf != null && leaf.node.equals(node) ? leaf : null;
+  }
+
+  /**
+   * @return the distance cost between the given leaves,
+   * as {@link NetworkTopology#getDistanceCost(Node, Node)}.
+   */
+  static int getDistanceCost(Leaf leaf1, Leaf leaf2) {
+    if (leaf1 == leaf2) {
+      return 0;
+    }
+    final int n = Math.min(leaf1.ancestorIds.length, leaf2.ancestorIds.length);
+    int i = 0;
+    while (i + 1 < n && leaf1.ancestorIds[i + 1] == leaf2.ancestorIds[i + 1]) {
+      i++;
+    }
+    return leaf1.costs[i] + leaf2.costs[i];
+  }
+
+  /**
+   * Get the candidates of a random choice,
+   * as {@link NetworkTopology#chooseRandom(String, List, Collection, Node,
+   * int)}.
+   *
+   * @return the candidates; or null if the choice is not supported by this
+   * index, e.g. the scope is not an inner node, or the affinity node or an
+   * excluded node with a positive ancestorGen is not in the cluster tree.
+   */
+  Candidates getCandidates(String scope, List<String> excludedScopes,
+      Collection<? extends Node> excludedNodes, Node affinityNode,
+      int ancestorGen) {
+    String finalScope = toKey(scope);
+    if (finalScope == null) {
+      return null;
+    }
+    final BitSet excluded = new BitSet();
+    if (affinityNode != null) {
+      final Leaf affinity = leaves.get(affinityNode);
+      if (ancestorGen > 0) {
+        if (getLeaf(affinityNode) == null
+            || ancestorGen > affinity.ancestorPaths.length) {
+          return null;
+        }
+        final String ancestor = affinity.getAncestorPath(ancestorGen);
+        if (isDescendant(ancestor, finalScope)) {
+          finalScope = ancestor;
+        } else if (!finalScope.startsWith(ancestor)) {
+          return Candidates.EMPTY;
+        }
+        // the ancestor generation applies to the affinity node only.
+        ancestorGen = 0;
+      }
+      if (affinity != null) {
+        excluded.set(affinity.ordinal);
+      }
+    }
+
+    final Leaf[] candidates = scopes.get(finalScope);
+    if (candidates == null) {
+      return null;
+    }
+
+    if (excludedScopes != null) {
+      for (String excludedScope : excludedScopes) {
+        final String key = toKey(excludedScope);
+        if (key == null) {
+          return null;
+        }
+        final Leaf leaf = leavesByPath.get(key);
+        if (leaf != null) {
+          excluded.set(leaf.ordinal);
+        } else {
+          setAll(excluded, scopes.get(key));
+        }
+      }
+    }
+
+    if (excludedNodes != null) {
+      for (Node node : excludedNodes) {
+        if (ancestorGen == 0) {
+          final Leaf leaf = node == null ? null : leaves.get(node);
+          if (leaf != null) {
+            excluded.set(leaf.ordinal);
+          }
+          continue;
+        }
+        if (node == null
+            || !isDescendant(node.getNetworkFullPath(), finalScope)) {
+          // as the tree walk, ignore the excluded nodes out of the scope.
+          continue;
+        }
+        // the ancestors are only known for the nodes in the cluster tree.
+        final Leaf leaf = getLeaf(node);
+        if (leaf == null || ancestorGen > leaf.ancestorPaths.length) {
+          return null;
+        }
+        setAll(excluded, scopes.get(leaf.getAncestorPath(ancestorGen)));
+      }
+    }
+    return new Candidates(candidates, excluded);
+  }
+
+  /** The leaves to choose from, except for the excluded ones. */
+  static final class Candidates {
+    private static final Candidates EMPTY =
+        new Candidates(new Leaf[0], new BitSet());
+
+    private final Leaf[] leaves;
+    private final BitSet excluded;
+
+    private Candidates(Leaf[] leaves, BitSet excluded) {
+      this.leaves = leaves;
+      this.excluded = excluded;
+    }
+
+    /**
+     * Choose a leaf uniformly at random from the available leaves.
+     * @return the chosen node; or null if no leaves are available.
+     */
+    Node chooseRandom() {
+      if (leaves.length == 0) {
+        return null;
+      }
+      final ThreadLocalRandom random = ThreadLocalRandom.current();
+      if (excluded.isEmpty()) {
+        return leaves[random.nextInt(leaves.length)].node;
+      }
+      // Most leaves are usually available, so try picking at random first.
+      for (int i = 0; i < MAX_RANDOM_PICKS; i++) {
+        final Leaf leaf = leaves[random.nextInt(leaves.length)];
+        if (!excluded.get(leaf.ordinal)) {
+          return leaf.node;
+        }
+      }
+      int available = 0;
+      for (Leaf leaf : leaves) {
+        if (!excluded.get(leaf.ordinal)) {
+          available++;
+        }
+      }
+      if (available == 0) {
+        return null;
+      }
+      int index = random.nextInt(available);
+      for (Leaf leaf : leaves) {
+        if (!excluded.get(leaf.ordinal) && index-- == 0) {
+          return leaf.node;
+        }
+      }
+      throw new IllegalStateException("Leaf not found: index=" + index);
+    }
+  }
+
+  /** An indexed leaf. */
+  static final class Leaf {
+    private final Node node;
+    private final String path;
+    private final int ordinal;
+    /** The network full paths of the ancestors, from the root. */
+    private final String[] ancestorPaths;
+    /** The ids of the ancestors, from the root. */
+    private final int[] ancestorIds;
+    /** The distance costs from this leaf to each of its ancestors. */
+    private final int[] costs;
+
+    private Leaf(Node node, int ordinal, String[] ancestorPaths,
+        int[] ancestorIds, int[] costs) {
+      this.node = node;
+      this.path = node.getNetworkFullPath();
+      this.ordinal = ordinal;
+      this.ancestorPaths = ancestorPaths;
+      this.ancestorIds = ancestorIds;
+      this.costs = costs;
+    }
+
+    /** @return the ancestor path, where generation 1 is the parent. */
+    private String getAncestorPath(int generation) {
+      return ancestorPaths[ancestorPaths.length - generation];
+    }
+  }
+
+  /**
+   * @return the network full paths of the ancestors of a leaf at the given
+   * location, from the root to the parent.
+   */
+  private static String[] getAncestorPaths(String location) {
+    final String parent = toKey(location);
+    if (parent == null || parent.equals(ROOT)) {
+      return new String[] {ROOT};
+    }
+    final String[] names = parent.substring(1).split(PATH_SEPARATOR_STR);
+    final String[] paths = new String[names.length + 1];
+    paths[0] = ROOT;
+    final StringBuilder b = new StringBuilder();
+    for (int i = 0; i < names.length; i++) {
+      paths[i + 1] = b.append(PATH_SEPARATOR).append(names[i]).toString();
+    }
+    return paths;
+  }
+
+  /**
+   * @return the normalized path, where the root is {@link NetConstants#ROOT};
+   * or null if the path is not absolute.
+   */
+  private static String toKey(String path) {
+    if (path != null && !path.isEmpty()
+        && path.charAt(0) != PATH_SEPARATOR) {
+      return null;
+    }
+    final String normalized = NetUtils.normalize(path);
+    return normalized.equals(PATH_SEPARATOR_STR) ? ROOT : normalized;
+  }
+
+  /** As {@link Node#isDescendant(String)}. */
+  private static boolean isDescendant(String path, String ancestor) {
+    return NetUtils.addSuffix(path).startsWith(NetUtils.addSuffix(ancestor));
+  }
+
+  private static void setAll(BitSet bits, Leaf[] leafArray) {
+    if (leafArray != null) {
+      for (Leaf leaf : leafArray) {
+        bits.set(leaf.ordinal);
+      }
+    }
+  }
+
+  private static Leaf[] concat(Leaf[] a, Leaf[] b) {
+    final Leaf[] c = Arrays.copyOf(a, a.length + b.length);
+    System.arraycopy(b, 0, c, a.length, b.length);
+    return c;
+  }
+
+  /** @return the array without the given leaf; null if it becomes empty. */
+  private static Leaf[] remove(Leaf[] array, Leaf leaf) {
+    if (array.length == 1 && array[0] == leaf) {
+      return null;
+    }
+    final Leaf[] result = new Leaf[array.length - 1];
+    int j = 0;
+    for (Leaf l : array) {
+      if (l != leaf) {
+        if (j == result.length) {
+          return array;
+        }
+        result[j++] = l;
+      }
+    }
+    return result;
+  }
+}
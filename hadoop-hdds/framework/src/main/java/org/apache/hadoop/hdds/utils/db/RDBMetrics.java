@@ -36,6 +36,7 @@ public class RDBMetrics {
   private @Metric MutableCounterLong numDBKeyMayExistMisses;
 
   private @Metric MutableCounterLong numDBKeyGets;
+  private @Metric MutableCounterLong numDBKeyMultiGets;
   private @Metric MutableCounterLong numDBKeyGetIfExistChecks;
   private @Metric MutableCounterLong numDBKeyGetIfExistMisses;
   private @Metric MutableCounterLong numDBKeyGetIfExistGets;
@@ -65,6 +66,15 @@ public void incNumDBKeyGets() {
     this.numDBKeyGets.incr();
   }
 
+  public long getNumDBKeyMultiGets() {
+    return numDBKeyMultiGets.value();
+  }
+
+  /** Increase the number of keys looked up by multiGet. */
+  public void incNumDBKeyMultiGets(int numKeys) {
+    this.numDBKeyMultiGets.incr(numKeys);
+  }
+
   public long getNumDBKeyGetIfExistGets() {
     return numDBKeyGetIfExistGets.value();
   }
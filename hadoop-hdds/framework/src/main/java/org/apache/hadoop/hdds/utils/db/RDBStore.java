@@ -283,6 +283,16 @@ public void commitBatchOperation(BatchOperation operation)
     ((RDBBatchOperation) operation).commit(db);
   }
 
+  @Override
+  public void commitBatchOperations(List<? extends BatchOperation> operations)
+      throws RocksDatabaseException {
+    final List<RDBBatchOperation> batches = new ArrayList<>(operations.size());
+    for (BatchOperation operation : operations) {
+      batches.add((RDBBatchOperation) operation);
+    }
+    RDBBatchOperation.commit(db, batches);
+  }
+
   @Override
   public RDBTable getTable(String name) throws RocksDatabaseException {
     final ColumnFamily handle = db.getColumnFamily(name);
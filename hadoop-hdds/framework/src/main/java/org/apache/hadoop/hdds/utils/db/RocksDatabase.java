@@ -59,12 +59,14 @@
 import org.apache.ozone.rocksdiff.RocksDiffUtils;
 import org.apache.ratis.util.MemoizedSupplier;
 import org.apache.ratis.util.UncheckedAutoCloseable;
+import org.rocksdb.ByteBufferGetStatus;
 import org.rocksdb.ColumnFamilyDescriptor;
 import org.rocksdb.ColumnFamilyHandle;
 import org.rocksdb.Holder;
 import org.rocksdb.KeyMayExist;
 import org.rocksdb.LiveFileMetaData;
 import org.rocksdb.RocksDBException;
+import org.rocksdb.Status;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -710,6 +712,66 @@ Integer get(ColumnFamily family, ByteBuffer key, ByteBuffer outValue)
     }
   }
 
+  /**
+   * Get the values mapped to the given keys in a single batched lookup.
+   *
+   * @param family the table to get from.
+   * @param keys the keys to look up.
+   * @return the values in the same order as the given keys,
+   *         where an element is null if the corresponding key is not found.
+   * @throws RocksDatabaseException if the db is closed or the db throws an exception.
+   * @see org.rocksdb.RocksDB#multiGetAsList(org.rocksdb.ReadOptions, List, List)
+   */
+  List<byte[]> multiGet(ColumnFamily family, List<byte[]> keys) throws RocksDatabaseException {
+    try (UncheckedAutoCloseable ignored = acquire()) {
+      return db.get().multiGetAsList(DEFAULT_READ_OPTION,
+          Collections.nCopies(keys.size(), family.getHandle()), keys);
+    } catch (RocksDBException e) {
+      closeOnError(e);
+      throw toRocksDatabaseException(this, "multiGet " + keys.size() + " keys from " + family, e);
+    }
+  }
+
+  /**
+   * Get the values mapped to the given keys in a single batched lookup.
+   *
+   * @param family the table to get from.
+   * @param keys the direct buffers containing the keys.
+   * @param outValues the direct buffers to store the output values.
+   *                  When a buffer size is smaller than the size of the value,
+   *                  partial result will be written.
+   * @return the sizes in the same order as the given keys,
+   *         where an element is null if the corresponding key is not found;
+   *         otherwise, it is the size (possibly 0) of the value.
+   * @throws RocksDatabaseException if the db is closed or the db throws an exception.
+   * @see org.rocksdb.RocksDB#multiGetByteBuffers(org.rocksdb.ReadOptions, List, List, List)
+   */
+  List<Integer> multiGet(ColumnFamily family, List<ByteBuffer> keys, List<ByteBuffer> outValues)
+      throws RocksDatabaseException {
+    try (UncheckedAutoCloseable ignored = acquire()) {
+      final List<ByteBufferGetStatus> statuses = db.get().multiGetByteBuffers(DEFAULT_READ_OPTION,
+          Collections.nCopies(keys.size(), family.getHandle()), keys, outValues);
+      final List<Integer> sizes = new ArrayList<>(statuses.size());
+      for (int i = 0; i < statuses.size(); i++) {
+        final Status status = statuses.get(i).status;
+        switch (status.getCode()) {
+        case Ok:
+          sizes.add(statuses.get(i).requiredSize);
+          break;
+        case NotFound:
+          sizes.add(null);
+          break;
+        default:
+          throw new RocksDBException("multiGet " + bytes2String(keys.get(i)), status);
+        }
+      }
+      return sizes;
+    } catch (RocksDBException e) {
+      closeOnError(e);
+      throw toRocksDatabaseException(this, "multiGet " + keys.size() + " keys from " + family, e);
+    }
+  }
+
   public long estimateNumKeys() throws RocksDatabaseException {
     return getLongProperty(ESTIMATE_NUM_KEYS);
   }
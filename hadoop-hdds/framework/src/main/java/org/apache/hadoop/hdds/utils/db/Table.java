@@ -18,6 +18,7 @@
 package org.apache.hadoop.hdds.utils.db;
 
 import java.io.File;
+import java.util.ArrayList;
 import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
@@ -80,6 +81,23 @@
    */
   VALUE get(KEY key) throws RocksDatabaseException, CodecException;
 
+  /**
+   * Returns the values mapped to the given keys.
+   * It is the same as calling {@link #get(Object)} for each key
+   * except that the implementation may look up the keys in a batch.
+   *
+   * @param keys metadata keys
+   * @return the values in the same order as the given keys,
+   *         where an element is null if the corresponding key is not found.
+   */
+  default List<VALUE> multiGet(List<KEY> keys) throws RocksDatabaseException, CodecException {
+    final List<VALUE> values = new ArrayList<>(keys.size());
+    for (KEY key : keys) {
+      values.add(get(key));
+    }
+    return values;
+  }
+
   /**
    * Skip checking cache and get the value mapped to the given key in byte
    * array or returns null if the key is not found.
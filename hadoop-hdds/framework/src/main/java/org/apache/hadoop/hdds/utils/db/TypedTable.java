@@ -216,6 +216,102 @@ public VALUE get(KEY key) throws RocksDatabaseException, CodecException {
     }
   }
 
+  /**
+   * Get the values mapped to the given keys.
+   * <p>
+   * Similar to {@link #get(Object)}, it first checks the cache for each key.
+   * The keys not resolved by the cache are looked up from the RocksDB table
+   * in a single batched lookup.
+   *
+   * @param keys metadata keys
+   * @return the values in the same order as the given keys,
+   *         where an element is null if the corresponding key is not found.
+   */
+  @Override
+  public List<VALUE> multiGet(List<KEY> keys) throws RocksDatabaseException, CodecException {
+    final List<VALUE> values = new ArrayList<>(keys.size());
+    // the indices of the keys not resolved by the cache
+    final List<Integer> misses = new ArrayList<>();
+    for (KEY key : keys) {
+      final CacheResult<VALUE> cacheResult = cache.lookup(new CacheKey<>(key));
+      if (cacheResult.getCacheStatus() == EXISTS) {
+        values.add(valueCodec.copyObject(cacheResult.getValue().getCacheValue()));
+      } else {
+        if (cacheResult.getCacheStatus() != NOT_EXIST) {
+          misses.add(values.size());
+        }
+        values.add(null);
+      }
+    }
+
+    if (misses.size() == 1) {
+      final int i = misses.get(0);
+      values.set(i, getFromTable(keys.get(i)));
+    } else if (!misses.isEmpty()) {
+      if (supportCodecBuffer) {
+        multiGetFromTable(keys, misses, values);
+      } else {
+        final List<byte[]> keyBytes = new ArrayList<>(misses.size());
+        for (int i : misses) {
+          keyBytes.add(encodeKey(keys.get(i)));
+        }
+        final List<byte[]> valueBytes = rawTable.multiGet(keyBytes);
+        for (int j = 0; j < misses.size(); j++) {
+          values.set(misses.get(j), decodeValue(valueBytes.get(j)));
+        }
+      }
+    }
+    return values;
+  }
+
+  /**
+   * Use {@link RDBTable#multiGet(List, List)} to get the values mapped to
+   * the keys at the given indices and then set them to the given values.
+   * <p>
+   * The output buffers are allocated with the current {@link #bufferCapacity}.
+   * A value not fitting in its buffer is read again by {@link #getFromTable(Object)}.
+   */
+  private void multiGetFromTable(List<KEY> keys, List<Integer> indices, List<VALUE> values)
+      throws RocksDatabaseException, CodecException {
+    final int capacity = bufferCapacity.get();
+    final List<CodecBuffer> inKeys = new ArrayList<>(indices.size());
+    final List<CodecBuffer> outValues = new ArrayList<>(indices.size());
+    try {
+      final List<ByteBuffer> keyBuffers = new ArrayList<>(indices.size());
+      final List<ByteBuffer> valueBuffers = new ArrayList<>(indices.size());
+      for (int i : indices) {
+        final CodecBuffer inKey = keyCodec.toDirectCodecBuffer(keys.get(i));
+        inKeys.add(inKey);
+        keyBuffers.add(inKey.asReadOnlyByteBuffer());
+        final CodecBuffer outValue = CodecBuffer.allocateDirect(capacity);
+        outValues.add(outValue);
+        valueBuffers.add(outValue.asWritableByteBuffer());
+      }
+
+      final List<Integer> sizes = rawTable.multiGet(keyBuffers, valueBuffers);
+      for (int j = 0; j < indices.size(); j++) {
+        final Integer required = sizes.get(j);
+        if (required == null) {
+          continue; // key not found
+        }
+        final int i = indices.get(j);
+        if (required <= capacity) {
+          // The value has already been written to the buffer; update the index.
+          final CodecBuffer outValue = outValues.get(j);
+          outValue.putFromSource(buffer -> required);
+          values.set(i, valueCodec.fromCodecBuffer(outValue));
+        } else {
+          // buffer size too small, increase the capacity for the later calls.
+          bufferCapacity.increase(required);
+          values.set(i, getFromTable(keys.get(i)));
+        }
+      }
+    } finally {
+      inKeys.forEach(CodecBuffer::release);
+      outValues.forEach(CodecBuffer::release);
+    }
+  }
+
   /**
    * Skip checking cache and get the value mapped to the given key in byte
    * array or returns null if the key is not found.
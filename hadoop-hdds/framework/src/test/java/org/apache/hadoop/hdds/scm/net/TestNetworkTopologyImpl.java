@@ -984,6 +984,92 @@ void testUpdateNode() {
     assertTrue(newCluster.contains(newNode3));
   }
 
+  @Test
+  void testChooseRandomAndCostAfterUpdate() {
+    List<NodeSchema> schemas = new ArrayList<>();
+    schemas.add(ROOT_SCHEMA);
+    schemas.add(DATACENTER_SCHEMA);
+    schemas.add(RACK_SCHEMA);
+    schemas.add(LEAF_SCHEMA);
+
+    NodeSchemaManager manager = NodeSchemaManager.getInstance();
+    manager.init(schemas.toArray(new NodeSchema[0]), true);
+    NetworkTopology newCluster =
+        new NetworkTopologyImpl(manager, mockedShuffleOperation);
+    Node node1 = createDatanode("1.1.1.1", "/d1/r1");
+    Node node2 = createDatanode("2.2.2.2", "/d1/r1");
+    Node node3 = createDatanode("3.3.3.3", "/d1/r2");
+    Node node4 = createDatanode("4.4.4.4", "/d2/r3");
+    for (Node node : Arrays.asList(node1, node2, node3, node4)) {
+      newCluster.add(node);
+    }
+    assertEquals(2, newCluster.getDistanceCost(node1, node2));
+    assertEquals(4, newCluster.getDistanceCost(node1, node3));
+    assertEquals(6, newCluster.getDistanceCost(node1, node4));
+
+    // move node2 to another datacenter
+    Node movedNode = createDatanode("2.2.2.2", "/d2/r3");
+    newCluster.update(node2, movedNode);
+    assertEquals(Integer.MAX_VALUE, newCluster.getDistanceCost(node1, node2));
+    assertEquals(6, newCluster.getDistanceCost(node1, movedNode));
+    assertEquals(2, newCluster.getDistanceCost(node4, movedNode));
+    for (int i = 0; i < 100; i++) {
+      assertEquals(node1, newCluster.chooseRandom("/d1/r1"));
+      assertEquals(movedNode, newCluster.chooseRandom("/d2",
+          null, Arrays.asList(node4), null, 0));
+      // exclude the racks of node1 and node4
+      assertEquals(node3, newCluster.chooseRandom(NetConstants.ROOT,
+          null, Arrays.asList(node1, node4), null, 1));
+      // in the rack of node4, excluding node4
+      assertEquals(movedNode, newCluster.chooseRandom(NetConstants.ROOT,
+          null, null, node4, 1));
+    }
+
+    newCluster.remove(movedNode);
+    assertNull(newCluster.chooseRandom(NetConstants.ROOT,
+        null, null, node4, 1));
+    assertNull(newCluster.chooseRandom(NetConstants.ROOT,
+        Arrays.asList("/d1"), Arrays.asList(node4), null, 0));
+  }
+
+  @Test
+  void testDistanceCostOfCopies() {
+    List<NodeSchema> schemas = new ArrayList<>();
+    schemas.add(ROOT_SCHEMA);
+    schemas.add(DATACENTER_SCHEMA);
+    schemas.add(RACK_SCHEMA);
+    schemas.add(LEAF_SCHEMA);
+
+    NodeSchemaManager manager = NodeSchemaManager.getInstance();
+    manager.init(schemas.toArray(new NodeSchema[0]), true);
+    NetworkTopology newCluster =
+        new NetworkTopologyImpl(manager, mockedShuffleOperation);
+    Node node1 = createDatanode("1.1.1.1", "/d1/r1");
+    Node node2 = createDatanode("2.2.2.2", "/d1/r1");
+    Node node3 = createDatanode("3.3.3.3", "/d2/r3");
+    for (Node node : Arrays.asList(node1, node2, node3)) {
+      newCluster.add(node);
+    }
+
+    // the copies, e.g. decoded from protobuf messages, have no parents
+    final int level = node1.getLevel();
+    Node copy1 = new NodeImpl("1.1.1.1", "/d1/r1", null, level,
+        NODE_COST_DEFAULT);
+    Node copy3 = new NodeImpl("3.3.3.3", "/d2/r3", null, level,
+        NODE_COST_DEFAULT);
+    assertEquals(2, newCluster.getDistanceCost(copy1, node2));
+    assertEquals(6, newCluster.getDistanceCost(copy1, copy3));
+    assertEquals(Arrays.asList(copy1, node2, copy3),
+        newCluster.sortByDistanceCost(node1,
+            Arrays.asList(copy3, node2, copy1), 3));
+
+    // a node not in the cluster tree is still detached
+    Node detached = new NodeImpl("1.1.1.1", "/d1/r2", null, level,
+        NODE_COST_DEFAULT);
+    assertEquals(Integer.MAX_VALUE,
+        newCluster.getDistanceCost(detached, node2));
+  }
+
   @Test
   void testIsAncestor() {
     NodeImpl r1 = new NodeImpl("r1", "/", NODE_COST_DEFAULT);
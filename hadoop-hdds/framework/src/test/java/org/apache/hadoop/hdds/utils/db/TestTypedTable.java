@@ -32,6 +32,7 @@
 import java.nio.charset.StandardCharsets;
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
@@ -44,6 +45,8 @@
 import org.apache.hadoop.hdds.StringUtils;
 import org.apache.hadoop.hdds.scm.container.ContainerID;
 import org.apache.hadoop.hdds.utils.db.Table.KeyValue;
+import org.apache.hadoop.hdds.utils.db.cache.CacheKey;
+import org.apache.hadoop.hdds.utils.db.cache.CacheValue;
 import org.apache.hadoop.hdds.utils.db.cache.TableCache;
 import org.apache.hadoop.hdds.utils.db.managed.ManagedColumnFamilyOptions;
 import org.apache.hadoop.hdds.utils.db.managed.ManagedDBOptions;
@@ -183,6 +186,58 @@ void runTestEmptyString(Codec<String> codec) throws Exception {
     runTestSingleKeyValue(nonEmpty, empty, table);
   }
 
+  @Test
+  public void testMultiGetCodecBuffer() throws Exception {
+    final StringCodec codec = StringCodec.get();
+    assertTrue(codec.supportCodecBuffer());
+    runTestMultiGet(codec);
+  }
+
+  @Test
+  public void testMultiGetByteArray() throws Exception {
+    final Codec<String> codec = CodecTestUtil.newCodecWithoutCodecBuffer(StringCodec.get());
+    assertFalse(codec.supportCodecBuffer());
+    runTestMultiGet(codec);
+  }
+
+  void runTestMultiGet(Codec<String> codec) throws Exception {
+    final TypedTable<String, String> table = newTypedTable(4, codec, codec);
+    final List<String> keys = new ArrayList<>();
+    final List<String> expected = new ArrayList<>();
+    for (int i = 0; i < 100; i++) {
+      final String key = "key" + i;
+      keys.add(key);
+      if (i % 3 == 0) {
+        expected.add(null); // key not found
+        continue;
+      }
+      final StringBuilder value = new StringBuilder("value" + i);
+      if (i % 10 == 1) {
+        // a value larger than the default buffer size
+        while (value.length() <= TypedTable.BUFFER_SIZE_DEFAULT) {
+          value.append(value);
+        }
+      }
+      table.put(key, value.toString());
+      expected.add(value.toString());
+    }
+    assertEquals(expected, table.multiGet(keys));
+
+    // the cache takes precedence over the table
+    table.addCacheEntry(new CacheKey<>(keys.get(1)), CacheValue.get(1));
+    expected.set(1, null);
+    table.addCacheEntry(new CacheKey<>(keys.get(3)), CacheValue.get(1, "cached"));
+    expected.set(3, "cached");
+    final List<String> values = table.multiGet(keys);
+    assertEquals(expected, values);
+    for (int i = 0; i < keys.size(); i++) {
+      assertEquals(table.get(keys.get(i)), values.get(i));
+    }
+
+    assertEquals(Collections.emptyList(), table.multiGet(Collections.emptyList()));
+    assertEquals(Collections.singletonList(expected.get(2)), table.multiGet(Collections.singletonList(keys.get(2))));
+  }
+
   @Test
   public void testContainerIDvsLong() throws Exception {
     final Map<Long, ContainerID> keys = newMap(1000, ContainerID::valueOf);
@@ -25,6 +25,7 @@
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
 import javax.management.ObjectName;
 import org.apache.hadoop.hdds.client.BlockID;
 import org.apache.hadoop.hdds.client.ContainerBlockID;
@@ -70,6 +71,14 @@ public class BlockManagerImpl implements BlockManager, BlockmanagerMXBean {
 
   private ObjectName mxBean;
   private final SequenceIdGenerator sequenceIdGen;
+  private final int localIdRangeSize;
+  /**
+   * The local id ranges of the blocks, one for each replication config,
+   * so that the allocations of different replication configs do not contend
+   * on the {@link SequenceIdGenerator}.
+   */
+  private final Map<ReplicationConfig, SequenceIdGenerator.Range>
+      localIdRanges = new ConcurrentHashMap<>();
   private ScmBlockDeletingServiceMetrics metrics;
 
   /**
@@ -86,6 +95,9 @@ public BlockManagerImpl(final ConfigurationSource conf,
     this.scm = scm;
     this.pipelineManager = scm.getPipelineManager();
     this.sequenceIdGen = scm.getSequenceIdGen();
+    this.localIdRangeSize = conf.getInt(
+        ScmConfigKeys.OZONE_SCM_BLOCK_LOCAL_ID_RANGE_SIZE,
+        ScmConfigKeys.OZONE_SCM_BLOCK_LOCAL_ID_RANGE_SIZE_DEFAULT);
     this.containerSize = (long)conf.getStorageSize(
         ScmConfigKeys.OZONE_SCM_CONTAINER_SIZE,
         ScmConfigKeys.OZONE_SCM_CONTAINER_SIZE_DEFAULT,
@@ -185,7 +197,7 @@ private AllocatedBlock newBlock(ContainerInfo containerInfo)
     try {
       final Pipeline pipeline = pipelineManager
           .getPipeline(containerInfo.getPipelineID());
-      long localID = sequenceIdGen.getNextId(SequenceIdType.localId);
+      long localID = nextLocalId(containerInfo.getReplicationConfig());
       long containerID = containerInfo.getContainerID();
       AllocatedBlock.Builder abb =  new AllocatedBlock.Builder()
           .setContainerBlockID(new ContainerBlockID(containerID, localID))
@@ -202,6 +214,16 @@ private AllocatedBlock newBlock(ContainerInfo containerInfo)
     }
   }
 
+  private long nextLocalId(ReplicationConfig replicationConfig)
+      throws SCMException {
+    if (localIdRangeSize <= 1) {
+      return sequenceIdGen.getNextId(SequenceIdType.localId);
+    }
+    return localIdRanges.computeIfAbsent(replicationConfig,
+        k -> sequenceIdGen.newRange(SequenceIdType.localId, localIdRangeSize))
+        .getNextId();
+  }
+
   /**
    * Deletes a list of blocks in an atomic operation. Internally, SCM writes
    * these blocks into a
@@ -39,6 +39,7 @@
 import org.apache.hadoop.ozone.protocol.commands.CommandForDatanode;
 import org.apache.hadoop.ozone.protocol.commands.DeleteContainerCommand;
 import org.apache.hadoop.ozone.protocol.commands.SCMCommand;
+import org.apache.hadoop.ozone.protocol.commands.SendFullContainerReportCommand;
 import org.apache.ratis.protocol.exceptions.NotLeaderException;
 import org.apache.ratis.util.MemoizedSupplier;
 import org.apache.ratis.util.Preconditions;
@@ -459,4 +460,19 @@ protected void deleteReplica(ContainerID containerID, DatanodeDetails dn,
     getLogger().info("Sending {}DeleteContainerCommand due to {} for {}",
         force ? "force" : "", reason, detailsForLogging);
   }
+
+  protected void sendFullContainerReportCommand(DatanodeDetails dn, EventPublisher publisher, String reason) {
+    final long term;
+    try {
+      term = scmContext.getTermOfLeader();
+    } catch (NotLeaderException nle) {
+      getLogger().debug("Skip sending SendFullContainerReportCommand to {}: {}", dn, nle.toString());
+      return;
+    }
+
+    final SCMCommand<?> command = new SendFullContainerReportCommand();
+    command.setTerm(term);
+    publisher.fireEvent(SCMEvents.DATANODE_COMMAND, new CommandForDatanode<>(dn, command));
+    getLogger().info("Sending SendFullContainerReportCommand to {} due to {}", dn, reason);
+  }
 }
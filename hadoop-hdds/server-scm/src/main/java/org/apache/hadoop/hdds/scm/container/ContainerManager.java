@@ -22,6 +22,7 @@
 import java.util.Collections;
 import java.util.List;
 import java.util.Set;
+import java.util.function.Consumer;
 import org.apache.hadoop.hdds.client.ReplicationConfig;
 import org.apache.hadoop.hdds.protocol.proto.HddsProtos.ContainerInfoProto;
 import org.apache.hadoop.hdds.protocol.proto.HddsProtos.LifeCycleEvent;
@@ -204,6 +205,16 @@ void updateContainerReplica(ContainerID containerID, ContainerReplica replica)
   void removeContainerReplica(ContainerID containerID, ContainerReplica replica)
       throws ContainerNotFoundException, ContainerReplicaNotFoundException;
 
+  /**
+   * Add a listener, which is called with the container ID when a replica of
+   * the container is added or removed, or when its state, index, emptiness
+   * or sequence ID changes.
+   *
+   * @param listener the listener
+   */
+  default void addReplicaChangeListener(Consumer<ContainerID> listener) {
+  }
+
   default ContainerInfo getMatchingContainer(long size, String owner,
                                      Pipeline pipeline) {
     return getMatchingContainer(size, owner, pipeline, Collections.emptySet());
@@ -23,10 +23,13 @@
 import java.util.Iterator;
 import java.util.List;
 import java.util.NavigableSet;
+import java.util.Objects;
 import java.util.Random;
 import java.util.Set;
+import java.util.concurrent.CopyOnWriteArrayList;
 import java.util.concurrent.locks.Lock;
 import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Consumer;
 import org.apache.hadoop.conf.Configuration;
 import org.apache.hadoop.hdds.client.ECReplicationConfig;
 import org.apache.hadoop.hdds.client.ReplicationConfig;
@@ -35,6 +38,7 @@
 import org.apache.hadoop.hdds.protocol.proto.HddsProtos.LifeCycleEvent;
 import org.apache.hadoop.hdds.protocol.proto.HddsProtos.LifeCycleState;
 import org.apache.hadoop.hdds.protocol.proto.HddsProtos.ReplicationType;
+import org.apache.hadoop.hdds.protocol.proto.StorageContainerDatanodeProtocolProtos.ContainerReplicaProto;
 import org.apache.hadoop.hdds.scm.container.metrics.SCMContainerManagerMetrics;
 import org.apache.hadoop.hdds.scm.container.replication.ContainerReplicaPendingOps;
 import org.apache.hadoop.hdds.scm.ha.SCMHAManager;
@@ -74,6 +78,9 @@ public class ContainerManagerImpl implements ContainerManager {
   @SuppressWarnings("java:S2245") // no need for secure random
   private final Random random = new Random();
 
+  private final List<Consumer<ContainerID>> replicaChangeListeners =
+      new CopyOnWriteArrayList<>();
+
   /**
    *
    */
@@ -337,7 +344,12 @@ public void updateContainerReplica(final ContainerID cid,
                                      final ContainerReplica replica)
       throws ContainerNotFoundException {
     if (containerExist(cid)) {
+      final boolean changed = !replicaChangeListeners.isEmpty()
+          && isReplicaChanged(cid, replica);
       containerStateManager.updateContainerReplica(replica);
+      if (changed) {
+        notifyReplicaChanged(cid);
+      }
     } else {
       throw new ContainerNotFoundException(cid);
     }
@@ -349,11 +361,48 @@ public void removeContainerReplica(final ContainerID cid,
       throws ContainerNotFoundException, ContainerReplicaNotFoundException {
     if (containerExist(cid)) {
       containerStateManager.removeContainerReplica(replica);
+      notifyReplicaChanged(cid);
     } else {
       throw new ContainerNotFoundException(cid);
     }
   }
 
+  @Override
+  public void addReplicaChangeListener(Consumer<ContainerID> listener) {
+    replicaChangeListeners.add(listener);
+  }
+
+  private void notifyReplicaChanged(ContainerID cid) {
+    for (Consumer<ContainerID> listener : replicaChangeListeners) {
+      listener.accept(cid);
+    }
+  }
+
+  /**
+   * @return true iff the given replica is new, or its state, index,
+   *         emptiness or, unless open, sequence ID differ from the existing
+   *         replica on the same datanode.
+   */
+  private boolean isReplicaChanged(ContainerID cid, ContainerReplica replica) {
+    final Set<ContainerReplica> replicas =
+        containerStateManager.getContainerReplicas(cid);
+    if (replicas == null) {
+      return true;
+    }
+    for (ContainerReplica existing : replicas) {
+      if (existing.getDatanodeDetails().getID()
+          .equals(replica.getDatanodeDetails().getID())) {
+        return existing.getState() != replica.getState()
+            || existing.getReplicaIndex() != replica.getReplicaIndex()
+            || existing.isEmpty() != replica.isEmpty()
+            || (replica.getState() != ContainerReplicaProto.State.OPEN
+                && !Objects.equals(existing.getSequenceId(),
+                    replica.getSequenceId()));
+      }
+    }
+    return true;
+  }
+
   @Override
   public ContainerInfo getMatchingContainer(final long size, final String owner,
       final Pipeline pipeline, final Set<ContainerID> excludedContainerIDs) {
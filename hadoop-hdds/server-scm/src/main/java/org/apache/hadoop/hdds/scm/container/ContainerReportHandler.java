@@ -17,14 +17,26 @@
 
 package org.apache.hadoop.hdds.scm.container;
 
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import com.google.common.util.concurrent.Uninterruptibles;
 import java.io.IOException;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 import org.apache.hadoop.hdds.conf.OzoneConfiguration;
 import org.apache.hadoop.hdds.protocol.DatanodeDetails;
+import org.apache.hadoop.hdds.protocol.DatanodeID;
 import org.apache.hadoop.hdds.protocol.proto.StorageContainerDatanodeProtocolProtos.ContainerReplicaProto;
+import org.apache.hadoop.hdds.protocol.proto.StorageContainerDatanodeProtocolProtos.ContainerReportSummaryProto;
 import org.apache.hadoop.hdds.protocol.proto.StorageContainerDatanodeProtocolProtos.ContainerReportsProto;
 import org.apache.hadoop.hdds.scm.ScmConfig;
+import org.apache.hadoop.hdds.scm.container.metrics.ContainerReportMetrics;
 import org.apache.hadoop.hdds.scm.container.report.ContainerReportValidator;
 import org.apache.hadoop.hdds.scm.events.SCMEvents;
 import org.apache.hadoop.hdds.scm.ha.SCMContext;
@@ -35,6 +47,7 @@
 import org.apache.hadoop.hdds.scm.server.SCMDatanodeProtocolServer;
 import org.apache.hadoop.hdds.server.events.EventHandler;
 import org.apache.hadoop.hdds.server.events.EventPublisher;
+import org.apache.hadoop.util.Time;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -48,6 +61,14 @@ public class ContainerReportHandler extends AbstractContainerReportHandler
       LoggerFactory.getLogger(ContainerReportHandler.class);
 
   private final UnknownContainerAction unknownContainerHandleAction;
+  /** The sequence number of the last container report processed for each datanode. */
+  private final Map<DatanodeID, Long> reportSequenceNumbers = new ConcurrentHashMap<>();
+  /** For processing the replicas of a large report in shards; null if the reports are processed sequentially. */
+  private final ExecutorService shardExecutor;
+  private final int numShardThreads;
+  private final int shardMinSize;
+  /** The metrics; null if the metrics are not registered. */
+  private final ContainerReportMetrics metrics;
 
   /**
    * Constructs ContainerReportHandler instance with the
@@ -61,13 +82,49 @@ public ContainerReportHandler(final NodeManager nodeManager,
                                 final ContainerManager containerManager,
                                 final SCMContext scmContext,
                                 OzoneConfiguration conf) {
+    this(nodeManager, containerManager, scmContext, conf, null);
+  }
+
+  /**
+   * Same as {@link #ContainerReportHandler(NodeManager, ContainerManager, SCMContext, OzoneConfiguration)}
+   * with the given metrics for recording the report processing time.
+   */
+  public ContainerReportHandler(final NodeManager nodeManager,
+                                final ContainerManager containerManager,
+                                final SCMContext scmContext,
+                                OzoneConfiguration conf,
+                                ContainerReportMetrics metrics) {
     super(nodeManager, containerManager, scmContext);
+    this.metrics = metrics;
 
     if (conf != null) {
       ScmConfig scmConfig = conf.getObject(ScmConfig.class);
       unknownContainerHandleAction = UnknownContainerAction.parse(scmConfig.getUnknownContainerAction());
+      numShardThreads = scmConfig.getContainerReportProcessingThreads();
+      shardMinSize = Math.max(1, scmConfig.getContainerReportShardMinSize());
     } else {
       unknownContainerHandleAction = UnknownContainerAction.WARN;
+      numShardThreads = 1;
+      shardMinSize = 1;
+    }
+
+    if (numShardThreads > 1) {
+      shardExecutor = Executors.newFixedThreadPool(numShardThreads,
+          new ThreadFactoryBuilder()
+              .setNameFormat("ContainerReportShard-%d")
+              .setDaemon(true)
+              .build());
+    } else {
+      shardExecutor = null;
+    }
+  }
+
+  /**
+   * Stop the threads processing the report shards.
+   */
+  public void stop() {
+    if (shardExecutor != null) {
+      shardExecutor.shutdownNow();
     }
   }
 
@@ -127,6 +184,14 @@ public ContainerReportHandler(final NodeManager nodeManager,
    *  full and incremental reports processing in parallel for the same datanode
    *  on SCM.
    *
+   *  When delta container reports are enabled on the datanode, most reports
+   *  only contain the replicas changed since the previous report, see
+   *  {@link #processDeltaReport}.
+   *
+   *  The replicas of a large report are sharded by container ID and the
+   *  shards are processed in parallel, see {@link #processReplicas}.  The
+   *  shards only contend on the per-container locks in ContainerManager.
+   *
    * @param reportFromDatanode Container Report
    * @param publisher EventPublisher reference
    */
@@ -144,52 +209,33 @@ public void onMessage(final ContainerReportFromDatanode reportFromDatanode,
     final DatanodeDetails datanodeDetails = datanodeInfo;
     final ContainerReportsProto containerReport =
         reportFromDatanode.getReport();
+    final boolean delta = isDeltaReport(containerReport);
+    final long startTime = Time.monotonicNow();
     try {
       // HDDS-5249 - we must ensure that an ICR and FCR for the same datanode
       // do not run at the same time or it can result in a data consistency
       // issue between the container list in NodeManager and the replicas in
       // ContainerManager.
       synchronized (datanodeDetails) {
-        final List<ContainerReplicaProto> replicas =
-            containerReport.getReportsList();
         final Set<ContainerID> expectedContainersInDatanode =
             getNodeManager().getContainers(datanodeDetails);
-
-        for (ContainerReplicaProto replica : replicas) {
-          ContainerID cid = ContainerID.valueOf(replica.getContainerID());
-          ContainerInfo container = null;
-          try {
-            // We get the container using the ContainerID object we obtained
-            // from protobuf. However we don't want to store that object if
-            // there is already an instance for the same ContainerID we can
-            // reuse.
-            container = getContainerManager().getContainer(cid);
-            cid = container.containerID();
-          } catch (ContainerNotFoundException e) {
-            // Ignore this for now. It will be handled later with a null check
-            // and the code will either log a warning or remove this replica
-            // from the datanode, depending on the cluster setting for handling
-            // unexpected containers.
-          }
-
-          boolean alreadyInDn = expectedContainersInDatanode.remove(cid);
-          if (!alreadyInDn) {
-            // This is a new Container not in the nodeManager -> dn map yet
-            getNodeManager().addContainer(datanodeDetails, cid);
-            // Remove from pending tracker when container is added to DN
-            // This container was just confirmed for the first time on this DN
-            getNodeManager().removePendingAllocationForDatanode(datanodeInfo, cid);
-          }
-          if (container == null || ContainerReportValidator
-                  .validate(container, datanodeDetails, replica)) {
-            processSingleReplica(datanodeDetails, container,
-                    replica, publisher);
+        if (delta) {
+          processDeltaReport(datanodeInfo, containerReport,
+              expectedContainersInDatanode, publisher);
+        } else {
+          processReplicas(datanodeInfo, containerReport.getReportsList(),
+              expectedContainersInDatanode, publisher);
+          // Anything left in expectedContainersInDatanode was not in the full
+          // report, so it is now missing on the DN. We need to remove it from the
+          // list
+          processMissingReplicas(datanodeDetails, expectedContainersInDatanode);
+          if (containerReport.hasSummary()) {
+            reportSequenceNumbers.put(datanodeDetails.getID(),
+                containerReport.getSummary().getSequenceNumber());
+          } else {
+            reportSequenceNumbers.remove(datanodeDetails.getID());
           }
         }
-        // Anything left in expectedContainersInDatanode was not in the full
-        // report, so it is now missing on the DN. We need to remove it from the
-        // list
-        processMissingReplicas(datanodeDetails, expectedContainersInDatanode);
         getContainerManager().notifyContainerReportProcessing(true, true);
         if (reportFromDatanode.isRegister()) {
           publisher.fireEvent(SCMEvents.CONTAINER_REGISTRATION_REPORT,
@@ -202,6 +248,170 @@ public void onMessage(final ContainerReportFromDatanode reportFromDatanode,
       getLogger().warn("Datanode not found: {}", datanodeDetails, ex);
     }
 
+    if (metrics != null) {
+      metrics.addReportProcessed(datanodeDetails.getID(), delta,
+          containerReport.getReportsCount(), Time.monotonicNow() - startTime);
+    }
+
+  }
+
+  private static boolean isDeltaReport(ContainerReportsProto report) {
+    return report.hasSummary() && report.getSummary().hasBaseSequenceNumber();
+  }
+
+  /**
+   * Process the replicas in a container report.
+   * When there are enough replicas, they are sharded by container ID
+   * and the shards are processed in parallel.
+   * This method returns after all the shards are processed.
+   *
+   * @param datanodeInfo the datanode sending the report
+   * @param replicas the replicas in the report
+   * @param expectedContainersInDatanode the containers in the datanode
+   *        known to SCM; the reported containers are removed from it.
+   * @param publisher EventPublisher reference
+   * @return the checksum of the reported containers
+   *         which were not in expectedContainersInDatanode.
+   */
+  private ContainerIdChecksum processReplicas(final DatanodeInfo datanodeInfo,
+      final List<ContainerReplicaProto> replicas,
+      final Set<ContainerID> expectedContainersInDatanode,
+      final EventPublisher publisher) throws NodeNotFoundException {
+    final int numShards = shardExecutor == null ? 1
+        : Math.min(numShardThreads, replicas.size() / shardMinSize);
+    if (numShards <= 1) {
+      return processShard(datanodeInfo, replicas,
+          expectedContainersInDatanode, publisher);
+    }
+
+    final List<List<ContainerReplicaProto>> shards = new ArrayList<>(numShards);
+    for (int i = 0; i < numShards; i++) {
+      shards.add(new ArrayList<>(replicas.size() / numShards + 1));
+    }
+    for (ContainerReplicaProto replica : replicas) {
+      shards.get((int) Long.remainderUnsigned(replica.getContainerID(), numShards))
+          .add(replica);
+    }
+
+    final Set<ContainerID> expected = ConcurrentHashMap.newKeySet(expectedContainersInDatanode.size());
+    expected.addAll(expectedContainersInDatanode);
+    final List<Future<ContainerIdChecksum>> futures = new ArrayList<>(numShards);
+    for (List<ContainerReplicaProto> shard : shards) {
+      futures.add(shardExecutor.submit(
+          () -> processShard(datanodeInfo, shard, expected, publisher)));
+    }
+    if (metrics != null) {
+      metrics.incrNumShardedReports();
+    }
+
+    // Wait for all the shards, even if some of them have failed,
+    // since the caller holds the lock of the datanode.
+    final ContainerIdChecksum newContainers = new ContainerIdChecksum();
+    Throwable failure = null;
+    for (Future<ContainerIdChecksum> future : futures) {
+      try {
+        newContainers.add(Uninterruptibles.getUninterruptibly(future));
+      } catch (ExecutionException e) {
+        if (failure == null) {
+          failure = e.getCause();
+        }
+      }
+    }
+    expectedContainersInDatanode.retainAll(expected);
+
+    if (failure instanceof NodeNotFoundException) {
+      throw (NodeNotFoundException) failure;
+    } else if (failure instanceof RuntimeException) {
+      throw (RuntimeException) failure;
+    } else if (failure instanceof Error) {
+      throw (Error) failure;
+    } else if (failure != null) {
+      throw new IllegalStateException("Failed to process container report from " + datanodeInfo, failure);
+    }
+    return newContainers;
+  }
+
+  /**
+   * Process a shard of the replicas in a container report,
+   * see {@link #processReplicas}.
+   */
+  private ContainerIdChecksum processShard(final DatanodeInfo datanodeInfo,
+      final List<ContainerReplicaProto> replicas,
+      final Set<ContainerID> expectedContainersInDatanode,
+      final EventPublisher publisher) throws NodeNotFoundException {
+    final DatanodeDetails datanodeDetails = datanodeInfo;
+    final ContainerIdChecksum newContainers = new ContainerIdChecksum();
+    for (ContainerReplicaProto replica : replicas) {
+      ContainerID cid = ContainerID.valueOf(replica.getContainerID());
+      ContainerInfo container = null;
+      try {
+        // We get the container using the ContainerID object we obtained
+        // from protobuf. However we don't want to store that object if
+        // there is already an instance for the same ContainerID we can
+        // reuse.
+        container = getContainerManager().getContainer(cid);
+        cid = container.containerID();
+      } catch (ContainerNotFoundException e) {
+        // Ignore this for now. It will be handled later with a null check
+        // and the code will either log a warning or remove this replica
+        // from the datanode, depending on the cluster setting for handling
+        // unexpected containers.
+      }
+
+      boolean alreadyInDn = expectedContainersInDatanode.remove(cid);
+      if (!alreadyInDn) {
+        // This is a new Container not in the nodeManager -> dn map yet
+        getNodeManager().addContainer(datanodeDetails, cid);
+        newContainers.add(replica.getContainerID());
+        // Remove from pending tracker when container is added to DN
+        // This container was just confirmed for the first time on this DN
+        getNodeManager().removePendingAllocationForDatanode(datanodeInfo, cid);
+      }
+      if (container == null || ContainerReportValidator
+              .validate(container, datanodeDetails, replica)) {
+        processSingleReplica(datanodeDetails, container,
+                replica, publisher);
+      }
+    }
+    return newContainers;
+  }
+
+  /**
+   * Process a delta container report, which only contains the replicas
+   * changed since the report with the base sequence number.
+   * Unlike a full report, the containers not in a delta report are not
+   * missing.  Instead, the count and the checksum of the container IDs in
+   * the summary are compared with the containers known to SCM.  When the
+   * base report was not processed by this SCM or the checksum does not
+   * match, a full report is requested from the datanode.
+   */
+  private void processDeltaReport(final DatanodeInfo datanodeInfo,
+      final ContainerReportsProto report,
+      final Set<ContainerID> expectedContainersInDatanode,
+      final EventPublisher publisher) throws NodeNotFoundException {
+    final ContainerReportSummaryProto summary = report.getSummary();
+    final ContainerIdChecksum checksum = new ContainerIdChecksum()
+        .addAll(expectedContainersInDatanode);
+    final ContainerIdChecksum newContainers = processReplicas(datanodeInfo,
+        report.getReportsList(), expectedContainersInDatanode, publisher);
+
+    final DatanodeID id = datanodeInfo.getID();
+    final Long last = reportSequenceNumbers.remove(id);
+    final String mismatch;
+    if (last == null || last != summary.getBaseSequenceNumber()) {
+      mismatch = "missing base report " + summary.getBaseSequenceNumber()
+          + " (last processed: " + last + ")";
+    } else if (!checksum.matches(
+        summary.getContainerCount() - newContainers.getCount(),
+        summary.getContainerIdChecksum() - newContainers.getChecksum())) {
+      mismatch = "container checksum mismatch (datanode: count="
+          + summary.getContainerCount() + ", scm: " + checksum
+          + ", new: " + newContainers.getCount() + ")";
+    } else {
+      reportSequenceNumbers.put(id, summary.getSequenceNumber());
+      return;
+    }
+    sendFullContainerReportCommand(datanodeInfo, publisher, mismatch);
   }
 
   /**
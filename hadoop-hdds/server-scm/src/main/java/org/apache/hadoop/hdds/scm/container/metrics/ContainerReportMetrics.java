@@ -0,0 +1,176 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements. See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.hadoop.hdds.scm.container.metrics;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import org.apache.hadoop.hdds.protocol.DatanodeID;
+import org.apache.hadoop.metrics2.MetricsCollector;
+import org.apache.hadoop.metrics2.MetricsInfo;
+import org.apache.hadoop.metrics2.MetricsRecordBuilder;
+import org.apache.hadoop.metrics2.MetricsSource;
+import org.apache.hadoop.metrics2.MetricsSystem;
+import org.apache.hadoop.metrics2.MetricsTag;
+import org.apache.hadoop.metrics2.annotation.Metric;
+import org.apache.hadoop.metrics2.annotation.Metrics;
+import org.apache.hadoop.metrics2.lib.DefaultMetricsSystem;
+import org.apache.hadoop.metrics2.lib.Interns;
+import org.apache.hadoop.metrics2.lib.MetricsRegistry;
+import org.apache.hadoop.metrics2.lib.MutableCounterLong;
+import org.apache.hadoop.metrics2.lib.MutableRate;
+import org.apache.hadoop.ozone.OzoneConsts;
+
+/**
+ * Metrics related to the processing of container reports in SCM,
+ * including the processing latency of the reports from each datanode.
+ */
+@Metrics(about = "SCM container report processing metrics", context = OzoneConsts.OZONE)
+public final class ContainerReportMetrics implements MetricsSource {
+
+  public static final String SOURCE_NAME =
+      ContainerReportMetrics.class.getSimpleName();
+
+  private static final MetricsInfo DATANODE_TAG = Interns.info("datanode",
+      "Datanode sending the container reports");
+
+  private final MetricsRegistry registry;
+
+  @Metric(about = "The time taken to process a full container report.")
+  private MutableRate fullReportProcessingTime;
+  @Metric(about = "The time taken to process a delta container report.")
+  private MutableRate deltaReportProcessingTime;
+  @Metric(about = "The number of container reports processed in parallel shards.")
+  private MutableCounterLong numShardedReports;
+
+  private final Map<DatanodeID, DatanodeReportDetails> datanodeReports = new ConcurrentHashMap<>();
+
+  private ContainerReportMetrics() {
+    this.registry = new MetricsRegistry(SOURCE_NAME);
+  }
+
+  /**
+   * Create and return metrics instance.
+   * @return ContainerReportMetrics
+   */
+  public static ContainerReportMetrics create() {
+    MetricsSystem ms = DefaultMetricsSystem.instance();
+    return ms.register(SOURCE_NAME, "SCM Container Report Metrics",
+        new ContainerReportMetrics());
+  }
+
+  /**
+   * Unregister metrics.
+   */
+  public void unRegister() {
+    MetricsSystem ms = DefaultMetricsSystem.instance();
+    ms.unregisterSource(SOURCE_NAME);
+  }
+
+  /**
+   * Record the processing of a container report.
+   *
+   * @param id the datanode sending the report
+   * @param delta is it a delta report?
+   * @param numReplicas the number of replicas in the report
+   * @param timeMs the processing time in milliseconds
+   */
+  public void addReportProcessed(DatanodeID id, boolean delta,
+      int numReplicas, long timeMs) {
+    if (delta) {
+      deltaReportProcessingTime.add(timeMs);
+    } else {
+      fullReportProcessingTime.add(timeMs);
+    }
+    datanodeReports.computeIfAbsent(id, k -> new DatanodeReportDetails())
+        .add(numReplicas, timeMs);
+  }
+
+  public void incrNumShardedReports() {
+    numShardedReports.incr();
+  }
+
+  public long getNumShardedReports() {
+    return numShardedReports.value();
+  }
+
+  public long getNumReportsProcessed(DatanodeID id) {
+    final DatanodeReportDetails details = datanodeReports.get(id);
+    return details == null ? 0 : details.getNumReports();
+  }
+
+  @Override
+  public void getMetrics(MetricsCollector collector, boolean all) {
+    MetricsRecordBuilder builder = collector.addRecord(SOURCE_NAME);
+    fullReportProcessingTime.snapshot(builder, all);
+    deltaReportProcessingTime.snapshot(builder, all);
+    numShardedReports.snapshot(builder, all);
+
+    for (Map.Entry<DatanodeID, DatanodeReportDetails> e : datanodeReports.entrySet()) {
+      final DatanodeReportDetails details = e.getValue();
+      builder = builder.endRecord().addRecord(SOURCE_NAME)
+          .add(new MetricsTag(DATANODE_TAG, e.getKey().toString()))
+          .addCounter(DatanodeReportDetails.NUM_REPORTS, details.getNumReports())
+          .addGauge(DatanodeReportDetails.LAST_REPLICAS, details.getLastReplicas())
+          .addGauge(DatanodeReportDetails.LAST_PROCESSING_TIME, details.getLastTimeMs())
+          .addGauge(DatanodeReportDetails.MAX_PROCESSING_TIME, details.getMaxTimeMs());
+    }
+    builder.endRecord();
+  }
+
+  /**
+   * The container report processing details of a datanode.
+   */
+  static final class DatanodeReportDetails {
+    private static final MetricsInfo NUM_REPORTS = Interns.info(
+        "NumReports", "The number of container reports processed");
+    private static final MetricsInfo LAST_REPLICAS = Interns.info(
+        "LastReportReplicas", "The number of replicas in the last container report");
+    private static final MetricsInfo LAST_PROCESSING_TIME = Interns.info(
+        "LastReportProcessingTimeMs", "The time taken to process the last container report");
+    private static final MetricsInfo MAX_PROCESSING_TIME = Interns.info(
+        "MaxReportProcessingTimeMs", "The maximum time taken to process a container report");
+
+    private long numReports;
+    private int lastReplicas;
+    private long lastTimeMs;
+    private long maxTimeMs;
+
+    synchronized void add(int replicas, long timeMs) {
+      numReports++;
+      lastReplicas = replicas;
+      lastTimeMs = timeMs;
+      maxTimeMs = Math.max(maxTimeMs, timeMs);
+    }
+
+    synchronized long getNumReports() {
+      return numReports;
+    }
+
+    synchronized int getLastReplicas() {
+      return lastReplicas;
+    }
+
+    synchronized long getLastTimeMs() {
+      return lastTimeMs;
+    }
+
+    synchronized long getMaxTimeMs() {
+      return maxTimeMs;
+    }
+  }
+}
@@ -26,16 +26,23 @@
 import static org.apache.hadoop.hdds.protocol.proto.HddsProtos.ReplicationType.EC;
 
 import com.google.common.annotations.VisibleForTesting;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import com.google.common.util.concurrent.Uninterruptibles;
 import com.google.protobuf.ByteString;
 import java.io.IOException;
 import java.time.Clock;
 import java.time.Duration;
 import java.util.ArrayList;
 import java.util.Comparator;
+import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicReference;
 import java.util.concurrent.locks.Lock;
@@ -132,6 +139,25 @@ public class ReplicationManager implements SCMService, ContainerReplicaPendingOp
    */
   private Thread replicationMonitor;
 
+  /**
+   * The thread processing the changed containers at the configured
+   * incremental interval; null if the incremental processing is disabled.
+   */
+  private Thread incrementalReplicationMonitor;
+
+  /**
+   * The containers changed since the last processing, which are processed
+   * by the incremental processing, see {@link #notifyContainerChanged}.
+   */
+  private final Set<ContainerID> changedContainers =
+      ConcurrentHashMap.newKeySet();
+
+  /**
+   * For processing the containers in parallel; null if the containers are
+   * processed sequentially.
+   */
+  private volatile ExecutorService containerProcessingExecutor;
+
   /**
    * Flag used for checking if the ReplicationMonitor thread is running or
    * not.
@@ -238,6 +264,7 @@ public ReplicationManager(final ReplicationManagerConfiguration rmConf,
         new RatisReplicationCheckHandler(ratisContainerPlacement, this);
     this.nodeManager = nodeManager;
     this.metrics = ReplicationManagerMetrics.create(this);
+    containerManager.addReplicaChangeListener(this::notifyContainerChanged);
 
     ecUnderReplicationHandler = new ECUnderReplicationHandler(
         ecContainerPlacement, conf, this);
@@ -288,6 +315,15 @@ public synchronized void start() {
       running = true;
       metrics = ReplicationManagerMetrics.create(this);
       containerReplicaPendingOps.setReplicationMetrics(metrics);
+      final int threads = rmConf.getContainerProcessingThreads();
+      if (threads > 1) {
+        containerProcessingExecutor = Executors.newFixedThreadPool(threads,
+            new ThreadFactoryBuilder()
+                .setNameFormat(scmContext.threadNamePrefix()
+                    + "ContainerProcessor-%d")
+                .setDaemon(true)
+                .build());
+      }
       startSubServices();
     } else {
       LOG.info("Replication Monitor Thread is already running.");
@@ -321,6 +357,15 @@ public synchronized void stop() {
       running = false;
       metrics.unRegister();
       replicationMonitor.interrupt();
+      if (incrementalReplicationMonitor != null) {
+        incrementalReplicationMonitor.interrupt();
+        incrementalReplicationMonitor = null;
+      }
+      if (containerProcessingExecutor != null) {
+        containerProcessingExecutor.shutdownNow();
+        containerProcessingExecutor = null;
+      }
+      changedContainers.clear();
     } else {
       LOG.info("Replication Monitor Thread is not running.");
     }
@@ -347,6 +392,14 @@ protected void startSubServices() {
     overReplicatedProcessorThread.setName(prefix + "OverReplicatedProcessor");
     overReplicatedProcessorThread.setDaemon(true);
     overReplicatedProcessorThread.start();
+
+    if (rmConf.isIncrementalEnabled()) {
+      incrementalReplicationMonitor = new Thread(this::runIncremental);
+      incrementalReplicationMonitor.setName(
+          prefix + "IncrementalReplicationMonitor");
+      incrementalReplicationMonitor.setDaemon(true);
+      incrementalReplicationMonitor.start();
+    }
   }
 
   /**
@@ -362,29 +415,148 @@ public synchronized void processAll() {
       return;
     }
     final long start = clock.millis();
+    // All the containers are processed below, including the changed ones.
+    changedContainers.clear();
     final List<ContainerInfo> containers =
         containerManager.getContainers();
     ReplicationManagerReport report = new ReplicationManagerReport(
         rmConf.getContainerSampleLimit());
     ReplicationQueue newRepQueue = new ReplicationQueue();
+    processContainers(containers, newRepQueue, report);
+    report.setComplete();
+    replicationQueue.set(newRepQueue);
+    this.containerReport = report;
+    LOG.info("Replication Monitor Thread took {} milliseconds for" +
+            " processing {} containers.", clock.millis() - start,
+        containers.size());
+  }
+
+  /**
+   * Process the containers changed since the last processing, see
+   * {@link #notifyContainerChanged}.  Unlike {@link #processAll()}, the
+   * results are added to the current replication queue and the report of
+   * the last full processing is not updated.  It is synchronized with
+   * {@link #processAll()} so that a container is not checked by both at the
+   * same time, and no results are added to a queue being replaced.
+   */
+  public synchronized void processChangedContainers() {
+    if (!shouldRun() || changedContainers.isEmpty()) {
+      return;
+    }
+    final long start = clock.millis();
+    final List<ContainerInfo> containers = new ArrayList<>();
+    for (Iterator<ContainerID> i = changedContainers.iterator(); i.hasNext();) {
+      final ContainerID id = i.next();
+      i.remove();
+      try {
+        containers.add(containerManager.getContainer(id));
+      } catch (ContainerNotFoundException e) {
+        LOG.debug("Changed container {} not found", id);
+      }
+    }
+    // Only the queue is needed, so the samples are not collected.
+    processContainers(containers, getQueue(), new ReplicationManagerReport(0));
+    metrics.incrContainersProcessedIncrementally(containers.size());
+    LOG.debug("Incremental Replication Monitor Thread took {} milliseconds" +
+        " for processing {} containers.", clock.millis() - start,
+        containers.size());
+  }
+
+  /**
+   * Process the given containers, in parallel if
+   * hdds.scm.replication.container.processing.threads is more than one.
+   * Each thread has its own report, which is merged into the given report
+   * after all the containers are processed.
+   */
+  private void processContainers(List<ContainerInfo> containers,
+      ReplicationQueue queue, ReplicationManagerReport report) {
+    final ExecutorService executor = containerProcessingExecutor;
+    final int numShards = executor == null ? 1
+        : Math.min(rmConf.getContainerProcessingThreads(), containers.size());
+    if (numShards <= 1) {
+      processShard(containers, queue, report);
+      return;
+    }
+
+    final int shardSize = (containers.size() + numShards - 1) / numShards;
+    final List<Future<ReplicationManagerReport>> futures =
+        new ArrayList<>(numShards);
+    for (int i = 0; i < containers.size(); i += shardSize) {
+      final List<ContainerInfo> shard = containers.subList(
+          i, Math.min(i + shardSize, containers.size()));
+      futures.add(executor.submit(() -> {
+        final ReplicationManagerReport shardReport =
+            new ReplicationManagerReport(report.getSampleLimit());
+        processShard(shard, queue, shardReport);
+        return shardReport;
+      }));
+    }
+
+    Throwable failure = null;
+    for (Future<ReplicationManagerReport> future : futures) {
+      try {
+        report.merge(Uninterruptibles.getUninterruptibly(future));
+      } catch (ExecutionException e) {
+        if (failure == null) {
+          failure = e.getCause();
+        }
+      }
+    }
+    if (failure instanceof RuntimeException) {
+      throw (RuntimeException) failure;
+    } else if (failure instanceof Error) {
+      throw (Error) failure;
+    } else if (failure != null) {
+      throw new IllegalStateException("Failed to process containers", failure);
+    }
+  }
+
+  private void processShard(List<ContainerInfo> containers,
+      ReplicationQueue queue, ReplicationManagerReport report) {
     for (ContainerInfo c : containers) {
       if (!shouldRun()) {
         break;
       }
       report.increment(c.getState());
       try {
-        processContainer(c, newRepQueue, report);
+        processContainer(c, queue, report);
         // TODO - send any commands contained in the health result
       } catch (ContainerNotFoundException e) {
         LOG.error("Container {} not found", c.getContainerID(), e);
       }
     }
-    report.setComplete();
-    replicationQueue.set(newRepQueue);
-    this.containerReport = report;
-    LOG.info("Replication Monitor Thread took {} milliseconds for" +
-            " processing {} containers.", clock.millis() - start,
-        containers.size());
+  }
+
+  /**
+   * Notify that the replicas or the pending replica operations of the given
+   * container have changed.  If the incremental processing is enabled, the
+   * container is processed in the next incremental processing.
+   */
+  public void notifyContainerChanged(ContainerID containerID) {
+    if (rmConf.isIncrementalEnabled()) {
+      changedContainers.add(containerID);
+    }
+  }
+
+  /**
+   * Notify that the state of the given datanode has changed.  If the
+   * incremental processing is enabled, the containers on the datanode are
+   * processed in the next incremental processing.
+   */
+  public void notifyNodeContainersChanged(DatanodeDetails datanode) {
+    if (!rmConf.isIncrementalEnabled()) {
+      return;
+    }
+    try {
+      changedContainers.addAll(nodeManager.getContainers(datanode));
+    } catch (NodeNotFoundException e) {
+      LOG.warn("Datanode {} not found when its state changed", datanode);
+    }
+  }
+
+  @VisibleForTesting
+  int getChangedContainerCount() {
+    return changedContainers.size();
   }
 
   public void sendCloseContainerEvent(ContainerID containerID) {
@@ -950,6 +1122,22 @@ private synchronized void run() {
     }
   }
 
+  private void runIncremental() {
+    try {
+      while (running) {
+        Thread.sleep(rmConf.getIncrementalInterval().toMillis());
+        processChangedContainers();
+      }
+    } catch (InterruptedException e) {
+      LOG.info("Incremental Replication Monitor Thread is stopped");
+      Thread.currentThread().interrupt();
+    } catch (Throwable t) {
+      // When we get runtime exception, we should terminate SCM.
+      LOG.error("Exception in Incremental Replication Monitor Thread.", t);
+      ExitUtil.terminate(1, t);
+    }
+  }
+
   /**
    * Given a ContainerID, lookup the ContainerInfo and then return a
    * ContainerReplicaCount object for the container.
@@ -1059,6 +1247,7 @@ ReplicationQueue getQueue() {
 
   @Override
   public void opCompleted(ContainerReplicaOp op, ContainerID containerID, boolean timedOut) {
+    notifyContainerChanged(containerID);
     if (!(timedOut && op.getOpType() == ContainerReplicaOp.PendingOpType.DELETE)) {
       // We only care about expired delete ops. All others should be ignored.
       return;
@@ -1266,6 +1455,41 @@ public void opCompleted(ContainerReplicaOp op, ContainerID containerID, boolean
     )
     private int containerSampleLimit = 100;
 
+    @Config(key = "hdds.scm.replication.incremental.enabled",
+        type = ConfigType.BOOLEAN,
+        defaultValue = "false",
+        tags = { SCM, OZONE },
+        description = "If enabled, the containers whose replicas, pending " +
+            "replica operations or datanodes have changed are processed " +
+            "every hdds.scm.replication.incremental.interval, in addition " +
+            "to the processing of all the containers every " +
+            "hdds.scm.replication.thread.interval, which can then be " +
+            "increased. Datanode state changes then no longer trigger the " +
+            "processing of all the containers."
+    )
+    private boolean incrementalEnabled = false;
+
+    @Config(key = "hdds.scm.replication.incremental.interval",
+        type = ConfigType.TIME,
+        defaultValue = "10s",
+        reconfigurable = true,
+        tags = { SCM, OZONE },
+        description = "The interval at which the changed containers are " +
+            "processed, if hdds.scm.replication.incremental.enabled is true."
+    )
+    private Duration incrementalInterval = Duration.ofSeconds(10);
+
+    @Config(key = "hdds.scm.replication.container.processing.threads",
+        type = ConfigType.INT,
+        defaultValue = "1",
+        tags = { SCM, OZONE },
+        description = "The number of threads checking the health of the " +
+            "containers in parallel when the replication manager processes " +
+            "them. The default, 1, processes them in the replication " +
+            "monitor thread."
+    )
+    private int containerProcessingThreads = 1;
+
     @Config(key = "hdds.scm.replication.quasi.closed.stuck.best.origin.copies",
         type = ConfigType.INT,
         defaultValue = "3",
@@ -1378,6 +1602,30 @@ public void setContainerSampleLimit(int sampleLimit) {
       this.containerSampleLimit = sampleLimit;
     }
 
+    public boolean isIncrementalEnabled() {
+      return incrementalEnabled;
+    }
+
+    public void setIncrementalEnabled(boolean enabled) {
+      this.incrementalEnabled = enabled;
+    }
+
+    public Duration getIncrementalInterval() {
+      return incrementalInterval;
+    }
+
+    public void setIncrementalInterval(Duration interval) {
+      this.incrementalInterval = interval;
+    }
+
+    public int getContainerProcessingThreads() {
+      return containerProcessingThreads;
+    }
+
+    public void setContainerProcessingThreads(int threads) {
+      this.containerProcessingThreads = threads;
+    }
+
     public int getQuasiClosedStuckBestOriginCopies() {
       return quasiClosedStuckBestOriginCopies;
     }
@@ -1425,6 +1673,11 @@ public void validate() {
             "inflight.limit.factor is set to " + inflightReplicationLimitFactor
                 + " and must be <= 1");
       }
+      if (containerProcessingThreads < 1) {
+        throw new IllegalArgumentException(
+            "container.processing.threads is set to "
+                + containerProcessingThreads + " and must be >= 1");
+      }
     }
   }
 
@@ -1564,11 +1817,15 @@ public boolean hasHealthyPipeline(ContainerInfo container) {
    * Notify the ReplicationManager that a node state has changed, which might
    * require container replication. This will wake up the replication monitor
    * thread if it's sleeping and there's no active replication work in progress.
+   * When the incremental processing is enabled, the thread is not woken up
+   * since the containers on the node are processed incrementally, see
+   * {@link #notifyNodeContainersChanged}.
    * 
    * @return true if the replication monitor was woken up, false otherwise
    */
   public synchronized boolean notifyNodeStateChange() {
-    if (!running || serviceStatus == ServiceStatus.PAUSING) {
+    if (!running || serviceStatus == ServiceStatus.PAUSING
+        || rmConf.isIncrementalEnabled()) {
       return false;
     }
 
@@ -46,6 +46,7 @@ public void onMessage(DatanodeDetails datanodeDetails, EventPublisher eventPubli
       return;
     }
     LOG.debug("ReplicationManagerEventHandler received event for datanode: {}", datanodeDetails);
+    replicationManager.notifyNodeContainersChanged(datanodeDetails);
     replicationManager.notifyNodeStateChange();
   }
 }
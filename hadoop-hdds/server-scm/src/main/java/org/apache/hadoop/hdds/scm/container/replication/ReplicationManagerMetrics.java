@@ -224,6 +224,9 @@ public final class ReplicationManagerMetrics implements MetricsSource {
       + "to the pending commands on all source datanodes")
   private MutableCounterLong replicateContainerCmdsDeferredTotal;
 
+  @Metric("Number of containers processed by the incremental processing")
+  private MutableCounterLong containersProcessedIncrementallyTotal;
+
   public ReplicationManagerMetrics(ReplicationManager manager) {
     this.registry = new MetricsRegistry(METRICS_SOURCE_NAME);
     this.replicationManager = manager;
@@ -289,6 +292,7 @@ public void getMetrics(MetricsCollector collector, boolean all) {
     partialReplicationTotal.snapshot(builder, all);
     ecPartialReplicationForMisReplicationTotal.snapshot(builder, all);
     partialReplicationForMisReplicationTotal.snapshot(builder, all);
+    containersProcessedIncrementallyTotal.snapshot(builder, all);
   }
 
   public void unRegister() {
@@ -448,6 +452,10 @@ public void incrReplicateContainerCmdsDeferredTotal() {
     this.replicateContainerCmdsDeferredTotal.incr();
   }
 
+  public void incrContainersProcessedIncrementally(long count) {
+    this.containersProcessedIncrementallyTotal.incr(count);
+  }
+
   public long getEcReplication() {
     return replicationManager.getContainerReplicaPendingOps()
         .getPendingOpCount(ContainerReplicaOp.PendingOpType.ADD,
@@ -508,6 +516,10 @@ public long getReplicateContainerCmdsDeferredTotal() {
     return replicateContainerCmdsDeferredTotal.value();
   }
 
+  public long getContainersProcessedIncrementallyTotal() {
+    return containersProcessedIncrementallyTotal.value();
+  }
+
   public void incrPendingReplicationLimitReachedTotal() {
     this.pendingReplicationLimitReachedTotal.incr();
   }
@@ -19,13 +19,21 @@
 
 import com.google.common.collect.Queues;
 import java.util.Comparator;
+import java.util.HashSet;
 import java.util.LinkedList;
 import java.util.PriorityQueue;
 import java.util.Queue;
+import java.util.Set;
+import org.apache.hadoop.hdds.scm.container.ContainerID;
 
 /**
  * Object to encapsulate the under and over replication queues used by
  * replicationManager.
+ * <p>
+ * A container is in each queue at most once.  Adding a container already in
+ * a queue is a no-op, e.g. when a container is processed incrementally after
+ * it has been queued.  The queued result may then be outdated, but the
+ * container is checked again when it is dequeued for processing.
  */
 public class ReplicationQueue {
 
@@ -33,6 +41,10 @@ public class ReplicationQueue {
       underRepQueue;
   private final Queue<ContainerHealthResult.OverReplicatedHealthResult>
       overRepQueue;
+  /** The containers in the under replication queue; guarded by this. */
+  private final Set<ContainerID> underRepContainers = new HashSet<>();
+  /** The containers in the over replication queue; guarded by this. */
+  private final Set<ContainerID> overRepContainers = new HashSet<>();
 
   public ReplicationQueue() {
     underRepQueue = Queues.synchronizedQueue(new PriorityQueue<>(
@@ -55,16 +67,25 @@ public ReplicationQueue() {
    * is processed, it will find the pending containers and know it has no work
    * to do, and be discarded. Additionally, the queue will be refreshed
    * periodically removing any duplicates.
+   * A container already in the queue is not added again.
    */
-  public void enqueue(ContainerHealthResult.UnderReplicatedHealthResult
+  public synchronized void enqueue(ContainerHealthResult.UnderReplicatedHealthResult
       underReplicatedHealthResult) {
-    underReplicatedHealthResult.incrementRequeueCount();
-    underRepQueue.add(underReplicatedHealthResult);
+    if (underRepContainers.add(getContainerID(underReplicatedHealthResult))) {
+      underReplicatedHealthResult.incrementRequeueCount();
+      underRepQueue.add(underReplicatedHealthResult);
+    }
   }
 
-  public void enqueue(ContainerHealthResult.OverReplicatedHealthResult
+  /**
+   * Add an over replicated container to the queue,
+   * unless the container is already in the queue.
+   */
+  public synchronized void enqueue(ContainerHealthResult.OverReplicatedHealthResult
       overReplicatedHealthResult) {
-    overRepQueue.add(overReplicatedHealthResult);
+    if (overRepContainers.add(getContainerID(overReplicatedHealthResult))) {
+      overRepQueue.add(overReplicatedHealthResult);
+    }
   }
 
   /**
@@ -73,9 +94,14 @@ public void enqueue(ContainerHealthResult.OverReplicatedHealthResult
    * @return The new underReplicated container to be processed, or null if the
    *         queue is empty.
    */
-  public ContainerHealthResult.UnderReplicatedHealthResult
+  public synchronized ContainerHealthResult.UnderReplicatedHealthResult
       dequeueUnderReplicatedContainer() {
-    return underRepQueue.poll();
+    final ContainerHealthResult.UnderReplicatedHealthResult result =
+        underRepQueue.poll();
+    if (result != null) {
+      underRepContainers.remove(getContainerID(result));
+    }
+    return result;
   }
 
   /**
@@ -84,9 +110,18 @@ public void enqueue(ContainerHealthResult.OverReplicatedHealthResult
    * @return The next over-replicated container to be processed, or null if the
    *         queue is empty.
    */
-  public ContainerHealthResult.OverReplicatedHealthResult
+  public synchronized ContainerHealthResult.OverReplicatedHealthResult
       dequeueOverReplicatedContainer() {
-    return overRepQueue.poll();
+    final ContainerHealthResult.OverReplicatedHealthResult result =
+        overRepQueue.poll();
+    if (result != null) {
+      overRepContainers.remove(getContainerID(result));
+    }
+    return result;
+  }
+
+  private static ContainerID getContainerID(ContainerHealthResult result) {
+    return result.getContainerInfo().containerID();
   }
 
   public int underReplicatedQueueSize() {
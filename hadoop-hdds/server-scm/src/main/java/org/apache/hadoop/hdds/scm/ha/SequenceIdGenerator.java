@@ -32,6 +32,7 @@
 import java.util.Objects;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
 import java.util.concurrent.locks.Lock;
 import java.util.concurrent.locks.ReentrantLock;
 import org.apache.hadoop.hdds.conf.ConfigurationSource;
@@ -69,6 +70,8 @@ public class SequenceIdGenerator {
 
   private final Lock lock;
   private final long batchSize;
+  /** The number of times the batches were invalidated. */
+  private final AtomicLong invalidations = new AtomicLong();
   private final StateManager stateManager;
 
   /**
@@ -109,15 +112,34 @@ public StateManager createStateManager(SCMHAManager scmhaManager,
    * @return next id of this sequence ID.
    */
   public long getNextId(SequenceIdType idType) throws SCMException {
+    return getNextIds(idType, 1);
+  }
+
+  /**
+   * Get consecutive ids from a single batch.  If the current batch does not
+   * have enough ids, its remaining ids are skipped.
+   *
+   * @param idType : supported sequence ID type
+   * @param count : the number of ids, at most the batch size
+   * @return the first of the count consecutive ids of this sequence ID.
+   */
+  public long getNextIds(SequenceIdType idType, int count)
+      throws SCMException {
+    Preconditions.checkArgument(count >= 1 && count <= batchSize,
+        "count = %s is not in [1, %s]", count, batchSize);
+    Preconditions.checkArgument(
+        count == 1 || idType != SequenceIdType.CertificateId,
+        "count = %s > 1 for %s", count, idType);
     lock.lock();
     try {
       Batch batch = sequenceIdToBatchMap.get(idType);
 
-      if (batch.nextId <= batch.lastId) {
-        return batch.nextId++;
+      if (batch.lastId - batch.nextId + 1 >= count) {
+        return batch.take(count);
       }
 
-      Preconditions.checkArgument(batch.nextId == batch.lastId + 1);
+      // skip the remaining ids of the batch, if any.
+      batch.nextId = batch.lastId + 1;
       while (true) {
         Long prevLastId = batch.lastId;
         batch.nextId = prevLastId + 1;
@@ -138,14 +160,30 @@ public long getNextId(SequenceIdType idType) throws SCMException {
         batch.lastId = stateManager.getLastId(idType);
       }
 
-      Preconditions.checkArgument(batch.nextId <= batch.lastId);
-      return batch.nextId++;
+      Preconditions.checkArgument(batch.lastId - batch.nextId + 1 >= count);
+      return batch.take(count);
 
     } finally {
       lock.unlock();
     }
   }
 
+  /**
+   * Create a range of the given id type.  The ids are taken from a range
+   * without acquiring the lock of this generator, except when the range
+   * is exhausted and a new range is taken by {@link #getNextIds}.
+   * Then the callers of different ranges do not contend on the lock for
+   * each id.
+   *
+   * @param idType : supported sequence ID type, except CertificateId
+   * @param size : the number of ids taken for each range
+   */
+  public Range newRange(SequenceIdType idType, int size) {
+    Preconditions.checkArgument(idType != SequenceIdType.CertificateId,
+        "Range is not supported for %s", idType);
+    return new Range(idType, (int) Math.min(size, batchSize));
+  }
+
   /**
    * Invalidate any un-exhausted batch, next getNextId() call will
    * allocate a new batch.
@@ -162,6 +200,8 @@ public void invalidateBatch() {
   private void invalidateBatchInternal() {
     sequenceIdToBatchMap
         .forEach((sequenceId, batch) -> batch.nextId = batch.lastId + 1);
+    // the ranges taken from the invalidated batches are invalidated as well.
+    invalidations.incrementAndGet();
   }
 
   /**
@@ -430,5 +470,84 @@ static class Batch {
     private long lastId = INVALID_SEQUENCE_ID;
     // The next id to be allocated in this batch.
     private long nextId = lastId + 1;
+
+    private long take(int count) {
+      final long first = nextId;
+      nextId += count;
+      return first;
+    }
+  }
+
+  /**
+   * Consecutive ids taken from a batch of a {@link SequenceIdGenerator}.
+   * A new range is taken when the ids are used up, or when the batches of
+   * the generator were invalidated.
+   * This class is threadsafe: the ids are allocated with a compare-and-set,
+   * and only taking a new range is synchronized.
+   */
+  public final class Range {
+    private final SequenceIdType idType;
+    private final int size;
+    /** The ids currently taken by this range. */
+    private volatile Ids ids = new Ids(INVALID_SEQUENCE_ID, INVALID_SEQUENCE_ID, -1);
+
+    private Range(SequenceIdType idType, int size) {
+      this.idType = idType;
+      this.size = size;
+    }
+
+    /**
+     * @return next id of this range.
+     */
+    public long getNextId() throws SCMException {
+      for (;;) {
+        final Ids current = ids;
+        if (current.invalidation == invalidations.get()) {
+          final long id = current.next();
+          if (id != INVALID_SEQUENCE_ID) {
+            return id;
+          }
+        }
+        refill(current);
+      }
+    }
+
+    /** Take new ids unless another thread has already replaced the given ids. */
+    private synchronized void refill(Ids previous) throws SCMException {
+      if (ids != previous) {
+        return;
+      }
+      lock.lock();
+      try {
+        final long first = getNextIds(idType, size);
+        ids = new Ids(first, first + size - 1, invalidations.get());
+      } finally {
+        lock.unlock();
+      }
+    }
+  }
+
+  /** The ids from nextId to lastId, both inclusive, taken by a {@link Range}. */
+  private static final class Ids {
+    private final AtomicLong nextId;
+    private final long lastId;
+    /** The value of invalidations when the ids were taken. */
+    private final long invalidation;
+
+    private Ids(long firstId, long lastId, long invalidation) {
+      this.nextId = new AtomicLong(firstId);
+      this.lastId = lastId;
+      this.invalidation = invalidation;
+    }
+
+    /** @return the next id, or {@link #INVALID_SEQUENCE_ID} if the ids are used up. */
+    private long next() {
+      for (long id = nextId.get(); id <= lastId; id = nextId.get()) {
+        if (nextId.compareAndSet(id, id + 1)) {
+          return id;
+        }
+      }
+      return INVALID_SEQUENCE_ID;
+    }
   }
 }
@@ -67,8 +67,9 @@ public ContainerInfo getContainer(final long size,
       3. We allocate a block from the available containers in the selected
       pipeline.
 
-      TODO : #CLUTIL Support random picking of two containers from the list.
-      So we can use different kind of policies.
+      The pipeline, hence the datanodes of the container, is selected by the
+      configured PipelineChoosePolicy, e.g. LoadBasedPipelineChoosePolicy
+      picks the less loaded of two random pipelines.
     */
 
     String failureReason = null;
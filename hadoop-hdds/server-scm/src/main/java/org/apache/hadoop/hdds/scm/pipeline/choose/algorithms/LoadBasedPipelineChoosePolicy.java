@@ -0,0 +1,161 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements. See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.hadoop.hdds.scm.pipeline.choose.algorithms;
+
+import com.google.common.annotations.VisibleForTesting;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import org.apache.hadoop.hdds.protocol.DatanodeDetails;
+import org.apache.hadoop.hdds.protocol.DatanodeID;
+import org.apache.hadoop.hdds.scm.PipelineChoosePolicy;
+import org.apache.hadoop.hdds.scm.PipelineRequestInformation;
+import org.apache.hadoop.hdds.scm.container.placement.metrics.SCMNodeMetric;
+import org.apache.hadoop.hdds.scm.container.placement.metrics.SCMNodeStat;
+import org.apache.hadoop.hdds.scm.node.NodeManager;
+import org.apache.hadoop.hdds.scm.pipeline.Pipeline;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Pipeline choose policy that chooses the less loaded pipeline from two
+ * random healthy pipelines.
+ * <p>
+ * The load of a pipeline is the load of its most loaded datanode, since a
+ * write to a Ratis pipeline goes to all its datanodes.  The load of a
+ * datanode is the fraction of its capacity which is
+ * <ul>
+ *   <li>used,</li>
+ *   <li>committed to its open containers, or</li>
+ *   <li>pending, i.e. allocated to the blocks of the pipelines chosen by
+ *   this policy since the last storage report of the datanode.</li>
+ * </ul>
+ * Unlike {@link CapacityPipelineChoosePolicy}, which compares the used space
+ * only, the pending space makes a datanode less likely to be chosen again
+ * before its reports catch up with the blocks recently allocated on it,
+ * so that a burst of allocations is spread over the datanodes.
+ */
+public class LoadBasedPipelineChoosePolicy implements PipelineChoosePolicy {
+
+  private static final Logger LOG =
+      LoggerFactory.getLogger(LoadBasedPipelineChoosePolicy.class);
+
+  private final PipelineChoosePolicy healthPolicy =
+      new HealthyPipelineChoosePolicy();
+  private final Map<DatanodeID, PendingSpace> pendingSpaces =
+      new ConcurrentHashMap<>();
+  private NodeManager nodeManager;
+
+  @Override
+  public PipelineChoosePolicy init(final NodeManager scmNodeManager) {
+    this.nodeManager = scmNodeManager;
+    return this;
+  }
+
+  @Override
+  public Pipeline choosePipeline(List<Pipeline> pipelineList,
+      PipelineRequestInformation pri) {
+    final Pipeline pipeline1 = healthPolicy.choosePipeline(pipelineList, pri);
+    final Pipeline pipeline2 = healthPolicy.choosePipeline(pipelineList, pri);
+    if (pipeline1 == null) {
+      return null;
+    }
+
+    final Pipeline chosen;
+    if (pipeline2 == null || pipeline1.getId().equals(pipeline2.getId())) {
+      chosen = pipeline1;
+    } else {
+      final double load1 = getLoad(pipeline1);
+      final double load2 = getLoad(pipeline2);
+      LOG.debug("Pipeline loads, first : {}, second : {}", load1, load2);
+      chosen = load1 <= load2 ? pipeline1 : pipeline2;
+    }
+
+    final long size = pri == null ? 0 : pri.getSize();
+    if (size > 0) {
+      for (DatanodeDetails dn : chosen.getNodes()) {
+        getPendingSpace(dn).add(size);
+      }
+    }
+    return chosen;
+  }
+
+  @Override
+  public int choosePipelineIndex(List<Pipeline> pipelineList,
+      PipelineRequestInformation pri) {
+    List<Pipeline> mutableList = new ArrayList<>(pipelineList);
+    Pipeline pipeline = choosePipeline(mutableList, pri);
+    return pipelineList.indexOf(pipeline);
+  }
+
+  /** @return the load of the most loaded datanode of the pipeline. */
+  @VisibleForTesting
+  double getLoad(Pipeline pipeline) {
+    double max = 0;
+    for (DatanodeDetails dn : pipeline.getNodes()) {
+      max = Math.max(max, getLoad(dn));
+    }
+    return max;
+  }
+
+  private double getLoad(DatanodeDetails dn) {
+    final SCMNodeMetric metric = nodeManager.getNodeStat(dn);
+    if (metric == null) {
+      // no storage report yet.
+      return 0;
+    }
+    final SCMNodeStat stat = metric.get();
+    final long capacity = stat.getCapacity().get();
+    if (capacity <= 0) {
+      return 0;
+    }
+    final long reported = stat.getScmUsed().get() + stat.getCommitted().get();
+    final long pending = getPendingSpace(dn).get(reported);
+    return (double) (reported + pending) / capacity;
+  }
+
+  private PendingSpace getPendingSpace(DatanodeDetails dn) {
+    return pendingSpaces.computeIfAbsent(dn.getID(), k -> new PendingSpace());
+  }
+
+  /**
+   * The space allocated on a datanode since its reported space changed.
+   */
+  private static final class PendingSpace {
+    // The used and committed space of the last storage report.
+    private long reported = -1;
+    private long pending;
+
+    synchronized void add(long size) {
+      pending += size;
+    }
+
+    /**
+     * @param newReported the used and committed space currently reported.
+     * @return the pending space, which is reset if a new report came in.
+     */
+    synchronized long get(long newReported) {
+      if (newReported != reported) {
+        reported = newReported;
+        pending = 0;
+      }
+      return pending;
+    }
+  }
+}
@@ -90,6 +90,7 @@
 import org.apache.hadoop.hdds.scm.container.IncrementalContainerReportHandler;
 import org.apache.hadoop.hdds.scm.container.balancer.ContainerBalancer;
 import org.apache.hadoop.hdds.scm.container.balancer.MoveManager;
+import org.apache.hadoop.hdds.scm.container.metrics.ContainerReportMetrics;
 import org.apache.hadoop.hdds.scm.container.placement.algorithms.ContainerPlacementPolicyFactory;
 import org.apache.hadoop.hdds.scm.container.placement.algorithms.SCMContainerPlacementMetrics;
 import org.apache.hadoop.hdds.scm.container.placement.metrics.SCMMetrics;
@@ -289,6 +290,8 @@ public final class StorageContainerManager extends ServiceRuntimeInfoImpl
 
   private OzoneConfiguration configuration;
   private SCMContainerMetrics scmContainerMetrics;
+  private ContainerReportMetrics containerReportMetrics;
+  private ContainerReportHandler containerReportHandler;
   private SCMContainerPlacementMetrics placementMetrics;
   private PlacementPolicy containerPlacementPolicy;
   private PlacementPolicyValidateProxy placementPolicyValidateProxy;
@@ -521,9 +524,10 @@ private void initializeEventHandlers() {
             pipelineManager);
     ContainerActionsHandler actionsHandler = new ContainerActionsHandler();
 
-    ContainerReportHandler containerReportHandler =
+    containerReportMetrics = ContainerReportMetrics.create();
+    containerReportHandler =
         new ContainerReportHandler(scmNodeManager, containerManager,
-            scmContext, configuration);
+            scmContext, configuration, containerReportMetrics);
 
     IncrementalContainerReportHandler incrementalContainerReportHandler =
         new IncrementalContainerReportHandler(
@@ -1748,6 +1752,9 @@ public void stop() {
     if (scmContainerMetrics != null) {
       scmContainerMetrics.unRegister();
     }
+    if (containerReportMetrics != null) {
+      containerReportMetrics.unRegister();
+    }
     if (placementMetrics != null) {
       placementMetrics.unRegister();
     }
@@ -1759,6 +1766,9 @@ public void stop() {
     } catch (Exception ex) {
       LOG.error("SCM Event Queue stop failed", ex);
     }
+    if (containerReportHandler != null) {
+      containerReportHandler.stop();
+    }
 
     try {
       LOG.info("Stopping SCM HA services.");
@@ -606,13 +606,13 @@ public void removePipeline(Pipeline pipeline) {
   public void addContainer(DatanodeDetails dd,
                            ContainerID containerId)
       throws NodeNotFoundException {
-    node2ContainerMap.getContainers(dd.getID()).add(containerId);
+    node2ContainerMap.addContainer(dd.getID(), containerId);
   }
 
   @Override
   public void removeContainer(DatanodeDetails dd,
       ContainerID containerId) throws NodeNotFoundException {
-    node2ContainerMap.getContainers(dd.getID()).remove(containerId);
+    node2ContainerMap.removeContainer(dd.getID(), containerId);
   }
 
   @Override
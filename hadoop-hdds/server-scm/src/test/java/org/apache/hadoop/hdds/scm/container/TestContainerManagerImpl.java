@@ -19,7 +19,9 @@
 
 import static java.util.Collections.emptyList;
 import static java.util.stream.Collectors.toList;
+import static org.apache.hadoop.hdds.protocol.proto.StorageContainerDatanodeProtocolProtos.ContainerReplicaProto.State.CLOSED;
 import static org.apache.hadoop.hdds.protocol.proto.StorageContainerDatanodeProtocolProtos.ContainerReplicaProto.State.OPEN;
+import static org.apache.hadoop.hdds.protocol.proto.StorageContainerDatanodeProtocolProtos.ContainerReplicaProto.State.UNHEALTHY;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
 import static org.junit.jupiter.api.Assertions.assertNull;
@@ -46,6 +48,7 @@
 import org.apache.hadoop.hdds.protocol.proto.HddsProtos;
 import org.apache.hadoop.hdds.protocol.proto.HddsProtos.LifeCycleState;
 import org.apache.hadoop.hdds.protocol.proto.HddsProtos.ReplicationFactor;
+import org.apache.hadoop.hdds.protocol.proto.StorageContainerDatanodeProtocolProtos.ContainerReplicaProto;
 import org.apache.hadoop.hdds.scm.container.replication.ContainerReplicaPendingOps;
 import org.apache.hadoop.hdds.scm.container.states.ContainerStateMap;
 import org.apache.hadoop.hdds.scm.ha.SCMHAManager;
@@ -390,4 +393,51 @@ void testRemoveContainerReplicaInvokesPendingOp()
     verify(pendingOpsMock, times(1)).completeDeleteReplica(container.containerID(), dn, 0);
   }
 
+  @Test
+  void testReplicaChangeListener() throws Exception {
+    final ContainerID id = containerManager.allocateContainer(
+        RatisReplicationConfig.getInstance(
+            ReplicationFactor.THREE), "admin").containerID();
+    final List<ContainerID> changes = new ArrayList<>();
+    containerManager.addReplicaChangeListener(changes::add);
+    final DatanodeDetails dn = MockDatanodeDetails.randomDatanodeDetails();
+
+    // A new replica is a change.
+    containerManager.updateContainerReplica(id, replica(id, dn, CLOSED, 1, 100));
+    assertEquals(1, changes.size());
+    // The used bytes are not.
+    containerManager.updateContainerReplica(id, replica(id, dn, CLOSED, 1, 200));
+    assertEquals(1, changes.size());
+    // The sequence ID of a closed replica is.
+    containerManager.updateContainerReplica(id, replica(id, dn, CLOSED, 2, 200));
+    assertEquals(2, changes.size());
+    // So is the state.
+    containerManager.updateContainerReplica(id, replica(id, dn, UNHEALTHY, 2, 200));
+    assertEquals(3, changes.size());
+
+    // The sequence ID of an open replica is not a change.
+    final DatanodeDetails dn2 = MockDatanodeDetails.randomDatanodeDetails();
+    containerManager.updateContainerReplica(id, replica(id, dn2, OPEN, 1, 100));
+    assertEquals(4, changes.size());
+    containerManager.updateContainerReplica(id, replica(id, dn2, OPEN, 5, 100));
+    assertEquals(4, changes.size());
+
+    // A removed replica is a change.
+    containerManager.removeContainerReplica(id, replica(id, dn2, OPEN, 5, 100));
+    assertEquals(5, changes.size());
+    assertTrue(changes.stream().allMatch(id::equals));
+  }
+
+  private static ContainerReplica replica(ContainerID id, DatanodeDetails dn,
+      ContainerReplicaProto.State state, long sequenceId, long bytesUsed) {
+    return ContainerReplica.newBuilder()
+        .setContainerState(state)
+        .setReplicaIndex(0)
+        .setContainerID(id)
+        .setDatanodeDetails(dn)
+        .setSequenceId(sequenceId)
+        .setBytesUsed(bytesUsed)
+        .setKeyCount(1)
+        .build();
+  }
 }
@@ -22,6 +22,7 @@
 import static org.apache.hadoop.hdds.scm.HddsTestUtils.getECContainer;
 import static org.apache.hadoop.hdds.scm.HddsTestUtils.getReplicas;
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.junit.jupiter.api.Assertions.fail;
 import static org.mockito.ArgumentMatchers.eq;
@@ -57,8 +58,11 @@
 import org.apache.hadoop.hdds.protocol.proto.StorageContainerDatanodeProtocolProtos.ContainerReplicaProto;
 import org.apache.hadoop.hdds.protocol.proto.StorageContainerDatanodeProtocolProtos.ContainerReportsProto;
 import org.apache.hadoop.hdds.scm.HddsTestUtils;
+import org.apache.hadoop.hdds.scm.ScmConfig;
+import org.apache.hadoop.hdds.scm.container.metrics.ContainerReportMetrics;
 import org.apache.hadoop.hdds.scm.container.replication.ContainerReplicaPendingOps;
 import org.apache.hadoop.hdds.scm.events.SCMEvents;
+import org.apache.hadoop.hdds.scm.ha.SCMContext;
 import org.apache.hadoop.hdds.scm.ha.SCMHAManager;
 import org.apache.hadoop.hdds.scm.ha.SCMHAManagerStub;
 import org.apache.hadoop.hdds.scm.metadata.SCMDBDefinition;
@@ -73,6 +77,7 @@
 import org.apache.hadoop.hdds.utils.db.DBStore;
 import org.apache.hadoop.hdds.utils.db.DBStoreBuilder;
 import org.apache.hadoop.ozone.container.common.SCMTestUtils;
+import org.apache.hadoop.ozone.container.common.report.ContainerReportDeltaEncoder;
 import org.apache.hadoop.ozone.protocol.commands.CommandForDatanode;
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
@@ -845,6 +850,108 @@ public void testContainerStateTransitionToClosedWithMismatchingBCSID(LifeCycleSt
     assertEquals(lcState, containerManager.getContainer(container1.containerID()).getState());
   }
 
+  @Test
+  public void testDeltaContainerReports() throws Exception {
+    final ContainerReportHandler reportHandler = new ContainerReportHandler(
+        nodeManager, containerManager);
+    final DatanodeDetails datanode = nodeManager.getNodes(
+        NodeStatus.inServiceHealthy()).iterator().next();
+    final ContainerInfo containerOne = getContainer(LifeCycleState.CLOSED);
+    final ContainerInfo containerTwo = getContainer(LifeCycleState.CLOSED);
+    containerStateManager.addContainer(containerOne.getProtobuf());
+    containerStateManager.addContainer(containerTwo.getProtobuf());
+    final ContainerReportDeltaEncoder encoder = new ContainerReportDeltaEncoder(10);
+
+    // The first report is a full report.
+    final ContainerReportsProto full = encoder.encode(ContainerReportsProto.newBuilder()
+        .addAllReports(getContainerReportsProto(containerOne.containerID(), ContainerReplicaProto.State.CLOSED,
+            datanode.getUuidString(), 1000L, 10L, 10000L, 0).getReportsList())
+        .addAllReports(getContainerReportsProto(containerTwo.containerID(), ContainerReplicaProto.State.CLOSED,
+            datanode.getUuidString(), 1000L, 10L, 10000L, 0).getReportsList())
+        .build(), false);
+    assertEquals(2, full.getReportsCount());
+    reportHandler.onMessage(new ContainerReportFromDatanode(datanode, full), publisher);
+    assertEquals(2, nodeManager.getContainers(datanode).size());
+
+    // A delta report only contains the changed replica.
+    final ContainerReportsProto delta = encoder.encode(ContainerReportsProto.newBuilder()
+        .addAllReports(getContainerReportsProto(containerOne.containerID(), ContainerReplicaProto.State.CLOSED,
+            datanode.getUuidString(), 2000L, 20L, 10000L, 0).getReportsList())
+        .addAllReports(getContainerReportsProto(containerTwo.containerID(), ContainerReplicaProto.State.CLOSED,
+            datanode.getUuidString(), 1000L, 10L, 10000L, 0).getReportsList())
+        .build(), false);
+    assertEquals(1, delta.getReportsCount());
+    reportHandler.onMessage(new ContainerReportFromDatanode(datanode, delta), publisher);
+    assertEquals(2, nodeManager.getContainers(datanode).size());
+    assertEquals(2000L, containerStateManager.getContainerReplicas(containerOne.containerID())
+        .iterator().next().getBytesUsed());
+    verify(publisher, times(0))
+        .fireEvent(eq(SCMEvents.DATANODE_COMMAND), any(CommandForDatanode.class));
+
+    // Container two is gone without an incremental report: request a full report.
+    final ContainerReportsProto mismatch = encoder.encode(
+        getContainerReportsProto(containerOne.containerID(), ContainerReplicaProto.State.CLOSED,
+            datanode.getUuidString(), 2000L, 20L, 10000L, 0), false);
+    assertEquals(0, mismatch.getReportsCount());
+    reportHandler.onMessage(new ContainerReportFromDatanode(datanode, mismatch), publisher);
+    assertEquals(2, nodeManager.getContainers(datanode).size());
+    verify(publisher, times(1))
+        .fireEvent(eq(SCMEvents.DATANODE_COMMAND), any(CommandForDatanode.class));
+
+    // The full report removes the missing container.
+    final ContainerReportsProto requested = encoder.encode(
+        getContainerReportsProto(containerOne.containerID(), ContainerReplicaProto.State.CLOSED,
+            datanode.getUuidString(), 2000L, 20L, 10000L, 0), true);
+    assertEquals(1, requested.getReportsCount());
+    reportHandler.onMessage(new ContainerReportFromDatanode(datanode, requested), publisher);
+    assertEquals(1, nodeManager.getContainers(datanode).size());
+  }
+
+  @Test
+  public void testShardedContainerReport() throws Exception {
+    final OzoneConfiguration conf = new OzoneConfiguration();
+    final ScmConfig scmConfig = conf.getObject(ScmConfig.class);
+    scmConfig.setContainerReportProcessingThreads(4);
+    scmConfig.setContainerReportShardMinSize(10);
+    conf.setFromObject(scmConfig);
+    final ContainerReportMetrics metrics = ContainerReportMetrics.create();
+    final ContainerReportHandler reportHandler = new ContainerReportHandler(
+        nodeManager, containerManager, SCMContext.emptyContext(), conf, metrics);
+    try {
+      final DatanodeDetails datanode = nodeManager.getNodes(
+          NodeStatus.inServiceHealthy()).iterator().next();
+
+      // A container which is not in the report is missing on the datanode.
+      final ContainerInfo missing = getContainer(LifeCycleState.CLOSED);
+      containerStateManager.addContainer(missing.getProtobuf());
+      nodeManager.addContainer(datanode, missing.containerID());
+
+      final ContainerReportsProto.Builder report = ContainerReportsProto.newBuilder();
+      final List<ContainerID> reported = new ArrayList<>();
+      for (int i = 0; i < 100; i++) {
+        final ContainerInfo container = getContainer(LifeCycleState.CLOSED);
+        containerStateManager.addContainer(container.getProtobuf());
+        reported.add(container.containerID());
+        report.addAllReports(getContainerReportsProto(container.containerID(), ContainerReplicaProto.State.CLOSED,
+            datanode.getUuidString(), 1000L, 10L, 10000L, 0).getReportsList());
+      }
+      reportHandler.onMessage(new ContainerReportFromDatanode(datanode, report.build()), publisher);
+
+      assertEquals(1, metrics.getNumShardedReports());
+      assertEquals(1, metrics.getNumReportsProcessed(datanode.getID()));
+      final Set<ContainerID> containers = nodeManager.getContainers(datanode);
+      assertEquals(100, containers.size());
+      assertFalse(containers.contains(missing.containerID()));
+      for (ContainerID id : reported) {
+        assertTrue(containers.contains(id));
+        assertEquals(1, containerStateManager.getContainerReplicas(id).size());
+      }
+    } finally {
+      reportHandler.stop();
+      metrics.unRegister();
+    }
+  }
+
   @Test
   public void openContainerKeyAndBytesUsedUpdatedToMinimumOfAllReplicas()
       throws IOException, TimeoutException {
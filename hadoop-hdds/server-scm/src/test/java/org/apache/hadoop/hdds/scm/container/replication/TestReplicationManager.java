@@ -1697,6 +1697,83 @@ public void testReconfigureContainerSampleLimit() {
         "Second report should have 50 samples after reconfiguration");
   }
 
+  @Test
+  public void testParallelContainerProcessing() throws IOException {
+    replicationManager.getMetrics().unRegister();
+    rmConf.setContainerProcessingThreads(4);
+    replicationManager = createReplicationManager();
+
+    final int totalContainers = 120;
+    for (int i = 0; i < totalContainers; i++) {
+      ContainerInfo container = createContainerInfo(repConfig, i,
+          HddsProtos.LifeCycleState.CLOSED);
+      addReplicas(container, ContainerReplicaProto.State.CLOSED, 1, 2, 3, 4);
+    }
+
+    enableProcessAll();
+    replicationManager.processAll();
+
+    ReplicationManagerReport report = replicationManager.getContainerReport();
+    assertEquals(totalContainers,
+        report.getStat(HddsProtos.LifeCycleState.CLOSED));
+    assertEquals(totalContainers,
+        report.getStat(ContainerHealthState.UNDER_REPLICATED));
+    assertEquals(rmConf.getContainerSampleLimit(),
+        report.getSample(ContainerHealthState.UNDER_REPLICATED).size());
+    assertEquals(totalContainers,
+        replicationManager.getQueue().underReplicatedQueueSize());
+  }
+
+  @Test
+  public void testIncrementalProcessing() throws IOException {
+    // Changes are ignored unless the incremental processing is enabled.
+    replicationManager.notifyContainerChanged(ContainerID.valueOf(1));
+    assertEquals(0, replicationManager.getChangedContainerCount());
+
+    replicationManager.getMetrics().unRegister();
+    rmConf.setIncrementalEnabled(true);
+    replicationManager = createReplicationManager();
+    enableProcessAll();
+
+    ContainerInfo changed = createContainerInfo(repConfig, 1,
+        HddsProtos.LifeCycleState.CLOSED);
+    addReplicas(changed, ContainerReplicaProto.State.CLOSED, 1, 2, 3, 4);
+    ContainerInfo unchanged = createContainerInfo(repConfig, 2,
+        HddsProtos.LifeCycleState.CLOSED);
+    addReplicas(unchanged, ContainerReplicaProto.State.CLOSED, 1, 2, 3, 4);
+    when(containerManager.getContainer(changed.containerID()))
+        .thenReturn(changed);
+
+    // Only the changed container is processed.
+    replicationManager.notifyContainerChanged(changed.containerID());
+    assertEquals(1, replicationManager.getChangedContainerCount());
+    replicationManager.processChangedContainers();
+    assertEquals(0, replicationManager.getChangedContainerCount());
+    ReplicationQueue queue = replicationManager.getQueue();
+    assertEquals(1, queue.underReplicatedQueueSize());
+
+    // A container already queued is not queued again.
+    replicationManager.notifyContainerChanged(changed.containerID());
+    replicationManager.processChangedContainers();
+    assertEquals(1, queue.underReplicatedQueueSize());
+    assertEquals(changed,
+        queue.dequeueUnderReplicatedContainer().getContainerInfo());
+    assertEquals(2, replicationManager.getMetrics()
+        .getContainersProcessedIncrementallyTotal());
+
+    // A completed op marks the container changed.
+    replicationManager.opCompleted(new ContainerReplicaOp(
+        ContainerReplicaOp.PendingOpType.ADD,
+        MockDatanodeDetails.randomDatanodeDetails(), 1, null,
+        Long.MAX_VALUE, 0), changed.containerID(), false);
+    assertEquals(1, replicationManager.getChangedContainerCount());
+
+    // The full processing covers the changed containers.
+    replicationManager.processAll();
+    assertEquals(0, replicationManager.getChangedContainerCount());
+    assertEquals(2, replicationManager.getQueue().underReplicatedQueueSize());
+  }
+
   @SafeVarargs
   private final Set<ContainerReplica>  addReplicas(ContainerInfo container,
       ContainerReplicaProto.State replicaState,
@@ -28,7 +28,14 @@
 import static org.mockito.Mockito.spy;
 
 import java.io.File;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 import org.apache.hadoop.hdds.conf.OzoneConfiguration;
 import org.apache.hadoop.hdds.scm.exceptions.SCMException;
 import org.apache.hadoop.hdds.scm.metadata.SCMDBTransactionBufferImpl;
@@ -135,6 +142,79 @@ public void testSequenceIDGenUponRatis() throws Exception {
     assertEquals(203, sequenceIdGen.getNextId(SequenceIdType.delTxnId));
   }
 
+  @Test
+  public void testRange() throws Exception {
+    OzoneConfiguration conf = SCMTestUtils.getConf(testDir);
+    conf.setInt(OZONE_SCM_SEQUENCE_ID_BATCH_SIZE, 100);
+    SCMMetadataStore scmMetadataStore = new SCMMetadataStoreImpl(conf);
+    scmMetadataStore.start(conf);
+    SCMHAManager scmHAManager = SCMHAManagerStub.getInstance(true);
+    SequenceIdGenerator sequenceIdGen = new SequenceIdGenerator(
+        conf, scmHAManager, scmMetadataStore.getSequenceIdTable());
+
+    SequenceIdGenerator.Range range1 =
+        sequenceIdGen.newRange(SequenceIdType.localId, 30);
+    SequenceIdGenerator.Range range2 =
+        sequenceIdGen.newRange(SequenceIdType.localId, 30);
+
+    // the first batch is [1, 100], the ranges are [1, 30] and [31, 60]
+    assertEquals(1L, range1.getNextId());
+    assertEquals(31L, range2.getNextId());
+    assertEquals(61L, sequenceIdGen.getNextId(SequenceIdType.localId));
+    for (long id = 2; id <= 30; id++) {
+      assertEquals(id, range1.getNextId());
+    }
+
+    // the next range is [62, 91]
+    for (long id = 62; id <= 91; id++) {
+      assertEquals(id, range1.getNextId());
+    }
+
+    // [92, 100] is too small, the next batch is [101, 200]
+    assertEquals(101L, range1.getNextId());
+
+    // the ranges are invalidated along with the batch,
+    // the next batch is [201, 300]
+    sequenceIdGen.invalidateBatch();
+    assertEquals(201L, range1.getNextId());
+    assertEquals(231L, range2.getNextId());
+  }
+
+  @Test
+  public void testRangeConcurrently() throws Exception {
+    OzoneConfiguration conf = SCMTestUtils.getConf(testDir);
+    conf.setInt(OZONE_SCM_SEQUENCE_ID_BATCH_SIZE, 100);
+    SCMMetadataStore scmMetadataStore = new SCMMetadataStoreImpl(conf);
+    scmMetadataStore.start(conf);
+    SCMHAManager scmHAManager = SCMHAManagerStub.getInstance(true);
+    SequenceIdGenerator sequenceIdGen = new SequenceIdGenerator(
+        conf, scmHAManager, scmMetadataStore.getSequenceIdTable());
+    SequenceIdGenerator.Range range =
+        sequenceIdGen.newRange(SequenceIdType.localId, 10);
+
+    final int threads = 8;
+    final int idsPerThread = 1000;
+    final Set<Long> ids = ConcurrentHashMap.newKeySet();
+    final ExecutorService executor = Executors.newFixedThreadPool(threads);
+    try {
+      final List<Future<?>> futures = new ArrayList<>();
+      for (int t = 0; t < threads; t++) {
+        futures.add(executor.submit(() -> {
+          for (int i = 0; i < idsPerThread; i++) {
+            assertTrue(ids.add(range.getNextId()));
+          }
+          return null;
+        }));
+      }
+      for (Future<?> f : futures) {
+        f.get();
+      }
+    } finally {
+      executor.shutdown();
+    }
+    assertEquals(threads * idsPerThread, ids.size());
+  }
+
   @Test
   public void testSequenceIDGenUponRatisWhenCurrentScmIsNotALeader()
       throws Exception {
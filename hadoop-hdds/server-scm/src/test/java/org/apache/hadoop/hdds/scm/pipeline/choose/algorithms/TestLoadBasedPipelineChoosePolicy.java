@@ -0,0 +1,151 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements. See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.hadoop.hdds.scm.pipeline.choose.algorithms;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import org.apache.hadoop.hdds.protocol.DatanodeDetails;
+import org.apache.hadoop.hdds.protocol.MockDatanodeDetails;
+import org.apache.hadoop.hdds.scm.PipelineRequestInformation;
+import org.apache.hadoop.hdds.scm.container.placement.metrics.SCMNodeMetric;
+import org.apache.hadoop.hdds.scm.node.NodeManager;
+import org.apache.hadoop.hdds.scm.pipeline.MockPipeline;
+import org.apache.hadoop.hdds.scm.pipeline.MockRatisPipelineProvider;
+import org.apache.hadoop.hdds.scm.pipeline.Pipeline;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Test for the load based pipeline choose policy.
+ */
+public class TestLoadBasedPipelineChoosePolicy {
+
+  private final List<DatanodeDetails> datanodes = new ArrayList<>();
+  private NodeManager nodeManager;
+  private LoadBasedPipelineChoosePolicy policy;
+
+  @BeforeEach
+  public void setup() {
+    for (int i = 0; i < 4; i++) {
+      datanodes.add(MockDatanodeDetails.randomDatanodeDetails());
+    }
+    nodeManager = mock(NodeManager.class);
+    policy = new LoadBasedPipelineChoosePolicy();
+    policy.init(nodeManager);
+  }
+
+  private void setNodeStat(int i, long used, long committed) {
+    when(nodeManager.getNodeStat(datanodes.get(i))).thenReturn(
+        new SCMNodeMetric(1000L, used, 1000L - used, committed, 0, 0));
+  }
+
+  private Pipeline createPipeline(int... indices) {
+    List<DatanodeDetails> dns = new ArrayList<>();
+    for (int i : indices) {
+      dns.add(datanodes.get(i));
+    }
+    Pipeline pipeline = MockPipeline.createPipeline(dns);
+    MockRatisPipelineProvider.markPipelineHealthy(pipeline);
+    return pipeline;
+  }
+
+  private static PipelineRequestInformation request(long size) {
+    return PipelineRequestInformation.Builder.getBuilder()
+        .setSize(size).build();
+  }
+
+  @Test
+  public void testChooseLessLoadedPipeline() {
+    //            dn0   dn1   dn2   dn3
+    // used         0   100     0   200
+    // committed    0   100   300     0
+    setNodeStat(0, 0, 0);
+    setNodeStat(1, 100, 100);
+    setNodeStat(2, 0, 300);
+    setNodeStat(3, 200, 0);
+
+    // pipeline loads are the loads of the most loaded datanodes:
+    // pipeline0 (dn0, dn1) : 0.2
+    // pipeline1 (dn0, dn2) : 0.3
+    // pipeline2 (dn0, dn3) : 0.2
+    // pipeline3 (dn2, dn3) : 0.3
+    List<Pipeline> pipelines = new ArrayList<>();
+    pipelines.add(createPipeline(0, 1));
+    pipelines.add(createPipeline(0, 2));
+    pipelines.add(createPipeline(0, 3));
+    pipelines.add(createPipeline(2, 3));
+    assertEquals(0.2, policy.getLoad(pipelines.get(0)), 1e-9);
+    assertEquals(0.3, policy.getLoad(pipelines.get(1)), 1e-9);
+
+    Map<Pipeline, Integer> selectedCount = new HashMap<>();
+    for (Pipeline pipeline : pipelines) {
+      selectedCount.put(pipeline, 0);
+    }
+    for (int i = 0; i < 1000; i++) {
+      Pipeline pipeline = policy.choosePipeline(pipelines, null);
+      assertNotNull(pipeline);
+      selectedCount.merge(pipeline, 1, Integer::sum);
+    }
+
+    for (int less : new int[] {0, 2}) {
+      for (int more : new int[] {1, 3}) {
+        assertThat(selectedCount.get(pipelines.get(less)))
+            .isGreaterThan(selectedCount.get(pipelines.get(more)));
+      }
+    }
+  }
+
+  @Test
+  public void testPendingSpace() {
+    for (int i = 0; i < datanodes.size(); i++) {
+      setNodeStat(i, 100, 0);
+    }
+    List<Pipeline> pipelines = new ArrayList<>();
+    pipelines.add(createPipeline(0, 1));
+    pipelines.add(createPipeline(2, 3));
+
+    // the chosen pipeline is more loaded by the pending space.
+    Pipeline chosen = policy.choosePipeline(pipelines, request(100));
+    Pipeline other = chosen == pipelines.get(0)
+        ? pipelines.get(1) : pipelines.get(0);
+    assertEquals(0.2, policy.getLoad(chosen), 1e-9);
+    assertEquals(0.1, policy.getLoad(other), 1e-9);
+
+    // then the other pipeline is chosen whenever both are compared.
+    for (int i = 0; i < 10; i++) {
+      if (policy.choosePipeline(pipelines, request(100)) == other) {
+        break;
+      }
+    }
+    assertEquals(0.2, policy.getLoad(other), 1e-9);
+
+    // the pending space is reset by a new report.
+    for (DatanodeDetails dn : chosen.getNodes()) {
+      setNodeStat(datanodes.indexOf(dn), 150, 0);
+    }
+    assertEquals(0.15, policy.getLoad(chosen), 1e-9);
+  }
+}
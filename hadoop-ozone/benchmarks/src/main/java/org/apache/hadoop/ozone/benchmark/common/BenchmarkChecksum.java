@@ -0,0 +1,94 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements. See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.hadoop.ozone.benchmark.common;
+
+import java.nio.ByteBuffer;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import org.apache.hadoop.hdds.protocol.datanode.proto.ContainerProtos.ChecksumType;
+import org.apache.hadoop.ozone.common.Checksum;
+import org.apache.hadoop.ozone.common.ChecksumData;
+import org.apache.hadoop.ozone.common.ChunkBuffer;
+import org.apache.hadoop.ozone.common.OzoneChecksumException;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures {@link Checksum} computation and verification over a chunk,
+ * for heap and direct {@link ChunkBuffer}s.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class BenchmarkChecksum {
+
+  @Param({"CRC32", "CRC32C", "SHA256"})
+  private ChecksumType checksumType;
+
+  @Param({"16384"})
+  private int bytesPerChecksum;
+
+  @Param({"4194304"})
+  private int chunkSize;
+
+  @Param({"false", "true"})
+  private boolean direct;
+
+  private Checksum checksum;
+  private ByteBuffer data;
+  private ChecksumData checksumData;
+
+  @Setup(Level.Trial)
+  public void setup() throws OzoneChecksumException {
+    final byte[] bytes = new byte[chunkSize];
+    ThreadLocalRandom.current().nextBytes(bytes);
+    data = direct ? ByteBuffer.allocateDirect(chunkSize) : ByteBuffer.allocate(chunkSize);
+    data.put(bytes).flip();
+
+    checksum = new Checksum(checksumType, bytesPerChecksum);
+    checksumData = checksum.computeChecksum(newChunkBuffer());
+  }
+
+  /** @return a {@link ChunkBuffer} over the data, leaving the position of {@link #data} unchanged. */
+  private ChunkBuffer newChunkBuffer() {
+    return ChunkBuffer.wrap(data.duplicate());
+  }
+
+  @Benchmark
+  public ChecksumData computeChecksum() throws OzoneChecksumException {
+    return checksum.computeChecksum(newChunkBuffer());
+  }
+
+  @Benchmark
+  public void verifyChecksum() throws OzoneChecksumException {
+    Checksum.verifyChecksum(newChunkBuffer(), checksumData, 0);
+  }
+}
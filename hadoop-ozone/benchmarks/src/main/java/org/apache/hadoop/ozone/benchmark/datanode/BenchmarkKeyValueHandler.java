@@ -0,0 +1,242 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements. See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.hadoop.ozone.benchmark.datanode;
+
+import static org.apache.hadoop.hdds.HddsConfigKeys.OZONE_METADATA_DIRS;
+import static org.apache.hadoop.hdds.scm.ScmConfigKeys.HDDS_DATANODE_DIR_KEY;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.util.UUID;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import org.apache.commons.io.FileUtils;
+import org.apache.hadoop.hdds.conf.OzoneConfiguration;
+import org.apache.hadoop.hdds.protocol.datanode.proto.ContainerProtos;
+import org.apache.hadoop.hdds.protocol.datanode.proto.ContainerProtos.ChecksumType;
+import org.apache.hadoop.hdds.protocol.datanode.proto.ContainerProtos.ContainerCommandRequestProto;
+import org.apache.hadoop.hdds.protocol.datanode.proto.ContainerProtos.ContainerCommandResponseProto;
+import org.apache.hadoop.hdds.protocol.datanode.proto.ContainerProtos.ContainerType;
+import org.apache.hadoop.hdds.protocol.datanode.proto.ContainerProtos.DatanodeBlockID;
+import org.apache.hadoop.hdds.protocol.datanode.proto.ContainerProtos.Result;
+import org.apache.hadoop.hdds.protocol.datanode.proto.ContainerProtos.Type;
+import org.apache.hadoop.ozone.common.Checksum;
+import org.apache.hadoop.ozone.container.checksum.ContainerChecksumTreeManager;
+import org.apache.hadoop.ozone.container.common.helpers.ContainerMetrics;
+import org.apache.hadoop.ozone.container.common.impl.ContainerSet;
+import org.apache.hadoop.ozone.container.common.interfaces.Container;
+import org.apache.hadoop.ozone.container.common.utils.StorageVolumeUtil;
+import org.apache.hadoop.ozone.container.common.volume.MutableVolumeSet;
+import org.apache.hadoop.ozone.container.common.volume.StorageVolume;
+import org.apache.hadoop.ozone.container.keyvalue.KeyValueHandler;
+import org.apache.ratis.thirdparty.com.google.protobuf.ByteString;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures {@link KeyValueHandler} dispatch of the datanode write and read
+ * requests against an open container on a local volume,
+ * without any network or Ratis overhead.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+public class BenchmarkKeyValueHandler {
+
+  private static final String CLUSTER_ID = UUID.randomUUID().toString();
+  private static final String DATANODE_ID = UUID.randomUUID().toString();
+
+  @Param({"4096", "65536"})
+  private int chunkSize;
+
+  private File baseDir;
+  private MutableVolumeSet volumeSet;
+  private ContainerSet containerSet;
+  private KeyValueHandler handler;
+  private long containerId;
+  private Container<?> container;
+
+  private ByteString data;
+  private ContainerProtos.ChecksumData checksumData;
+  private long nextLocalId;
+
+  private ContainerCommandRequestProto getBlockRequest;
+  private ContainerCommandRequestProto readChunkRequest;
+
+  @Setup(Level.Trial)
+  public void setup() throws IOException {
+    baseDir = Files.createTempDirectory("kv-handler").toFile();
+    final OzoneConfiguration conf = new OzoneConfiguration();
+    conf.set(HDDS_DATANODE_DIR_KEY, new File(baseDir, "data").getAbsolutePath());
+    conf.set(OZONE_METADATA_DIRS, new File(baseDir, "metadata").getAbsolutePath());
+
+    volumeSet = new MutableVolumeSet(DATANODE_ID, CLUSTER_ID, conf, null,
+        StorageVolume.VolumeType.DATA_VOLUME, null);
+    for (StorageVolume volume : volumeSet.getVolumesList()) {
+      StorageVolumeUtil.checkVolume(volume, CLUSTER_ID, CLUSTER_ID, conf, null, null);
+    }
+    containerSet = ContainerSet.newReadOnlyContainerSet(1000);
+    handler = new KeyValueHandler(conf, DATANODE_ID, containerSet, volumeSet,
+        ContainerMetrics.create(conf), c -> { }, new ContainerChecksumTreeManager(conf));
+    handler.setClusterID(CLUSTER_ID);
+
+    final byte[] bytes = new byte[chunkSize];
+    ThreadLocalRandom.current().nextBytes(bytes);
+    data = ByteString.copyFrom(bytes);
+    checksumData = new Checksum(ChecksumType.CRC32C, 16 * 1024)
+        .computeChecksum(bytes)
+        .getProtoBufMessage();
+  }
+
+  /**
+   * Each iteration writes into a new container, which is deleted afterwards,
+   * to bound the disk space used by the write benchmark.
+   */
+  @Setup(Level.Iteration)
+  public void createContainer() {
+    containerId++;
+    container = null;
+    dispatch(ContainerCommandRequestProto.newBuilder()
+        .setCmdType(Type.CreateContainer)
+        .setContainerID(containerId)
+        .setDatanodeUuid(DATANODE_ID)
+        .setCreateContainer(ContainerProtos.CreateContainerRequestProto.newBuilder()
+            .setContainerType(ContainerType.KeyValueContainer))
+        .build());
+    container = containerSet.getContainer(containerId);
+
+    // A block to be read by the read benchmarks.
+    final DatanodeBlockID blockID = newBlockID();
+    final ContainerProtos.ChunkInfo chunk = newChunkInfo(blockID);
+    writeChunkAndPutBlock(blockID, chunk);
+    getBlockRequest = ContainerCommandRequestProto.newBuilder()
+        .setCmdType(Type.GetBlock)
+        .setContainerID(containerId)
+        .setDatanodeUuid(DATANODE_ID)
+        .setGetBlock(ContainerProtos.GetBlockRequestProto.newBuilder().setBlockID(blockID))
+        .build();
+    readChunkRequest = ContainerCommandRequestProto.newBuilder()
+        .setCmdType(Type.ReadChunk)
+        .setContainerID(containerId)
+        .setDatanodeUuid(DATANODE_ID)
+        .setReadChunk(ContainerProtos.ReadChunkRequestProto.newBuilder()
+            .setBlockID(blockID)
+            .setChunkData(chunk)
+            .setReadChunkVersion(ContainerProtos.ReadChunkVersion.V1))
+        .build();
+  }
+
+  @TearDown(Level.Iteration)
+  public void deleteContainer() {
+    dispatch(ContainerCommandRequestProto.newBuilder()
+        .setCmdType(Type.DeleteContainer)
+        .setContainerID(containerId)
+        .setDatanodeUuid(DATANODE_ID)
+        .setDeleteContainer(ContainerProtos.DeleteContainerRequestProto.newBuilder().setForceDelete(true))
+        .build());
+  }
+
+  @TearDown(Level.Trial)
+  public void tearDown() throws IOException {
+    if (handler != null) {
+      handler.stop();
+    }
+    if (volumeSet != null) {
+      volumeSet.shutdown();
+    }
+    ContainerMetrics.remove();
+    FileUtils.deleteDirectory(baseDir);
+  }
+
+  private ContainerCommandResponseProto dispatch(ContainerCommandRequestProto request) {
+    final ContainerCommandResponseProto response = handler.handle(request, container, null);
+    if (response.getResult() != Result.SUCCESS) {
+      throw new IllegalStateException("Failed " + request.getCmdType() + ": " + response);
+    }
+    return response;
+  }
+
+  private synchronized DatanodeBlockID newBlockID() {
+    return DatanodeBlockID.newBuilder()
+        .setContainerID(containerId)
+        .setLocalID(++nextLocalId)
+        .build();
+  }
+
+  private ContainerProtos.ChunkInfo newChunkInfo(DatanodeBlockID blockID) {
+    return ContainerProtos.ChunkInfo.newBuilder()
+        .setChunkName(blockID.getLocalID() + "_chunk_1")
+        .setOffset(0)
+        .setLen(chunkSize)
+        .setChecksumData(checksumData)
+        .build();
+  }
+
+  private void writeChunkAndPutBlock(DatanodeBlockID blockID, ContainerProtos.ChunkInfo chunk) {
+    dispatch(ContainerCommandRequestProto.newBuilder()
+        .setCmdType(Type.WriteChunk)
+        .setContainerID(containerId)
+        .setDatanodeUuid(DATANODE_ID)
+        .setWriteChunk(ContainerProtos.WriteChunkRequestProto.newBuilder()
+            .setBlockID(blockID)
+            .setChunkData(chunk)
+            .setData(data))
+        .build());
+    dispatch(ContainerCommandRequestProto.newBuilder()
+        .setCmdType(Type.PutBlock)
+        .setContainerID(containerId)
+        .setDatanodeUuid(DATANODE_ID)
+        .setPutBlock(ContainerProtos.PutBlockRequestProto.newBuilder()
+            .setBlockData(ContainerProtos.BlockData.newBuilder()
+                .setBlockID(blockID)
+                .setSize(chunkSize)
+                .addChunks(chunk)))
+        .build());
+  }
+
+  @Benchmark
+  public void writeChunkAndPutBlock() {
+    final DatanodeBlockID blockID = newBlockID();
+    writeChunkAndPutBlock(blockID, newChunkInfo(blockID));
+  }
+
+  @Benchmark
+  public ContainerCommandResponseProto getBlock() {
+    return dispatch(getBlockRequest);
+  }
+
+  @Benchmark
+  public ContainerCommandResponseProto readChunk() {
+    return dispatch(readChunkRequest);
+  }
+}
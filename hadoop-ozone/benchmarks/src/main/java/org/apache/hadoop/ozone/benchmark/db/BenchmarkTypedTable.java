@@ -0,0 +1,131 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements. See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.hadoop.ozone.benchmark.db;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+
+import java.io.File;
+import java.nio.file.Files;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import org.apache.commons.io.FileUtils;
+import org.apache.commons.lang3.RandomStringUtils;
+import org.apache.hadoop.hdds.conf.OzoneConfiguration;
+import org.apache.hadoop.hdds.utils.db.ByteArrayCodec;
+import org.apache.hadoop.hdds.utils.db.DBStore;
+import org.apache.hadoop.hdds.utils.db.DBStoreBuilder;
+import org.apache.hadoop.hdds.utils.db.StringCodec;
+import org.apache.hadoop.hdds.utils.db.Table;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Compares get/put of a {@code TypedTable} whose codecs support
+ * {@code CodecBuffer} (direct buffers, no intermediate byte[])
+ * with the same table accessed through byte[] codecs.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class BenchmarkTypedTable {
+
+  private static final String TABLE_NAME = "benchmarkTable";
+
+  @Param({"10000"})
+  private int numKeys;
+
+  @Param({"64", "1024"})
+  private int valueSize;
+
+  private File dbDir;
+  private DBStore store;
+  private Table<String, String> codecBufferTable;
+  private Table<byte[], byte[]> byteArrayTable;
+  private String[] keys;
+  private byte[][] keyBytes;
+  private String value;
+  private byte[] valueBytes;
+
+  @Setup(Level.Trial)
+  public void setup() throws Exception {
+    dbDir = Files.createTempDirectory("typed-table").toFile();
+    store = DBStoreBuilder.newBuilder(new OzoneConfiguration())
+        .setName("benchmark.db")
+        .setPath(dbDir.toPath())
+        .addTable(TABLE_NAME)
+        .build();
+    codecBufferTable = store.getTable(TABLE_NAME, StringCodec.get(), StringCodec.get());
+    byteArrayTable = store.getTable(TABLE_NAME, ByteArrayCodec.get(), ByteArrayCodec.get());
+
+    value = RandomStringUtils.secure().nextAlphanumeric(valueSize);
+    valueBytes = value.getBytes(UTF_8);
+    keys = new String[numKeys];
+    keyBytes = new byte[numKeys][];
+    for (int i = 0; i < numKeys; i++) {
+      keys[i] = String.format("/vol/bucket/key-%08d", i);
+      keyBytes[i] = keys[i].getBytes(UTF_8);
+      codecBufferTable.put(keys[i], value);
+    }
+  }
+
+  @TearDown(Level.Trial)
+  public void tearDown() throws Exception {
+    if (store != null) {
+      store.close();
+    }
+    FileUtils.deleteDirectory(dbDir);
+  }
+
+  private int nextIndex() {
+    return ThreadLocalRandom.current().nextInt(numKeys);
+  }
+
+  @Benchmark
+  public String getWithCodecBuffer() throws Exception {
+    return codecBufferTable.getSkipCache(keys[nextIndex()]);
+  }
+
+  @Benchmark
+  public byte[] getWithByteArray() throws Exception {
+    return byteArrayTable.getSkipCache(keyBytes[nextIndex()]);
+  }
+
+  @Benchmark
+  public void putWithCodecBuffer() throws Exception {
+    codecBufferTable.put(keys[nextIndex()], value);
+  }
+
+  @Benchmark
+  public void putWithByteArray() throws Exception {
+    byteArrayTable.put(keyBytes[nextIndex()], valueBytes);
+  }
+}
@@ -0,0 +1,164 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements. See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.hadoop.ozone.benchmark.ec;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import org.apache.hadoop.hdds.client.ECReplicationConfig;
+import org.apache.ozone.erasurecode.CodecRegistry;
+import org.apache.ozone.erasurecode.rawcoder.RawErasureCoderFactory;
+import org.apache.ozone.erasurecode.rawcoder.RawErasureDecoder;
+import org.apache.ozone.erasurecode.rawcoder.RawErasureEncoder;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures encoding and decoding of one stripe with the raw erasure coders
+ * registered in {@link CodecRegistry}.  The coder is selected by name, so
+ * that the pure Java and native implementations can be compared.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class BenchmarkRawErasureCoder {
+
+  @Param({"rs-3-2-1024k", "rs-6-3-1024k", "rs-10-4-1024k"})
+  private String replication;
+
+  /** The native coder, rs_native, requires ISA-L, e.g. -p coder=rs_java,rs_java_swar,rs_native. */
+  @Param({"rs_java", "rs_java_swar"})
+  private String coder;
+
+  @Param({"true"})
+  private boolean direct;
+
+  /** Number of data units to erase for decoding, at most the number of parity units. */
+  @Param({"1"})
+  private int erasures;
+
+  private RawErasureEncoder encoder;
+  private RawErasureDecoder decoder;
+  private ByteBuffer[] dataUnits;
+  private ByteBuffer[] parityUnits;
+  private ByteBuffer[] decodeInputs;
+  private ByteBuffer[] decodeOutputs;
+  private int[] erasedIndexes;
+
+  @Setup(Level.Trial)
+  public void setup() throws IOException {
+    final ECReplicationConfig config = new ECReplicationConfig(replication);
+    final String codecName = config.getCodec().name().toLowerCase();
+    final RawErasureCoderFactory factory = CodecRegistry.getInstance().getCoderByName(codecName, coder);
+    if (factory == null) {
+      throw new IllegalArgumentException("Coder " + coder + " is not registered for codec " + codecName);
+    }
+    encoder = factory.createEncoder(config);
+    decoder = factory.createDecoder(config);
+
+    final int data = config.getData();
+    final int parity = config.getParity();
+    final int cellSize = config.getEcChunkSize();
+    if (erasures < 1 || erasures > parity) {
+      throw new IllegalArgumentException("erasures = " + erasures + " is out of range [1, " + parity + "]");
+    }
+
+    dataUnits = new ByteBuffer[data];
+    for (int i = 0; i < data; i++) {
+      final byte[] bytes = new byte[cellSize];
+      ThreadLocalRandom.current().nextBytes(bytes);
+      dataUnits[i] = allocate(cellSize);
+      dataUnits[i].put(bytes).flip();
+    }
+    parityUnits = new ByteBuffer[parity];
+    for (int i = 0; i < parity; i++) {
+      parityUnits[i] = allocate(cellSize);
+    }
+    encode();
+
+    // Erase the first data units and read only as many units as required.
+    erasedIndexes = new int[erasures];
+    decodeOutputs = new ByteBuffer[erasures];
+    for (int i = 0; i < erasures; i++) {
+      erasedIndexes[i] = i;
+      decodeOutputs[i] = allocate(cellSize);
+    }
+    decodeInputs = new ByteBuffer[data + parity];
+    for (int i = erasures; i < data; i++) {
+      decodeInputs[i] = dataUnits[i];
+    }
+    for (int i = 0; i < erasures; i++) {
+      decodeInputs[data + i] = parityUnits[i];
+    }
+  }
+
+  @TearDown(Level.Trial)
+  public void tearDown() {
+    encoder.release();
+    decoder.release();
+  }
+
+  private ByteBuffer allocate(int size) {
+    return direct ? ByteBuffer.allocateDirect(size) : ByteBuffer.allocate(size);
+  }
+
+  private static void rewind(ByteBuffer[] buffers) {
+    for (ByteBuffer b : buffers) {
+      if (b != null) {
+        b.rewind();
+      }
+    }
+  }
+
+  private static void clear(ByteBuffer[] buffers) {
+    for (ByteBuffer b : buffers) {
+      b.clear();
+    }
+  }
+
+  @Benchmark
+  public ByteBuffer[] encode() throws IOException {
+    rewind(dataUnits);
+    clear(parityUnits);
+    encoder.encode(dataUnits, parityUnits);
+    return parityUnits;
+  }
+
+  @Benchmark
+  public ByteBuffer[] decode() throws IOException {
+    rewind(decodeInputs);
+    clear(decodeOutputs);
+    decoder.decode(decodeInputs, erasedIndexes, decodeOutputs);
+    return decodeOutputs;
+  }
+}
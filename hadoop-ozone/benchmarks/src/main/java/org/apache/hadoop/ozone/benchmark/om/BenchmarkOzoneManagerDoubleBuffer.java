@@ -0,0 +1,129 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements. See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.hadoop.ozone.benchmark.om;
+
+import static org.apache.hadoop.hdds.HddsConfigKeys.OZONE_METADATA_DIRS;
+
+import java.io.File;
+import java.nio.file.Files;
+import java.util.concurrent.TimeUnit;
+import org.apache.commons.io.FileUtils;
+import org.apache.hadoop.hdds.conf.OzoneConfiguration;
+import org.apache.hadoop.ozone.om.OMMetadataManager;
+import org.apache.hadoop.ozone.om.OmMetadataManagerImpl;
+import org.apache.hadoop.ozone.om.helpers.OmBucketInfo;
+import org.apache.hadoop.ozone.om.ratis.OzoneManagerDoubleBuffer;
+import org.apache.hadoop.ozone.om.response.OMClientResponse;
+import org.apache.hadoop.ozone.om.response.bucket.OMBucketCreateResponse;
+import org.apache.hadoop.ozone.protocol.proto.OzoneManagerProtocolProtos.CreateBucketResponse;
+import org.apache.hadoop.ozone.protocol.proto.OzoneManagerProtocolProtos.OMResponse;
+import org.apache.hadoop.ozone.protocol.proto.OzoneManagerProtocolProtos.Status;
+import org.apache.hadoop.ozone.protocol.proto.OzoneManagerProtocolProtos.Type;
+import org.apache.ratis.server.protocol.TermIndex;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures the end-to-end cost of adding a batch of responses to
+ * {@link OzoneManagerDoubleBuffer} and waiting until the flush thread has
+ * committed them to the OM DB.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+public class BenchmarkOzoneManagerDoubleBuffer {
+
+  private static final String VOLUME = "vol";
+
+  @Param({"1", "100", "1000"})
+  private int batchSize;
+
+  private File metadataDir;
+  private OMMetadataManager omMetadataManager;
+  private OzoneManagerDoubleBuffer doubleBuffer;
+  private OMClientResponse[] responses;
+  private long index;
+
+  @Setup(Level.Trial)
+  public void setup() throws Exception {
+    metadataDir = Files.createTempDirectory("om-double-buffer").toFile();
+    OzoneConfiguration conf = new OzoneConfiguration();
+    conf.set(OZONE_METADATA_DIRS, metadataDir.getAbsolutePath());
+    omMetadataManager = new OmMetadataManagerImpl(conf, null);
+    doubleBuffer = OzoneManagerDoubleBuffer.newBuilder()
+        .setOmMetadataManager(omMetadataManager)
+        .setMaxUnFlushedTransactionCount(Math.max(batchSize, 10000))
+        .setThreadPrefix("benchmark-")
+        .build()
+        .start();
+
+    // Buckets are rewritten in every invocation,
+    // so that the size of the table does not grow with the run time.
+    responses = new OMClientResponse[batchSize];
+    for (int i = 0; i < batchSize; i++) {
+      responses[i] = newBucketCreateResponse("bucket-" + i);
+    }
+  }
+
+  @TearDown(Level.Trial)
+  public void tearDown() throws Exception {
+    if (doubleBuffer != null) {
+      doubleBuffer.stop();
+    }
+    if (omMetadataManager != null) {
+      omMetadataManager.stop();
+    }
+    FileUtils.deleteDirectory(metadataDir);
+  }
+
+  @Benchmark
+  public void addAndFlush() throws InterruptedException {
+    for (OMClientResponse response : responses) {
+      doubleBuffer.add(response, TermIndex.valueOf(1, ++index));
+    }
+    doubleBuffer.awaitFlush();
+  }
+
+  private static OMClientResponse newBucketCreateResponse(String bucket) {
+    OmBucketInfo bucketInfo = OmBucketInfo.newBuilder()
+        .setVolumeName(VOLUME)
+        .setBucketName(bucket)
+        .setCreationTime(System.currentTimeMillis())
+        .build();
+    OMResponse omResponse = OMResponse.newBuilder()
+        .setCmdType(Type.CreateBucket)
+        .setStatus(Status.OK)
+        .setCreateBucketResponse(CreateBucketResponse.getDefaultInstance())
+        .build();
+    return new OMBucketCreateResponse(omResponse, bucketInfo);
+  }
+}
@@ -0,0 +1,98 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements. See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.hadoop.ozone.benchmark.om;
+
+import static org.apache.hadoop.ozone.om.lock.OzoneManagerLock.LeveledResource.BUCKET_LOCK;
+import static org.apache.hadoop.ozone.om.lock.OzoneManagerLock.LeveledResource.VOLUME_LOCK;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import org.apache.hadoop.hdds.conf.OzoneConfiguration;
+import org.apache.hadoop.ozone.om.lock.OzoneManagerLock;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures acquire/release of {@link OzoneManagerLock} for the lock patterns
+ * used by key requests: a volume read lock followed by a bucket lock.
+ * The number of buckets controls the amount of contention between threads.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@Threads(4)
+public class BenchmarkOzoneManagerLock {
+
+  private static final String VOLUME = "vol";
+
+  @Param({"1", "1024"})
+  private int numBuckets;
+
+  private OzoneManagerLock lock;
+  private String[] buckets;
+
+  @Setup(Level.Trial)
+  public void setup() {
+    lock = new OzoneManagerLock(new OzoneConfiguration());
+    buckets = new String[numBuckets];
+    for (int i = 0; i < numBuckets; i++) {
+      buckets[i] = "bucket-" + i;
+    }
+  }
+
+  private String nextBucket() {
+    return buckets[ThreadLocalRandom.current().nextInt(numBuckets)];
+  }
+
+  @Benchmark
+  public void bucketReadLock() {
+    final String bucket = nextBucket();
+    lock.acquireReadLock(BUCKET_LOCK, VOLUME, bucket);
+    lock.releaseReadLock(BUCKET_LOCK, VOLUME, bucket);
+  }
+
+  @Benchmark
+  public void bucketWriteLock() {
+    final String bucket = nextBucket();
+    lock.acquireWriteLock(BUCKET_LOCK, VOLUME, bucket);
+    lock.releaseWriteLock(BUCKET_LOCK, VOLUME, bucket);
+  }
+
+  @Benchmark
+  public void volumeReadThenBucketWriteLock() {
+    final String bucket = nextBucket();
+    lock.acquireReadLock(VOLUME_LOCK, VOLUME);
+    lock.acquireWriteLock(BUCKET_LOCK, VOLUME, bucket);
+    lock.releaseWriteLock(BUCKET_LOCK, VOLUME, bucket);
+    lock.releaseReadLock(VOLUME_LOCK, VOLUME);
+  }
+}
@@ -1030,6 +1030,23 @@ public OzoneFileStatus getFileStatus(String keyName, boolean headOp)
     return proxy.getOzoneFileStatus(volumeName, name, keyName, headOp);
   }
 
+  /**
+   * OzoneFS api to get file statuses for a batch of entries.
+   *
+   * @param keyNames Key names
+   * @param headOp   when true, request a metadata-only (type) check so the OM
+   *                 skips the pipeline refresh and datanode sorting.
+   * @return the file status of each entry in the same order;
+   *         the status is null if the entry does not exist.
+   * @throws OMException if bucket does not exist
+   * @throws IOException if there is error in the db
+   *                     invalid arguments
+   */
+  public List<OzoneFileStatus> getFileStatuses(List<String> keyNames,
+      boolean headOp) throws IOException {
+    return proxy.getOzoneFileStatuses(volumeName, name, keyNames, headOp);
+  }
+
   /**
    * Ozone FS api to create a directory. Parent directories if do not exist
    * are created for the input directory.
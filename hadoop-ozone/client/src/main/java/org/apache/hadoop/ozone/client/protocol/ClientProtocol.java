@@ -20,6 +20,7 @@
 import jakarta.annotation.Nonnull;
 import java.io.IOException;
 import java.net.URI;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
 import org.apache.hadoop.crypto.key.KeyProvider;
@@ -1025,6 +1026,39 @@ default OzoneFileStatus getOzoneFileStatus(String volumeName,
   OzoneFileStatus getOzoneFileStatus(String volumeName, String bucketName,
       String keyName, boolean headOp) throws IOException;
 
+  /**
+   * Get the Ozone File Statuses for a batch of Ozone keys in a bucket.
+   *
+   * @param volumeName volume name.
+   * @param bucketName bucket name.
+   * @param keyNames   key names.
+   * @param headOp     when true, this is a metadata-only (type) check,
+   *                   see {@link #getOzoneFileStatus(String, String, String, boolean)}.
+   * @return the OzoneFileStatus of each key in the same order;
+   *         the status is null if the key does not exist.
+   * @throws OMException if bucket does not exist
+   * @throws IOException if there is error in the db
+   *                     invalid arguments
+   */
+  default List<OzoneFileStatus> getOzoneFileStatuses(String volumeName,
+      String bucketName, List<String> keyNames, boolean headOp)
+      throws IOException {
+    final List<OzoneFileStatus> statuses = new ArrayList<>(keyNames.size());
+    for (String keyName : keyNames) {
+      try {
+        statuses.add(getOzoneFileStatus(volumeName, bucketName, keyName,
+            headOp));
+      } catch (OMException e) {
+        if (e.getResult() != OMException.ResultCodes.FILE_NOT_FOUND
+            && e.getResult() != OMException.ResultCodes.KEY_NOT_FOUND) {
+          throw e;
+        }
+        statuses.add(null);
+      }
+    }
+    return statuses;
+  }
+
   /**
    * Creates directory with keyName as the absolute path for the directory.
    *
@@ -201,8 +201,10 @@ public class RpcClient implements ClientProtocol {
   private static final int EC_RECONSTRUCT_STRIPE_READ_POOL_MIN_SIZE = 3;
 
   private static final int WRITE_POOL_MIN_SIZE = 1;
+  private static final int READ_AHEAD_POOL_MIN_SIZE = 1;
 
   private final ConfigurationSource conf;
+  private final int maxFileStatusesPerRequest;
   private final OzoneManagerClientProtocol ozoneManagerClient;
   private final XceiverClientFactory xceiverClientManager;
   private final UserGroupInformation ugi;
@@ -220,6 +222,7 @@ public class RpcClient implements ClientProtocol {
   private final BlockInputStreamFactory blockInputStreamFactory;
   private final OzoneManagerVersion omVersion;
   private final MemoizedSupplier<ExecutorService> ecReconstructExecutor;
+  private final MemoizedSupplier<ExecutorService> readAheadExecutor;
   private final ContainerClientMetrics.Handle clientMetricsHandle;
   private final ContainerClientMetrics clientMetrics;
   private final MemoizedSupplier<ExecutorService> writeExecutor;
@@ -238,6 +241,7 @@ public RpcClient(ConfigurationSource conf, String omServiceId)
       throws IOException {
     Objects.requireNonNull(conf, "conf == null");
     this.conf = conf;
+    this.maxFileStatusesPerRequest = HddsClientUtils.getListCacheSize(conf);
     this.ugi = UserGroupInformation.getCurrentUser();
     replicationConfigValidator =
         this.conf.getObject(ReplicationConfigValidator.class);
@@ -248,6 +252,8 @@ public RpcClient(ConfigurationSource conf, String omServiceId)
         "ec-reconstruct-reader-TID-%d"));
     this.writeExecutor = MemoizedSupplier.valueOf(() -> createThreadPoolExecutor(
         WRITE_POOL_MIN_SIZE, Integer.MAX_VALUE, "client-write-TID-%d"));
+    this.readAheadExecutor = MemoizedSupplier.valueOf(() -> createThreadPoolExecutor(
+        READ_AHEAD_POOL_MIN_SIZE, Integer.MAX_VALUE, "client-read-ahead-TID-%d"));
 
     OmTransport omTransport = createOmTransport(omServiceId);
     OzoneManagerProtocolClientSideTranslatorPB
@@ -328,7 +334,8 @@ public void onRemoval(
         StorageUnit.GB);
     this.byteBufferPool = new BoundedElasticByteBufferPool(maxPoolSize);
     this.blockInputStreamFactory = BlockInputStreamFactoryImpl
-        .getInstance(byteBufferPool, ecReconstructExecutor);
+        .getInstance(byteBufferPool, ecReconstructExecutor,
+            clientConfig.getReadAheadMaxChunks() > 0 ? readAheadExecutor : null);
     this.clientMetricsHandle = ContainerClientMetrics.acquireHandle();
     this.clientMetrics = clientMetricsHandle.metrics();
 
@@ -1977,6 +1984,7 @@ public void close() throws IOException {
     IOUtils.cleanupWithLogger(LOG,
         () -> shutdownExecutor(ecReconstructExecutor),
         () -> shutdownExecutor(writeExecutor),
+        () -> shutdownExecutor(readAheadExecutor),
         ozoneManagerClient,
         xceiverClientManager,
         () -> {
@@ -2301,6 +2309,44 @@ public OzoneFileStatus getOzoneFileStatus(String volumeName,
     return ozoneManagerClient.getFileStatus(keyArgs);
   }
 
+  @Override
+  public List<OzoneFileStatus> getOzoneFileStatuses(String volumeName,
+      String bucketName, List<String> keyNames, boolean headOp)
+      throws IOException {
+    if (omVersion.compareTo(OzoneManagerVersion.BATCH_GET_FILE_STATUSES) < 0) {
+      return ClientProtocol.super.getOzoneFileStatuses(
+          volumeName, bucketName, keyNames, headOp);
+    }
+
+    final List<OzoneFileStatus> statuses = new ArrayList<>(keyNames.size());
+    while (statuses.size() < keyNames.size()) {
+      final int end = Math.min(keyNames.size(),
+          statuses.size() + maxFileStatusesPerRequest);
+      final List<String> batch = keyNames.subList(statuses.size(), end);
+      final List<OmKeyArgs> keyArgs = new ArrayList<>(batch.size());
+      for (String keyName : batch) {
+        keyArgs.add(new OmKeyArgs.Builder()
+            .setVolumeName(volumeName)
+            .setBucketName(bucketName)
+            .setKeyName(keyName)
+            .setSortDatanodesInPipeline(topologyAwareReadEnabled)
+            .setLatestVersionLocation(getLatestVersionLocation)
+            .setHeadOp(headOp)
+            .build());
+      }
+      // OM may return the statuses of the first keys only,
+      // if there are more keys than its ozone.om.server.list.max.size.
+      final List<OzoneFileStatus> batchStatuses =
+          ozoneManagerClient.getFileStatuses(keyArgs);
+      if (batchStatuses.isEmpty() || batchStatuses.size() > batch.size()) {
+        throw new IOException("Unexpected number of file statuses: "
+            + batchStatuses.size() + " for " + batch.size() + " keys");
+      }
+      statuses.addAll(batchStatuses);
+    }
+    return statuses;
+  }
+
   @Override
   public void createDirectory(String volumeName, String bucketName,
       String keyName) throws IOException {
@@ -228,6 +228,7 @@ public static boolean isReadOnly(OMRequest omRequest) {
     case ListOpenFiles:
     case ListMultiPartUploadParts:
     case GetFileStatus:
+    case GetFileStatuses:
     case LookupFile:
     case ListStatus:
     case ListStatusLight:
@@ -365,6 +366,7 @@ public static boolean shouldSendToFollower(OMRequest omRequest) {
     case ListOpenFiles:
     case ListMultiPartUploadParts:
     case GetFileStatus:
+    case GetFileStatuses:
     case LookupFile:
     case ListStatus:
     case ListStatusLight:
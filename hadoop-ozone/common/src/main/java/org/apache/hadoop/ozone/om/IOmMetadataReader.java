@@ -101,6 +101,21 @@ default List<OzoneFileStatus> listStatus(OmKeyArgs args, boolean recursive,
    */
   OzoneFileStatus getFileStatus(OmKeyArgs keyArgs) throws IOException;
 
+  /**
+   * OzoneFS api to get file statuses for a batch of entries.
+   *
+   * @param keyArgs Key args of the entries, possibly in different buckets
+   * @return the file status of each entry in the same order;
+   *         the status is null if the entry does not exist.
+   *         When there are more entries than the server limit, only the
+   *         statuses of the first entries are returned.
+   * @throws OMException if bucket does not exist
+   * @throws IOException if there is error in the db
+   *                     invalid arguments
+   */
+  List<OzoneFileStatus> getFileStatuses(List<OmKeyArgs> keyArgs)
+      throws IOException;
+
   /**
    * OzoneFS api to lookup for a file.
    *
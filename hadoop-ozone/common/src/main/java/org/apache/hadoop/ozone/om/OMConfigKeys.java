@@ -508,6 +508,15 @@ public final class OMConfigKeys {
       "ozone.om.unflushed.transaction.max.count";
   public static final int OZONE_OM_UNFLUSHED_TRANSACTION_MAX_COUNT_DEFAULT
       = 10000;
+  public static final String OZONE_OM_DOUBLE_BUFFER_MAX_PENDING_FLUSH_BATCHES =
+      "ozone.om.double.buffer.max.pending.flush.batches";
+  public static final int OZONE_OM_DOUBLE_BUFFER_MAX_PENDING_FLUSH_BATCHES_DEFAULT = 1;
+  public static final String OZONE_OM_APPLY_TRANSACTION_THREADS =
+      "ozone.om.apply.transaction.threads";
+  public static final int OZONE_OM_APPLY_TRANSACTION_THREADS_DEFAULT = 1;
+  public static final String OZONE_OM_OPTIMISTIC_READ_ENABLED =
+      "ozone.om.optimistic.read.enabled";
+  public static final boolean OZONE_OM_OPTIMISTIC_READ_ENABLED_DEFAULT = false;
 
   /**
    * This configuration shall be enabled to utilize the functionality of the
@@ -574,6 +583,19 @@ public final class OMConfigKeys {
   public static final TimeDuration OZONE_OM_CONTAINER_LOCATION_CACHE_TTL_DEFAULT
       = TimeDuration.valueOf(360, TimeUnit.MINUTES);
 
+  public static final String OZONE_OM_BLOCK_PREFETCH_ENABLED
+      = "ozone.om.block.prefetch.enabled";
+  public static final boolean OZONE_OM_BLOCK_PREFETCH_ENABLED_DEFAULT = false;
+
+  public static final String OZONE_OM_BLOCK_PREFETCH_MAX_BLOCKS
+      = "ozone.om.block.prefetch.max.blocks";
+  public static final int OZONE_OM_BLOCK_PREFETCH_MAX_BLOCKS_DEFAULT = 64;
+
+  public static final String OZONE_OM_BLOCK_PREFETCH_LEASE
+      = "ozone.om.block.prefetch.lease";
+  public static final TimeDuration OZONE_OM_BLOCK_PREFETCH_LEASE_DEFAULT
+      = TimeDuration.valueOf(5, TimeUnit.MINUTES);
+
   public static final String OZONE_OM_ENABLE_OFS_SHARED_TMP_DIR
       = "ozone.om.enable.ofs.shared.tmp.dir";
   public static final boolean OZONE_OM_ENABLE_OFS_SHARED_TMP_DIR_DEFAULT
@@ -66,7 +66,8 @@ public class OmConfig extends ReconfigurableConfig {
   @Config(
       key = "ozone.om.server.list.max.size",
       defaultValue = "1000",
-      description = "Configuration property to configure the max server side response size for list calls on om.",
+      description = "Configuration property to configure the max server side response size for list calls on om." +
+          " It also limits the number of file statuses returned by a getFileStatuses call.",
       reconfigurable = true,
       tags = { ConfigTag.OM, ConfigTag.OZONE }
   )
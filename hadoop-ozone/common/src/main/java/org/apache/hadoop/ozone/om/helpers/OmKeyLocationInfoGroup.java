@@ -35,7 +35,10 @@ public class OmKeyLocationInfoGroup {
   private final long version;
   // TODO: HDDS-5472 Store one version of locationInfo for each
   //   OmKeyLocationInfoGroup
-  private final Map<Long, List<OmKeyLocationInfo>> locationVersionMap;
+  /** The locations; null if they are not yet decoded from {@link #proto}. */
+  private volatile Map<Long, List<OmKeyLocationInfo>> locationVersionMap;
+  /** The protobuf to decode the locations lazily; null if they are already decoded. */
+  private KeyLocationList proto;
   private  boolean isMultipartKey;
 
   public OmKeyLocationInfoGroup(long version,
@@ -46,14 +49,14 @@ public OmKeyLocationInfoGroup(long version,
   public OmKeyLocationInfoGroup(long version,
       List<OmKeyLocationInfo> locations, boolean isMultipartKey) {
     this.version = version;
-    locationVersionMap = new HashMap<>();
+    final Map<Long, List<OmKeyLocationInfo>> map = new HashMap<>();
     for (OmKeyLocationInfo info : locations) {
-      locationVersionMap
-          .computeIfAbsent(info.getCreateVersion(), v -> new ArrayList<>())
+      map.computeIfAbsent(info.getCreateVersion(), v -> new ArrayList<>())
           .add(info);
     }
     //prevent NPE
-    this.locationVersionMap.putIfAbsent(version, new ArrayList<>());
+    map.putIfAbsent(version, new ArrayList<>());
+    this.locationVersionMap = map;
     this.isMultipartKey = isMultipartKey;
 
   }
@@ -66,12 +69,18 @@ public OmKeyLocationInfoGroup(long version,
   public OmKeyLocationInfoGroup(long version,
       Map<Long, List<OmKeyLocationInfo>> locations, boolean isMultipartKey) {
     this.version = version;
-    this.locationVersionMap = locations;
     //prevent NPE
-    this.locationVersionMap.putIfAbsent(version, new ArrayList<>());
+    locations.putIfAbsent(version, new ArrayList<>());
+    this.locationVersionMap = locations;
     this.isMultipartKey = isMultipartKey;
   }
 
+  private OmKeyLocationInfoGroup(KeyLocationList proto) {
+    this.version = proto.getVersion();
+    this.proto = proto;
+    this.isMultipartKey = proto.getIsMultipartKey();
+  }
+
   public void setMultipartKey(boolean isMpu) {
     this.isMultipartKey = isMpu;
   }
@@ -84,7 +93,7 @@ public boolean isMultipartKey() {
    * @return Raw internal locationVersionMap.
    */
   public Map<Long, List<OmKeyLocationInfo>> getLocationVersionMap() {
-    return locationVersionMap;
+    return locations();
   }
 
   /**
@@ -93,7 +102,7 @@ public Map<Long, List<OmKeyLocationInfo>> getLocationVersionMap() {
    * @return the list of blocks that are created in the latest version.
    */
   public List<OmKeyLocationInfo> getBlocksLatestVersionOnly() {
-    return new ArrayList<>(locationVersionMap.get(version));
+    return new ArrayList<>(locations().get(version));
   }
 
   public long getVersion() {
@@ -107,21 +116,21 @@ public long getVersion() {
    * @return a list of OmKeyLocationInfo
    */
   public List<OmKeyLocationInfo> getLocationList() {
-    return locationVersionMap.values().stream().flatMap(List::stream)
+    return locations().values().stream().flatMap(List::stream)
         .collect(Collectors.toList());
   }
 
   public Collection<List<OmKeyLocationInfo>> getLocationLists() {
-    return locationVersionMap.values();
+    return locations().values();
   }
 
   public long getLocationListCount() {
-    return locationVersionMap.values().stream().mapToLong(List::size).sum();
+    return locations().values().stream().mapToLong(List::size).sum();
   }
 
   @Deprecated
   public List<OmKeyLocationInfo> getLocationList(Long versionToFetch) {
-    return new ArrayList<>(locationVersionMap.get(versionToFetch));
+    return new ArrayList<>(locations().get(versionToFetch));
   }
 
   public KeyLocationList getProtobuf(boolean ignorePipeline,
@@ -130,7 +139,7 @@ public KeyLocationList getProtobuf(boolean ignorePipeline,
         .setVersion(version).setIsMultipartKey(isMultipartKey);
     List<OzoneManagerProtocolProtos.KeyLocation> keyLocationList =
         new ArrayList<>();
-    for (List<OmKeyLocationInfo> locationList : locationVersionMap.values()) {
+    for (List<OmKeyLocationInfo> locationList : locations().values()) {
       for (OmKeyLocationInfo keyInfo : locationList) {
         keyLocationList.add(keyInfo.getProtobuf(ignorePipeline, clientVersion));
       }
@@ -138,16 +147,40 @@ public KeyLocationList getProtobuf(boolean ignorePipeline,
     return  builder.addAllKeyLocations(keyLocationList).build();
   }
 
+  /**
+   * The returned object decodes the locations from the given protobuf lazily,
+   * i.e. only when the locations are accessed.
+   * It avoids decoding the locations of the keys, e.g. in listing,
+   * when only the other fields are used.
+   */
   public static OmKeyLocationInfoGroup getFromProtobuf(
       KeyLocationList keyLocationList) {
-    return new OmKeyLocationInfoGroup(
-        keyLocationList.getVersion(),
-        keyLocationList.getKeyLocationsList().stream()
-            .map(OmKeyLocationInfo::getFromProtobuf)
-            .collect(Collectors.groupingBy(
-                OmKeyLocationInfo::getCreateVersion)),
-        keyLocationList.getIsMultipartKey()
-    );
+    return new OmKeyLocationInfoGroup(keyLocationList);
+  }
+
+  private static Map<Long, List<OmKeyLocationInfo>> decodeLocations(
+      KeyLocationList keyLocationList) {
+    return keyLocationList.getKeyLocationsList().stream()
+        .map(OmKeyLocationInfo::getFromProtobuf)
+        .collect(Collectors.groupingBy(OmKeyLocationInfo::getCreateVersion));
+  }
+
+  /** @return the locations; decode them from {@link #proto} if necessary. */
+  private Map<Long, List<OmKeyLocationInfo>> locations() {
+    Map<Long, List<OmKeyLocationInfo>> map = locationVersionMap;
+    if (map == null) {
+      synchronized (this) {
+        map = locationVersionMap;
+        if (map == null) {
+          map = decodeLocations(proto);
+          //prevent NPE
+          map.putIfAbsent(version, new ArrayList<>());
+          locationVersionMap = map;
+          proto = null;
+        }
+      }
+    }
+    return map;
   }
 
   /**
@@ -165,7 +198,7 @@ OmKeyLocationInfoGroup generateNextVersion(
   }
 
   void appendNewBlocks(List<OmKeyLocationInfo> newLocationList) {
-    List<OmKeyLocationInfo> locationList = locationVersionMap.get(version);
+    List<OmKeyLocationInfo> locationList = locations().get(version);
     for (OmKeyLocationInfo info : newLocationList) {
       info.setCreateVersion(version);
       locationList.add(info);
@@ -173,12 +206,12 @@ void appendNewBlocks(List<OmKeyLocationInfo> newLocationList) {
   }
 
   void removeBlocks(long versionToRemove) {
-    locationVersionMap.remove(versionToRemove);
+    locations().remove(versionToRemove);
   }
 
   void addAll(long versionToAdd, List<OmKeyLocationInfo> locationInfoList) {
-    locationVersionMap.putIfAbsent(versionToAdd, new ArrayList<>());
-    List<OmKeyLocationInfo> list = locationVersionMap.get(versionToAdd);
+    locations().putIfAbsent(versionToAdd, new ArrayList<>());
+    List<OmKeyLocationInfo> list = locations().get(versionToAdd);
     list.addAll(locationInfoList);
   }
 
@@ -187,7 +220,7 @@ public String toString() {
     StringBuilder sb = new StringBuilder();
     sb.append("version:").append(version).append(' ')
         .append("isMultipartKey:").append(isMultipartKey).append(' ');
-    for (List<OmKeyLocationInfo> kliList : locationVersionMap.values()) {
+    for (List<OmKeyLocationInfo> kliList : locations().values()) {
       for (OmKeyLocationInfo kli: kliList) {
         sb.append("conID ").append(kli.getContainerID())
             .append(' ')
@@ -210,11 +243,11 @@ public boolean equals(Object o) {
     }
     OmKeyLocationInfoGroup that = (OmKeyLocationInfoGroup) o;
     return version == that.version && isMultipartKey == that.isMultipartKey
-        && Objects.equal(locationVersionMap, that.locationVersionMap);
+        && Objects.equal(locations(), that.locations());
   }
 
   @Override
   public int hashCode() {
-    return Objects.hashCode(version, locationVersionMap, isMultipartKey);
+    return Objects.hashCode(version, locations(), isMultipartKey);
   }
 }
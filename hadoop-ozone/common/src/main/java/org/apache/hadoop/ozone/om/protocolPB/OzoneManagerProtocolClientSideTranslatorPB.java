@@ -131,6 +131,7 @@
 import org.apache.hadoop.ozone.protocol.proto.OzoneManagerProtocolProtos.DeleteVolumeRequest;
 import org.apache.hadoop.ozone.protocol.proto.OzoneManagerProtocolProtos.EchoRPCRequest;
 import org.apache.hadoop.ozone.protocol.proto.OzoneManagerProtocolProtos.EchoRPCResponse;
+import org.apache.hadoop.ozone.protocol.proto.OzoneManagerProtocolProtos.FileStatusResult;
 import org.apache.hadoop.ozone.protocol.proto.OzoneManagerProtocolProtos.FinalizeUpgradeProgressRequest;
 import org.apache.hadoop.ozone.protocol.proto.OzoneManagerProtocolProtos.FinalizeUpgradeProgressResponse;
 import org.apache.hadoop.ozone.protocol.proto.OzoneManagerProtocolProtos.FinalizeUpgradeRequest;
@@ -142,6 +143,8 @@
 import org.apache.hadoop.ozone.protocol.proto.OzoneManagerProtocolProtos.GetDelegationTokenResponseProto;
 import org.apache.hadoop.ozone.protocol.proto.OzoneManagerProtocolProtos.GetFileStatusRequest;
 import org.apache.hadoop.ozone.protocol.proto.OzoneManagerProtocolProtos.GetFileStatusResponse;
+import org.apache.hadoop.ozone.protocol.proto.OzoneManagerProtocolProtos.GetFileStatusesRequest;
+import org.apache.hadoop.ozone.protocol.proto.OzoneManagerProtocolProtos.GetFileStatusesResponse;
 import org.apache.hadoop.ozone.protocol.proto.OzoneManagerProtocolProtos.GetKeyInfoRequest;
 import org.apache.hadoop.ozone.protocol.proto.OzoneManagerProtocolProtos.GetKeyInfoResponse;
 import org.apache.hadoop.ozone.protocol.proto.OzoneManagerProtocolProtos.GetObjectTaggingRequest;
@@ -2225,6 +2228,34 @@ public OzoneFileStatus getFileStatus(OmKeyArgs args) throws IOException {
     return OzoneFileStatus.getFromProtobuf(resp.getStatus());
   }
 
+  @Override
+  public List<OzoneFileStatus> getFileStatuses(List<OmKeyArgs> args)
+      throws IOException {
+    GetFileStatusesRequest.Builder req = GetFileStatusesRequest.newBuilder();
+    for (OmKeyArgs arg : args) {
+      req.addKeyArgs(KeyArgs.newBuilder()
+          .setVolumeName(arg.getVolumeName())
+          .setBucketName(arg.getBucketName())
+          .setKeyName(arg.getKeyName())
+          .setSortDatanodes(arg.getSortDatanodes())
+          .setLatestVersionLocation(arg.getLatestVersionLocation())
+          .setHeadOp(arg.isHeadOp()));
+    }
+
+    OMRequest omRequest = createOMRequest(Type.GetFileStatuses)
+        .setGetFileStatusesRequest(req)
+        .build();
+
+    final GetFileStatusesResponse resp = handleError(submitRequest(omRequest))
+        .getGetFileStatusesResponse();
+    List<OzoneFileStatus> statuses = new ArrayList<>(resp.getResultsCount());
+    for (FileStatusResult result : resp.getResultsList()) {
+      statuses.add(result.hasStatus()
+          ? OzoneFileStatus.getFromProtobuf(result.getStatus()) : null);
+    }
+    return statuses;
+  }
+
   @Override
   public void createDirectory(OmKeyArgs args) throws IOException {
     KeyArgs.Builder keyArgsBuilder = KeyArgs.newBuilder()
@@ -22,6 +22,9 @@
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.List;
+import org.apache.hadoop.hdds.client.BlockID;
+import org.apache.hadoop.ozone.ClientVersion;
+import org.apache.hadoop.ozone.protocol.proto.OzoneManagerProtocolProtos.KeyLocationList;
 import org.junit.jupiter.api.Test;
 
 /**
@@ -58,6 +61,32 @@ public void testGenerateNextVersion() {
 
   }
 
+  @Test
+  public void testGetFromProtobuf() {
+    final OmKeyLocationInfoGroup expected = createTestInstance();
+    final KeyLocationList proto = expected.getProtobuf(true, ClientVersion.CURRENT_VERSION);
+
+    // the locations are decoded lazily
+    final OmKeyLocationInfoGroup decoded = OmKeyLocationInfoGroup.getFromProtobuf(proto);
+    assertEquals(expected.getVersion(), decoded.getVersion());
+    assertEquals(expected.isMultipartKey(), decoded.isMultipartKey());
+    assertEquals(proto, decoded.getProtobuf(true, ClientVersion.CURRENT_VERSION));
+    assertEquals(3, decoded.getLocationListCount());
+    assertEquals(1, decoded.getBlocksLatestVersionOnly().size());
+    assertEquals(2, decoded.getLocationList(1L).size());
+
+    // the decoded locations are mutable
+    final OmKeyLocationInfoGroup mutated = OmKeyLocationInfoGroup.getFromProtobuf(proto);
+    mutated.appendNewBlocks(createLocationList());
+    assertEquals(4, mutated.getLocationListCount());
+    assertEquals(2, mutated.getBlocksLatestVersionOnly().size());
+
+    // an empty group has an empty list for its version
+    final OmKeyLocationInfoGroup empty = OmKeyLocationInfoGroup.getFromProtobuf(
+        KeyLocationList.newBuilder().setVersion(5).build());
+    assertEquals(0, empty.getBlocksLatestVersionOnly().size());
+  }
+
   private List<OmKeyLocationInfo> createLocationList() {
     OmKeyLocationInfo info = new OmKeyLocationInfo.Builder().build();
     List<OmKeyLocationInfo> locationInfoList = new ArrayList<>();
@@ -66,11 +95,14 @@ private List<OmKeyLocationInfo> createLocationList() {
   }
 
   private OmKeyLocationInfoGroup createTestInstance() {
-    OmKeyLocationInfo info1 = new OmKeyLocationInfo.Builder().build();
+    OmKeyLocationInfo info1 = new OmKeyLocationInfo.Builder()
+        .setBlockID(new BlockID(1, 1)).build();
     info1.setCreateVersion(1);
-    OmKeyLocationInfo info2 = new OmKeyLocationInfo.Builder().build();
+    OmKeyLocationInfo info2 = new OmKeyLocationInfo.Builder()
+        .setBlockID(new BlockID(1, 2)).build();
     info2.setCreateVersion(1);
-    OmKeyLocationInfo info3 = new OmKeyLocationInfo.Builder().build();
+    OmKeyLocationInfo info3 = new OmKeyLocationInfo.Builder()
+        .setBlockID(new BlockID(1, 3)).build();
     info3.setCreateVersion(2);
     List<OmKeyLocationInfo> locationInfoList = new ArrayList<>();
     locationInfoList.add(info1);
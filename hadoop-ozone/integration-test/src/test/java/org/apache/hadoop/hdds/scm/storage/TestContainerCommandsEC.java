@@ -801,6 +801,16 @@ private void testECReconstructionCoordinator(List<Integer> missingIndexes,
           i++;
         }
         assertEquals(1L, metrics.getReconstructionTotal());
+        if (!triggerRetry) {
+          // The single block group has ceil(numInputChunks / 3) stripes,
+          // which are reconstructed unless only empty data indexes are missing.
+          final int dataLocs = Math.min(numInputChunks, 3);
+          final boolean reconstructed = missingIndexes.stream()
+              .anyMatch(index -> index <= dataLocs || index > 3);
+          assertEquals(reconstructed ? (numInputChunks + 2) / 3 : 0,
+              metrics.getReconstructedStripesTotal());
+          assertEquals(reconstructed, metrics.getReconstructedBytesTotal() > 0);
+        }
       }
     }
   }
@@ -19,6 +19,7 @@
 
 import static org.apache.hadoop.hdds.HddsConfigKeys.HDDS_SCM_WAIT_TIME_AFTER_SAFE_MODE_EXIT;
 import static org.apache.hadoop.hdds.scm.ScmConfigKeys.OZONE_SCM_HEARTBEAT_PROCESS_INTERVAL;
+import static org.apache.hadoop.hdds.upgrade.HDDSLayoutVersionManager.maxLayoutVersion;
 import static org.apache.hadoop.ozone.OzoneConfigKeys.OZONE_BLOCK_DELETING_SERVICE_INTERVAL;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
@@ -183,7 +184,7 @@ public void testDataDistributionUpgradeScenario() throws Exception {
     HddsUpgradeTestUtils.waitForFinalizationFromClient(scmClient, CLIENT_ID);
 
     // Verify finalization completed
-    assertEquals(HDDSLayoutFeature.STORAGE_SPACE_DISTRIBUTION.layoutVersion(),
+    assertEquals(maxLayoutVersion(),
         cluster.getStorageContainerManager().getLayoutVersionManager().getMetadataLayoutVersion());
 
     // Create more data and deletions to test post-finalization behavior
@@ -228,7 +229,7 @@ public void testMissingPendingDeleteMetadataRecalculation() throws Exception {
     finalizationFuture.get();
     HddsUpgradeTestUtils.waitForFinalizationFromClient(scmClient, CLIENT_ID);
 
-    assertEquals(HDDSLayoutFeature.STORAGE_SPACE_DISTRIBUTION.layoutVersion(),
+    assertEquals(maxLayoutVersion(),
         cluster.getStorageContainerManager().getLayoutVersionManager().getMetadataLayoutVersion());
 
     // Verify the system can handle scenarios where pendingDeleteBlockCount
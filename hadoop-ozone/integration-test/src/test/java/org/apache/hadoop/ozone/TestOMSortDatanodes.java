@@ -29,12 +29,14 @@
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
+import java.util.stream.Collectors;
 import org.apache.hadoop.hdds.HddsConfigKeys;
 import org.apache.hadoop.hdds.conf.OzoneConfiguration;
 import org.apache.hadoop.hdds.protocol.DatanodeDetails;
 import org.apache.hadoop.hdds.scm.HddsTestUtils;
 import org.apache.hadoop.hdds.scm.ha.SCMContext;
 import org.apache.hadoop.hdds.scm.ha.SCMHAManagerStub;
+import org.apache.hadoop.hdds.scm.net.NetworkTopology;
 import org.apache.hadoop.hdds.scm.node.NodeManager;
 import org.apache.hadoop.hdds.scm.protocol.StorageContainerLocationProtocol;
 import org.apache.hadoop.hdds.scm.server.SCMConfigurator;
@@ -134,6 +136,26 @@ public void sortDatanodesRelativeToDatanode() {
     }
   }
 
+  @Test
+  public void sortDatanodesFromProtobuf() {
+    // As the datanodes in the pipelines, which are not in the cluster map.
+    List<DatanodeDetails> nodes = nodeManager.getAllNodes().stream()
+        .map(dn -> DatanodeDetails.getFromProtoBuf(dn.getProtoBufMessage()))
+        .collect(Collectors.toList());
+    NetworkTopology clusterMap = om.getClusterMap();
+    for (DatanodeDetails dn : nodes) {
+      for (DatanodeDetails other : nodes) {
+        assertNotEquals(Integer.MAX_VALUE,
+            clusterMap.getDistanceCost(dn, other));
+      }
+      List<? extends DatanodeDetails> sorted =
+          keyManager.sortDatanodes(nodes, nodeAddress(dn));
+      assertEquals(dn, sorted.get(0),
+          "Source node should be sorted very first");
+      assertRackOrder(dn.getNetworkLocation(), sorted);
+    }
+  }
+
   @Test
   public void sortDatanodesRelativeToNonDatanode() {
     for (Map.Entry<String, String> entry : EDGE_NODES.entrySet()) {
@@ -58,6 +58,21 @@ OMLockDetails releaseReadLock(Resource resource,
   OMLockDetails releaseReadLocks(Resource resource,
                                 Collection<String[]> resources);
 
+  /**
+   * Start an optimistic read of the resource without acquiring the read lock.
+   * The values read must be validated by {@link #validateOptimisticRead}
+   * before they are used.
+   *
+   * @return a non-zero stamp; or 0 if the resource is currently write-locked.
+   */
+  long tryOptimisticRead(Resource resource, String... resources);
+
+  /**
+   * @return true if the resource has not been write-locked
+   *         since the given stamp was returned by {@link #tryOptimisticRead}.
+   */
+  boolean validateOptimisticRead(long stamp, Resource resource, String... resources);
+
   @VisibleForTesting
   int getReadHoldCount(Resource resource,
       String... resources);
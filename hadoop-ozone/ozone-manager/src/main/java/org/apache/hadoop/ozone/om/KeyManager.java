@@ -23,6 +23,7 @@
 import java.util.List;
 import java.util.Map;
 import org.apache.hadoop.hdds.conf.OzoneConfiguration;
+import org.apache.hadoop.hdds.protocol.DatanodeDetails;
 import org.apache.hadoop.hdds.utils.BackgroundService;
 import org.apache.hadoop.hdds.utils.db.Table;
 import org.apache.hadoop.hdds.utils.db.TableIterator;
@@ -363,4 +364,13 @@ DeleteKeysResult getPendingDeletionSubFiles(long volumeId, long bucketId, OmKeyI
    * @return BackgroundService
    */
   CompactionService getCompactionService();
+
+  /**
+   * Sort the given datanodes by their distance to the given client.
+   * @param nodes the datanodes to sort
+   * @param clientMachine the hostname or IP address of the client
+   * @return the sorted datanodes
+   */
+  List<? extends DatanodeDetails> sortDatanodes(
+      List<? extends DatanodeDetails> nodes, String clientMachine);
 }
@@ -58,6 +58,8 @@
 import static org.apache.hadoop.ozone.om.OMConfigKeys.OZONE_OM_OPEN_KEY_CLEANUP_SERVICE_INTERVAL_DEFAULT;
 import static org.apache.hadoop.ozone.om.OMConfigKeys.OZONE_OM_OPEN_KEY_CLEANUP_SERVICE_TIMEOUT;
 import static org.apache.hadoop.ozone.om.OMConfigKeys.OZONE_OM_OPEN_KEY_CLEANUP_SERVICE_TIMEOUT_DEFAULT;
+import static org.apache.hadoop.ozone.om.OMConfigKeys.OZONE_OM_OPTIMISTIC_READ_ENABLED;
+import static org.apache.hadoop.ozone.om.OMConfigKeys.OZONE_OM_OPTIMISTIC_READ_ENABLED_DEFAULT;
 import static org.apache.hadoop.ozone.om.OMConfigKeys.OZONE_SNAPSHOT_DEEP_CLEANING_ENABLED;
 import static org.apache.hadoop.ozone.om.OMConfigKeys.OZONE_SNAPSHOT_DEEP_CLEANING_ENABLED_DEFAULT;
 import static org.apache.hadoop.ozone.om.OMConfigKeys.OZONE_SNAPSHOT_DEFRAG_SERVICE_INTERVAL;
@@ -169,6 +171,7 @@
 import org.apache.hadoop.ozone.om.helpers.QuotaUtil;
 import org.apache.hadoop.ozone.om.helpers.RepeatedOmKeyInfo;
 import org.apache.hadoop.ozone.om.helpers.WithParentObjectId;
+import org.apache.hadoop.ozone.om.lock.IOzoneManagerLock;
 import org.apache.hadoop.ozone.om.request.OMClientRequest;
 import org.apache.hadoop.ozone.om.request.file.OMFileRequest;
 import org.apache.hadoop.ozone.om.request.key.OMKeyRequest;
@@ -189,6 +192,7 @@
 import org.apache.hadoop.util.ReflectionUtils;
 import org.apache.hadoop.util.Time;
 import org.apache.ratis.util.function.CheckedFunction;
+import org.apache.ratis.util.function.CheckedSupplier;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -208,6 +212,8 @@ public class KeyManagerImpl implements KeyManager {
   private final long scmBlockSize;
   private final OzoneBlockTokenSecretManager secretManager;
   private final boolean grpcBlockTokenEnabled;
+  private final boolean optimisticReadEnabled;
+  private final boolean useHostname;
 
   private KeyDeletingService keyDeletingService;
 
@@ -241,6 +247,12 @@ public KeyManagerImpl(OzoneManager om, ScmClient scmClient,
     this.grpcBlockTokenEnabled = conf.getBoolean(
         HDDS_BLOCK_TOKEN_ENABLED,
         HDDS_BLOCK_TOKEN_ENABLED_DEFAULT);
+    this.optimisticReadEnabled = conf.getBoolean(
+        OZONE_OM_OPTIMISTIC_READ_ENABLED,
+        OZONE_OM_OPTIMISTIC_READ_ENABLED_DEFAULT);
+    this.useHostname = conf.getBoolean(
+        HddsConfigKeys.HDDS_DATANODE_USE_DN_HOSTNAME,
+        HddsConfigKeys.HDDS_DATANODE_USE_DN_HOSTNAME_DEFAULT);
 
     this.ozoneManager = om;
     this.scmClient = scmClient;
@@ -587,30 +599,67 @@ public OmKeyInfo lookupKey(OmKeyArgs args, ResolvedBucket bucket,
     return value;
   }
 
+  /**
+   * Read with the bucket read lock.  When optimistic read is enabled,
+   * first try reading without the lock and
+   * fall back to locking if the bucket was write-locked during the read.
+   */
+  private <T> T readWithBucketLock(String volumeName, String bucketName,
+      CheckedSupplier<T, IOException> reader) throws IOException {
+    final IOzoneManagerLock lock = metadataManager.getLock();
+    if (optimisticReadEnabled) {
+      final long stamp = lock.tryOptimisticRead(BUCKET_LOCK, volumeName, bucketName);
+      if (stamp != 0) {
+        try {
+          final T value = reader.get();
+          if (lock.validateOptimisticRead(stamp, BUCKET_LOCK, volumeName, bucketName)) {
+            metrics.incOptimisticReadHits();
+            return value;
+          }
+        } catch (IOException | RuntimeException e) {
+          if (lock.validateOptimisticRead(stamp, BUCKET_LOCK, volumeName, bucketName)) {
+            metrics.incOptimisticReadHits();
+            throw e;
+          }
+          LOG.debug("Optimistic read failed for /{}/{}, retry with lock", volumeName, bucketName, e);
+        }
+      }
+      metrics.incOptimisticReadMisses();
+    }
+
+    lock.acquireReadLock(BUCKET_LOCK, volumeName, bucketName);
+    try {
+      return reader.get();
+    } finally {
+      lock.releaseReadLock(BUCKET_LOCK, volumeName, bucketName);
+    }
+  }
+
   private OmKeyInfo readKeyInfo(OmKeyArgs args, BucketLayout bucketLayout)
       throws IOException {
     String volumeName = args.getVolumeName();
     String bucketName = args.getBucketName();
     String keyName = args.getKeyName();
-    OmKeyInfo value = null;
+    final OmKeyInfo value;
 
-    metadataManager.getLock().acquireReadLock(BUCKET_LOCK, volumeName,
-        bucketName);
     try {
       keyName = OMClientRequest
           .validateAndNormalizeKey(ozoneManager.getEnableFileSystemPaths(), keyName,
               bucketLayout);
 
-      if (bucketLayout.isFileSystemOptimized()) {
-        value = getOmKeyInfoFSO(volumeName, bucketName, keyName);
-      } else {
-        value = getOmKeyInfo(volumeName, bucketName, keyName, bucketLayout);
-        if (value != null) {
+      final String normalizedKeyName = keyName;
+      value = readWithBucketLock(volumeName, bucketName, () -> {
+        if (bucketLayout.isFileSystemOptimized()) {
+          return getOmKeyInfoFSO(volumeName, bucketName, normalizedKeyName);
+        }
+        final OmKeyInfo info = getOmKeyInfo(volumeName, bucketName, normalizedKeyName, bucketLayout);
+        if (info != null) {
           // For Legacy & OBS buckets, any key is a file by default. This is to
           // keep getKeyInfo compatible with OFS clients.
-          value.setFile(true);
+          info.setFile(true);
         }
-      }
+        return info;
+      });
     } catch (IOException ex) {
       if (ex instanceof OMException) {
         throw ex;
@@ -619,9 +668,6 @@ private OmKeyInfo readKeyInfo(OmKeyArgs args, BucketLayout bucketLayout)
           format("Error reading key metadata: /%s/%s/%s",
               volumeName, bucketName, keyName),
           ex, INTERNAL_ERROR);
-    } finally {
-      metadataManager.getLock().releaseReadLock(BUCKET_LOCK, volumeName,
-          bucketName);
     }
 
     if (value == null) {
@@ -1558,6 +1604,57 @@ public OzoneFileStatus getFileStatus(OmKeyArgs args, String clientAddress)
     return getOzoneFileStatus(args, clientAddress);
   }
 
+  @Override
+  public List<OzoneFileStatus> getFileStatuses(List<OmKeyArgs> args,
+      String clientAddress) throws IOException {
+    Objects.requireNonNull(args, "Key args can not be null");
+    if (args.isEmpty()) {
+      return Collections.emptyList();
+    }
+    final String volumeName = args.get(0).getVolumeName();
+    final String bucketName = args.get(0).getBucketName();
+    for (OmKeyArgs keyArgs : args) {
+      Preconditions.checkArgument(volumeName.equals(keyArgs.getVolumeName())
+              && bucketName.equals(keyArgs.getBucketName()),
+          "All the keys must be in bucket /%s/%s", volumeName, bucketName);
+    }
+
+    final boolean isFSO = isBucketFSOptimized(volumeName, bucketName);
+    final List<OzoneFileStatus> fileStatuses = readWithBucketLock(volumeName, bucketName, () -> {
+      final List<OzoneFileStatus> statuses = new ArrayList<>(args.size());
+      for (OmKeyArgs keyArgs : args) {
+        final String keyName = keyArgs.getKeyName();
+        statuses.add(isFSO ? readOzoneFileStatusFSO(volumeName, bucketName, keyName)
+            : readOzoneFileStatus(volumeName, bucketName, keyName));
+      }
+      return statuses;
+    });
+
+    // Refresh the pipelines of all the files with a single SCM call.
+    final List<OmKeyInfo> refreshKeys = new ArrayList<>();
+    final List<OmKeyInfo> sortKeys = new ArrayList<>();
+    for (int i = 0; i < fileStatuses.size(); i++) {
+      final OzoneFileStatus fileStatus = fileStatuses.get(i);
+      if (fileStatus == null || !fileStatus.isFile()) {
+        continue;
+      }
+      final OmKeyArgs keyArgs = args.get(i);
+      final OmKeyInfo fileKeyInfo = fileStatus.getKeyInfo();
+      if (keyArgs.getLatestVersionLocation()) {
+        slimLocationVersion(fileKeyInfo);
+      }
+      if (!keyArgs.isHeadOp()) {
+        refreshKeys.add(fileKeyInfo);
+        if (keyArgs.getSortDatanodes()) {
+          sortKeys.add(fileKeyInfo);
+        }
+      }
+    }
+    refreshPipeline(refreshKeys);
+    sortDatanodes(clientAddress, sortKeys);
+    return fileStatuses;
+  }
+
   private OzoneFileStatus getOzoneFileStatus(OmKeyArgs args,
       String clientAddress) throws IOException {
 
@@ -1566,42 +1663,14 @@ private OzoneFileStatus getOzoneFileStatus(OmKeyArgs args,
     final String bucketName = args.getBucketName();
     final String keyName = args.getKeyName();
 
-    OmKeyInfo fileKeyInfo = null;
-    OmKeyInfo dirKeyInfo = null;
-    OmKeyInfo fakeDirKeyInfo = null;
-    metadataManager.getLock().acquireReadLock(BUCKET_LOCK, volumeName,
-        bucketName);
-    try {
-      // Check if this is the root of the filesystem.
-      if (keyName.isEmpty()) {
-        OMFileRequest.validateBucket(metadataManager, volumeName, bucketName);
-        return new OzoneFileStatus();
-      }
+    final OzoneFileStatus fileStatus = readWithBucketLock(volumeName, bucketName,
+        () -> readOzoneFileStatus(volumeName, bucketName, keyName));
 
-      // Check if the key is a file.
-      String fileKeyBytes = metadataManager.getOzoneKey(
-              volumeName, bucketName, keyName);
-      BucketLayout layout =
-          getBucketLayout(metadataManager, volumeName, bucketName);
-      fileKeyInfo = metadataManager.getKeyTable(layout).get(fileKeyBytes);
-      String dirKey = OzoneFSUtils.addTrailingSlashIfNeeded(keyName);
-
-      // Check if the key is a directory.
-      if (fileKeyInfo == null) {
-        String dirKeyBytes = metadataManager.getOzoneKey(
-                volumeName, bucketName, dirKey);
-        dirKeyInfo = metadataManager.getKeyTable(layout).get(dirKeyBytes);
-        if (dirKeyInfo == null) {
-          fakeDirKeyInfo =
-              createFakeDirIfShould(volumeName, bucketName, keyName, layout);
-        }
-      }
-    } finally {
-      metadataManager.getLock().releaseReadLock(BUCKET_LOCK, volumeName,
-              bucketName);
-      if (fileKeyInfo != null) {
+    if (fileStatus != null) {
+      if (fileStatus.isFile()) {
         // if the key is a file
         // then do refresh pipeline info in OM by asking SCM
+        OmKeyInfo fileKeyInfo = fileStatus.getKeyInfo();
         if (args.getLatestVersionLocation()) {
           slimLocationVersion(fileKeyInfo);
         }
@@ -1617,18 +1686,7 @@ private OzoneFileStatus getOzoneFileStatus(OmKeyArgs args,
           }
         }
       }
-    }
-
-    if (fileKeyInfo != null) {
-      return new OzoneFileStatus(fileKeyInfo, scmBlockSize, false);
-    }
-
-    if (dirKeyInfo != null) {
-      return new OzoneFileStatus(dirKeyInfo, scmBlockSize, true);
-    }
-
-    if (fakeDirKeyInfo != null) {
-      return new OzoneFileStatus(fakeDirKeyInfo, scmBlockSize, true);
+      return fileStatus;
     }
 
     // Key is not found, throws exception
@@ -1642,6 +1700,41 @@ private OzoneFileStatus getOzoneFileStatus(OmKeyArgs args,
             FILE_NOT_FOUND);
   }
 
+  /**
+   * Read the file status of a key in a non-FSO bucket.
+   * The caller must hold the bucket read lock or validate the read.
+   *
+   * @return the file status, or null if the key does not exist.
+   */
+  private OzoneFileStatus readOzoneFileStatus(String volumeName,
+      String bucketName, String keyName) throws IOException {
+    // Check if this is the root of the filesystem.
+    if (keyName.isEmpty()) {
+      OMFileRequest.validateBucket(metadataManager, volumeName, bucketName);
+      return new OzoneFileStatus();
+    }
+
+    // Check if the key is a file.
+    String fileKeyBytes = metadataManager.getOzoneKey(
+            volumeName, bucketName, keyName);
+    BucketLayout layout =
+        getBucketLayout(metadataManager, volumeName, bucketName);
+    OmKeyInfo fileKeyInfo = metadataManager.getKeyTable(layout).get(fileKeyBytes);
+    if (fileKeyInfo != null) {
+      return new OzoneFileStatus(fileKeyInfo, scmBlockSize, false);
+    }
+
+    // Check if the key is a directory.
+    String dirKey = OzoneFSUtils.addTrailingSlashIfNeeded(keyName);
+    String dirKeyBytes = metadataManager.getOzoneKey(
+            volumeName, bucketName, dirKey);
+    OmKeyInfo dirKeyInfo = metadataManager.getKeyTable(layout).get(dirKeyBytes);
+    if (dirKeyInfo == null) {
+      dirKeyInfo = createFakeDirIfShould(volumeName, bucketName, keyName, layout);
+    }
+    return dirKeyInfo == null ? null : new OzoneFileStatus(dirKeyInfo, scmBlockSize, true);
+  }
+
   /**
    * Create a fake directory if the key is a path prefix,
    * otherwise returns null.
@@ -1713,24 +1806,8 @@ private OzoneFileStatus getOzoneFileStatusFSO(OmKeyArgs args,
     final String volumeName = args.getVolumeName();
     final String bucketName = args.getBucketName();
     final String keyName = args.getKeyName();
-    OzoneFileStatus fileStatus = null;
-    metadataManager.getLock().acquireReadLock(BUCKET_LOCK, volumeName,
-            bucketName);
-    try {
-      // Check if this is the root of the filesystem.
-      if (keyName.isEmpty()) {
-        OMFileRequest.validateBucket(metadataManager, volumeName, bucketName);
-        return new OzoneFileStatus();
-      }
-
-      fileStatus = OMFileRequest.getOMKeyInfoIfExists(metadataManager,
-          volumeName, bucketName, keyName, scmBlockSize,
-          ozoneManager.getDefaultReplicationConfig());
-
-    } finally {
-      metadataManager.getLock().releaseReadLock(BUCKET_LOCK, volumeName,
-              bucketName);
-    }
+    final OzoneFileStatus fileStatus = readWithBucketLock(volumeName, bucketName,
+        () -> readOzoneFileStatusFSO(volumeName, bucketName, keyName));
 
     if (fileStatus != null) {
       // if the key is a file then do refresh pipeline info in OM by asking SCM
@@ -1773,6 +1850,25 @@ private OzoneFileStatus getOzoneFileStatusFSO(OmKeyArgs args,
             FILE_NOT_FOUND);
   }
 
+  /**
+   * Read the file status of a key in an FSO bucket.
+   * The caller must hold the bucket read lock or validate the read.
+   *
+   * @return the file status, or null if the key does not exist.
+   */
+  private OzoneFileStatus readOzoneFileStatusFSO(String volumeName,
+      String bucketName, String keyName) throws IOException {
+    // Check if this is the root of the filesystem.
+    if (keyName.isEmpty()) {
+      OMFileRequest.validateBucket(metadataManager, volumeName, bucketName);
+      return new OzoneFileStatus();
+    }
+
+    return OMFileRequest.getOMKeyInfoIfExists(metadataManager,
+        volumeName, bucketName, keyName, scmBlockSize,
+        ozoneManager.getDefaultReplicationConfig());
+  }
+
   private OmKeyInfo createDirectoryKey(OmKeyInfo keyInfo, String keyName)
           throws IOException {
     // verify bucket exists
@@ -2251,7 +2347,7 @@ private void sortDatanodes(String clientMachine, List<OmKeyInfo> keyInfos) {
     }
   }
 
-  @VisibleForTesting
+  @Override
   public List<? extends DatanodeDetails> sortDatanodes(List<? extends DatanodeDetails> nodes,
                                              String clientMachine) {
     final Node client = getClientNode(clientMachine, nodes);
@@ -2262,9 +2358,6 @@ public List<? extends DatanodeDetails> sortDatanodes(List<? extends DatanodeDeta
   private Node getClientNode(String clientMachine,
                              List<? extends DatanodeDetails> nodes) {
     List<DatanodeDetails> matchingNodes = new ArrayList<>();
-    boolean useHostname = ozoneManager.getConfiguration().getBoolean(
-        HddsConfigKeys.HDDS_DATANODE_USE_DN_HOSTNAME,
-        HddsConfigKeys.HDDS_DATANODE_USE_DN_HOSTNAME_DEFAULT);
     for (DatanodeDetails node : nodes) {
       if ((useHostname ? node.getHostName() : node.getIpAddress()).equals(
           clientMachine)) {
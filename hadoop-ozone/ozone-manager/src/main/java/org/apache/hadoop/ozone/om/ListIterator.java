@@ -23,7 +23,6 @@
 import java.io.IOException;
 import java.io.UncheckedIOException;
 import java.util.ArrayList;
-import java.util.Comparator;
 import java.util.Iterator;
 import java.util.Map;
 import java.util.NoSuchElementException;
@@ -87,8 +86,10 @@ public Object getValue() {
 
     @Override
     public int compareTo(HeapEntry other) {
-      return Comparator.comparing(HeapEntry::getKey)
-          .thenComparing(HeapEntry::getEntryIteratorId).compare(this, other);
+      // Compare directly, without creating a Comparator for each comparison.
+      final int diff = key.compareTo(other.key);
+      return diff != 0 ? diff
+          : Integer.compare(entryIteratorId, other.entryIteratorId);
     }
 
     @Override
@@ -216,31 +217,35 @@ private void populateCacheMap(Iterator<Map.Entry<CacheKey<String>,
         Map.Entry<CacheKey<String>, CacheValue<Value>> entry =
             cacheIter.next();
         String cacheKey = entry.getKey().getCacheKey();
+        if (!isInRange(cacheKey)) {
+          continue;
+        }
         Value cacheOmInfo = entry.getValue().getCacheValue();
 
-        // Copy cache value to local copy and work on it
+        // Copy cache value to local copy and work on it.
+        // Copy only the entries in range since the cache may contain
+        // the entries of the entire table.
         if (cacheOmInfo instanceof CopyObject) {
           cacheOmInfo = ((CopyObject<Value>) cacheOmInfo).copyObject();
         }
-        if (StringUtils.isBlank(startKey)) {
-          // startKey is null or empty, then the seekKeyInDB="1024/"
-          if (cacheKey.startsWith(prefixKey)) {
-            cacheKeyMap.put(cacheKey, cacheOmInfo);
-          }
-        } else {
-          // startKey not empty, then the seekKeyInDB="1024/b" and
-          // seekKeyInDBWithOnlyParentID = "1024/". This is to avoid case of
-          // parentID with "102444" cache entries.
-          // Here, it has to list all the keys after "1024/b" and requires >=0
-          // string comparison.
-          if (cacheKey.startsWith(prefixKey) &&
-              cacheKey.compareTo(startKey) >= 0) {
-            cacheKeyMap.put(cacheKey, cacheOmInfo);
-          }
-        }
+        cacheKeyMap.put(cacheKey, cacheOmInfo);
       }
     }
 
+    private boolean isInRange(String cacheKey) {
+      if (!cacheKey.startsWith(prefixKey)) {
+        return false;
+      }
+      // startKey is null or empty, then the seekKeyInDB="1024/"
+      //
+      // startKey not empty, then the seekKeyInDB="1024/b" and
+      // seekKeyInDBWithOnlyParentID = "1024/". This is to avoid case of
+      // parentID with "102444" cache entries.
+      // Here, it has to list all the keys after "1024/b" and requires >=0
+      // string comparison.
+      return StringUtils.isBlank(startKey) || cacheKey.compareTo(startKey) >= 0;
+    }
+
     public boolean doesKeyExistInCache(String key) {
       return cacheKeyMap.containsKey(key);
     }
@@ -0,0 +1,375 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements. See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.hadoop.ozone.om;
+
+import static org.apache.hadoop.ozone.om.OMConfigKeys.OZONE_OM_BLOCK_PREFETCH_LEASE;
+import static org.apache.hadoop.ozone.om.OMConfigKeys.OZONE_OM_BLOCK_PREFETCH_LEASE_DEFAULT;
+import static org.apache.hadoop.ozone.om.OMConfigKeys.OZONE_OM_BLOCK_PREFETCH_MAX_BLOCKS;
+import static org.apache.hadoop.ozone.om.OMConfigKeys.OZONE_OM_BLOCK_PREFETCH_MAX_BLOCKS_DEFAULT;
+
+import com.google.common.annotations.VisibleForTesting;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import java.io.IOException;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.BiFunction;
+import java.util.function.BooleanSupplier;
+import org.apache.hadoop.hdds.client.BlockID;
+import org.apache.hadoop.hdds.client.ReplicationConfig;
+import org.apache.hadoop.hdds.conf.ConfigurationSource;
+import org.apache.hadoop.hdds.protocol.DatanodeDetails;
+import org.apache.hadoop.hdds.scm.container.common.helpers.AllocatedBlock;
+import org.apache.hadoop.hdds.scm.container.common.helpers.ExcludeList;
+import org.apache.hadoop.hdds.scm.pipeline.Pipeline;
+import org.apache.hadoop.hdds.scm.protocol.ScmBlockLocationProtocol;
+import org.apache.hadoop.ozone.common.BlockGroup;
+import org.apache.hadoop.ozone.common.DeletedBlock;
+import org.apache.hadoop.ozone.om.ha.OMService;
+import org.apache.hadoop.util.Time;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Allocate blocks for the OM from pools of blocks allocated in advance from
+ * SCM, so that the block allocation of key creation requests does not wait
+ * for SCM.
+ * <p>
+ * There is a pool for each {@link ReplicationConfig}.  A pool is refilled
+ * asynchronously, in a single allocation from SCM, when it is half empty.
+ * Only the allocations without any exclusion are served from the pools,
+ * since the pooled blocks were allocated without exclusions; the others,
+ * which are retries after write failures, are sent to SCM.
+ * <p>
+ * A pooled block is handed out only within its lease, since its container
+ * or pipeline may be closed later.  The expired blocks, and all the pooled
+ * blocks when this OM is no longer the leader, are returned to SCM for
+ * deletion.
+ * <p>
+ * This class is threadsafe.
+ */
+public class OMBlockPrefetchClient implements OMService {
+
+  private static final Logger LOG =
+      LoggerFactory.getLogger(OMBlockPrefetchClient.class);
+
+  /** The key name of the unused blocks returned to SCM. */
+  static final String UNUSED_BLOCKS_KEY = "#prefetchedBlocks";
+
+  private final ScmBlockLocationProtocol blockClient;
+  private final long blockSize;
+  private final String owner;
+  private final int maxBlocks;
+  private final long leaseMillis;
+  private final BooleanSupplier isLeaderReady;
+  /** Sort the nodes of a pipeline by their distance to the client. */
+  private final BiFunction<List<DatanodeDetails>, String,
+      List<? extends DatanodeDetails>> sorter;
+  private final Map<ReplicationConfig, Pool> pools = new ConcurrentHashMap<>();
+  /** For refilling the pools and returning the unused blocks to SCM. */
+  private final ExecutorService executor;
+  private final OMBlockPrefetchMetrics metrics;
+  private volatile ServiceStatus serviceStatus = ServiceStatus.PAUSING;
+
+  /**
+   * @param blockClient the client allocating the blocks from SCM
+   * @param blockSize the size of the blocks
+   * @param owner the owner of the blocks, i.e. the OM service ID
+   * @param isLeaderReady is this OM the leader and ready?
+   * @param sorter sort the nodes of a pipeline by their distance to a client
+   */
+  public OMBlockPrefetchClient(ScmBlockLocationProtocol blockClient,
+      long blockSize, String owner, ConfigurationSource conf,
+      BooleanSupplier isLeaderReady,
+      BiFunction<List<DatanodeDetails>, String,
+          List<? extends DatanodeDetails>> sorter) {
+    this.blockClient = blockClient;
+    this.blockSize = blockSize;
+    this.owner = owner;
+    this.maxBlocks = conf.getInt(OZONE_OM_BLOCK_PREFETCH_MAX_BLOCKS,
+        OZONE_OM_BLOCK_PREFETCH_MAX_BLOCKS_DEFAULT);
+    this.leaseMillis = conf.getTimeDuration(OZONE_OM_BLOCK_PREFETCH_LEASE,
+        OZONE_OM_BLOCK_PREFETCH_LEASE_DEFAULT.toLong(TimeUnit.MILLISECONDS),
+        TimeUnit.MILLISECONDS);
+    this.isLeaderReady = isLeaderReady;
+    this.sorter = sorter;
+    this.executor = Executors.newSingleThreadExecutor(
+        new ThreadFactoryBuilder()
+            .setNameFormat("OMBlockPrefetch-%d")
+            .setDaemon(true)
+            .build());
+    this.metrics = OMBlockPrefetchMetrics.create();
+  }
+
+  /**
+   * Allocate blocks as {@link ScmBlockLocationProtocol#allocateBlock(long,
+   * int, ReplicationConfig, String, ExcludeList, String)} with the block
+   * size and the owner of this client.
+   * The blocks are taken from the pool of the given replication config if
+   * there are enough of them, and if this OM is the leader and the exclude
+   * list is empty; otherwise they are allocated from SCM.
+   */
+  public List<AllocatedBlock> allocateBlock(int numBlocks,
+      ReplicationConfig replicationConfig, ExcludeList excludeList,
+      String clientMachine) throws IOException {
+    if (serviceStatus == ServiceStatus.RUNNING && excludeList.isEmpty()) {
+      final Pool pool = pools.computeIfAbsent(replicationConfig, Pool::new);
+      final List<AllocatedBlock> blocks = pool.poll(numBlocks);
+      pool.refillIfNeeded();
+      if (blocks != null) {
+        metrics.incrNumHits();
+        if (clientMachine == null || clientMachine.isEmpty()) {
+          return blocks;
+        }
+        final List<AllocatedBlock> sorted = new ArrayList<>(blocks.size());
+        for (AllocatedBlock block : blocks) {
+          sorted.add(sortDatanodes(block, clientMachine));
+        }
+        return sorted;
+      }
+    }
+    metrics.incrNumMisses();
+    return blockClient.allocateBlock(blockSize, numBlocks, replicationConfig,
+        owner, excludeList, clientMachine);
+  }
+
+  private AllocatedBlock sortDatanodes(AllocatedBlock block,
+      String clientMachine) {
+    final Pipeline pipeline = block.getPipeline();
+    final List<? extends DatanodeDetails> sorted =
+        sorter.apply(pipeline.getNodes(), clientMachine);
+    if (sorted == null || Objects.equals(sorted, pipeline.getNodesInOrder())) {
+      return block;
+    }
+    return block.toBuilder()
+        .setPipeline(pipeline.copyWithNodesInOrder(sorted))
+        .build();
+  }
+
+  /** Return the given unused blocks to SCM for deletion. */
+  private void returnBlocks(List<AllocatedBlock> blocks) {
+    if (blocks.isEmpty()) {
+      return;
+    }
+    final List<DeletedBlock> deletedBlocks = new ArrayList<>(blocks.size());
+    for (AllocatedBlock block : blocks) {
+      // Nothing has been written to the block.
+      deletedBlocks.add(new DeletedBlock(new BlockID(block.getBlockID()), 0, 0, 0));
+    }
+    try {
+      blockClient.deleteKeyBlocks(Collections.singletonList(
+          BlockGroup.newBuilder()
+              .setKeyName(UNUSED_BLOCKS_KEY)
+              .addAllDeletedBlocks(deletedBlocks)
+              .build()));
+      metrics.incrNumReturnedBlocks(blocks.size());
+    } catch (IOException e) {
+      LOG.warn("Failed to return {} unused prefetched blocks to SCM",
+          blocks.size(), e);
+    }
+  }
+
+  private void returnBlocksAsync(List<AllocatedBlock> blocks) {
+    if (blocks.isEmpty()) {
+      return;
+    }
+    try {
+      executor.execute(() -> returnBlocks(blocks));
+    } catch (RejectedExecutionException e) {
+      LOG.debug("Skip returning {} unused prefetched blocks after stop",
+          blocks.size());
+    }
+  }
+
+  /** @return the unused blocks of all the pools, which are emptied. */
+  private List<AllocatedBlock> drainAll() {
+    final List<AllocatedBlock> drained = new ArrayList<>();
+    for (Pool pool : pools.values()) {
+      pool.drainTo(drained);
+    }
+    return drained;
+  }
+
+  @VisibleForTesting
+  int getPoolSize(ReplicationConfig replicationConfig) {
+    final Pool pool = pools.get(replicationConfig);
+    return pool == null ? 0 : pool.size();
+  }
+
+  @VisibleForTesting
+  OMBlockPrefetchMetrics getMetrics() {
+    return metrics;
+  }
+
+  /**
+   * Pools are used only by the leader OM, since the followers do not
+   * allocate blocks.  When this OM is no longer the leader, the pooled blocks
+   * are returned to SCM.
+   */
+  @Override
+  public synchronized void notifyStatusChanged() {
+    if (isLeaderReady.getAsBoolean()) {
+      if (serviceStatus != ServiceStatus.RUNNING) {
+        LOG.info("Service {} transitions to RUNNING.", getServiceName());
+        serviceStatus = ServiceStatus.RUNNING;
+      }
+    } else if (serviceStatus == ServiceStatus.RUNNING) {
+      LOG.info("Service {} transitions to PAUSING.", getServiceName());
+      serviceStatus = ServiceStatus.PAUSING;
+      returnBlocksAsync(drainAll());
+    }
+  }
+
+  @Override
+  public boolean shouldRun() {
+    return serviceStatus == ServiceStatus.RUNNING;
+  }
+
+  @Override
+  public String getServiceName() {
+    return OMBlockPrefetchClient.class.getSimpleName();
+  }
+
+  @Override
+  public void start() {
+    // The pools are filled on demand once this OM is the leader.
+  }
+
+  @Override
+  public synchronized void stop() {
+    serviceStatus = ServiceStatus.PAUSING;
+    executor.shutdownNow();
+    returnBlocks(drainAll());
+    OMBlockPrefetchMetrics.unregister();
+  }
+
+  /** A prefetched block with its allocation time. */
+  private static final class PrefetchedBlock {
+    private final AllocatedBlock block;
+    private final long allocationTime;
+
+    PrefetchedBlock(AllocatedBlock block, long allocationTime) {
+      this.block = block;
+      this.allocationTime = allocationTime;
+    }
+  }
+
+  /** The pool of the blocks of a replication config. */
+  private final class Pool {
+    private final ReplicationConfig replicationConfig;
+    /** The blocks, oldest first. */
+    private final Deque<PrefetchedBlock> blocks = new ArrayDeque<>();
+    private final AtomicBoolean refilling = new AtomicBoolean();
+
+    Pool(ReplicationConfig replicationConfig) {
+      this.replicationConfig = replicationConfig;
+    }
+
+    synchronized int size() {
+      return blocks.size();
+    }
+
+    /**
+     * Remove the expired blocks, then take the given number of blocks.
+     * @return the blocks; null if there are not enough blocks.
+     */
+    List<AllocatedBlock> poll(int num) {
+      final List<AllocatedBlock> expired = new ArrayList<>();
+      final List<AllocatedBlock> polled;
+      synchronized (this) {
+        final long now = Time.monotonicNow();
+        while (!blocks.isEmpty()
+            && now - blocks.peekFirst().allocationTime >= leaseMillis) {
+          expired.add(blocks.pollFirst().block);
+        }
+        if (blocks.size() < num) {
+          polled = null;
+        } else {
+          polled = new ArrayList<>(num);
+          for (int i = 0; i < num; i++) {
+            polled.add(blocks.pollFirst().block);
+          }
+        }
+      }
+      if (!expired.isEmpty()) {
+        metrics.incrNumExpiredBlocks(expired.size());
+        returnBlocksAsync(expired);
+      }
+      return polled;
+    }
+
+    synchronized void drainTo(List<AllocatedBlock> drained) {
+      for (PrefetchedBlock b : blocks) {
+        drained.add(b.block);
+      }
+      blocks.clear();
+    }
+
+    void refillIfNeeded() {
+      if (size() <= maxBlocks / 2 && refilling.compareAndSet(false, true)) {
+        try {
+          executor.execute(this::refill);
+        } catch (RejectedExecutionException e) {
+          refilling.set(false);
+        }
+      }
+    }
+
+    private void refill() {
+      try {
+        final int num = maxBlocks - size();
+        if (num <= 0 || !shouldRun()) {
+          return;
+        }
+        final long start = Time.monotonicNow();
+        final List<AllocatedBlock> allocated = blockClient.allocateBlock(
+            blockSize, num, replicationConfig, owner, new ExcludeList(), null);
+        final long now = Time.monotonicNow();
+        metrics.addRefillLatency(now - start);
+        synchronized (this) {
+          for (AllocatedBlock block : allocated) {
+            blocks.addLast(new PrefetchedBlock(block, now));
+          }
+        }
+        LOG.debug("Prefetched {} blocks of {} in {} ms", allocated.size(),
+            replicationConfig, now - start);
+        if (!shouldRun()) {
+          // This OM is no longer the leader.
+          final List<AllocatedBlock> drained = new ArrayList<>();
+          drainTo(drained);
+          returnBlocks(drained);
+        }
+      } catch (IOException e) {
+        metrics.incrNumRefillFailures();
+        LOG.warn("Failed to prefetch blocks of {}", replicationConfig, e);
+      } finally {
+        refilling.set(false);
+      }
+    }
+  }
+}
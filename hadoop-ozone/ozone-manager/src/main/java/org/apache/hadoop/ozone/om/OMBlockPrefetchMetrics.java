@@ -0,0 +1,137 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements. See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.hadoop.ozone.om;
+
+import org.apache.hadoop.metrics2.annotation.Metric;
+import org.apache.hadoop.metrics2.annotation.Metrics;
+import org.apache.hadoop.metrics2.lib.DefaultMetricsSystem;
+import org.apache.hadoop.metrics2.lib.MetricsRegistry;
+import org.apache.hadoop.metrics2.lib.MutableCounterLong;
+import org.apache.hadoop.metrics2.lib.MutableGaugeFloat;
+import org.apache.hadoop.metrics2.lib.MutableRate;
+import org.apache.hadoop.ozone.OzoneConsts;
+
+/**
+ * Metrics of {@link OMBlockPrefetchClient}.
+ */
+@Metrics(about = "OM Block Prefetch Metrics", context = OzoneConsts.OZONE)
+public final class OMBlockPrefetchMetrics {
+
+  public static final String METRICS_SOURCE_NAME =
+      OMBlockPrefetchMetrics.class.getSimpleName();
+  private final MetricsRegistry registry;
+
+  @Metric("No. of block allocations served from the prefetched blocks")
+  private MutableCounterLong numHits;
+  @Metric("No. of block allocations sent to SCM")
+  private MutableCounterLong numMisses;
+  @Metric("Ratio of the block allocations served from the prefetched blocks")
+  private MutableGaugeFloat hitRatio;
+  @Metric("No. of refills of the prefetched blocks from SCM")
+  private MutableCounterLong numRefills;
+  @Metric("Time taken to refill the prefetched blocks from SCM")
+  private MutableRate refillLatency;
+  @Metric("No. of failed refills of the prefetched blocks")
+  private MutableCounterLong numRefillFailures;
+  @Metric("No. of prefetched blocks discarded after their lease expired")
+  private MutableCounterLong numExpiredBlocks;
+  @Metric("No. of unused prefetched blocks returned to SCM")
+  private MutableCounterLong numReturnedBlocks;
+
+  private OMBlockPrefetchMetrics() {
+    this.registry = new MetricsRegistry(METRICS_SOURCE_NAME);
+  }
+
+  /**
+   * Creates and returns OMBlockPrefetchMetrics instance.
+   *
+   * @return OMBlockPrefetchMetrics
+   */
+  public static OMBlockPrefetchMetrics create() {
+    return DefaultMetricsSystem.instance().register(METRICS_SOURCE_NAME,
+        "Metrics of the blocks prefetched from SCM by the OM",
+        new OMBlockPrefetchMetrics());
+  }
+
+  /**
+   * Unregister the metrics instance.
+   */
+  public static void unregister() {
+    DefaultMetricsSystem.instance().unregisterSource(METRICS_SOURCE_NAME);
+  }
+
+  public void incrNumHits() {
+    numHits.incr();
+    updateHitRatio();
+  }
+
+  public void incrNumMisses() {
+    numMisses.incr();
+    updateHitRatio();
+  }
+
+  private void updateHitRatio() {
+    final long hits = numHits.value();
+    hitRatio.set((float) hits / (hits + numMisses.value()));
+  }
+
+  public void addRefillLatency(long millis) {
+    numRefills.incr();
+    refillLatency.add(millis);
+  }
+
+  public void incrNumRefillFailures() {
+    numRefillFailures.incr();
+  }
+
+  public void incrNumExpiredBlocks(long count) {
+    numExpiredBlocks.incr(count);
+  }
+
+  public void incrNumReturnedBlocks(long count) {
+    numReturnedBlocks.incr(count);
+  }
+
+  public long getNumHits() {
+    return numHits.value();
+  }
+
+  public long getNumMisses() {
+    return numMisses.value();
+  }
+
+  public float getHitRatio() {
+    return hitRatio.value();
+  }
+
+  public long getNumRefills() {
+    return numRefills.value();
+  }
+
+  public long getNumRefillFailures() {
+    return numRefillFailures.value();
+  }
+
+  public long getNumExpiredBlocks() {
+    return numExpiredBlocks.value();
+  }
+
+  public long getNumReturnedBlocks() {
+    return numReturnedBlocks.value();
+  }
+}
@@ -20,6 +20,7 @@
 import org.apache.hadoop.metrics2.MetricsSystem;
 import org.apache.hadoop.metrics2.annotation.Metric;
 import org.apache.hadoop.metrics2.lib.DefaultMetricsSystem;
+import org.apache.hadoop.metrics2.lib.MutableCounterLong;
 import org.apache.hadoop.metrics2.lib.MutableGaugeFloat;
 import org.apache.hadoop.metrics2.lib.MutableGaugeLong;
 import org.apache.hadoop.metrics2.lib.MutableRate;
@@ -163,6 +164,15 @@ public class OMPerformanceMetrics {
   @Metric(about = "Latency of the last snapshot incremental defragmentation operation in ms")
   private MutableGaugeLong snapshotDefragServiceIncLatencyMs;
 
+  @Metric(about = "Key reads validated without acquiring the bucket lock")
+  private MutableCounterLong optimisticReadHits;
+
+  @Metric(about = "Key reads retried with the bucket lock")
+  private MutableCounterLong optimisticReadMisses;
+
+  @Metric(about = "Ratio of key reads validated without acquiring the bucket lock")
+  private MutableGaugeFloat optimisticReadHitRatio;
+
   @Metric(about = "ResolveBucketLink and ACL check latency for createKey in nanoseconds")
   private MutableRate createKeyResolveBucketAndAclCheckLatencyNs;
   
@@ -389,4 +399,28 @@ public void setSnapshotDefragServiceFullLatencyMs(long latencyInMs) {
   public void setSnapshotDefragServiceIncLatencyMs(long latencyInMs) {
     snapshotDefragServiceIncLatencyMs.set(latencyInMs);
   }
+
+  public void incOptimisticReadHits() {
+    optimisticReadHits.incr();
+    updateOptimisticReadHitRatio();
+  }
+
+  public void incOptimisticReadMisses() {
+    optimisticReadMisses.incr();
+    updateOptimisticReadHitRatio();
+  }
+
+  private void updateOptimisticReadHitRatio() {
+    final long hits = optimisticReadHits.value();
+    final long total = hits + optimisticReadMisses.value();
+    optimisticReadHitRatio.set(total == 0 ? 0 : (float) hits / total);
+  }
+
+  public long getOptimisticReadHits() {
+    return optimisticReadHits.value();
+  }
+
+  public long getOptimisticReadMisses() {
+    return optimisticReadMisses.value();
+  }
 }
@@ -29,6 +29,9 @@
 
 import java.io.IOException;
 import java.net.InetAddress;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.stream.Collectors;
@@ -297,6 +300,67 @@ public OzoneFileStatus getFileStatus(OmKeyArgs args) throws IOException {
     }
   }
 
+  @Override
+  public List<OzoneFileStatus> getFileStatuses(List<OmKeyArgs> args)
+      throws IOException {
+    // Group the keys by bucket, so that each bucket is read only once.
+    final Map<Pair<String, String>, List<Integer>> buckets =
+        new LinkedHashMap<>();
+    for (int i = 0; i < args.size(); i++) {
+      final OmKeyArgs keyArgs = args.get(i);
+      buckets.computeIfAbsent(
+          Pair.of(keyArgs.getVolumeName(), keyArgs.getBucketName()),
+          k -> new ArrayList<>()).add(i);
+    }
+
+    final OzoneFileStatus[] statuses = new OzoneFileStatus[args.size()];
+    for (List<Integer> indexes : buckets.values()) {
+      getFileStatuses(args, indexes, statuses);
+    }
+    return Arrays.asList(statuses);
+  }
+
+  private void getFileStatuses(List<OmKeyArgs> args, List<Integer> indexes,
+      OzoneFileStatus[] statuses) throws IOException {
+    ResolvedBucket bucket =
+        ozoneManager.resolveBucketLink(args.get(indexes.get(0)));
+
+    boolean auditSuccess = true;
+    Map<String, String> auditMap = bucket.audit();
+    auditMap.put(OzoneConsts.KEY, indexes.stream()
+        .map(i -> args.get(i).getKeyName())
+        .collect(Collectors.joining(",")));
+
+    try {
+      final List<OmKeyArgs> bucketArgs = new ArrayList<>(indexes.size());
+      for (int i : indexes) {
+        final OmKeyArgs keyArgs = bucket.update(args.get(i));
+        if (isAclEnabled) {
+          checkAcls(getResourceType(keyArgs), StoreType.OZONE, ACLType.READ,
+              bucket, keyArgs.getKeyName());
+        }
+        bucketArgs.add(keyArgs);
+        metrics.incNumGetFileStatus();
+      }
+      final List<OzoneFileStatus> bucketStatuses =
+          keyManager.getFileStatuses(bucketArgs, getClientAddress());
+      for (int j = 0; j < indexes.size(); j++) {
+        statuses[indexes.get(j)] = bucketStatuses.get(j);
+      }
+    } catch (Exception ex) {
+      metrics.incNumGetFileStatusFails();
+      auditSuccess = false;
+      audit.logReadFailure(
+          buildAuditMessageForFailure(OMAction.GET_FILE_STATUSES, auditMap, ex));
+      throw ex;
+    } finally {
+      if (auditSuccess) {
+        audit.logReadSuccess(
+            buildAuditMessageForSuccess(OMAction.GET_FILE_STATUSES, auditMap));
+      }
+    }
+  }
+
   @Override
   public OmKeyInfo lookupFile(OmKeyArgs args) throws IOException {
     ResolvedBucket bucket = ozoneManager.resolveBucketLink(args);
@@ -148,6 +148,17 @@ public OzoneFileStatus getFileStatus(OmKeyArgs args) throws IOException {
         omMetadataReader.getFileStatus(normalizeOmKeyArgs(args)));
   }
 
+  @Override
+  public List<OzoneFileStatus> getFileStatuses(List<OmKeyArgs> args)
+      throws IOException {
+    final List<OmKeyArgs> normalized = args.stream()
+        .map(this::normalizeOmKeyArgs)
+        .collect(Collectors.toList());
+    return omMetadataReader.getFileStatuses(normalized).stream()
+        .map(status -> status == null ? null : denormalizeOzoneFileStatus(status))
+        .collect(Collectors.toList());
+  }
+
   @Override
   public OmKeyInfo lookupFile(OmKeyArgs args) throws IOException {
     return denormalizeOmKeyInfo(omMetadataReader
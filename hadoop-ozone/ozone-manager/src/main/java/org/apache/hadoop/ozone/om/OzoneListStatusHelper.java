@@ -27,11 +27,10 @@
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
+import java.util.List;
 import java.util.NoSuchElementException;
 import java.util.Objects;
 import java.util.Optional;
-import java.util.TreeMap;
-import java.util.stream.Collectors;
 import org.apache.commons.lang3.StringUtils;
 import org.apache.hadoop.hdds.client.DefaultReplicationConfig;
 import org.apache.hadoop.hdds.client.ReplicationConfig;
@@ -175,11 +174,7 @@ public Collection<OzoneFileStatus> listStatusFSO(OmKeyArgs args,
       }
     }
     String startKeyPrefix = getStartKeyPrefixIfPresent(args, startKey, volumeInfo, omBucketInfo);
-    TreeMap<String, OzoneFileStatus> map =
-        getSortedEntries(numEntries,  prefixKey, dbPrefixKey, startKeyPrefix, omBucketInfo);
-
-    return map.values().stream().filter(e -> e != null).collect(
-        Collectors.toList());
+    return getSortedEntries(numEntries, prefixKey, dbPrefixKey, startKeyPrefix, omBucketInfo);
   }
 
   /**
@@ -217,10 +212,13 @@ private String getStartKeyPrefixIfPresent(OmKeyArgs args, String startKey,
 
   /**
    *  fetch the sorted output using a min heap iterator where
-   *  every remove from the heap will give the smallest entry and return
-   *  a treemap.
+   *  every remove from the heap will give the smallest entry.
+   *  <p>
+   *  Since the entries are removed in sorted order, the entries with the same
+   *  key are adjacent; only the first of them is used.
+   *  The statuses are created only for the entries used.
    */
-  private TreeMap<String, OzoneFileStatus> getSortedEntries(long numEntries,
+  private List<OzoneFileStatus> getSortedEntries(long numEntries,
       String prefixKey, String dbPrefixKey, String startKeyPrefix,
       OmBucketInfo bucketInfo) throws IOException {
     String volumeName = bucketInfo.getVolumeName();
@@ -231,24 +229,31 @@ private TreeMap<String, OzoneFileStatus> getSortedEntries(long numEntries,
             .map(DefaultReplicationConfig::getReplicationConfig)
             .orElse(omDefaultReplication);
 
-    TreeMap<String, OzoneFileStatus> map = new TreeMap<>();
+    final List<OzoneFileStatus> statuses = new ArrayList<>();
     try (
         ListIterator.MinHeapIterator heapIterator = new ListIterator.MinHeapIterator(
             metadataManager, dbPrefixKey, bucketLayout, startKeyPrefix,
             volumeName, bucketName)) {
 
       try {
-        while (map.size() < numEntries && heapIterator.hasNext()) {
+        String previousKey = null;
+        long count = 0;
+        while (count < numEntries && heapIterator.hasNext()) {
           ListIterator.HeapEntry entry = heapIterator.next();
+          // Caution: the first entry of a key must be used even if its status
+          // is null; the following entries of the same key are skipped.
+          if (entry.getKey().equals(previousKey)) {
+            continue;
+          }
+          previousKey = entry.getKey();
+          count++;
           OzoneFileStatus status = getStatus(prefixKey, scmBlockSize, volumeName, bucketName,
                   replication, entry);
-          // Caution: DO NOT use putIfAbsent. putIfAbsent undesirably overwrites
-          // the value with `status` when the existing value in the map is null.
-          if (!map.containsKey(entry.getKey())) {
-            map.put(entry.getKey(), status);
+          if (status != null) {
+            statuses.add(status);
           }
         }
-        return map;
+        return statuses;
       } catch (NoSuchElementException e) {
         throw new IOException(e);
       } catch (UncheckedIOException e) {
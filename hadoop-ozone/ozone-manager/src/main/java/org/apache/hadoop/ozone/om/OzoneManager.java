@@ -61,6 +61,8 @@
 import static org.apache.hadoop.ozone.om.OMConfigKeys.OZONE_DIR_DELETING_SERVICE_INTERVAL;
 import static org.apache.hadoop.ozone.om.OMConfigKeys.OZONE_KEY_DELETING_LIMIT_PER_TASK;
 import static org.apache.hadoop.ozone.om.OMConfigKeys.OZONE_OM_ADDRESS_KEY;
+import static org.apache.hadoop.ozone.om.OMConfigKeys.OZONE_OM_BLOCK_PREFETCH_ENABLED;
+import static org.apache.hadoop.ozone.om.OMConfigKeys.OZONE_OM_BLOCK_PREFETCH_ENABLED_DEFAULT;
 import static org.apache.hadoop.ozone.om.OMConfigKeys.OZONE_OM_BOOTSTRAP_CHECKPOINT_HEADROOM_RATIO_KEY;
 import static org.apache.hadoop.ozone.om.OMConfigKeys.OZONE_OM_BOOTSTRAP_MIN_SPACE_KEY;
 import static org.apache.hadoop.ozone.om.OMConfigKeys.OZONE_OM_EDEKCACHELOADER_INITIAL_DELAY_MS_DEFAULT;
@@ -522,6 +524,8 @@ public final class OzoneManager extends ServiceRuntimeInfoImpl
   private volatile DirectoryDeletingService dirDeletingService;
 
   private final OMServiceManager serviceManager;
+  /** Null if block prefetching is disabled. */
+  private final OMBlockPrefetchClient blockPrefetchClient;
 
   @SuppressWarnings("methodlength")
   private OzoneManager(OzoneConfiguration conf, StartupOption startupOption)
@@ -722,6 +726,16 @@ private OzoneManager(OzoneConfiguration conf, StartupOption startupOption)
     s3OzoneAdmins = OzoneAdmins.getS3Admins(conf);
 
     serviceManager = new OMServiceManager();
+    if (conf.getBoolean(OZONE_OM_BLOCK_PREFETCH_ENABLED,
+        OZONE_OM_BLOCK_PREFETCH_ENABLED_DEFAULT)) {
+      blockPrefetchClient = new OMBlockPrefetchClient(
+          scmClient.getBlockClient(), scmBlockSize, getOMServiceId(), conf,
+          this::isLeaderReady,
+          (nodes, client) -> getKeyManager().sortDatanodes(nodes, client));
+      serviceManager.register(blockPrefetchClient);
+    } else {
+      blockPrefetchClient = null;
+    }
 
     instantiateServices(false);
 
@@ -1074,6 +1088,14 @@ public ScmClient getScmClient() {
     return scmClient;
   }
 
+  /**
+   * Return the client allocating blocks from the prefetched blocks,
+   * or null if block prefetching is disabled.
+   */
+  public OMBlockPrefetchClient getBlockPrefetchClient() {
+    return blockPrefetchClient;
+  }
+
   /**
    * Return SecretManager for OM.
    */
@@ -4036,6 +4058,45 @@ public OzoneFileStatus getFileStatus(OmKeyArgs args) throws IOException {
     }
   }
 
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  public List<OzoneFileStatus> getFileStatuses(List<OmKeyArgs> allArgs)
+      throws IOException {
+    // Return a partial result if there are too many keys;
+    // the client requests the remaining keys again.
+    final long maxSize = getConfig().getMaxListSize();
+    final List<OmKeyArgs> args = allArgs.size() > maxSize
+        ? allArgs.subList(0, (int) maxSize) : allArgs;
+
+    // Group the keys by reader, i.e. the active file system or a snapshot.
+    final Map<IOmMetadataReader, List<Integer>> readers = new LinkedHashMap<>();
+    final List<UncheckedAutoCloseableSupplier<IOmMetadataReader>> rcReaders =
+        new ArrayList<>();
+    try {
+      for (int i = 0; i < args.size(); i++) {
+        final UncheckedAutoCloseableSupplier<IOmMetadataReader> rcReader =
+            getReader(args.get(i));
+        rcReaders.add(rcReader);
+        readers.computeIfAbsent(rcReader.get(), k -> new ArrayList<>()).add(i);
+      }
+
+      final OzoneFileStatus[] statuses = new OzoneFileStatus[args.size()];
+      for (Map.Entry<IOmMetadataReader, List<Integer>> e : readers.entrySet()) {
+        final List<Integer> indexes = e.getValue();
+        final List<OzoneFileStatus> readerStatuses = e.getKey().getFileStatuses(
+            indexes.stream().map(args::get).collect(Collectors.toList()));
+        for (int j = 0; j < indexes.size(); j++) {
+          statuses[indexes.get(j)] = readerStatuses.get(j);
+        }
+      }
+      return Arrays.asList(statuses);
+    } finally {
+      rcReaders.forEach(UncheckedAutoCloseableSupplier::close);
+    }
+  }
+
   /**
    * {@inheritDoc}
    */
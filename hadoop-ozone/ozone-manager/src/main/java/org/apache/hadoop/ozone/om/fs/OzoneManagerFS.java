@@ -50,6 +50,19 @@ public interface OzoneManagerFS extends IOzoneAcl {
   OzoneFileStatus getFileStatus(OmKeyArgs args, String clientAddress)
           throws IOException;
 
+  /**
+   * Get file statuses for the files or directories of the same bucket.
+   *
+   * @param args          the args of the keys provided by client.
+   * @param clientAddress a hint to key manager, order the datanode in returned
+   *                      pipeline by distance between client and datanode.
+   * @return the file status of each key in the same order;
+   *         the status is null if the key does not exist.
+   * @throws IOException if bucket or volume does not exist
+   */
+  List<OzoneFileStatus> getFileStatuses(List<OmKeyArgs> args,
+      String clientAddress) throws IOException;
+
   /**
    * Look up a file. Return the info of the file to client side.
    *
@@ -91,6 +91,17 @@ public OMLockDetails releaseReadLocks(Resource resource, Collection<String[]> re
     return EMPTY_DETAILS_LOCK_NOT_ACQUIRED;
   }
 
+  @Override
+  public long tryOptimisticRead(Resource resource, String... resources) {
+    // Snapshots are never modified.
+    return 1;
+  }
+
+  @Override
+  public boolean validateOptimisticRead(long stamp, Resource resource, String... resources) {
+    return stamp != 0;
+  }
+
   @Override
   public int getReadHoldCount(Resource resource, String... resources) {
     return 0;
@@ -35,6 +35,7 @@
 import java.util.Map;
 import java.util.Objects;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
 import java.util.concurrent.locks.ReadWriteLock;
 import java.util.concurrent.locks.ReentrantReadWriteLock;
 import java.util.function.Function;
@@ -44,7 +45,6 @@
 import org.apache.commons.lang3.tuple.Pair;
 import org.apache.hadoop.hdds.conf.ConfigurationSource;
 import org.apache.hadoop.hdds.utils.CompositeKey;
-import org.apache.hadoop.hdds.utils.SimpleStriped;
 import org.apache.hadoop.ipc_.ProcessingDetails.Timing;
 import org.apache.hadoop.ipc_.Server;
 import org.apache.hadoop.util.Time;
@@ -138,7 +138,7 @@ private Striped<ReadWriteLock> createStripeLock(Resource r,
         r.getName().toLowerCase();
     int size = conf.getInt(stripeSizeKey,
         OZONE_MANAGER_STRIPED_LOCK_SIZE_DEFAULT);
-    return SimpleStriped.readWriteLock(size, fair);
+    return Striped.custom(size, () -> new VersionedReadWriteLock(fair));
   }
 
   private Iterable<ReadWriteLock> getAllLocks(Striped<ReadWriteLock> striped) {
@@ -267,6 +267,7 @@ private void acquireLock(Resource resource, boolean isReadLock, ReadWriteLock lo
       updateReadLockMetrics(resource, (ReentrantReadWriteLock) lock, startWaitingTimeNanos);
     } else {
       lock.writeLock().lock();
+      ((VersionedReadWriteLock) lock).incrementVersionIfFirstWriteHold();
       updateWriteLockMetrics(resource, (ReentrantReadWriteLock) lock, startWaitingTimeNanos);
     }
   }
@@ -461,6 +462,7 @@ private OMLockDetails releaseLock(Resource resource, boolean isReadLock,
       updateReadUnlockMetrics(resource, lock);
     } else {
       boolean isWriteLocked = lock.isWriteLockedByCurrentThread();
+      ((VersionedReadWriteLock) lock).incrementVersionIfFirstWriteHold();
       lock.writeLock().unlock();
       updateWriteUnlockMetrics(resource, lock, isWriteLocked);
     }
@@ -483,6 +485,7 @@ private OMLockDetails releaseLocks(Resource resource, boolean isReadLock,
         updateReadUnlockMetrics(resource, (ReentrantReadWriteLock) lock);
       } else {
         boolean isWriteLocked = ((ReentrantReadWriteLock)lock).isWriteLockedByCurrentThread();
+        ((VersionedReadWriteLock) lock).incrementVersionIfFirstWriteHold();
         lock.writeLock().unlock();
         updateWriteUnlockMetrics(resource, (ReentrantReadWriteLock) lock, isWriteLocked);
       }
@@ -527,6 +530,20 @@ private void updateWriteUnlockMetrics(Resource resource,
     }
   }
 
+  @Override
+  public long tryOptimisticRead(Resource resource, String... keys) {
+    return getVersionedLock(resource, keys).tryOptimisticRead();
+  }
+
+  @Override
+  public boolean validateOptimisticRead(long stamp, Resource resource, String... keys) {
+    return getVersionedLock(resource, keys).validate(stamp);
+  }
+
+  private VersionedReadWriteLock getVersionedLock(Resource resource, String... keys) {
+    return (VersionedReadWriteLock) getLock(resourcelockMap.get(resource.getClass()).getKey(), resource, keys);
+  }
+
   /**
    * Returns readHoldCount for a given resource lock name.
    *
@@ -577,6 +594,41 @@ public OMLockMetrics getOMLockMetrics() {
     return omLockMetrics;
   }
 
+  /**
+   * A {@link ReentrantReadWriteLock} with a version, which is odd when the
+   * write lock is held, and is incremented when the write lock is acquired
+   * and released, similar to {@link java.util.concurrent.locks.StampedLock}.
+   * It allows readers to validate an optimistic read without locking.
+   */
+  static final class VersionedReadWriteLock extends ReentrantReadWriteLock {
+    private final AtomicLong version = new AtomicLong(2);
+
+    VersionedReadWriteLock(boolean fair) {
+      super(fair);
+    }
+
+    /**
+     * Must be called by the write lock holder, after acquiring
+     * and before releasing the write lock.
+     */
+    void incrementVersionIfFirstWriteHold() {
+      if (getWriteHoldCount() == 1) {
+        version.incrementAndGet();
+      }
+    }
+
+    long tryOptimisticRead() {
+      final long stamp = version.get();
+      return (stamp & 1) == 0 ? stamp : 0;
+    }
+
+    boolean validate(long stamp) {
+      // The table cache and the DB are read with synchronization actions,
+      // which are not reordered after this volatile read.
+      return stamp != 0 && version.get() == stamp;
+    }
+  }
+
   /**
    * Leveled Resource defined in Ozone.
    * Enforces lock acquisition ordering based on the resource level. A resource at lower level cannot be acquired
@@ -0,0 +1,154 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements. See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.hadoop.ozone.om.ratis;
+
+import static org.apache.hadoop.ozone.om.lock.OzoneManagerLock.LeveledResource.BUCKET_LOCK;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.function.Function;
+import java.util.function.Supplier;
+import org.apache.commons.lang3.tuple.Pair;
+import org.apache.hadoop.hdds.utils.CompositeKey;
+import org.apache.hadoop.ozone.om.lock.OzoneManagerLock;
+import org.apache.hadoop.ozone.protocol.proto.OzoneManagerProtocolProtos.KeyArgs;
+import org.apache.hadoop.ozone.protocol.proto.OzoneManagerProtocolProtos.OMRequest;
+
+/**
+ * Executes the transactions applied by {@link OzoneManagerStateMachine}
+ * concurrently when they do not conflict with each other.
+ * <p>
+ * The key requests of a bucket conflict with the other requests of the same
+ * bucket, i.e. the same {@link OzoneManagerLock.LeveledResource#BUCKET_LOCK}
+ * resource.  They are executed in the log order of the bucket, but
+ * concurrently with the key requests of other buckets.
+ * All the other requests, e.g. volume, bucket, snapshot and prepare requests,
+ * conflict with every request.  Such a request is executed only after all the
+ * previous requests are completed, and it blocks all the following requests.
+ * <p>
+ * The results are passed to the given ordered stage, e.g. adding the response
+ * to {@link OzoneManagerDoubleBuffer}, in the log order.
+ * <p>
+ * {@link #submit} must be called by a single thread in the log order,
+ * which is the case for {@link OzoneManagerStateMachine#applyTransaction}.
+ */
+final class OzoneManagerApplyExecutor {
+  /** Prune the completed tasks when there are more resources than this. */
+  private static final int PRUNE_THRESHOLD = 1024;
+
+  private final Executor executor;
+
+  /** The last task submitted for each resource. */
+  private final Map<Pair<OzoneManagerLock.LeveledResource, Object>, CompletableFuture<?>> lastTasks
+      = new HashMap<>();
+  /** The last task conflicting with all the requests. */
+  private CompletableFuture<?> lastExclusiveTask = CompletableFuture.completedFuture(null);
+  /** The last ordered stage, which is completed in the log order. */
+  private CompletableFuture<?> lastOrderedStage = CompletableFuture.completedFuture(null);
+
+  OzoneManagerApplyExecutor(Executor executor) {
+    this.executor = executor;
+  }
+
+  /**
+   * Submit a request to be executed once all the previous conflicting
+   * requests are completed.
+   *
+   * @param request the request to be executed.
+   * @param task to execute the request; it must not throw any exception.
+   * @param orderedStage to process the result of the task in the log order;
+   *                     it must not throw any exception.
+   * @return the future of the ordered stage.
+   */
+  <T, R> CompletableFuture<R> submit(OMRequest request, Supplier<T> task, Function<T, R> orderedStage) {
+    final Pair<OzoneManagerLock.LeveledResource, Object> resource = getResource(request);
+    final CompletableFuture<T> future;
+    if (resource == null) {
+      // Wait for the ordered stage of all the previous requests,
+      // e.g. prepare requires all the previous responses to be added to the double buffer.
+      future = lastOrderedStage.thenApplyAsync(previous -> task.get(), executor);
+      lastExclusiveTask = future;
+      lastTasks.clear();
+    } else {
+      final CompletableFuture<?> previousTask = lastTasks.getOrDefault(resource, lastExclusiveTask);
+      future = previousTask.thenApplyAsync(previous -> task.get(), executor);
+      if (lastTasks.size() >= PRUNE_THRESHOLD) {
+        lastTasks.values().removeIf(CompletableFuture::isDone);
+      }
+      lastTasks.put(resource, future);
+    }
+
+    final CompletableFuture<R> ordered = lastOrderedStage.thenCombine(future,
+        (previous, result) -> orderedStage.apply(result));
+    lastOrderedStage = ordered;
+    return ordered;
+  }
+
+  /**
+   * @return the resource of the given request if it can be executed
+   *         concurrently with the requests of the other resources;
+   *         otherwise, return null.
+   */
+  static Pair<OzoneManagerLock.LeveledResource, Object> getResource(OMRequest request) {
+    switch (request.getCmdType()) {
+    case CreateKey:
+      return getBucketResource(request.getCreateKeyRequest().getKeyArgs());
+    case CommitKey:
+      return getBucketResource(request.getCommitKeyRequest().getKeyArgs());
+    case AllocateBlock:
+      return getBucketResource(request.getAllocateBlockRequest().getKeyArgs());
+    case DeleteKey:
+      return getBucketResource(request.getDeleteKeyRequest().getKeyArgs());
+    case DeleteKeys:
+      return getBucketResource(request.getDeleteKeysRequest().getDeleteKeys().getVolumeName(),
+          request.getDeleteKeysRequest().getDeleteKeys().getBucketName());
+    case RenameKey:
+      return getBucketResource(request.getRenameKeyRequest().getKeyArgs());
+    case CreateDirectory:
+      return getBucketResource(request.getCreateDirectoryRequest().getKeyArgs());
+    case CreateFile:
+      return getBucketResource(request.getCreateFileRequest().getKeyArgs());
+    case InitiateMultiPartUpload:
+      return getBucketResource(request.getInitiateMultiPartUploadRequest().getKeyArgs());
+    case CommitMultiPartUpload:
+      return getBucketResource(request.getCommitMultiPartUploadRequest().getKeyArgs());
+    case AbortMultiPartUpload:
+      return getBucketResource(request.getAbortMultiPartUploadRequest().getKeyArgs());
+    case CompleteMultiPartUpload:
+      return getBucketResource(request.getCompleteMultiPartUploadRequest().getKeyArgs());
+    case SetTimes:
+      return getBucketResource(request.getSetTimesRequest().getKeyArgs());
+    case PutObjectTagging:
+      return getBucketResource(request.getPutObjectTaggingRequest().getKeyArgs());
+    case DeleteObjectTagging:
+      return getBucketResource(request.getDeleteObjectTaggingRequest().getKeyArgs());
+    default:
+      return null;
+    }
+  }
+
+  private static Pair<OzoneManagerLock.LeveledResource, Object> getBucketResource(KeyArgs keyArgs) {
+    return getBucketResource(keyArgs.getVolumeName(), keyArgs.getBucketName());
+  }
+
+  private static Pair<OzoneManagerLock.LeveledResource, Object> getBucketResource(String volume, String bucket) {
+    return Pair.of(BUCKET_LOCK, CompositeKey.combineKeys(new String[] {volume, bucket}));
+  }
+}
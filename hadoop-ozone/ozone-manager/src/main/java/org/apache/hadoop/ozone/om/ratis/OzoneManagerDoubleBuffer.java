@@ -20,6 +20,7 @@
 import static org.apache.hadoop.ozone.OzoneConsts.TRANSACTION_INFO_KEY;
 
 import com.google.common.annotations.VisibleForTesting;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
 import java.io.IOException;
 import java.util.ArrayList;
 import java.util.Arrays;
@@ -33,7 +34,10 @@
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ConcurrentLinkedQueue;
 import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.concurrent.atomic.AtomicLong;
 import java.util.function.Consumer;
@@ -65,7 +69,12 @@
  * any entries, it swaps the buffer and creates a batch and commit to DB.
  * Adding OM request to doubleBuffer and swap of buffer are synchronized
  * methods.
- *
+ * <p>
+ * When more than one pending flush batch is allowed, the batches are
+ * committed by a separate commit thread, in order, so that the flush thread
+ * can prepare the next batch while the previous batches are being written to
+ * the DB.  The commit thread also releases the un-flushed transactions,
+ * updates the last applied index and cleans up the table cache.
  */
 public final class OzoneManagerDoubleBuffer {
 
@@ -86,6 +95,12 @@ public final class OzoneManagerDoubleBuffer {
   private final AtomicBoolean isPaused = new AtomicBoolean(false);
   /** Notify flush operations are completed by the {@link #daemon}. */
   private final FlushNotifier flushNotifier;
+  /** The maximum number of batches prepared but not yet committed. */
+  private final int maxPendingFlushBatches;
+  /** Limit the pending flush batches; null if the batches are committed by the {@link #daemon}. */
+  private final Semaphore pendingFlushBatches;
+  /** To commit the batches in order; null if the batches are committed by the {@link #daemon}. */
+  private final ExecutorService commitExecutor;
 
   private final OMMetadataManager omMetadataManager;
 
@@ -129,6 +144,7 @@ public static final class Builder {
     private Consumer<TermIndex> updateLastAppliedIndex = termIndex -> { };
     private boolean isTracingEnabled = false;
     private int maxUnFlushedTransactionCount = 0;
+    private int maxPendingFlushBatches = 1;
     private FlushNotifier flushNotifier;
     private S3SecretManager s3SecretManager;
     private String threadPrefix = "";
@@ -155,6 +171,11 @@ public Builder setMaxUnFlushedTransactionCount(int maxUnFlushedTransactionCount)
       return this;
     }
 
+    public Builder setMaxPendingFlushBatches(int maxPendingFlushBatches) {
+      this.maxPendingFlushBatches = maxPendingFlushBatches;
+      return this;
+    }
+
     Builder setFlushNotifier(FlushNotifier flushNotifier) {
       this.flushNotifier = flushNotifier;
       return this;
@@ -173,6 +194,8 @@ public Builder setS3SecretManager(S3SecretManager s3SecretManager) {
     public OzoneManagerDoubleBuffer build() {
       Preconditions.assertTrue(maxUnFlushedTransactionCount > 0L,
           () -> "maxUnFlushedTransactionCount = " + maxUnFlushedTransactionCount);
+      Preconditions.assertTrue(maxPendingFlushBatches > 0,
+          () -> "maxPendingFlushBatches = " + maxPendingFlushBatches);
       if (flushNotifier == null) {
         flushNotifier = new FlushNotifier();
       }
@@ -204,6 +227,18 @@ private OzoneManagerDoubleBuffer(Builder b) {
     // Daemon thread which runs in background and flushes transactions to DB.
     daemon = new Daemon(this::flushTransactions);
     daemon.setName(b.threadPrefix + "OMDoubleBufferFlushThread");
+
+    this.maxPendingFlushBatches = b.maxPendingFlushBatches;
+    if (maxPendingFlushBatches > 1) {
+      this.pendingFlushBatches = new Semaphore(maxPendingFlushBatches);
+      this.commitExecutor = Executors.newSingleThreadExecutor(new ThreadFactoryBuilder()
+          .setNameFormat(b.threadPrefix + "OMDoubleBufferCommitThread")
+          .setDaemon(true)
+          .build());
+    } else {
+      this.pendingFlushBatches = null;
+      this.commitExecutor = null;
+    }
   }
 
   public OzoneManagerDoubleBuffer start() {
@@ -293,7 +328,7 @@ private void addToBatchTransactionInfoWithTrace(String parentName,
    */
   @VisibleForTesting
   public void flushTransactions() {
-    while (isRunning.get() && canFlush()) {
+    while (isRunning.get() && awaitPendingFlushBatchesIfIdle() && canFlush()) {
       // Check if paused
       synchronized (this) {
         while (isPaused.get() && isRunning.get()) {
@@ -343,15 +378,36 @@ void flushCurrentBuffer() {
       }
 
       clearReadyBuffer();
-      flushNotifier.notifyFlush();
+      if (commitExecutor == null) {
+        flushNotifier.notifyFlush();
+      } else {
+        // Notify after the batches submitted above are committed.
+        commitExecutor.execute(flushNotifier::notifyFlush);
+      }
     } catch (IOException ex) {
       terminate(ex, 1);
+    } catch (InterruptedException ex) {
+      Thread.currentThread().interrupt();
+      if (isRunning.get()) {
+        terminate(ex, 1);
+      }
+      LOG.info("OMDoubleBuffer flush thread {} is interrupted while flushing and will exit.",
+          Thread.currentThread().getName());
     } catch (Throwable t) {
       terminate(t, 2);
     }
   }
 
-  private void flushBatch(Queue<Entry> buffer) throws IOException {
+  private void flushBatch(Queue<Entry> buffer) throws IOException, InterruptedException {
+    final boolean isBarrierBatch = buffer.stream()
+        .anyMatch(entry -> isBarrierCmdTypes(entry.getResponse().getOMResponse()));
+    if (isBarrierBatch) {
+      // A barrier batch may read the DB, e.g. to create a snapshot checkpoint,
+      // or write to a snapshot DB while it is added to the batch,
+      // so all the previous batches must be committed before adding it to a batch.
+      awaitPendingFlushBatches();
+    }
+
     Map<String, List<Long>> cleanupEpochs = new HashMap<>();
     // Commit transaction info to DB.
     final List<TermIndex> flushedTransactions = buffer.stream()
@@ -361,10 +417,10 @@ private void flushBatch(Queue<Entry> buffer) throws IOException {
     final int flushedTransactionsSize = flushedTransactions.size();
     final TermIndex lastTransaction = flushedTransactions.get(flushedTransactionsSize - 1);
 
-    try (BatchOperation batchOperation = omMetadataManager.getStore()
-        .initBatchOperation()) {
-
-      String lastTraceId = addToBatch(buffer, batchOperation);
+    final BatchOperation batchOperation = omMetadataManager.getStore().initBatchOperation();
+    final String lastTraceId;
+    try {
+      lastTraceId = addToBatch(buffer, batchOperation);
 
       buffer.iterator().forEachRemaining(
           entry -> addCleanupEntry(entry, cleanupEpochs));
@@ -375,12 +431,46 @@ private void flushBatch(Queue<Entry> buffer) throws IOException {
           () -> omMetadataManager.getTransactionInfoTable().putWithBatch(
               batchOperation, TRANSACTION_INFO_KEY, TransactionInfo.valueOf(lastTransaction)));
 
+      if (commitExecutor != null && !isBarrierBatch) {
+        pendingFlushBatches.acquire();
+      }
+    } catch (Throwable t) {
+      batchOperation.close();
+      throw t;
+    }
+
+    if (commitExecutor == null || isBarrierBatch) {
+      commitBatch(batchOperation, lastTraceId, lastTransaction, flushedTransactionsSize, cleanupEpochs);
+      return;
+    }
+    commitExecutor.execute(() -> {
+      try {
+        commitBatch(batchOperation, lastTraceId, lastTransaction, flushedTransactionsSize, cleanupEpochs);
+      } catch (IOException ex) {
+        terminate(ex, 1);
+      } catch (Throwable t) {
+        terminate(t, 2);
+      } finally {
+        pendingFlushBatches.release();
+      }
+    });
+  }
+
+  /**
+   * Commit the given batch to DB and then clean up the committed transactions.
+   * The batches must be committed in order.
+   */
+  private void commitBatch(BatchOperation batchOperation, String lastTraceId, TermIndex lastTransaction,
+      int flushedTransactionsSize, Map<String, List<Long>> cleanupEpochs) throws IOException {
+    try {
       long startTime = Time.monotonicNow();
-      flushBatchWithTrace(lastTraceId, buffer.size(),
+      flushBatchWithTrace(lastTraceId, flushedTransactionsSize,
           () -> omMetadataManager.getStore()
               .commitBatchOperation(batchOperation));
 
       metrics.updateFlushTime(Time.monotonicNow() - startTime);
+    } finally {
+      batchOperation.close();
     }
 
     final long accumulativeCount = flushedTransactionCount.addAndGet(flushedTransactionsSize);
@@ -399,6 +489,39 @@ private void flushBatch(Queue<Entry> buffer) throws IOException {
     metrics.updateFlush(flushedTransactionsSize);
   }
 
+  /** Wait for all the pending flush batches to be committed. */
+  private void awaitPendingFlushBatches() throws InterruptedException {
+    if (pendingFlushBatches != null) {
+      pendingFlushBatches.acquire(maxPendingFlushBatches);
+      pendingFlushBatches.release(maxPendingFlushBatches);
+    }
+  }
+
+  /**
+   * When there is nothing to flush, wait for the pending flush batches
+   * so that the flush notifications in {@link #canFlush()} are only sent
+   * after all the transactions are committed.
+   *
+   * @return false if the thread is interrupted.
+   */
+  private boolean awaitPendingFlushBatchesIfIdle() {
+    if (pendingFlushBatches == null || !currentBuffer.isEmpty()) {
+      return true;
+    }
+    try {
+      awaitPendingFlushBatches();
+      return true;
+    } catch (InterruptedException ex) {
+      Thread.currentThread().interrupt();
+      if (isRunning.get()) {
+        terminate(ex, 1);
+      }
+      LOG.info("OMDoubleBuffer flush thread {} is interrupted and will exit.",
+          Thread.currentThread().getName());
+      return false;
+    }
+  }
+
   private String addToBatch(Queue<Entry> buffer, BatchOperation batchOperation) {
     String lastTraceId = null;
     for (Entry entry: buffer) {
@@ -472,6 +595,24 @@ private static boolean isStandaloneBatchCmdTypes(OMResponse response) {
         || type == OzoneManagerProtocolProtos.Type.CreateSnapshot;
   }
 
+  /**
+   * @return true if the response reads the DB or writes to a snapshot DB
+   * when it is added to a batch, so that it must not overlap with the batches
+   * pending to be committed.
+   */
+  private static boolean isBarrierCmdTypes(OMResponse response) {
+    if (response == null) {
+      return false;
+    } else if (isStandaloneBatchCmdTypes(response)) {
+      return true;
+    }
+    final OzoneManagerProtocolProtos.Type type = response.getCmdType();
+    return type == OzoneManagerProtocolProtos.Type.SnapshotMoveDeletedKeys
+        || type == OzoneManagerProtocolProtos.Type.SnapshotMoveTableKeys
+        || type == OzoneManagerProtocolProtos.Type.PurgeKeys
+        || type == OzoneManagerProtocolProtos.Type.PurgeDirectories;
+  }
+
   private void addCleanupEntry(Entry entry, Map<String, List<Long>> cleanupEpochs) {
     Class<? extends OMClientResponse> responseClass =
         entry.getResponse().getClass();
@@ -519,6 +660,17 @@ private synchronized void clearReadyBuffer() {
   @SuppressWarnings("squid:S2142")
   public void stop() {
     stopDaemon();
+    if (commitExecutor != null) {
+      // Let the pending flush batches complete.
+      commitExecutor.shutdown();
+      try {
+        if (!commitExecutor.awaitTermination(1, TimeUnit.MINUTES)) {
+          LOG.warn("Timed out waiting for OMDoubleBuffer commit thread to exit.");
+        }
+      } catch (InterruptedException e) {
+        LOG.debug("Interrupted while waiting for commit thread to exit.", e);
+      }
+    }
     metrics.unRegister();
   }
 
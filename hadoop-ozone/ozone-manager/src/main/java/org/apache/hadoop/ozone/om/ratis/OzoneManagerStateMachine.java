@@ -100,6 +100,8 @@ public class OzoneManagerStateMachine extends BaseStateMachine {
   private RequestHandler handler;
   private volatile OzoneManagerDoubleBuffer ozoneManagerDoubleBuffer;
   private final ExecutorService executorService;
+  /** To execute non-conflicting transactions concurrently; null if the transactions are executed serially. */
+  private final OzoneManagerApplyExecutor applyExecutor;
   private final ExecutorService installSnapshotExecutor;
   private final boolean isTracingEnabled;
   private final AtomicInteger statePausedCount = new AtomicInteger(0);
@@ -126,7 +128,16 @@ public OzoneManagerStateMachine(OzoneManagerRatisServer ratisServer,
     ThreadFactory build = new ThreadFactoryBuilder().setDaemon(true)
         .setNameFormat(threadPrefix +
             "OMStateMachineApplyTransactionThread - %d").build();
-    this.executorService = HadoopExecutors.newSingleThreadExecutor(build);
+    final int applyThreads = ozoneManager.getConfiguration()
+        .getInt(OMConfigKeys.OZONE_OM_APPLY_TRANSACTION_THREADS,
+            OMConfigKeys.OZONE_OM_APPLY_TRANSACTION_THREADS_DEFAULT);
+    if (applyThreads > 1) {
+      this.executorService = HadoopExecutors.newFixedThreadPool(applyThreads, build);
+      this.applyExecutor = new OzoneManagerApplyExecutor(executorService);
+    } else {
+      this.executorService = HadoopExecutors.newSingleThreadExecutor(build);
+      this.applyExecutor = null;
+    }
 
     ThreadFactory installSnapshotThreadFactory = new ThreadFactoryBuilder()
         .setNameFormat(threadPrefix + "InstallSnapshotThread").build();
@@ -147,6 +158,7 @@ public OzoneManagerStateMachine(OzoneManagerRatisServer ratisServer,
     this.ozoneManagerDoubleBuffer = doubleBuffer;
     this.handler = handler;
     this.executorService = executorService;
+    this.applyExecutor = null;
     ThreadFactory installSnapshotThreadFactory = new ThreadFactoryBuilder()
         .setNameFormat("TestInstallSnapshotThread").build();
     this.installSnapshotExecutor =
@@ -454,23 +466,26 @@ public CompletableFuture<Message> applyTransaction(TransactionContext trx) {
           trx.getStateMachineLogEntry().getLogData());
       final TermIndex termIndex = TermIndex.valueOf(trx.getLogEntry());
       LOG.debug("{}: applyTransaction {}", getId(), termIndex);
-      // In the current approach we have one single global thread executor.
-      // with single thread. Right now this is being done for correctness, as
+      // By default, we have one single global thread executor
+      // with single thread. This is being done for correctness, as
       // applyTransaction will be run on multiple OM's we want to execute the
       // transactions in the same order on all OM's, otherwise there is a
       // chance that OM replica's can be out of sync.
-      // TODO: In this way we are making all applyTransactions in
-      // OM serial order. Revisit this in future to use multiple executors for
-      // volume/bucket.
-
-      // Reason for not immediately implementing executor per volume is, if
-      // one executor operations are slow, we cannot update the
-      // lastAppliedIndex in OzoneManager StateMachine, even if other
-      // executor has completed the transactions with id more.
+      //
+      // With multiple apply threads, the key requests of different buckets
+      // are executed concurrently, but the requests of the same bucket are
+      // still executed in the log order.  The responses are added to the
+      // double buffer in the log order, so that the lastAppliedIndex is
+      // updated only when all the previous transactions are flushed.
 
       //if there are too many pending requests, wait for doubleBuffer flushing
       ozoneManagerDoubleBuffer.acquireUnFlushedTransactions(1);
 
+      if (applyExecutor != null) {
+        return applyExecutor.submit(request, () -> executeCommand(request, termIndex),
+                response -> addToDoubleBuffer(request, response, termIndex))
+            .thenApply(this::processResponse);
+      }
       return CompletableFuture.supplyAsync(() -> runCommand(request, termIndex), executorService)
           .thenApply(this::processResponse);
     } catch (Exception e) {
@@ -557,10 +572,14 @@ public OzoneManagerDoubleBuffer buildDoubleBufferForRatis() {
     final int maxUnFlushedTransactionCount = ozoneManager.getConfiguration()
         .getInt(OMConfigKeys.OZONE_OM_UNFLUSHED_TRANSACTION_MAX_COUNT,
             OMConfigKeys.OZONE_OM_UNFLUSHED_TRANSACTION_MAX_COUNT_DEFAULT);
+    final int maxPendingFlushBatches = ozoneManager.getConfiguration()
+        .getInt(OMConfigKeys.OZONE_OM_DOUBLE_BUFFER_MAX_PENDING_FLUSH_BATCHES,
+            OMConfigKeys.OZONE_OM_DOUBLE_BUFFER_MAX_PENDING_FLUSH_BATCHES_DEFAULT);
     return OzoneManagerDoubleBuffer.newBuilder()
         .setOmMetadataManager(ozoneManager.getMetadataManager())
         .setUpdateLastAppliedIndex(this::updateLastAppliedTermIndex)
         .setMaxUnFlushedTransactionCount(maxUnFlushedTransactionCount)
+        .setMaxPendingFlushBatches(maxPendingFlushBatches)
         .setThreadPrefix(threadPrefix)
         .setS3SecretManager(ozoneManager.getS3SecretManager())
         .enableTracing(isTracingEnabled)
@@ -670,14 +689,7 @@ OMResponse runCommand(OMRequest request, TermIndex termIndex) {
       ExecutionContext context = ExecutionContext.of(termIndex.getIndex(), termIndex);
       final OMClientResponse omClientResponse = handler.handleWriteRequest(
           request, context, ozoneManagerDoubleBuffer);
-      OMLockDetails omLockDetails = omClientResponse.getOmLockDetails();
-      OMResponse omResponse = omClientResponse.getOMResponse();
-      if (omLockDetails != null) {
-        return omResponse.toBuilder()
-            .setOmLockDetails(omLockDetails.toProtobufBuilder()).build();
-      } else {
-        return omResponse;
-      }
+      return toOMResponse(omClientResponse);
     } catch (IOException e) {
       LOG.warn("Failed to write, Exception occurred ", e);
       return createErrorResponse(request, e, termIndex);
@@ -689,9 +701,63 @@ OMResponse runCommand(OMRequest request, TermIndex termIndex) {
     return null;
   }
 
+  /**
+   * Similar to {@link #runCommand} except that
+   * the response is not added to the double buffer,
+   * other than the error response of a prepare request.
+   * @see #addToDoubleBuffer
+   */
+  private OMClientResponse executeCommand(OMRequest request, TermIndex termIndex) {
+    try {
+      ExecutionContext context = ExecutionContext.of(termIndex.getIndex(), termIndex);
+      return handler.handleWriteRequestImpl(request, context);
+    } catch (IOException e) {
+      LOG.warn("Failed to write, Exception occurred ", e);
+      final OMClientResponse response = new DummyOMClientResponse(createErrorOMResponse(request, e));
+      if (request.getCmdType() == OzoneManagerProtocolProtos.Type.Prepare) {
+        // As runCommand, add the error response since the prepare request has not added any response.
+        // A prepare request is executed after all the previous responses are added to the double buffer.
+        ozoneManagerDoubleBuffer.add(response, termIndex);
+      }
+      return response;
+    } catch (Throwable e) {
+      // For any Runtime exceptions, terminate OM.
+      String errorMessage = "Request " + request + " failed with exception";
+      ExitUtils.terminate(1, errorMessage, e, LOG);
+    }
+    return null;
+  }
+
+  /** Add the response of {@link #executeCommand} to the double buffer. */
+  private OMResponse addToDoubleBuffer(OMRequest request, OMClientResponse omClientResponse, TermIndex termIndex) {
+    // As RequestHandler.handleWriteRequest, the prepare request adds its own response.
+    if (request.getCmdType() != OzoneManagerProtocolProtos.Type.Prepare) {
+      ozoneManagerDoubleBuffer.add(omClientResponse, termIndex);
+    }
+    return toOMResponse(omClientResponse);
+  }
+
+  private static OMResponse toOMResponse(OMClientResponse omClientResponse) {
+    OMLockDetails omLockDetails = omClientResponse.getOmLockDetails();
+    OMResponse omResponse = omClientResponse.getOMResponse();
+    if (omLockDetails != null) {
+      return omResponse.toBuilder()
+          .setOmLockDetails(omLockDetails.toProtobufBuilder()).build();
+    } else {
+      return omResponse;
+    }
+  }
+
   @VisibleForTesting
   OMResponse createErrorResponse(
       OMRequest omRequest, IOException exception, TermIndex termIndex) {
+    OMResponse omResponse = createErrorOMResponse(omRequest, exception);
+    OMClientResponse omClientResponse = new DummyOMClientResponse(omResponse);
+    ozoneManagerDoubleBuffer.add(omClientResponse, termIndex);
+    return omResponse;
+  }
+
+  private static OMResponse createErrorOMResponse(OMRequest omRequest, IOException exception) {
     OMResponse.Builder omResponseBuilder = OMResponse.newBuilder()
         .setStatus(OzoneManagerRatisUtils.exceptionToResponseStatus(exception))
         .setCmdType(omRequest.getCmdType())
@@ -700,10 +766,7 @@ OMResponse createErrorResponse(
     if (exception.getMessage() != null) {
       omResponseBuilder.setMessage(exception.getMessage());
     }
-    OMResponse omResponse = omResponseBuilder.build();
-    OMClientResponse omClientResponse = new DummyOMClientResponse(omResponse);
-    ozoneManagerDoubleBuffer.add(omClientResponse, termIndex);
-    return omResponse;
+    return omResponseBuilder.build();
   }
 
   public void loadSnapshotInfoFromDB() throws IOException {
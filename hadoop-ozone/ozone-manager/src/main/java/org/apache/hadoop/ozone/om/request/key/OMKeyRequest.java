@@ -69,6 +69,7 @@
 import org.apache.hadoop.ozone.OmUtils;
 import org.apache.hadoop.ozone.OzoneAcl;
 import org.apache.hadoop.ozone.OzoneConsts;
+import org.apache.hadoop.ozone.om.OMBlockPrefetchClient;
 import org.apache.hadoop.ozone.om.OMMetadataManager;
 import org.apache.hadoop.ozone.om.OmConfig;
 import org.apache.hadoop.ozone.om.OzoneManager;
@@ -203,9 +204,14 @@ protected List<OmKeyLocationInfo> allocateBlock(
     List<OmKeyLocationInfo> locationInfos = new ArrayList<>(numBlocks);
     String remoteUser = getRemoteUser().getShortUserName();
     final List<AllocatedBlock> allocatedBlocks;
+    final OMBlockPrefetchClient prefetchClient = ozoneManager.getBlockPrefetchClient();
     try {
-      allocatedBlocks = ozoneManager.getScmClient().getBlockClient().allocateBlock(
-          scmBlockSize, numBlocks, replicationConfig, ozoneManager.getOMServiceId(), excludeList, clientMachine);
+      if (prefetchClient != null) {
+        allocatedBlocks = prefetchClient.allocateBlock(numBlocks, replicationConfig, excludeList, clientMachine);
+      } else {
+        allocatedBlocks = ozoneManager.getScmClient().getBlockClient().allocateBlock(
+            scmBlockSize, numBlocks, replicationConfig, ozoneManager.getOMServiceId(), excludeList, clientMachine);
+      }
     } catch (SCMException ex) {
       ozoneManager.getMetrics().incNumBlockAllocateCallFails();
       if (ex.getResult() == SCMException.ResultCodes.SAFE_MODE_EXCEPTION) {
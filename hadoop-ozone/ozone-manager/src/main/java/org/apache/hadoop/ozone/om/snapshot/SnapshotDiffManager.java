@@ -158,6 +158,8 @@
 public class SnapshotDiffManager implements AutoCloseable, SnapshotDiffManagerMXBean {
   private static final Logger LOG =
       LoggerFactory.getLogger(SnapshotDiffManager.class);
+  /** The number of objects processed in a batch when generating a diff report. */
+  private static final int DIFF_REPORT_BATCH_SIZE = 100;
   private static final Map<DiffType, String> DIFF_TYPE_STRING_MAP =
       new EnumMap<>(ImmutableMap.of(DELETE, "1", RENAME, "2", CREATE, "3", MODIFY, "4"));
 
@@ -1378,105 +1380,106 @@ Pair<Long, String> generateDiffReport(
     try {
       try (ClosableIterator<Map.Entry<byte[], Boolean>>
                iterator = objectIdToIsDirMap.iterator()) {
-        // This counter is used, so that we can check every 100 elements
-        // if the job is cancelled and snapshots are still active.
-        int counter = 0;
         long index = 0;
         String largestJobKey = "";
+        final List<DiffObject> batch = new ArrayList<>(DIFF_REPORT_BATCH_SIZE);
         while (iterator.hasNext()) {
-          if (counter % 100 == 0 &&
-              !areDiffJobAndSnapshotsActive(volumeName, bucketName,
-                  fromSnapshotName, toSnapshotName)) {
+          // Check for every batch if the job is cancelled and snapshots are still active.
+          if (!areDiffJobAndSnapshotsActive(volumeName, bucketName,
+              fromSnapshotName, toSnapshotName)) {
             return Pair.of(-1L, null);
           }
 
-          Map.Entry<byte[], Boolean> nextEntry = iterator.next();
-          byte[] id = nextEntry.getKey();
-          boolean isDirectoryObject = nextEntry.getValue();
-
-          /*
-           * This key can be
-           * -> Created after the old snapshot was taken, which means it will be
-           *    missing in oldKeyTable and present in newKeyTable.
-           * -> Deleted after the old snapshot was taken, which means it will be
-           *    present in oldKeyTable and missing in newKeyTable.
-           * -> Modified after the old snapshot was taken, which means it will
-           *    be present in oldKeyTable and present in newKeyTable with same
-           *    Object ID but with different metadata.
-           * -> Renamed after the old snapshot was taken, which means it will be
-           *    present in oldKeyTable and present in newKeyTable but with
-           *    different name and same Object ID.
-           */
-          byte[] oldKeyName = oldObjIdToKeyMap.get(id);
-          byte[] newKeyName = newObjIdToKeyMap.get(id);
-          String jobKey = "";
-          if (oldKeyName == null && newKeyName == null) {
-            // This cannot happen.
-            throw new IllegalStateException(
-                "Old and new key name both are null");
-          } else if (oldKeyName == null) { // Key Created.
-            String key = resolveBucketRelativePath(isFSOBucket,
-                newParentIdPathMap, newKeyName, true);
-            if (key != null) {
-              DiffReportEntry entry = getDiffReportEntry(CREATE, key);
-              jobKey = addToReport(jobId, index++, entry);
-            }
-          } else if (newKeyName == null) { // Key Deleted.
-            String key = resolveBucketRelativePath(isFSOBucket,
-                oldParentIdPathMap, oldKeyName, true);
-            if (key != null) {
-              DiffReportEntry entry = getDiffReportEntry(DELETE, key);
-              jobKey = addToReport(jobId, index++, entry);
-            }
-          } else if (isDirectoryObject &&
-              Arrays.equals(oldKeyName, newKeyName)) {
-            String key = resolveBucketRelativePath(isFSOBucket,
-                newParentIdPathMap, newKeyName, true);
-            if (key != null) {
-              DiffReportEntry entry = getDiffReportEntry(MODIFY, key);
-              jobKey = addToReport(jobId, index++, entry);
-            }
-          } else {
-            String keyPrefix = tablePrefix.getTablePrefix((isDirectoryObject ? fsDirTable : fsTable).getName());
-            String oldKey = resolveBucketRelativePath(isFSOBucket,
-                oldParentIdPathMap, oldKeyName, true);
-            String newKey = resolveBucketRelativePath(isFSOBucket,
-                newParentIdPathMap, newKeyName, true);
-            if (oldKey == null && newKey == null) {
-              // When both are unresolved then it means both keys are deleted. So no change for these objects.
-              continue;
-            } else if (oldKey == null) {
-              // This should never happen where oldKey path is unresolved and new snapshot is resolved.
-              throw new IllegalStateException(String.format("Old and new key resolved paths both are not null when " +
-                      "oldKey is null for oldKey : %s newKey: %s", codecRegistry.asObject(oldKeyName, String.class),
-                  codecRegistry.asObject(newKeyName, String.class)));
-            } else if (newKey == null) {
-              jobKey = addToReport(jobId, index++, getDiffReportEntry(DELETE, oldKey));
-            } else {
-              // Check if block location is same or not. If it is not same,
-              // key must have been overridden as well.
-              boolean isObjectModified = isObjectModified(
-                  keyPrefix + codecRegistry.asObject(oldKeyName, String.class),
-                  keyPrefix + codecRegistry.asObject(newKeyName, String.class),
-                  isDirectoryObject ? fsDirTable : fsTable,
-                  isDirectoryObject ? tsDirTable : tsTable);
-              if (!isObjectModified || !Arrays.equals(oldKeyName, newKeyName)) {
-                jobKey = addToReport(jobId, index++, getDiffReportEntry(RENAME, oldKey, newKey));
+          batch.clear();
+          while (iterator.hasNext() && batch.size() < DIFF_REPORT_BATCH_SIZE) {
+            final Map.Entry<byte[], Boolean> nextEntry = iterator.next();
+            final byte[] id = nextEntry.getKey();
+            batch.add(new DiffObject(nextEntry.getValue(),
+                oldObjIdToKeyMap.get(id), newObjIdToKeyMap.get(id)));
+          }
+          // Look up the objects existing in both snapshots in a batch.
+          lookupObjects(batch, false, isFSOBucket, oldParentIdPathMap, newParentIdPathMap,
+              tablePrefix.getTablePrefix(fsTable.getName()), fsTable, tsTable);
+          lookupObjects(batch, true, isFSOBucket, oldParentIdPathMap, newParentIdPathMap,
+              fsDirTable == null ? null : tablePrefix.getTablePrefix(fsDirTable.getName()), fsDirTable, tsDirTable);
+
+          for (DiffObject object : batch) {
+            /*
+             * This key can be
+             * -> Created after the old snapshot was taken, which means it will be
+             *    missing in oldKeyTable and present in newKeyTable.
+             * -> Deleted after the old snapshot was taken, which means it will be
+             *    present in oldKeyTable and missing in newKeyTable.
+             * -> Modified after the old snapshot was taken, which means it will
+             *    be present in oldKeyTable and present in newKeyTable with same
+             *    Object ID but with different metadata.
+             * -> Renamed after the old snapshot was taken, which means it will be
+             *    present in oldKeyTable and present in newKeyTable but with
+             *    different name and same Object ID.
+             */
+            final byte[] oldKeyName = object.oldKeyName;
+            final byte[] newKeyName = object.newKeyName;
+            String jobKey = "";
+            if (oldKeyName == null && newKeyName == null) {
+              // This cannot happen.
+              throw new IllegalStateException(
+                  "Old and new key name both are null");
+            } else if (oldKeyName == null) { // Key Created.
+              String key = resolveBucketRelativePath(isFSOBucket,
+                  newParentIdPathMap, newKeyName, true);
+              if (key != null) {
+                DiffReportEntry entry = getDiffReportEntry(CREATE, key);
+                jobKey = addToReport(jobId, index++, entry);
+              }
+            } else if (newKeyName == null) { // Key Deleted.
+              String key = resolveBucketRelativePath(isFSOBucket,
+                  oldParentIdPathMap, oldKeyName, true);
+              if (key != null) {
+                DiffReportEntry entry = getDiffReportEntry(DELETE, key);
+                jobKey = addToReport(jobId, index++, entry);
+              }
+            } else if (object.isDirectory &&
+                Arrays.equals(oldKeyName, newKeyName)) {
+              String key = resolveBucketRelativePath(isFSOBucket,
+                  newParentIdPathMap, newKeyName, true);
+              if (key != null) {
+                DiffReportEntry entry = getDiffReportEntry(MODIFY, key);
+                jobKey = addToReport(jobId, index++, entry);
               }
-              if (isObjectModified) {
-                // Here, oldKey name is returned as modified. Modified key name
-                // is based on base snapshot (from snapshot).
-                String modifiedJobKey = addToReport(jobId, index++, getDiffReportEntry(MODIFY, oldKey));
-                if (modifiedJobKey.compareTo(jobKey) > 0) {
-                  jobKey = modifiedJobKey;
+            } else {
+              final String oldKey = object.oldKey;
+              final String newKey = object.newKey;
+              if (oldKey == null && newKey == null) {
+                // When both are unresolved then it means both keys are deleted. So no change for these objects.
+                continue;
+              } else if (oldKey == null) {
+                // This should never happen where oldKey path is unresolved and new snapshot is resolved.
+                throw new IllegalStateException(String.format("Old and new key resolved paths both are not null " +
+                        "when oldKey is null for oldKey : %s newKey: %s", codecRegistry.asObject(oldKeyName,
+                        String.class), codecRegistry.asObject(newKeyName, String.class)));
+              } else if (newKey == null) {
+                jobKey = addToReport(jobId, index++, getDiffReportEntry(DELETE, oldKey));
+              } else {
+                // Check if block location is same or not. If it is not same,
+                // key must have been overridden as well.
+                boolean isObjectModified = isObjectModified(object.fromObject, object.toObject);
+                if (!isObjectModified || !Arrays.equals(oldKeyName, newKeyName)) {
+                  jobKey = addToReport(jobId, index++, getDiffReportEntry(RENAME, oldKey, newKey));
+                }
+                if (isObjectModified) {
+                  // Here, oldKey name is returned as modified. Modified key name
+                  // is based on base snapshot (from snapshot).
+                  String modifiedJobKey = addToReport(jobId, index++, getDiffReportEntry(MODIFY, oldKey));
+                  if (modifiedJobKey.compareTo(jobKey) > 0) {
+                    jobKey = modifiedJobKey;
+                  }
                 }
               }
             }
+            if (jobKey.compareTo(largestJobKey) > 0) {
+              largestJobKey = jobKey;
+            }
           }
-          if (jobKey.compareTo(largestJobKey) > 0) {
-            largestJobKey = jobKey;
-          }
-          counter++;
         }
         return Pair.of(index, largestJobKey);
       }
@@ -1498,15 +1501,45 @@ private boolean isKeyModified(OmKeyInfo fromKey, OmKeyInfo toKey) {
         || !SnapshotUtils.isBlockLocationInfoSame(fromKey, toKey);
   }
 
-  private boolean isObjectModified(String fromObjectName, String toObjectName,
-      final Table<String, ? extends WithObjectID> fromSnapshotTable,
-      final Table<String, ? extends WithObjectID> toSnapshotTable)
-      throws IOException {
-    Objects.requireNonNull(fromObjectName, "fromObjectName is null.");
-    Objects.requireNonNull(toObjectName, "toObjectName is null.");
+  /**
+   * For the objects in the given batch existing in both snapshots, i.e. renamed
+   * or possibly modified, resolve their paths and then look up the objects
+   * from the snapshot tables using {@link Table#multiGet(List)}.
+   */
+  @SuppressWarnings("checkstyle:ParameterNumber")
+  private void lookupObjects(List<DiffObject> batch, boolean isDirectory, boolean isFSOBucket,
+      Optional<Map<Long, Path>> oldParentIdPathMap, Optional<Map<Long, Path>> newParentIdPathMap, String keyPrefix,
+      Table<String, ? extends WithObjectID> fromSnapshotTable,
+      Table<String, ? extends WithObjectID> toSnapshotTable) throws IOException {
+    final List<DiffObject> objects = new ArrayList<>();
+    final List<String> fromObjectNames = new ArrayList<>();
+    final List<String> toObjectNames = new ArrayList<>();
+    for (DiffObject object : batch) {
+      if (object.isDirectory != isDirectory || object.oldKeyName == null || object.newKeyName == null
+          || isDirectory && Arrays.equals(object.oldKeyName, object.newKeyName)) {
+        continue;
+      }
+      object.oldKey = resolveBucketRelativePath(isFSOBucket, oldParentIdPathMap, object.oldKeyName, true);
+      object.newKey = resolveBucketRelativePath(isFSOBucket, newParentIdPathMap, object.newKeyName, true);
+      if (object.oldKey != null && object.newKey != null) {
+        objects.add(object);
+        fromObjectNames.add(keyPrefix + codecRegistry.asObject(object.oldKeyName, String.class));
+        toObjectNames.add(keyPrefix + codecRegistry.asObject(object.newKeyName, String.class));
+      }
+    }
+    if (objects.isEmpty()) {
+      return;
+    }
 
-    final WithObjectID fromObject = fromSnapshotTable.get(fromObjectName);
-    final WithObjectID toObject = toSnapshotTable.get(toObjectName);
+    final List<? extends WithObjectID> fromObjects = fromSnapshotTable.multiGet(fromObjectNames);
+    final List<? extends WithObjectID> toObjects = toSnapshotTable.multiGet(toObjectNames);
+    for (int i = 0; i < objects.size(); i++) {
+      objects.get(i).fromObject = fromObjects.get(i);
+      objects.get(i).toObject = toObjects.get(i);
+    }
+  }
+
+  private boolean isObjectModified(WithObjectID fromObject, WithObjectID toObject) {
     if ((fromObject instanceof OmKeyInfo) && (toObject instanceof OmKeyInfo)) {
       return isKeyModified((OmKeyInfo) fromObject, (OmKeyInfo) toObject);
     } else if ((fromObject instanceof OmDirectoryInfo)
@@ -1739,4 +1772,23 @@ private void closeExecutorService(ExecutorService executorService,
       }
     }
   }
+
+  /** An object, i.e. a key or a directory, to be added to a diff report. */
+  private static final class DiffObject {
+    private final boolean isDirectory;
+    private final byte[] oldKeyName;
+    private final byte[] newKeyName;
+    /** The resolved paths, set only if the object exists in both snapshots. */
+    private String oldKey;
+    private String newKey;
+    /** The objects in the snapshot tables, set only if both paths are resolved. */
+    private WithObjectID fromObject;
+    private WithObjectID toObject;
+
+    private DiffObject(boolean isDirectory, byte[] oldKeyName, byte[] newKeyName) {
+      this.isDirectory = isDirectory;
+      this.oldKeyName = oldKeyName;
+      this.newKeyName = newKeyName;
+    }
+  }
 }
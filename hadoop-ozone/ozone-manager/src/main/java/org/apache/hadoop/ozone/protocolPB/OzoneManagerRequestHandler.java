@@ -108,12 +108,15 @@
 import org.apache.hadoop.ozone.protocol.proto.OzoneManagerProtocolProtos.CheckVolumeAccessResponse;
 import org.apache.hadoop.ozone.protocol.proto.OzoneManagerProtocolProtos.EchoRPCRequest;
 import org.apache.hadoop.ozone.protocol.proto.OzoneManagerProtocolProtos.EchoRPCResponse;
+import org.apache.hadoop.ozone.protocol.proto.OzoneManagerProtocolProtos.FileStatusResult;
 import org.apache.hadoop.ozone.protocol.proto.OzoneManagerProtocolProtos.FinalizeUpgradeProgressRequest;
 import org.apache.hadoop.ozone.protocol.proto.OzoneManagerProtocolProtos.FinalizeUpgradeProgressResponse;
 import org.apache.hadoop.ozone.protocol.proto.OzoneManagerProtocolProtos.GetBucketTaggingRequest;
 import org.apache.hadoop.ozone.protocol.proto.OzoneManagerProtocolProtos.GetBucketTaggingResponse;
 import org.apache.hadoop.ozone.protocol.proto.OzoneManagerProtocolProtos.GetFileStatusRequest;
 import org.apache.hadoop.ozone.protocol.proto.OzoneManagerProtocolProtos.GetFileStatusResponse;
+import org.apache.hadoop.ozone.protocol.proto.OzoneManagerProtocolProtos.GetFileStatusesRequest;
+import org.apache.hadoop.ozone.protocol.proto.OzoneManagerProtocolProtos.GetFileStatusesResponse;
 import org.apache.hadoop.ozone.protocol.proto.OzoneManagerProtocolProtos.GetKeyInfoRequest;
 import org.apache.hadoop.ozone.protocol.proto.OzoneManagerProtocolProtos.GetKeyInfoResponse;
 import org.apache.hadoop.ozone.protocol.proto.OzoneManagerProtocolProtos.GetObjectTaggingRequest;
@@ -276,6 +279,11 @@ public OMResponse handleReadRequest(OMRequest request) {
             request.getGetFileStatusRequest(), request.getVersion());
         responseBuilder.setGetFileStatusResponse(getFileStatusResponse);
         break;
+      case GetFileStatuses:
+        GetFileStatusesResponse getFileStatusesResponse = getOzoneFileStatuses(
+            request.getGetFileStatusesRequest(), request.getVersion());
+        responseBuilder.setGetFileStatusesResponse(getFileStatusesResponse);
+        break;
       case LookupFile:
         LookupFileResponse lookupFileResponse =
             lookupFile(request.getLookupFileRequest(), request.getVersion());
@@ -1081,8 +1089,37 @@ private GetFileStatusResponse getOzoneFileStatus(
         .build();
 
     GetFileStatusResponse.Builder rb = GetFileStatusResponse.newBuilder();
-    OzoneFileStatusProto status =
-        impl.getFileStatus(omKeyArgs).getProtobuf(clientVersion);
+    rb.setStatus(toFileStatusProto(keyArgs, impl.getFileStatus(omKeyArgs), clientVersion));
+
+    return rb.build();
+  }
+
+  private GetFileStatusesResponse getOzoneFileStatuses(
+      GetFileStatusesRequest request, int clientVersion) throws IOException {
+    List<OmKeyArgs> omKeyArgs = request.getKeyArgsList().stream()
+        .map(keyArgs -> new OmKeyArgs.Builder()
+            .setVolumeName(keyArgs.getVolumeName())
+            .setBucketName(keyArgs.getBucketName())
+            .setKeyName(keyArgs.getKeyName())
+            .setHeadOp(keyArgs.getHeadOp())
+            .build())
+        .collect(Collectors.toList());
+
+    List<OzoneFileStatus> statuses = impl.getFileStatuses(omKeyArgs);
+    GetFileStatusesResponse.Builder rb = GetFileStatusesResponse.newBuilder();
+    for (int i = 0; i < statuses.size(); i++) {
+      FileStatusResult.Builder result = FileStatusResult.newBuilder();
+      if (statuses.get(i) != null) {
+        result.setStatus(toFileStatusProto(request.getKeyArgs(i), statuses.get(i), clientVersion));
+      }
+      rb.addResults(result);
+    }
+    return rb.build();
+  }
+
+  private static OzoneFileStatusProto toFileStatusProto(KeyArgs keyArgs,
+      OzoneFileStatus fileStatus, int clientVersion) {
+    OzoneFileStatusProto status = fileStatus.getProtobuf(clientVersion);
     if (keyArgs.getHeadOp() && status.hasKeyInfo()) {
       // A head op only needs the entry type. The block locations are not
       // refreshed for a head op (they carry no pipeline) and the caller does
@@ -1091,9 +1128,7 @@ private GetFileStatusResponse getOzoneFileStatus(
           .setKeyInfo(status.getKeyInfo().toBuilder().clearKeyLocationList())
           .build();
     }
-    rb.setStatus(status);
-
-    return rb.build();
+    return status;
   }
 
   private RangerBGSyncResponse triggerRangerBGSync(
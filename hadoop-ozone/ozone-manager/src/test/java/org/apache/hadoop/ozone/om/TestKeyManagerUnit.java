@@ -23,6 +23,7 @@
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.Mockito.anySet;
 import static org.mockito.Mockito.mock;
@@ -42,6 +43,8 @@
 import java.util.Set;
 import java.util.UUID;
 import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
 import org.apache.commons.lang3.RandomUtils;
 import org.apache.hadoop.hdds.HddsConfigKeys;
 import org.apache.hadoop.hdds.client.BlockID;
@@ -115,6 +118,8 @@ void setup(@TempDir Path testDir) throws Exception {
     ExitUtils.disableSystemExit();
     OzoneConfiguration configuration = new OzoneConfiguration();
     configuration.set(HddsConfigKeys.OZONE_METADATA_DIRS, testDir.toString());
+    configuration.setBoolean(OMConfigKeys.OZONE_OM_OPTIMISTIC_READ_ENABLED,
+        isOptimisticReadEnabled());
     containerClient = mock(StorageContainerLocationProtocol.class);
     blockClient = mock(ScmBlockLocationProtocol.class);
     InnerNode.Factory factory = InnerNodeImpl.FACTORY;
@@ -129,6 +134,11 @@ void setup(@TempDir Path testDir) throws Exception {
     writeClient = omTestManagers.getWriteClient();
   }
 
+  /** @return whether the key lookups read without the bucket lock. */
+  boolean isOptimisticReadEnabled() {
+    return false;
+  }
+
   @BeforeEach
   void init() {
     reset(blockClient, containerClient);
@@ -637,8 +647,11 @@ public void testLookupFileWithDnFailure() throws IOException {
         .setBucketName("bucketOne")
         .setKeyName("keyOne");
 
+    final long optimisticReadHits = om.getPerfMetrics().getOptimisticReadHits();
     final OmKeyInfo newKeyInfo = keyManager
         .lookupFile(keyArgs.build(), "test");
+    assertEquals(optimisticReadHits + (isOptimisticReadEnabled() ? 1 : 0),
+        om.getPerfMetrics().getOptimisticReadHits());
 
     final OmKeyLocationInfo newBlockLocation = newKeyInfo
         .getLatestVersionLocations().getBlocksLatestVersionOnly().get(0);
@@ -652,6 +665,34 @@ public void testLookupFileWithDnFailure() throws IOException {
         .contains(dnFour, dnFive, dnSix);
   }
 
+  @Test
+  public void testGetFileStatuses() throws IOException {
+    final String volume = volumeName();
+    insertVolume(volume);
+    insertBucket(volume, "bucketOne");
+    final Pipeline pipeline = MockPipeline.createPipeline(3);
+    insertKey(pipeline, volume, "bucketOne", "dir/keyOne", new BlockID(1L, 1L));
+    insertKey(pipeline, volume, "bucketOne", "keyTwo", new BlockID(1L, 2L));
+
+    final List<OmKeyArgs> keyArgs = Stream.of("keyTwo", "missing", "dir", "dir/keyOne")
+        .map(key -> new OmKeyArgs.Builder()
+            .setVolumeName(volume)
+            .setBucketName("bucketOne")
+            .setKeyName(key)
+            .setHeadOp(true)
+            .build())
+        .collect(Collectors.toList());
+    final List<OzoneFileStatus> statuses = keyManager.getFileStatuses(keyArgs, null);
+
+    assertEquals(4, statuses.size());
+    assertTrue(statuses.get(0).isFile());
+    assertEquals("keyTwo", statuses.get(0).getKeyInfo().getKeyName());
+    assertNull(statuses.get(1));
+    assertTrue(statuses.get(2).isDirectory());
+    assertTrue(statuses.get(3).isFile());
+    assertEquals("dir/keyOne", statuses.get(3).getKeyInfo().getKeyName());
+  }
+
   private void insertKey(Pipeline pipeline, String volumeName,
                          String bucketName, String keyName,
                          BlockID blockID) throws IOException {
@@ -766,4 +807,53 @@ public void listStatus() throws Exception {
         null, Long.MAX_VALUE, client);
     verify(containerClient, times(1)).getContainerWithPipelineBatch(anySet());
   }
+
+  @Test
+  public void listStatusFSO() throws Exception {
+    String volume = volumeName();
+    String bucket = "bucket";
+    OMRequestTestUtils.addVolumeToDB(volume, OzoneConsts.OZONE,
+        metadataManager);
+    final long bucketId = OMRequestTestUtils.addBucketToDB(volume, bucket,
+        metadataManager, BucketLayout.FILE_SYSTEM_OPTIMIZED).getObjectID();
+
+    // directories d1, d3 and files f2, f4, f5 in the bucket
+    long objectId = bucketId;
+    for (String dir : Arrays.asList("d1", "d3")) {
+      OMRequestTestUtils.addDirKeyToDirTable(false,
+          OMRequestTestUtils.createOmDirectoryInfo(dir, ++objectId, bucketId),
+          volume, bucket, 1, metadataManager);
+    }
+    final List<String> fileKeys = new ArrayList<>();
+    for (String file : Arrays.asList("f2", "f4", "f5")) {
+      final OmKeyInfo keyInfo = OMRequestTestUtils.createOmKeyInfo(volume,
+              bucket, file, RatisReplicationConfig.getInstance(ReplicationFactor.THREE))
+          .setObjectID(++objectId)
+          .setParentObjectID(bucketId)
+          .build();
+      fileKeys.add(OMRequestTestUtils.addFileToKeyTable(false, false, file,
+          keyInfo, 0, 1, metadataManager));
+    }
+    // f4 is deleted in cache only
+    metadataManager.getKeyTable(BucketLayout.FILE_SYSTEM_OPTIMIZED)
+        .addCacheEntry(new CacheKey<>(fileKeys.get(1)), CacheValue.get(2));
+
+    final OmKeyArgs args = new OmKeyArgs.Builder()
+        .setVolumeName(volume)
+        .setBucketName(bucket)
+        .setKeyName("")
+        .build();
+    assertEquals(Arrays.asList("d1", "d3", "f2", "f5"),
+        listStatusNames(args, null, 100));
+    assertEquals(Arrays.asList("d1", "d3"), listStatusNames(args, null, 2));
+    assertEquals(Arrays.asList("d3", "f2"), listStatusNames(args, "d3", 2));
+  }
+
+  private List<String> listStatusNames(OmKeyArgs args, String startKey,
+      long numEntries) throws IOException {
+    return keyManager.listStatus(args, false, startKey, numEntries, null)
+        .stream()
+        .map(status -> status.getKeyInfo().getKeyName())
+        .collect(Collectors.toList());
+  }
 }
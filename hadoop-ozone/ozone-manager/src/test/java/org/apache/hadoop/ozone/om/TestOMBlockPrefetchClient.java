@@ -0,0 +1,170 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements. See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.hadoop.ozone.om;
+
+import static org.apache.hadoop.hdds.protocol.proto.HddsProtos.ReplicationFactor.THREE;
+import static org.apache.hadoop.ozone.om.OMConfigKeys.OZONE_OM_BLOCK_PREFETCH_LEASE;
+import static org.apache.hadoop.ozone.om.OMConfigKeys.OZONE_OM_BLOCK_PREFETCH_MAX_BLOCKS;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import org.apache.hadoop.hdds.client.ContainerBlockID;
+import org.apache.hadoop.hdds.client.RatisReplicationConfig;
+import org.apache.hadoop.hdds.client.ReplicationConfig;
+import org.apache.hadoop.hdds.conf.OzoneConfiguration;
+import org.apache.hadoop.hdds.scm.container.common.helpers.AllocatedBlock;
+import org.apache.hadoop.hdds.scm.container.common.helpers.ExcludeList;
+import org.apache.hadoop.hdds.scm.pipeline.MockPipeline;
+import org.apache.hadoop.hdds.scm.pipeline.PipelineID;
+import org.apache.hadoop.hdds.scm.protocol.ScmBlockLocationProtocol;
+import org.apache.ozone.test.GenericTestUtils;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Test cases for {@link OMBlockPrefetchClient}.
+ */
+public class TestOMBlockPrefetchClient {
+
+  private static final long BLOCK_SIZE = 1024;
+  private static final String OWNER = "om-service";
+  private static final ReplicationConfig REPLICATION_CONFIG =
+      RatisReplicationConfig.getInstance(THREE);
+
+  private final AtomicLong nextLocalId = new AtomicLong();
+  private final AtomicBoolean leader = new AtomicBoolean(true);
+  private ScmBlockLocationProtocol scm;
+  private OzoneConfiguration conf;
+  private OMBlockPrefetchClient client;
+
+  @BeforeEach
+  void setup() throws IOException {
+    scm = mock(ScmBlockLocationProtocol.class);
+    when(scm.allocateBlock(anyLong(), anyInt(), any(ReplicationConfig.class),
+        anyString(), any(ExcludeList.class), any()))
+        .thenAnswer(invocation -> {
+          final int num = invocation.getArgument(1);
+          final List<AllocatedBlock> blocks = new ArrayList<>(num);
+          for (int i = 0; i < num; i++) {
+            blocks.add(new AllocatedBlock.Builder()
+                .setContainerBlockID(
+                    new ContainerBlockID(1, nextLocalId.incrementAndGet()))
+                .setPipeline(MockPipeline.createRatisPipeline())
+                .build());
+          }
+          return blocks;
+        });
+    conf = new OzoneConfiguration();
+    conf.setInt(OZONE_OM_BLOCK_PREFETCH_MAX_BLOCKS, 4);
+  }
+
+  @AfterEach
+  void cleanup() {
+    if (client != null) {
+      client.stop();
+    }
+  }
+
+  private OMBlockPrefetchClient newClient() {
+    client = new OMBlockPrefetchClient(scm, BLOCK_SIZE, OWNER, conf,
+        leader::get, (nodes, clientMachine) -> nodes);
+    client.notifyStatusChanged();
+    return client;
+  }
+
+  private List<AllocatedBlock> allocate(ExcludeList excludeList)
+      throws IOException {
+    return client.allocateBlock(1, REPLICATION_CONFIG, excludeList, "");
+  }
+
+  private void waitForPoolSize(int size) throws Exception {
+    GenericTestUtils.waitFor(
+        () -> client.getPoolSize(REPLICATION_CONFIG) == size, 10, 10_000);
+  }
+
+  @Test
+  void testAllocateFromPool() throws Exception {
+    newClient();
+    final OMBlockPrefetchMetrics metrics = client.getMetrics();
+
+    // The pool is empty, so the first block is allocated from SCM.
+    assertEquals(1, allocate(new ExcludeList()).size());
+    assertEquals(1, metrics.getNumMisses());
+    waitForPoolSize(4);
+    assertEquals(1, metrics.getNumRefills());
+
+    // Then the blocks are taken from the pool.
+    assertEquals(1, allocate(new ExcludeList()).size());
+    assertEquals(1, metrics.getNumHits());
+    assertEquals(3, client.getPoolSize(REPLICATION_CONFIG));
+    assertEquals(0.5f, metrics.getHitRatio());
+
+    // An allocation with exclusions is always sent to SCM.
+    final ExcludeList excludeList = new ExcludeList();
+    excludeList.addPipeline(PipelineID.randomId());
+    allocate(excludeList);
+    assertEquals(2, metrics.getNumMisses());
+    verify(scm, times(1)).allocateBlock(eq(BLOCK_SIZE), eq(1),
+        eq(REPLICATION_CONFIG), eq(OWNER), eq(excludeList), any());
+
+    // The unused blocks are returned when this OM is no longer the leader.
+    leader.set(false);
+    client.notifyStatusChanged();
+    assertEquals(0, client.getPoolSize(REPLICATION_CONFIG));
+    verify(scm, timeout(10_000)).deleteKeyBlocks(any());
+    GenericTestUtils.waitFor(() -> metrics.getNumReturnedBlocks() == 3,
+        10, 10_000);
+
+    allocate(new ExcludeList());
+    assertEquals(3, metrics.getNumMisses());
+  }
+
+  @Test
+  void testExpiredBlocksAreNotUsed() throws Exception {
+    conf.setTimeDuration(OZONE_OM_BLOCK_PREFETCH_LEASE, 0,
+        TimeUnit.MILLISECONDS);
+    newClient();
+    final OMBlockPrefetchMetrics metrics = client.getMetrics();
+
+    allocate(new ExcludeList());
+    waitForPoolSize(4);
+
+    allocate(new ExcludeList());
+    assertEquals(0, metrics.getNumHits());
+    assertEquals(2, metrics.getNumMisses());
+    assertEquals(4, metrics.getNumExpiredBlocks());
+    GenericTestUtils.waitFor(() -> metrics.getNumReturnedBlocks() == 4,
+        10, 10_000);
+  }
+}
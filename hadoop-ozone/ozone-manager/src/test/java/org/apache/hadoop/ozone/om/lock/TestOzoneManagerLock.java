@@ -26,6 +26,7 @@
 import static org.junit.jupiter.api.Assertions.assertDoesNotThrow;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
@@ -39,6 +40,7 @@
 import java.util.Set;
 import java.util.Stack;
 import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
@@ -517,6 +519,35 @@ private void testLockHoldCountUtil(LeveledResource resource,
     assertEquals(0, lock.getWriteHoldCount(resource, resourceName));
   }
 
+  @Test
+  void testOptimisticRead() throws Exception {
+    OzoneManagerLock lock = new OzoneManagerLock(new OzoneConfiguration());
+    LeveledResource resource = LeveledResource.BUCKET_LOCK;
+    String[] resourceName = generateResourceName(resource);
+
+    // Readers do not invalidate an optimistic read.
+    long stamp = lock.tryOptimisticRead(resource, resourceName);
+    assertNotEquals(0, stamp);
+    lock.acquireReadLock(resource, resourceName);
+    lock.releaseReadLock(resource, resourceName);
+    assertTrue(lock.validateOptimisticRead(stamp, resource, resourceName));
+
+    // An optimistic read cannot start while the write lock is held.
+    lock.acquireWriteLock(resource, resourceName);
+    lock.acquireWriteLock(resource, resourceName);
+    assertEquals(0, lock.tryOptimisticRead(resource, resourceName));
+    lock.releaseWriteLock(resource, resourceName);
+    CompletableFuture.runAsync(() -> assertEquals(0, lock.tryOptimisticRead(resource, resourceName))).get();
+    lock.releaseWriteLock(resource, resourceName);
+    assertFalse(lock.validateOptimisticRead(0, resource, resourceName));
+
+    // A writer invalidates the optimistic reads started before it.
+    assertFalse(lock.validateOptimisticRead(stamp, resource, resourceName));
+    stamp = lock.tryOptimisticRead(resource, resourceName);
+    assertNotEquals(0, stamp);
+    assertTrue(lock.validateOptimisticRead(stamp, resource, resourceName));
+  }
+
   @ParameterizedTest
   @EnumSource
   void testLockConcurrentStats(LeveledResource resource) throws InterruptedException {
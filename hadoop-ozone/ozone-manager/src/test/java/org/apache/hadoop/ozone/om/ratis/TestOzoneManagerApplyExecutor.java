@@ -0,0 +1,181 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements. See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.hadoop.ozone.om.ratis;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+import org.apache.hadoop.ozone.protocol.proto.OzoneManagerProtocolProtos.CreateKeyRequest;
+import org.apache.hadoop.ozone.protocol.proto.OzoneManagerProtocolProtos.DeleteKeyArgs;
+import org.apache.hadoop.ozone.protocol.proto.OzoneManagerProtocolProtos.DeleteKeysRequest;
+import org.apache.hadoop.ozone.protocol.proto.OzoneManagerProtocolProtos.KeyArgs;
+import org.apache.hadoop.ozone.protocol.proto.OzoneManagerProtocolProtos.OMRequest;
+import org.apache.hadoop.ozone.protocol.proto.OzoneManagerProtocolProtos.Type;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Tests {@link OzoneManagerApplyExecutor}.
+ */
+public class TestOzoneManagerApplyExecutor {
+  private static final String CLIENT_ID = UUID.randomUUID().toString();
+
+  private ExecutorService executorService;
+  private OzoneManagerApplyExecutor applyExecutor;
+  private final List<String> ordered = new CopyOnWriteArrayList<>();
+
+  @BeforeEach
+  public void setup() {
+    executorService = Executors.newFixedThreadPool(4);
+    applyExecutor = new OzoneManagerApplyExecutor(executorService);
+  }
+
+  @AfterEach
+  public void shutdown() {
+    executorService.shutdownNow();
+  }
+
+  private static OMRequest createKey(String volume, String bucket, String key) {
+    return OMRequest.newBuilder()
+        .setCmdType(Type.CreateKey)
+        .setClientId(CLIENT_ID)
+        .setCreateKeyRequest(CreateKeyRequest.newBuilder()
+            .setKeyArgs(KeyArgs.newBuilder()
+                .setVolumeName(volume)
+                .setBucketName(bucket)
+                .setKeyName(key)))
+        .build();
+  }
+
+  private static OMRequest prepare() {
+    return OMRequest.newBuilder()
+        .setCmdType(Type.Prepare)
+        .setClientId(CLIENT_ID)
+        .build();
+  }
+
+  private CompletableFuture<String> submit(OMRequest request, Supplier<String> task) {
+    return applyExecutor.submit(request, task, result -> {
+      ordered.add(result);
+      return result;
+    });
+  }
+
+  private static Supplier<String> await(CountDownLatch latch, String name) {
+    return () -> {
+      try {
+        assertTrue(latch.await(1, TimeUnit.MINUTES));
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+        throw new IllegalStateException(e);
+      }
+      return name;
+    };
+  }
+
+  @Test
+  public void testGetResource() {
+    assertNotNull(OzoneManagerApplyExecutor.getResource(createKey("vol", "bucket", "key")));
+    assertEquals(OzoneManagerApplyExecutor.getResource(createKey("vol", "bucket", "key1")),
+        OzoneManagerApplyExecutor.getResource(createKey("vol", "bucket", "key2")));
+    assertNotEquals(OzoneManagerApplyExecutor.getResource(createKey("vol", "bucket1", "key")),
+        OzoneManagerApplyExecutor.getResource(createKey("vol", "bucket2", "key")));
+
+    final OMRequest deleteKeys = OMRequest.newBuilder()
+        .setCmdType(Type.DeleteKeys)
+        .setClientId(CLIENT_ID)
+        .setDeleteKeysRequest(DeleteKeysRequest.newBuilder()
+            .setDeleteKeys(DeleteKeyArgs.newBuilder()
+                .setVolumeName("vol")
+                .setBucketName("bucket")))
+        .build();
+    assertEquals(OzoneManagerApplyExecutor.getResource(createKey("vol", "bucket", "key")),
+        OzoneManagerApplyExecutor.getResource(deleteKeys));
+
+    assertNull(OzoneManagerApplyExecutor.getResource(prepare()));
+  }
+
+  @Test
+  public void testNonConflictingRequests() throws Exception {
+    final CountDownLatch latch = new CountDownLatch(1);
+    final CompletableFuture<String> first = submit(createKey("vol", "bucket1", "key"),
+        await(latch, "first"));
+    final CountDownLatch secondExecuted = new CountDownLatch(1);
+    final CompletableFuture<String> second = submit(createKey("vol", "bucket2", "key"), () -> {
+      secondExecuted.countDown();
+      return "second";
+    });
+
+    // The second request is executed while the first request is blocked,
+    // but its ordered stage waits for the first request.
+    assertTrue(secondExecuted.await(1, TimeUnit.MINUTES));
+    assertFalse(second.isDone());
+    assertThat(ordered).isEmpty();
+
+    latch.countDown();
+    assertEquals("second", second.get(1, TimeUnit.MINUTES));
+    assertEquals("first", first.get());
+    assertThat(ordered).containsExactly("first", "second");
+  }
+
+  @Test
+  public void testConflictingRequests() throws Exception {
+    final CountDownLatch latch = new CountDownLatch(1);
+    final CompletableFuture<String> first = submit(createKey("vol", "bucket", "key1"),
+        await(latch, "first"));
+    final CountDownLatch secondExecuted = new CountDownLatch(1);
+    final CompletableFuture<String> second = submit(createKey("vol", "bucket", "key2"), () -> {
+      secondExecuted.countDown();
+      return "second";
+    });
+    final CountDownLatch exclusiveExecuted = new CountDownLatch(1);
+    final CompletableFuture<String> exclusive = submit(prepare(), () -> {
+      exclusiveExecuted.countDown();
+      return "exclusive";
+    });
+    final CompletableFuture<String> third = submit(createKey("vol", "bucket2", "key"), () -> "third");
+
+    // The requests of the same bucket and the following exclusive request
+    // must wait for the first request.
+    assertFalse(secondExecuted.await(100, TimeUnit.MILLISECONDS));
+    assertFalse(exclusiveExecuted.await(100, TimeUnit.MILLISECONDS));
+    assertFalse(third.isDone());
+
+    latch.countDown();
+    assertEquals("third", third.get(1, TimeUnit.MINUTES));
+    assertEquals("first", first.get());
+    assertEquals("second", second.get());
+    assertEquals("exclusive", exclusive.get());
+    assertThat(ordered).containsExactly("first", "second", "exclusive", "third");
+  }
+}
@@ -0,0 +1,199 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements. See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.hadoop.ozone.om.ratis;
+
+import static org.apache.hadoop.hdds.HddsConfigKeys.OZONE_METADATA_DIRS;
+import static org.apache.hadoop.ozone.OzoneConsts.TRANSACTION_INFO_KEY;
+import static org.apache.hadoop.ozone.om.codec.OMDBDefinition.BUCKET_TABLE;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicLong;
+import org.apache.hadoop.hdds.conf.OzoneConfiguration;
+import org.apache.hadoop.hdds.utils.TransactionInfo;
+import org.apache.hadoop.hdds.utils.db.BatchOperation;
+import org.apache.hadoop.ozone.om.OMMetadataManager;
+import org.apache.hadoop.ozone.om.OmMetadataManagerImpl;
+import org.apache.hadoop.ozone.om.helpers.OmBucketInfo;
+import org.apache.hadoop.ozone.om.response.CleanupTableInfo;
+import org.apache.hadoop.ozone.om.response.OMClientResponse;
+import org.apache.hadoop.ozone.protocol.proto.OzoneManagerProtocolProtos;
+import org.apache.hadoop.ozone.protocol.proto.OzoneManagerProtocolProtos.CreateBucketResponse;
+import org.apache.hadoop.ozone.protocol.proto.OzoneManagerProtocolProtos.OMResponse;
+import org.apache.hadoop.util.Time;
+import org.apache.ratis.server.protocol.TermIndex;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+/**
+ * This class tests OzoneManagerDoubleBuffer with the batches committed by
+ * the commit thread, i.e. with more than one pending flush batch.
+ */
+public class TestOzoneManagerDoubleBufferPipelinedFlush {
+
+  private OMMetadataManager omMetadataManager;
+  private OzoneManagerDoubleBuffer doubleBuffer;
+  private final AtomicLong trxId = new AtomicLong(0);
+  private final long term = 1L;
+  /** The bucket rows added to the batches, which are all by the flush thread. */
+  private final Map<BatchOperation, Integer> addedRowsPerBatch =
+      new IdentityHashMap<>();
+  private long addedRows;
+  @TempDir
+  private Path folder;
+
+  @BeforeEach
+  public void setup() throws IOException {
+    OzoneConfiguration configuration = new OzoneConfiguration();
+    configuration.set(OZONE_METADATA_DIRS,
+        folder.toAbsolutePath().toString());
+    omMetadataManager =
+        new OmMetadataManagerImpl(configuration, null);
+    doubleBuffer = OzoneManagerDoubleBuffer.newBuilder()
+        .setOmMetadataManager(omMetadataManager)
+        .setMaxUnFlushedTransactionCount(10000)
+        .setMaxPendingFlushBatches(3)
+        .build()
+        .start();
+  }
+
+  @AfterEach
+  public void stop() {
+    doubleBuffer.stop();
+  }
+
+  /**
+   * Add bucket creation responses with purge responses in between, which
+   * write to snapshot DBs while they are added to a batch.  The purge
+   * responses must see all the previous batches committed to the DB.
+   */
+  @Test
+  public void testPipelinedFlushWithBarriers() throws Exception {
+    final String volumeName = UUID.randomUUID().toString();
+    final int rounds = 5;
+    final int bucketsPerRound = 20;
+    final List<Long> uncommittedRows = new ArrayList<>();
+
+    for (int r = 0; r < rounds; r++) {
+      for (int i = 0; i < bucketsPerRound; i++) {
+        doubleBuffer.add(createDummyBucketResponse(volumeName),
+            TermIndex.valueOf(term, trxId.incrementAndGet()));
+      }
+      doubleBuffer.add(new OMDummyPurgeResponse(uncommittedRows),
+          TermIndex.valueOf(term, trxId.incrementAndGet()));
+    }
+
+    // awaitFlush must return only after all the transactions are committed.
+    doubleBuffer.awaitFlush();
+    final int totalCount = rounds * (bucketsPerRound + 1);
+    assertEquals(rounds * bucketsPerRound, omMetadataManager.countRowsInTable(
+        omMetadataManager.getBucketTable()));
+    // No rows of the previous batches were pending when a purge was added.
+    assertEquals(Collections.nCopies(rounds, 0L), uncommittedRows);
+    assertEquals(totalCount, doubleBuffer.getFlushedTransactionCountForTesting());
+
+    final OzoneManagerDoubleBufferMetrics metrics = doubleBuffer.getMetrics();
+    assertEquals(totalCount, metrics.getTotalNumOfFlushedTransactions());
+    assertThat(metrics.getTotalNumOfFlushOperations()).isGreaterThanOrEqualTo(rounds);
+
+    TransactionInfo transactionInfo =
+        omMetadataManager.getTransactionInfoTable().get(TRANSACTION_INFO_KEY);
+    assertNotNull(transactionInfo);
+    assertEquals(totalCount, transactionInfo.getTransactionIndex());
+    assertEquals(term, transactionInfo.getTerm());
+  }
+
+  private OMDummyCreateBucketResponse createDummyBucketResponse(
+      String volumeName) {
+    OmBucketInfo omBucketInfo =
+        OmBucketInfo.newBuilder()
+            .setVolumeName(volumeName)
+            .setBucketName(UUID.randomUUID().toString())
+            .setCreationTime(Time.now())
+            .build();
+    return new OMDummyCreateBucketResponse(omBucketInfo,
+        OMResponse.newBuilder()
+            .setCmdType(OzoneManagerProtocolProtos.Type.CreateBucket)
+            .setStatus(OzoneManagerProtocolProtos.Status.OK)
+            .setCreateBucketResponse(CreateBucketResponse.newBuilder().build())
+            .build());
+  }
+
+  /**
+   * DummyCreatedBucket Response class used in testing.
+   */
+  @CleanupTableInfo(cleanupTables = {BUCKET_TABLE})
+  private class OMDummyCreateBucketResponse extends OMClientResponse {
+    private final OmBucketInfo omBucketInfo;
+
+    OMDummyCreateBucketResponse(OmBucketInfo omBucketInfo,
+        OMResponse omResponse) {
+      super(omResponse);
+      this.omBucketInfo = omBucketInfo;
+    }
+
+    @Override
+    public void addToDBBatch(OMMetadataManager metadataManager,
+        BatchOperation batchOperation) throws IOException {
+      String dbBucketKey =
+          metadataManager.getBucketKey(omBucketInfo.getVolumeName(),
+              omBucketInfo.getBucketName());
+      metadataManager.getBucketTable().putWithBatch(batchOperation,
+          dbBucketKey, omBucketInfo);
+      addedRowsPerBatch.merge(batchOperation, 1, Integer::sum);
+      addedRows++;
+    }
+  }
+
+  /**
+   * Dummy PurgeKeys response recording the bucket rows added to the previous
+   * batches but not yet committed to the DB when it is added to a batch.
+   */
+  @CleanupTableInfo(cleanupTables = {BUCKET_TABLE})
+  private class OMDummyPurgeResponse extends OMClientResponse {
+    private final List<Long> uncommittedRows;
+
+    OMDummyPurgeResponse(List<Long> uncommittedRows) {
+      super(OMResponse.newBuilder()
+          .setCmdType(OzoneManagerProtocolProtos.Type.PurgeKeys)
+          .setStatus(OzoneManagerProtocolProtos.Status.OK)
+          .build());
+      this.uncommittedRows = uncommittedRows;
+    }
+
+    @Override
+    public void addToDBBatch(OMMetadataManager metadataManager,
+        BatchOperation batchOperation) throws IOException {
+      final long committed = metadataManager.countRowsInTable(
+          metadataManager.getBucketTable());
+      final long inThisBatch = addedRowsPerBatch.getOrDefault(batchOperation, 0);
+      uncommittedRows.add(addedRows - inThisBatch - committed);
+    }
+  }
+}
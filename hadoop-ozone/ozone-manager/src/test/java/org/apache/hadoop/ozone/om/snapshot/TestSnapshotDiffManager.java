@@ -62,6 +62,7 @@
 import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.Mockito.any;
 import static org.mockito.Mockito.anyBoolean;
+import static org.mockito.Mockito.anyList;
 import static org.mockito.Mockito.anyString;
 import static org.mockito.Mockito.atLeast;
 import static org.mockito.Mockito.doAnswer;
@@ -639,6 +640,8 @@ public void testGenerateDiffReport() throws IOException {
         when(keyInfo.getKeyName()).thenReturn(i.getArgument(0));
         return keyInfo;
       });
+      when(fromSnapTable.multiGet(anyList())).thenCallRealMethod();
+      when(toSnapTable.multiGet(anyList())).thenCallRealMethod();
       when(fromSnapTable.getName()).thenReturn("table");
       TablePrefixInfo tablePrefixes = new TablePrefixInfo(Collections.emptyMap());
       SnapshotDiffManager spy = spy(snapshotDiffManager);
@@ -232,6 +232,44 @@ public void getFileStatusHeadOpWithoutKeyInfoIsNoop() throws IOException {
         response.getGetFileStatusResponse().getStatus().hasKeyInfo());
   }
 
+  @Test
+  public void testGetFileStatuses() throws IOException {
+    OzoneManagerRequestHandler requestHandler = getRequestHandler(10);
+    OzoneManager ozoneManager = requestHandler.getOzoneManager();
+
+    OzoneFileStatus status = Mockito.mock(OzoneFileStatus.class);
+    Mockito.when(status.getProtobuf(Mockito.anyInt())).thenReturn(
+        OzoneManagerProtocolProtos.OzoneFileStatusProto.newBuilder()
+            .setIsDirectory(true).build());
+    ArgumentCaptor<List<OmKeyArgs>> captor = ArgumentCaptor.forClass(List.class);
+    Mockito.when(ozoneManager.getFileStatuses(captor.capture()))
+        .thenReturn(Arrays.asList(status, null));
+
+    OzoneManagerProtocolProtos.OMRequest request =
+        Mockito.mock(OzoneManagerProtocolProtos.OMRequest.class);
+    Mockito.when(request.getTraceID()).thenReturn("traceId");
+    Mockito.when(request.getCmdType())
+        .thenReturn(OzoneManagerProtocolProtos.Type.GetFileStatuses);
+    OzoneManagerProtocolProtos.GetFileStatusesRequest.Builder statusesRequest =
+        OzoneManagerProtocolProtos.GetFileStatusesRequest.newBuilder();
+    for (String key : Arrays.asList("dir", "missing")) {
+      statusesRequest.addKeyArgs(OzoneManagerProtocolProtos.KeyArgs.newBuilder()
+          .setVolumeName("volume").setBucketName("bucket").setKeyName(key));
+    }
+    Mockito.when(request.getGetFileStatusesRequest()).thenReturn(statusesRequest.build());
+
+    OzoneManagerProtocolProtos.OMResponse response =
+        requestHandler.handleReadRequest(request);
+
+    Assertions.assertEquals(Arrays.asList("dir", "missing"), captor.getValue().stream()
+        .map(OmKeyArgs::getKeyName).collect(Collectors.toList()));
+    List<OzoneManagerProtocolProtos.FileStatusResult> results =
+        response.getGetFileStatusesResponse().getResultsList();
+    Assertions.assertEquals(2, results.size());
+    Assertions.assertTrue(results.get(0).getStatus().getIsDirectory());
+    Assertions.assertFalse(results.get(1).hasStatus());
+  }
+
   @ParameterizedTest
   @ValueSource(ints = {0, 9, 10, 11, 50})
   public void testListKeysResponseSize(int resultSize) throws IOException {
@@ -428,6 +428,23 @@ public FileStatusAdapter getFileStatus(String key, URI uri,
     }
   }
 
+  @Override
+  public List<FileStatusAdapter> getFileStatuses(List<String> keys, URI uri,
+      Path workingDir, String userName) throws IOException {
+    if (keys.contains("")) {
+      // the root is not a key
+      return OzoneClientAdapter.super.getFileStatuses(keys, uri, workingDir, userName);
+    }
+    incrementCounter(Statistic.OBJECTS_QUERY, 1);
+    List<OzoneFileStatus> statuses = bucket.getFileStatuses(keys, false);
+    List<FileStatusAdapter> result = new ArrayList<>(statuses.size());
+    for (OzoneFileStatus status : statuses) {
+      result.add(status == null ? null
+          : toFileStatusAdapter(status, userName, uri, workingDir));
+    }
+    return result;
+  }
+
   @Override
   public Iterator<BasicKeyInfo> listKeys(String pathKey) throws IOException {
     incrementCounter(Statistic.OBJECTS_LIST, 1);
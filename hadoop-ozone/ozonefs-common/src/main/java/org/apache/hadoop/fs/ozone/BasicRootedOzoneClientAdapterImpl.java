@@ -35,11 +35,14 @@
 import java.net.URI;
 import java.net.URISyntaxException;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.HashSet;
 import java.util.Iterator;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Objects;
 import java.util.stream.Collectors;
 import org.apache.commons.collections4.CollectionUtils;
@@ -686,6 +689,58 @@ public FileStatusAdapter getFileStatus(String path, URI uri,
     }
   }
 
+  @Override
+  public List<FileStatusAdapter> getFileStatuses(List<String> paths, URI uri,
+      Path workingDir, String userName) throws IOException {
+    final FileStatusAdapter[] results = new FileStatusAdapter[paths.size()];
+    // Get the keys of the same bucket together;
+    // get the other paths, e.g. volumes and snapshots, one by one.
+    final Map<String, List<Integer>> buckets = new LinkedHashMap<>();
+    final List<OFSPath> ofsPaths = new ArrayList<>(paths.size());
+    for (int i = 0; i < paths.size(); i++) {
+      final OFSPath ofsPath = new OFSPath(paths.get(i), config);
+      ofsPaths.add(ofsPath);
+      if (ofsPath.isRoot() || ofsPath.isVolume() || ofsPath.isSnapshotPath()
+          || ofsPath.getKeyName().isEmpty()) {
+        try {
+          results[i] = getFileStatus(paths.get(i), uri, workingDir, userName);
+        } catch (FileNotFoundException e) {
+          results[i] = null;
+        }
+      } else {
+        buckets.computeIfAbsent(ofsPath.getNonKeyPath(), k -> new ArrayList<>())
+            .add(i);
+      }
+    }
+
+    for (List<Integer> indexes : buckets.values()) {
+      incrementCounter(Statistic.OBJECTS_QUERY, 1);
+      final OFSPath bucketPath = ofsPaths.get(indexes.get(0));
+      final List<OzoneFileStatus> statuses;
+      try {
+        final List<String> keys = new ArrayList<>(indexes.size());
+        for (int i : indexes) {
+          keys.add(ofsPaths.get(i).getKeyName());
+        }
+        statuses = getBucket(bucketPath, false).getFileStatuses(keys, false);
+      } catch (OMException e) {
+        if (e.getResult() == OMException.ResultCodes.BUCKET_NOT_FOUND
+            || e.getResult() == OMException.ResultCodes.VOLUME_NOT_FOUND) {
+          continue;
+        }
+        throw e;
+      }
+      for (int j = 0; j < indexes.size(); j++) {
+        final OzoneFileStatus status = statuses.get(j);
+        if (status != null) {
+          results[indexes.get(j)] = toFileStatusAdapter(status, userName, uri,
+              workingDir, bucketPath.getNonKeyPath());
+        }
+      }
+    }
+    return Arrays.asList(results);
+  }
+
   /**
    * Return FileStatusAdapter based on OFSPath being a
    * valid bucket path or valid snapshot path.
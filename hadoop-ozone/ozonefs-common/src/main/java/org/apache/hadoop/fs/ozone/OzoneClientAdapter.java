@@ -17,9 +17,11 @@
 
 package org.apache.hadoop.fs.ozone;
 
+import java.io.FileNotFoundException;
 import java.io.IOException;
 import java.io.InputStream;
 import java.net.URI;
+import java.util.ArrayList;
 import java.util.Iterator;
 import java.util.List;
 import org.apache.hadoop.crypto.key.KeyProvider;
@@ -100,6 +102,26 @@ default FileStatusAdapter getFileStatus(String key, URI uri,
     return getFileStatus(key, uri, qualifiedPath, userName);
   }
 
+  /**
+   * Get the file statuses of a batch of keys,
+   * using a single OM call for the keys of the same bucket when supported.
+   *
+   * @return the status of each key in the same order;
+   *         the status is null if the key does not exist.
+   */
+  default List<FileStatusAdapter> getFileStatuses(List<String> keys, URI uri,
+      Path workingDir, String userName) throws IOException {
+    List<FileStatusAdapter> statuses = new ArrayList<>(keys.size());
+    for (String key : keys) {
+      try {
+        statuses.add(getFileStatus(key, uri, workingDir, userName));
+      } catch (FileNotFoundException e) {
+        statuses.add(null);
+      }
+    }
+    return statuses;
+  }
+
   boolean isFSOptimizedBucket();
 
   FileChecksum getFileChecksum(String keyName, long length) throws IOException;
@@ -136,6 +136,11 @@ public final class SCMThroughputBenchmark implements Callable<Void>, VaporSubcom
       defaultValue = "4096")
   private long blockSize = 4096;
 
+  @CommandLine.Option(names = {"--blocks-per-request"},
+      description = "Number of blocks allocated in each request.",
+      defaultValue = "1")
+  private int blocksPerRequest = 1;
+
   @CommandLine.Option(names = {"--num-containers"},
       description = "Number of containers.",
       defaultValue = "100")
@@ -194,7 +199,8 @@ private ThroughputBenchmark createBenchmark() {
     BenchmarkType type = BenchmarkType.valueOf(benchmarkType);
     switch (type) {
     case AllocateBlocks:
-      benchmark = new BlockBenchmark(numThreads, numBlocks, blockSize);
+      benchmark = new BlockBenchmark(numThreads, numBlocks, blockSize,
+          blocksPerRequest);
       break;
     case AllocateContainers:
       benchmark = new ContainerBenchmark(numThreads, numContainers);
@@ -432,11 +438,14 @@ private class BlockBenchmark extends ThroughputBenchmark {
     private AtomicLong failBlockCounter;
     private int totalBlocks;
     private long blockSize;
+    private final int blocksPerRequest;
 
-    BlockBenchmark(int threads, int blocks, long blockSize) {
+    BlockBenchmark(int threads, int blocks, long blockSize,
+        int blocksPerRequest) {
       super(threads);
       this.totalBlocks = blocks;
       this.blockSize = blockSize;
+      this.blocksPerRequest = blocksPerRequest;
       this.totalBlockCounter = new AtomicLong();
       this.succBlockCounter = new AtomicLong();
       this.failBlockCounter = new AtomicLong();
@@ -474,6 +483,8 @@ public void showSummary() {
           succBlockCounter.get());
       System.out.printf("Total failed blocks: %d%n",
           failBlockCounter.get());
+      System.out.printf("Blocks per request: %d%n", blocksPerRequest);
+      System.out.printf("Client threads: %d%n", getNumThreads());
       System.out.printf("Execution Time: %s%n", getFormattedTime());
       System.out.printf("Throughput: %f (ops)%n", blocksPerSec);
       System.out.println("***************************************");
@@ -488,13 +499,16 @@ public void waitForComplete() throws InterruptedException {
       }
     }
 
-    private void doAllocateBlock(long size, ReplicationConfig config) {
+    private void doAllocateBlock(long size, int num,
+        ReplicationConfig config) {
       try {
-        scmBlockClient.allocateBlock(size, 1, config, "STB", excludeList);
-        succBlockCounter.incrementAndGet();
+        int allocated = scmBlockClient.allocateBlock(size, num, config, "STB",
+            excludeList).size();
+        succBlockCounter.addAndGet(allocated);
+        failBlockCounter.addAndGet(num - allocated);
       } catch (IOException e) {
-        LOG.error("Failed to allocate block", e);
-        failBlockCounter.incrementAndGet();
+        LOG.error("Failed to allocate {} blocks", num, e);
+        failBlockCounter.addAndGet(num);
       }
     }
 
@@ -510,8 +524,11 @@ private class BlockTask implements Runnable {
 
       @Override
       public void run() {
-        while (totalBlockCounter.getAndIncrement() < totalBlocks) {
-          doAllocateBlock(blockSize, replicationConfig);
+        long start;
+        while ((start = totalBlockCounter.getAndAdd(blocksPerRequest))
+            < totalBlocks) {
+          int num = (int) Math.min(blocksPerRequest, totalBlocks - start);
+          doAllocateBlock(blockSize, num, replicationConfig);
         }
       }
     }